@@ -137,6 +137,12 @@ public final class ApplicationConstants {
          */
         int LIFECYCLE_PHASE_CONFIG = 300;
 
+        /**
+         * Update the mapping of existing indexes before the {@link #LIFECYCLE_PHASE_SCHEDULER scheduler} starts
+         * indexing tasks.
+         */
+        int LIFECYCLE_PHASE_INDEX_MAPPING = 500;
+
         /**
          * Start the scheduler after the {@link #LIFECYCLE_PHASE_PLUGINS plugin framework}. Jobs scheduled before this
          * phase should be queued until the scheduler starts.
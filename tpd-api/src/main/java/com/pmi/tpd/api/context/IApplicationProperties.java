@@ -315,6 +315,26 @@ public interface IApplicationProperties {
     @Nonnull
     <T> T getConfiguration(Class<T> configurationClass);
 
+    /**
+     * Gets the snapshot of configuration object bound with environment properties.
+     * <p>
+     * The snapshot is bound once and shared by all callers until a property of configuration changes, so it must be
+     * considered as read-only. Use {@link #getConfiguration(Class)} to obtain an instance that can be modified and
+     * stored.
+     * </p>
+     * <p>
+     * Note: the configuration class must be annotated with {@link ConfigurationProperties}
+     * </p>
+     *
+     * @param configurationClass
+     *                           configuration properties class to use.
+     * @return Returns the current snapshot of configuration.
+     * @see ConfigurationProperties
+     * @since 3.4
+     */
+    @Nonnull
+    <T> T getConfigurationSnapshot(Class<T> configurationClass);
+
     /**
      * Persits all properties associated to {@code configuration properties}.
      *
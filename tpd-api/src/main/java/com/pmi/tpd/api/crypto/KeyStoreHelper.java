@@ -130,21 +130,43 @@ public final class KeyStoreHelper {
      */
     @Nullable
     public static Date getCertificateExpiry(@Nonnull final String alias, @Nonnull final KeyStore keyStore) {
+        final X509Certificate certificate = getCertificate(alias, keyStore);
+        return certificate != null ? certificate.getNotAfter() : null;
+    }
+
+    /**
+     * Gets the start date from the validity period of the certificate.
+     *
+     * @param alias
+     *                 the alias name (can <b>not</b> be null).
+     * @param keyStore
+     *                 the keystore used (can <b>not</b> be null).
+     * @return Returns {@link Date} representing the start date of the validity period.
+     * @since 3.4
+     */
+    @Nullable
+    public static Date getCertificateStart(@Nonnull final String alias, @Nonnull final KeyStore keyStore) {
+        final X509Certificate certificate = getCertificate(alias, keyStore);
+        return certificate != null ? certificate.getNotBefore() : null;
+    }
+
+    @Nullable
+    private static X509Certificate getCertificate(@Nonnull final String alias, @Nonnull final KeyStore keyStore) {
         try {
             if (isTrustedCertificateEntry(alias, keyStore)) {
-                return X509CertHelper.convertCertificate(keyStore.getCertificate(alias)).getNotAfter();
+                return X509CertHelper.convertCertificate(keyStore.getCertificate(alias));
             } else {
                 final Certificate[] chain = keyStore.getCertificateChain(alias);
 
                 if (chain == null) {
-                    // Key entry - no expiry date
+                    // Key entry - no certificate
                     return null;
                 }
 
                 // Key pair - first certificate in chain will be for the private key
                 final List<X509Certificate> x509Chain = X509CertHelper
                         .orderX509CertChain(X509CertHelper.convertCertificates(Arrays.asList(chain)));
-                return Iterables.getFirst(x509Chain, null).getNotAfter();
+                return Iterables.getFirst(x509Chain, null);
             }
         } catch (final Exception e) {
             throw new RuntimeException(e.getMessage(), e);
@@ -1,6 +1,7 @@
 package com.pmi.tpd.api.lifecycle.notification;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.pmi.tpd.api.util.Assert;
 
@@ -13,12 +14,28 @@ public final class NotificationEvent {
     /** */
     private final NotificationRequest notification;
 
+    /** the user to notify, all users if {@code null}. */
+    @Nullable
+    private final String username;
+
     /**
      * @param notification
      *            a notification request.
      */
     public NotificationEvent(@Nonnull final NotificationRequest notification) {
+        this(notification, null);
+    }
+
+    /**
+     * @param notification
+     *            a notification request.
+     * @param username
+     *            the user to notify, all users if {@code null}.
+     * @since 3.4
+     */
+    public NotificationEvent(@Nonnull final NotificationRequest notification, @Nullable final String username) {
         this.notification = Assert.checkNotNull(notification, "notification");
+        this.username = username;
     }
 
     /**
@@ -27,4 +44,13 @@ public final class NotificationEvent {
     public NotificationRequest getNotification() {
         return notification;
     }
+
+    /**
+     * @return Returns the user to notify, or {@code null} if the notification is addressed to all users.
+     * @since 3.4
+     */
+    @Nullable
+    public String getUsername() {
+        return username;
+    }
 }
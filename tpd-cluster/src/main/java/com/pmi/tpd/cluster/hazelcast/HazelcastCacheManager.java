@@ -14,6 +14,7 @@ import org.springframework.cache.CacheManager;
 import org.springframework.cache.support.SimpleValueWrapper;
 import org.springframework.lang.Nullable;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.hazelcast.core.DistributedObject;
 import com.hazelcast.core.HazelcastInstance;
@@ -37,6 +38,9 @@ public class HazelcastCacheManager implements CacheManager {
     /** */
     private final HazelcastInstance hazelcast;
 
+    /** the names of managed caches, or {@code null} if all maps are managed. */
+    private final Set<String> cacheNames;
+
     /**
      * Default construct. Create new instance of {@link HazelcastCacheManager}.
      *
@@ -45,15 +49,37 @@ public class HazelcastCacheManager implements CacheManager {
      */
     public HazelcastCacheManager(@Nonnull final HazelcastInstance hazelcast) {
         this.hazelcast = checkNotNull(hazelcast, "hazelcast");
+        this.cacheNames = null;
+    }
+
+    /**
+     * Create new instance of {@link HazelcastCacheManager} managing only the given caches. {@link #getCache(String)}
+     * returns {@code null} for any other name, so that this manager can be combined with another one in a
+     * {@link org.springframework.cache.support.CompositeCacheManager CompositeCacheManager}.
+     *
+     * @param hazelcast
+     *                   a Hazelcast instance.
+     * @param cacheNames
+     *                   the names of managed caches.
+     * @since 3.4
+     */
+    public HazelcastCacheManager(@Nonnull final HazelcastInstance hazelcast,
+            @Nonnull final Collection<String> cacheNames) {
+        this.hazelcast = checkNotNull(hazelcast, "hazelcast");
+        this.cacheNames = ImmutableSet.copyOf(checkNotNull(cacheNames, "cacheNames"));
     }
 
     /**
      * {@inheritDoc}
      */
-    @Nonnull
+    @Nullable
     @Override
     public Cache getCache(@Nonnull final String name) {
-        return new HazelcastCache(hazelcast.getMap(checkNotNull(name, "name")));
+        checkNotNull(name, "name");
+        if (cacheNames != null && !cacheNames.contains(name)) {
+            return null;
+        }
+        return new HazelcastCache(hazelcast.getMap(name));
     }
 
     /**
@@ -61,6 +87,9 @@ public class HazelcastCacheManager implements CacheManager {
      */
     @Override
     public Collection<String> getCacheNames() {
+        if (cacheNames != null) {
+            return cacheNames;
+        }
         final Set<String> names = Sets.newHashSet();
         for (final DistributedObject distributedObject : hazelcast.getDistributedObjects()) {
             if (distributedObject instanceof IMap) {
@@ -71,6 +71,9 @@ public final class HazelcastConstants {
     /** How often (in seconds) the Hazelcast health monitor should print out to the log file. */
     public static final String HEALTH_MONITORING_DELAY = "health.monitoring.delay";
 
+    /** The comma-separated list of caches which are near-cached with a specific configuration. */
+    public static final String NEAR_CACHES = "cache.near.caches";
+
     /**
      * Update Hazelcast capabilities after all the plugins have been initialised in {@link #LIFECYCLE_PHASE_PLUGINS}.
      */
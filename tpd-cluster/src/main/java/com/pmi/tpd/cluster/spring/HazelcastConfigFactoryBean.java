@@ -2,6 +2,8 @@ package com.pmi.tpd.cluster.spring;
 
 import static com.pmi.tpd.cluster.hazelcast.HazelcastConstants.HAZELCAST_INSTANCE_NAME;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -15,8 +17,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.env.Environment;
+import org.springframework.core.env.PropertyResolver;
 import org.springframework.util.ReflectionUtils;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableList;
 import com.hazelcast.config.AwsConfig;
 import com.hazelcast.config.Config;
@@ -60,6 +64,12 @@ public class HazelcastConfigFactoryBean implements FactoryBean<Config> {
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(HazelcastConfigFactoryBean.class);
 
+    /** default maximum number of entries per node of a near-cached map without explicit configuration. */
+    public static final int DEFAULT_NEAR_CACHED_MAP_MAX = 1000;
+
+    /** default time to live in seconds of entries of a near-cached map without explicit configuration. */
+    public static final int DEFAULT_NEAR_CACHED_MAP_TTL = 300;
+
     /** */
     private final ApplicationContext applicationContext;
 
@@ -129,6 +139,8 @@ public class HazelcastConfigFactoryBean implements FactoryBean<Config> {
 
         doConfigure(config);
 
+        configureNearCaches(config);
+
         return config;
     }
 
@@ -201,14 +213,45 @@ public class HazelcastConfigFactoryBean implements FactoryBean<Config> {
                 .setTimeToLiveSeconds(Math.max(0, timeToLive));
 
         if (nearCache) {
-            final NearCacheConfig cacheConfig = defaultNearCacheConfig();
-            cacheConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LFU).setSize(size);
-            config.setNearCacheConfig(cacheConfig.setMaxIdleSeconds(Math.max(0, timeToIdle)))
-                    .setTimeToLiveSeconds(Math.max(0, timeToLive));
+            config.setNearCacheConfig(nearCacheConfig(name, size, timeToLive, timeToIdle));
         }
         return config;
     }
 
+    /**
+     * Creates the near-cache configuration of the cache {@code name}. The given values can be overridden with the
+     * properties {@code cache.<name>.near.max}, {@code .ttl}, {@code .tti}, {@code .eviction} and {@code .invalidate}.
+     *
+     * @param name
+     *                   the name of cache.
+     * @param size
+     *                   the default maximum number of near-cached entries per node.
+     * @param timeToLive
+     *                   the default maximum number of seconds an entry stays in the near-cache.
+     * @param timeToIdle
+     *                   the default maximum number of seconds an entry stays in the near-cache without being read.
+     * @return Returns a new near-cache configuration.
+     * @since 3.4
+     */
+    protected NearCacheConfig nearCacheConfig(final String name,
+        final int size,
+        final int timeToLive,
+        final int timeToIdle) {
+        final String prefix = "cache." + name + ".near.";
+        final NearCacheConfig cacheConfig = defaultNearCacheConfig()
+                .setInvalidateOnChange(propertyResolver.getProperty(prefix + "invalidate", Boolean.class, true))
+                .setTimeToLiveSeconds(
+                    Math.max(0, propertyResolver.getProperty(prefix + "ttl", Integer.class, timeToLive)))
+                .setMaxIdleSeconds(
+                    Math.max(0, propertyResolver.getProperty(prefix + "tti", Integer.class, timeToIdle)));
+        cacheConfig.getEvictionConfig()
+                .setEvictionPolicy(
+                    propertyResolver.getProperty(prefix + "eviction", EvictionPolicy.class, EvictionPolicy.LFU))
+                .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+                .setSize(normalizeSize(propertyResolver.getProperty(prefix + "max", Integer.class, size)));
+        return cacheConfig;
+    }
+
     private void configureAttributes(final Config config) {
         final MemberAttributeConfig attributeConfig = new MemberAttributeConfig();
         // Set the node's ID attribute that remains stable while the node is running.
@@ -229,6 +272,46 @@ public class HazelcastConfigFactoryBean implements FactoryBean<Config> {
 
     }
 
+    /**
+     * Applies the specific near-cache configuration of caches listed in {@link HazelcastConstants#NEAR_CACHES}. A listed
+     * cache which is not explicitly declared gets its own bounded map configuration, sized with
+     * {@code cache.<name>.max} (default {@value #DEFAULT_NEAR_CACHED_MAP_MAX}) and expiring after {@code cache.<name>.ttl}
+     * seconds (default {@value #DEFAULT_NEAR_CACHED_MAP_TTL}), instead of inheriting an unbounded configuration.
+     */
+    private void configureNearCaches(final Config config) {
+        for (final String name : getNearCacheNames(propertyResolver)) {
+            final MapConfig mapConfig = config.getMapConfigs().get(name);
+            if (mapConfig == null) {
+                config.addMapConfig(boundedCache(name,
+                    propertyResolver.getProperty("cache." + name + ".max", Integer.class, DEFAULT_NEAR_CACHED_MAP_MAX),
+                    propertyResolver.getProperty("cache." + name + ".ttl", Integer.class, DEFAULT_NEAR_CACHED_MAP_TTL),
+                    propertyResolver.getProperty("cache." + name + ".tti", Integer.class, 0),
+                    true));
+            } else {
+                mapConfig.setNearCacheConfig(nearCacheConfig(name,
+                    mapConfig.getEvictionConfig().getSize(),
+                    mapConfig.getTimeToLiveSeconds(),
+                    mapConfig.getMaxIdleSeconds()));
+            }
+            LOGGER.debug("Near-cache configured for cache {}: {}", name, config.getMapConfigs().get(name));
+        }
+    }
+
+    /**
+     * @param propertyResolver
+     *                         the property resolver of {@code hazelcast.} properties.
+     * @return Returns the names of caches having a specific near-cache configuration.
+     * @since 3.4
+     */
+    @Nonnull
+    public static List<String> getNearCacheNames(@Nonnull final PropertyResolver propertyResolver) {
+        final String names = propertyResolver.getProperty(HazelcastConstants.NEAR_CACHES);
+        if (StringUtils.isBlank(names)) {
+            return Collections.emptyList();
+        }
+        return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(names);
+    }
+
     private void configureExecutors(final Config config) {
         final int poolSize = PropertiesUtils.parseExpression(
             propertyResolver.getProperty(HazelcastConstants.EXECUTOR_MAX_THREADS),
@@ -0,0 +1,32 @@
+package com.pmi.tpd.cluster.hazelcast;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class HazelcastCacheManagerTest extends MockitoTestCase {
+
+    @Mock
+    private HazelcastInstance hazelcast;
+
+    @Mock
+    private IMap<Object, Object> map;
+
+    @Test
+    public void shouldReturnOnlyManagedCaches() {
+        when(hazelcast.getMap("userCache")).thenReturn(map);
+        final HazelcastCacheManager cacheManager = new HazelcastCacheManager(hazelcast, List.of("userCache"));
+
+        final Cache cache = cacheManager.getCache("userCache");
+        assertNotNull(cache);
+        assertSame(map, cache.getNativeCache());
+        assertNull(cacheManager.getCache("otherCache"));
+        assertEquals(List.of("userCache"), List.copyOf(cacheManager.getCacheNames()));
+    }
+}
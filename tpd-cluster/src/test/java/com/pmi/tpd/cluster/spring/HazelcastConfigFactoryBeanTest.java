@@ -0,0 +1,104 @@
+package com.pmi.tpd.cluster.spring;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.config.NearCacheConfig;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class HazelcastConfigFactoryBeanTest extends MockitoTestCase {
+
+    @Test
+    public void shouldDeclareBoundedMapForNearCachedCache() throws Exception {
+        final Config config = createConfig(Map.of("hazelcast.cache.near.caches", "userCache"), null);
+
+        final MapConfig mapConfig = config.getMapConfigs().get("userCache");
+        assertNotNull(mapConfig);
+        assertEquals(MaxSizePolicy.PER_NODE, mapConfig.getEvictionConfig().getMaxSizePolicy());
+        assertEquals(HazelcastConfigFactoryBean.DEFAULT_NEAR_CACHED_MAP_MAX, mapConfig.getEvictionConfig().getSize());
+        assertEquals(HazelcastConfigFactoryBean.DEFAULT_NEAR_CACHED_MAP_TTL, mapConfig.getTimeToLiveSeconds());
+
+        final NearCacheConfig nearCacheConfig = mapConfig.getNearCacheConfig();
+        assertNotNull(nearCacheConfig);
+        assertEquals(HazelcastConfigFactoryBean.DEFAULT_NEAR_CACHED_MAP_MAX,
+            nearCacheConfig.getEvictionConfig().getSize());
+        assertEquals(HazelcastConfigFactoryBean.DEFAULT_NEAR_CACHED_MAP_TTL, nearCacheConfig.getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void shouldApplyConfiguredBoundsOfNearCachedCache() throws Exception {
+        final Config config = createConfig(Map.of("hazelcast.cache.near.caches",
+            "userCache",
+            "hazelcast.cache.userCache.max",
+            "2000",
+            "hazelcast.cache.userCache.ttl",
+            "60",
+            "hazelcast.cache.userCache.near.ttl",
+            "30",
+            "hazelcast.cache.userCache.near.max",
+            "500"), null);
+
+        final MapConfig mapConfig = config.getMapConfigs().get("userCache");
+        assertEquals(2000, mapConfig.getEvictionConfig().getSize());
+        assertEquals(60, mapConfig.getTimeToLiveSeconds());
+        assertEquals(500, mapConfig.getNearCacheConfig().getEvictionConfig().getSize());
+        assertEquals(30, mapConfig.getNearCacheConfig().getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void shouldKeepExplicitMapConfigOfNearCachedCache() throws Exception {
+        final Config config = createConfig(Map.of("hazelcast.cache.near.caches", "userCache"),
+            factory -> factory.boundedCache("userCache", 5000, 10, 0, false));
+
+        final MapConfig mapConfig = config.getMapConfigs().get("userCache");
+        assertEquals(5000, mapConfig.getEvictionConfig().getSize());
+        assertEquals(10, mapConfig.getTimeToLiveSeconds());
+        assertNotNull(mapConfig.getNearCacheConfig());
+        assertEquals(10, mapConfig.getNearCacheConfig().getTimeToLiveSeconds());
+    }
+
+    @Test
+    public void shouldNotDeclareMapWithoutNearCachedCache() throws Exception {
+        final Config config = createConfig(Map.of(), null);
+
+        assertNull(config.getMapConfigs().get("userCache"));
+    }
+
+    private Config createConfig(final Map<String, Object> properties,
+        @Nullable final Function<HazelcastConfigFactoryBean, MapConfig> explicitMapConfig)
+            throws Exception {
+        final Map<String, Object> source = new HashMap<>();
+        source.put("hazelcast.cluster.name", "test");
+        source.put("hazelcast.backup.sync.interval", "15");
+        source.put("hazelcast.graceful.shutdown.max.wait", "60");
+        source.put("hazelcast.health.monitoring.level", "OFF");
+        source.put("hazelcast.health.monitoring.delay", "300");
+        source.put("hazelcast.max.no.heartbeat", "60");
+        source.put("hazelcast.operation.call.timeout", "600000");
+        source.put("hazelcast.phone.home.enabled", "false");
+        source.putAll(properties);
+        final StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", source));
+
+        return new HazelcastConfigFactoryBean(mock(ApplicationContext.class), environment) {
+
+            @Override
+            public void doConfigure(final Config config) {
+                if (explicitMapConfig != null) {
+                    config.addMapConfig(explicitMapConfig.apply(this));
+                }
+            }
+        }.getObject();
+    }
+}
@@ -128,6 +128,19 @@ public class ProductStoreIT extends BaseDaoTestIT {
             CombinableMatcher.both(IsEmptyCollection.empty()).and(IsNull.notNullValue()));
     }
 
+    @Test
+    public void shouldGetAllInRequestedOrder() {
+        final ProductEntity first = productStore.create(createTobaccoProduct("submitterId").build());
+        final ProductEntity second = productStore.create(createEcigProduct("submitterId").build());
+
+        final List<ProductEntity> products = productStore
+                .getAll(List.of(second.getProductNumber(), first.getProductNumber()));
+        assertEquals(2, products.size());
+        assertEquals(second.getProductNumber(), products.get(0).getProductNumber());
+        assertEquals(first.getProductNumber(), products.get(1).getProductNumber());
+        assertNotNull(products.get(1).getProduct());
+    }
+
     @Test
     @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void shouldInactivateChild() {
@@ -250,6 +263,12 @@ public class ProductStoreIT extends BaseDaoTestIT {
                 .compareRevisions(productNumber, revisions.get(0).getId(), revisions.get(1).getId());
 
         assertTrue(diff.getPatch().indexOf("Length") >= 0);
+
+        // repeated comparison reuses the cached result, a recomputed patch would be another instance
+        final ProductDifference cached = productStore
+                .compareRevisions(productNumber, revisions.get(0).getId(), revisions.get(1).getId());
+        assertSame(diff.getPatch(), cached.getPatch());
+        assertEquals(diff.getChangeType(), cached.getChangeType());
     }
 
     @Test
@@ -8,6 +8,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
 import com.pmi.tpd.api.config.IApplicationConfiguration;
 import com.pmi.tpd.api.context.IClock;
 import com.pmi.tpd.api.event.advisor.IEventAdvisorService;
@@ -22,6 +23,9 @@ import com.pmi.tpd.core.bootstrap.DefaultLockService;
 import com.pmi.tpd.core.cluster.DefaultClusterJoinManager;
 import com.pmi.tpd.core.cluster.HazelcastConfig;
 import com.pmi.tpd.core.cluster.check.SharedHomeAndDatabaseJoinCheck;
+import com.pmi.tpd.core.context.propertyset.ClusteredPropertySetCacheInvalidation;
+import com.pmi.tpd.core.context.propertyset.PropertySetCacheInvalidator;
+import com.pmi.tpd.core.context.propertyset.PropertySetInvalidation;
 import com.pmi.tpd.database.IDataSourceConfiguration;
 import com.pmi.tpd.database.IDatabaseConfigurationService;
 import com.pmi.tpd.security.random.ISecureTokenGenerator;
@@ -79,6 +83,20 @@ public class ClusterConfig {
         return new DefaultLockService(clusterLockService, dataSource, i18nService);
     }
 
+    /**
+     * @param hazelcastInstance
+     * @param propertySetCacheInvalidator
+     * @return
+     * @since 3.4
+     */
+    @Bean
+    public ClusteredPropertySetCacheInvalidation clusteredPropertySetCacheInvalidation(
+        final HazelcastInstance hazelcastInstance,
+        final PropertySetCacheInvalidator propertySetCacheInvalidator) {
+        final ITopic<PropertySetInvalidation> topic = hazelcastInstance.getTopic("app.propertyset.invalidation");
+        return new ClusteredPropertySetCacheInvalidation(propertySetCacheInvalidator, topic);
+    }
+
     @Bean
     public ITenantAccessor tenantAccessor() {
         return new BareTenantAccessor();
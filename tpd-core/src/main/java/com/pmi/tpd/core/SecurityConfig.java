@@ -25,6 +25,7 @@ import org.springframework.security.config.annotation.method.configuration.Globa
 import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
 import com.pmi.tpd.api.i18n.I18nService;
@@ -176,6 +177,8 @@ public class SecurityConfig extends GlobalMethodSecurityConfiguration implements
      *                                      a {@link IUserPreferencesManager} object.
      * @param eventPublisher
      *                                      the event publisher
+     * @param transactionManager
+     *                                      the transaction manager.
      * @return Returns a {@link IAuthenticationProviderService} instance.
      */
     @Bean
@@ -184,9 +187,10 @@ public class SecurityConfig extends GlobalMethodSecurityConfiguration implements
         @Nonnull final IUserRepository userRepository,
         @Nonnull final IGroupRepository groupRepository,
         @Nonnull final IUserPreferencesManager userPreferencesManager,
-        @Nonnull final IEventPublisher eventPublisher) {
+        @Nonnull final IEventPublisher eventPublisher,
+        @Nonnull final PlatformTransactionManager transactionManager) {
         return new DefaultAuthenticationSynchroniser(authenticationProviderService, userRepository, groupRepository,
-                userPreferencesManager, eventPublisher);
+                userPreferencesManager, eventPublisher, transactionManager);
     }
 
     /**
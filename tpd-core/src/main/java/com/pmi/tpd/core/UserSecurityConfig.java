@@ -45,6 +45,7 @@ import com.pmi.tpd.core.user.spi.IUserRepository;
 import com.pmi.tpd.security.IAuthenticationContext;
 import com.pmi.tpd.security.permission.IPermissionAdminService;
 import com.pmi.tpd.security.permission.IPermissionService;
+import com.pmi.tpd.spring.transaction.ITransactionSynchronizer;
 
 /**
  * <p>
@@ -145,9 +146,10 @@ public class UserSecurityConfig {
     public IPermissionService permissionService(final IAuthenticationContext authenticationContext,
         final IEffectivePermissionRepository effectivePermissionDao,
         final IPermissionGraphFactory permissionGraphFactory,
-        final IUserService userService) {
+        final IUserService userService,
+        final ITransactionSynchronizer synchronizer) {
         return new PermissionServiceImpl(authenticationContext, effectivePermissionDao, permissionGraphFactory,
-                userService);
+                userService, synchronizer);
     }
 
     @Bean
@@ -3,25 +3,45 @@ package com.pmi.tpd.core.audit;
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
+import org.joda.time.Duration;
+import org.joda.time.Instant;
 import org.joda.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionTemplate;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Maps;
 import com.pmi.tpd.api.audit.IAuditEntry;
 import com.pmi.tpd.api.audit.IAuditEvent;
 import com.pmi.tpd.api.event.annotation.EventListener;
+import com.pmi.tpd.api.paging.PageUtils;
+import com.pmi.tpd.api.scheduler.IJobRunner;
+import com.pmi.tpd.api.scheduler.IJobRunnerRequest;
+import com.pmi.tpd.api.scheduler.IScheduledJobSource;
+import com.pmi.tpd.api.scheduler.ISchedulerService;
+import com.pmi.tpd.api.scheduler.JobRunnerResponse;
+import com.pmi.tpd.api.scheduler.SchedulerServiceException;
+import com.pmi.tpd.api.scheduler.config.JobConfig;
+import com.pmi.tpd.api.scheduler.config.JobId;
+import com.pmi.tpd.api.scheduler.config.JobRunnerKey;
+import com.pmi.tpd.api.scheduler.config.RunMode;
+import com.pmi.tpd.api.scheduler.config.Schedule;
 import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.core.audit.spi.IAuditEventRepository;
 import com.pmi.tpd.core.event.audit.AuditEvent;
@@ -37,6 +57,11 @@ import com.pmi.tpd.spring.transaction.SpringTransactionUtils;
  * <p>
  * This is the default implementation to support SpringBoot Actuator AuditEventRepository
  * </p>
+ * <p>
+ * Audit events older than the configured retention period ({@code audit.retention.period} in days) are purged
+ * periodically by a cluster-wide job. The retention period is disabled by default, so that an upgrade never deletes
+ * the existing audit history.
+ * </p>
  *
  * @author Christophe Friederich
  * @since 1.0
@@ -44,7 +69,16 @@ import com.pmi.tpd.spring.transaction.SpringTransactionUtils;
 @Singleton
 @Named
 @Transactional(readOnly = true)
-public class DefaultAuditEventService implements IAuditEventService {
+public class DefaultAuditEventService implements IAuditEventService, IScheduledJobSource {
+
+    /** */
+    private static final Logger LOGGER = LoggerFactory.getLogger(DefaultAuditEventService.class);
+
+    /** */
+    private static final JobId AUDIT_CLEANUP_JOB_ID = JobId.of(AuditCleanupJob.class.getSimpleName());
+
+    /** */
+    private static final JobRunnerKey AUDIT_CLEANUP_JOB_RUNNER_KEY = JobRunnerKey.of(AuditCleanupJob.class.getName());
 
     /** */
     private final IAuditEventRepository persistenceAuditEventRepository;
@@ -52,6 +86,21 @@ public class DefaultAuditEventService implements IAuditEventService {
     /** */
     private final TransactionTemplate requiresTransactionTemplate;
 
+    /** Maximum number of audit events purged in one transaction. */
+    @Value("${audit.cleanup.batch.size:1000}")
+    private int cleanupBatchSize = 1000;
+
+    /** Controls how frequently the audit cleanup job is run (in HOURS). */
+    @Value("${audit.cleanup.run.interval:24}")
+    private long cleanupRunInterval = 24;
+
+    /**
+     * Controls how long audit events are kept (in DAYS). Zero, or a negative value, keeps audit events forever. The
+     * purge is opt-in: by default no audit event is deleted.
+     */
+    @Value("${audit.retention.period:0}")
+    private long retentionPeriod = 0;
+
     /**
      * <p>
      * Constructor for AuditEventService.
@@ -68,6 +117,28 @@ public class DefaultAuditEventService implements IAuditEventService {
                 SpringTransactionUtils.REQUIRES_NEW);
     }
 
+    /**
+     * @param value
+     *              the number of audit events to purge in one transaction.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultAuditEventService withCleanupBatchSize(final int value) {
+        this.cleanupBatchSize = value;
+        return this;
+    }
+
+    /**
+     * @param value
+     *              the retention period of audit events in days.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultAuditEventService withRetentionPeriod(final long value) {
+        this.retentionPeriod = value;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override
     @Nonnull
@@ -104,6 +175,45 @@ public class DefaultAuditEventService implements IAuditEventService {
         return persistenceAuditEventRepository.findAllByAuditEventDateBetween(pageable, fromDate, toDate, channels);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    @Nonnull
+    public Page<? extends IAuditEvent> findByDates(@Nullable final Long beforeId,
+        final int limit,
+        @Nullable final LocalDate fromDate,
+        @Nullable final LocalDate toDate,
+        @Nullable final String... channels) {
+        // fetch one more element to know whether a next slice exists without issuing a count query
+        final List<AuditEventEntity> events = persistenceAuditEventRepository
+                .findAllByAuditEventDateBetween(beforeId, limit + 1, fromDate, toDate, channels);
+        return PageUtils.createPage(events, PageUtils.newRequest(0, limit), events.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(@Nonnull final ISchedulerService schedulerService) throws SchedulerServiceException {
+        if (retentionPeriod <= 0) {
+            LOGGER.info("Audit retention period is disabled, audit events are kept forever");
+            return;
+        }
+        final long interval = TimeUnit.HOURS.toMillis(Math.max(1, cleanupRunInterval));
+        schedulerService.registerJobRunner(AUDIT_CLEANUP_JOB_RUNNER_KEY, new AuditCleanupJob());
+        schedulerService.scheduleJob(AUDIT_CLEANUP_JOB_ID,
+            JobConfig.forJobRunnerKey(AUDIT_CLEANUP_JOB_RUNNER_KEY)
+                    .withRunMode(RunMode.RUN_ONCE_PER_CLUSTER)
+                    .withSchedule(Schedule.forInterval(interval, new Date(System.currentTimeMillis() + interval))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unschedule(@Nonnull final ISchedulerService schedulerService) throws SchedulerServiceException {
+        schedulerService.unregisterJobRunner(AUDIT_CLEANUP_JOB_RUNNER_KEY);
+    }
+
     /**
      * <p>
      * onEvent.
@@ -142,4 +252,46 @@ public class DefaultAuditEventService implements IAuditEventService {
         });
     }
 
+    /**
+     * Purges all audit events older than the retention period, {@code audit.cleanup.batch.size} events per
+     * transaction.
+     */
+    @VisibleForTesting
+    void cleanupExpiredEvents() {
+        if (retentionPeriod <= 0) {
+            return;
+        }
+        final Date date = Instant.now().minus(Duration.standardDays(retentionPeriod)).toDate();
+        final int batchSize = Math.max(1, cleanupBatchSize);
+        boolean hasMore = true;
+        while (hasMore) {
+            hasMore = requiresTransactionTemplate.execute(status -> {
+                final List<Long> ids = persistenceAuditEventRepository.findIdsByAuditEventDateBefore(date, batchSize);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Purging {} audit events created before '{}'", ids.size(), date);
+                }
+                if (ids.isEmpty()) {
+                    return false;
+                }
+                // entities are deleted one by one to remove their data and channels collections
+                persistenceAuditEventRepository.deleteAll(
+                    persistenceAuditEventRepository.findAll(QAuditEventEntity.auditEventEntity.id.in(ids)));
+                return ids.size() >= batchSize;
+            });
+        }
+    }
+
+    /**
+     * Job for purging the audit events older than the retention period.
+     */
+    private class AuditCleanupJob implements IJobRunner {
+
+        @Nullable
+        @Override
+        public JobRunnerResponse runJob(@Nonnull final IJobRunnerRequest request) {
+            cleanupExpiredEvents();
+            return JobRunnerResponse.success();
+        }
+    }
+
 }
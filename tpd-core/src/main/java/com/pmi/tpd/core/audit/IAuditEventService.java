@@ -66,4 +66,33 @@ public interface IAuditEventService {
         @Nonnull LocalDate toDate,
         @Nullable String... channels);
 
+    /**
+     * Finds a slice of audit events by range date using keyset pagination.
+     * <p>
+     * Unlike {@link #findByDates(Pageable, LocalDate, LocalDate, String...)}, the cost of this method does not depend
+     * on the depth of the requested slice, and no count query is issued: the returned page only indicates whether a
+     * next slice exists.
+     * </p>
+     *
+     * @param beforeId
+     *            the identifier of the last event of the previous slice, or {@code null} for the first slice.
+     * @param limit
+     *            the maximum number of audit events to retrieve.
+     * @param fromDate
+     *            a {@link java.util.Date} object.
+     * @param toDate
+     *            a {@link java.util.Date} object.
+     * @param channels
+     *            channels to use.
+     * @return Returns the requested slice of {@link DefaultAuditEvent} ordered from the newest to the oldest, which may
+     *         be empty but never {@code null}.
+     * @since 3.4
+     */
+    @Nonnull
+    Page<? extends IAuditEvent> findByDates(@Nullable Long beforeId,
+        int limit,
+        @Nullable LocalDate fromDate,
+        @Nullable LocalDate toDate,
+        @Nullable String... channels);
+
 }
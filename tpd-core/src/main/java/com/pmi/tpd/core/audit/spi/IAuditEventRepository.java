@@ -1,5 +1,6 @@
 package com.pmi.tpd.core.audit.spi;
 
+import java.util.Date;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -65,4 +66,45 @@ public interface IAuditEventRepository extends IDslAccessor<AuditEventEntity, St
       @Nullable LocalDate toDate,
       @Nullable final String... channels);
 
+  /**
+   * Finds a slice of audit events by range date using keyset pagination.
+   * <p>
+   * Events are returned ordered by descending identifier, so the identifier of the last returned event can be used as
+   * {@code beforeId} to retrieve the next slice without scanning the previous rows.
+   * </p>
+   *
+   * @param beforeId
+   *                 the identifier of the last event of the previous slice, or {@code null} for the first slice.
+   * @param limit
+   *                 the maximum number of events to return.
+   * @param fromDate
+   *                 a {@link java.util.Date} object.
+   * @param toDate
+   *                 a {@link java.util.Date} object.
+   * @param channels
+   *                 channels to use.
+   * @return Returns a list of {@link AuditEventEntity} filtered from {@code fromDate} to {@code toDate}, which may be
+   *         empty but never {@code null}.
+   * @since 3.4
+   */
+  @Nonnull
+  List<AuditEventEntity> findAllByAuditEventDateBetween(@Nullable Long beforeId,
+      int limit,
+      @Nullable LocalDate fromDate,
+      @Nullable LocalDate toDate,
+      @Nullable final String... channels);
+
+  /**
+   * Finds the identifiers of audit events created before {@code date}, oldest first.
+   *
+   * @param date
+   *              the date before which events are returned.
+   * @param limit
+   *              the maximum number of identifiers to return.
+   * @return Returns a list of identifiers, which may be empty but never {@code null}.
+   * @since 3.4
+   */
+  @Nonnull
+  List<Long> findIdsByAuditEventDateBefore(@Nonnull Date date, int limit);
+
 }
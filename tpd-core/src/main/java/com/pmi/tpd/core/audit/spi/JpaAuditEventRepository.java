@@ -2,6 +2,7 @@ package com.pmi.tpd.core.audit.spi;
 
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
+import java.util.Date;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -70,4 +71,29 @@ public class JpaAuditEventRepository extends DefaultJpaRepository<AuditEventEnti
     return this.findAll(predicate, checkNotNull(pageable, "pageable"));
   }
 
+  @Override
+  public List<AuditEventEntity> findAllByAuditEventDateBetween(@Nullable final Long beforeId,
+      final int limit,
+      @Nullable final LocalDate fromDate,
+      @Nullable final LocalDate toDate,
+      @Nullable final String... channels) {
+    BooleanExpression predicate = beforeId != null ? entity().id.lt(beforeId) : null;
+    if (fromDate != null && toDate != null) {
+      predicate = entity().timestamp.between(fromDate.toDate(), toDate.plusDays(1).toDate()).and(predicate);
+    }
+    if (channels != null && channels.length > 0) {
+      predicate = entity().channels.any().in(channels).and(predicate);
+    }
+    return from().where(predicate).orderBy(entity().id.desc()).limit(limit).fetch();
+  }
+
+  @Override
+  public List<Long> findIdsByAuditEventDateBefore(@Nonnull final Date date, final int limit) {
+    return from().select(entity().id)
+        .where(entity().timestamp.before(checkNotNull(date, "date")))
+        .orderBy(entity().id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
 }
@@ -1,6 +1,7 @@
 package com.pmi.tpd.core.cache;
 
 import java.net.URI;
+import java.util.List;
 
 import javax.annotation.PostConstruct;
 import javax.cache.Caching;
@@ -12,10 +13,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.cache.SpringCacheBasedUserCache;
 
@@ -23,8 +26,11 @@ import com.google.common.base.Strings;
 import com.hazelcast.cache.HazelcastCachingProvider;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.spi.properties.ClusterProperty;
+import com.pmi.tpd.cluster.hazelcast.HazelcastCacheManager;
 import com.pmi.tpd.cluster.hazelcast.HazelcastConstants;
+import com.pmi.tpd.cluster.spring.HazelcastConfigFactoryBean;
 import com.pmi.tpd.core.cluster.HazelcastConfig;
+import com.pmi.tpd.spring.context.RelaxedPropertyResolver;
 import com.pmi.tpd.spring.env.EnableConfigurationProperties;
 
 /**
@@ -94,15 +100,27 @@ public class CacheConfiguration {
      * <p>
      * cacheManager.
      * </p>
+     * <p>
+     * Caches listed in {@code hazelcast.cache.near.caches} are backed by a near-cached {@code IMap} so that hits are
+     * served from local memory, others by JCache.
+     * </p>
      *
      * @return a {@link org.springframework.cache.CacheManager} object.
      */
     @Bean(CACHE_MANAGER_BEAN_NAME)
     public CacheManager cacheManager(
-        @Named(HAZELCAST_CACHE_MANAGER_BEAN_NAME) final javax.cache.CacheManager cacheManager) {
+        @Named(HAZELCAST_CACHE_MANAGER_BEAN_NAME) final javax.cache.CacheManager cacheManager,
+        final HazelcastInstance hazelcastInstance,
+        final Environment environment) {
         final JCacheCacheManager jcacheManager = new JCacheCacheManager();
         jcacheManager.setCacheManager(cacheManager);
-        return jcacheManager;
+        final List<String> nearCacheNames = HazelcastConfigFactoryBean
+                .getNearCacheNames(new RelaxedPropertyResolver(environment, "hazelcast."));
+        if (nearCacheNames.isEmpty()) {
+            return jcacheManager;
+        }
+        LOGGER.info("Near-cached caches: {}", nearCacheNames);
+        return new CompositeCacheManager(new HazelcastCacheManager(hazelcastInstance, nearCacheNames), jcacheManager);
     }
 
     /**
@@ -16,6 +16,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -84,6 +86,9 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
 
   private ConfigurationPropertiesBinder binder;
 
+  /** snapshots of bound configurations, keyed by configuration class. */
+  private final ConcurrentMap<Class<?>, Object> configurationSnapshots = new ConcurrentHashMap<>();
+
   /** */
   private final LazyReference<Map<String, String>> defaultProperties = new LazyReference<>() {
 
@@ -144,9 +149,23 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
    */
   @EventListener
   public void onClearCache(final ClearCacheEvent event) {
+    configurationSnapshots.clear();
     refresh();
   }
 
+  /**
+   * Swaps the snapshot of changed configuration with a new bound instance.
+   *
+   * @param event
+   *              the configuration changed event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onConfigurationChanged(final ConfigurationChangedEvent<?> event) {
+    configurationSnapshots.computeIfPresent(event.getNewConfiguration().getClass(),
+        (configurationClass, snapshot) -> binder.createAndBindConfiguration(configurationClass));
+  }
+
   public void setConversionService(final ConversionService conversionService) {
     this.conversionService = conversionService;
   }
@@ -426,6 +445,7 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
           LOGGER.info("Remove property path '{}'", key);
         }
         prop.remove(key);
+        invalidateConfigurationSnapshots(key);
       }
     });
   }
@@ -433,6 +453,7 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
   private <T extends Serializable> void publishUpdateConfiguration(@Nonnull final String propertyName,
       @Nullable final T oldValue,
       @Nullable final T newValue) {
+    invalidateConfigurationSnapshots(propertyName);
     if (propertyName.contains("password")) {
       this.publisher.publish(
           new ApplicationConfigurationChangedEvent<>(this, propertyName, "************", "************"));
@@ -462,6 +483,17 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
     return binder.createAndBindConfiguration(configurationClass);
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T getConfigurationSnapshot(@Nonnull final Class<T> configurationClass) {
+    final Object snapshot = configurationSnapshots.get(checkNotNull(configurationClass, "configurationClass"));
+    if (snapshot != null) {
+      return (T) snapshot;
+    }
+    checkIsConfiguration(configurationClass);
+    return (T) configurationSnapshots.computeIfAbsent(configurationClass, binder::createAndBindConfiguration);
+  }
+
   @Override
   public <T> void removeConfiguration(@Nonnull final Class<T> configurationClass) {
     checkIsConfiguration(configurationClass);
@@ -471,6 +503,17 @@ public abstract class BaseApplicationProperties implements IApplicationPropertie
     this.publisher.publish(new ConfigurationChangedEvent<>(oldConfiguration));
   }
 
+  /**
+   * Removes snapshots of configurations containing the property, they will be bound again on next access.
+   */
+  private void invalidateConfigurationSnapshots(@Nonnull final String propertyName) {
+    if (configurationSnapshots.isEmpty()) {
+      return;
+    }
+    configurationSnapshots.keySet()
+        .removeIf(configurationClass -> propertyName.startsWith(binder.getTargetName(configurationClass) + "."));
+  }
+
   private void checkIsConfiguration(@Nonnull final Class<?> configurationClass) {
     checkNotNull(configurationClass, "configurationClass");
     Assert.state(configurationClass.isAnnotationPresent(ConfigurationProperties.class));
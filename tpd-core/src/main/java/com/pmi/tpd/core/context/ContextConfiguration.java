@@ -33,6 +33,7 @@ import com.pmi.tpd.api.lifecycle.config.ApplicationStoppingEvent;
 import com.pmi.tpd.api.util.ClassLoaderUtils;
 import com.pmi.tpd.api.versioning.IBuildUtilsInfo;
 import com.pmi.tpd.core.context.propertyset.IPropertySetDAO;
+import com.pmi.tpd.core.context.propertyset.PropertySetCacheInvalidator;
 import com.pmi.tpd.core.context.propertyset.spi.JpaPropertySetFactory;
 import com.pmi.tpd.core.context.propertyset.spi.provider.JpaPropertySetDAOImpl;
 import com.pmi.tpd.core.versioning.impl.BuildUtilsInfoGitImpl;
@@ -143,11 +144,23 @@ public class ContextConfiguration extends AbstractSmartLifecycle {
      *
      * @param propertySetDAO
      *            a {@link com.pmi.tpd.core.context.propertyset.IPropertySetDAO} object.
+     * @param propertySetCacheInvalidator
+     *            the invalidator keeping cached property sets coherent.
      * @return a {@link com.pmi.tpd.api.context.IPropertySetFactory} object.
      */
     @Bean
-    public IPropertySetFactory propertySetFactory(final IPropertySetDAO propertySetDAO) {
-        return new JpaPropertySetFactory(propertySetDAO);
+    public IPropertySetFactory propertySetFactory(final IPropertySetDAO propertySetDAO,
+        final PropertySetCacheInvalidator propertySetCacheInvalidator) {
+        return new JpaPropertySetFactory(propertySetDAO, propertySetCacheInvalidator);
+    }
+
+    /**
+     * @return Returns the invalidator keeping cached property sets coherent.
+     * @since 3.4
+     */
+    @Bean
+    public PropertySetCacheInvalidator propertySetCacheInvalidator() {
+        return new PropertySetCacheInvalidator();
     }
 
     @Bean
@@ -252,6 +252,11 @@ public class MemoryApplicationProperties implements IApplicationProperties {
         throw new UnsupportedOperationException();
     }
 
+    @Override
+    public <T> T getConfigurationSnapshot(final Class<T> configurationClass) {
+        throw new UnsupportedOperationException();
+    }
+
     @Override
     public <T> void storeConfiguration(final T configurationProperties) {
         throw new UnsupportedOperationException();
@@ -65,6 +65,12 @@ public class CachingPropertySet implements PropertySet, Serializable {
     /** the associate property set cache. */
     private PropertySetCache propertySetCache;
 
+    /** the invalidator notified of changes, can be {@code null}. */
+    private transient PropertySetCacheInvalidator invalidator;
+
+    /** the key identifying this cache in invalidator, can be {@code null}. */
+    private String cacheKey;
+
     /**
      * <p>
      * Constructor for CachingPropertySet.
@@ -193,6 +199,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -234,6 +241,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -276,6 +284,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -318,6 +327,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -359,6 +369,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -456,6 +467,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -497,6 +509,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -539,6 +552,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -617,6 +631,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -659,6 +674,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -713,6 +729,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -784,6 +801,11 @@ public class CachingPropertySet implements PropertySet, Serializable {
      * <code>args</code> contains a <code>Boolean</code> entry under the key of "bulkload" which is set to
      * <code>true</code>, then all the values in the underlying PropertySet will be preloaded into the cache.
      * </p>
+     * <p>
+     * If <code>args</code> contains a {@link PropertySetCacheInvalidator} under the key "invalidator" and a
+     * <code>String</code> under the key "cacheKey", this property set registers itself to be evicted when the same
+     * property set is changed elsewhere, and notifies its own changes.
+     * </p>
      *
      * @see PropertySet#init(java.util.Map,java.util.Map)
      * @see com.opensymphony.module.propertyset.PropertySetManager#getInstance(String,java.util.Map)
@@ -802,6 +824,32 @@ public class CachingPropertySet implements PropertySet, Serializable {
             if (bulkload != null && bulkload.booleanValue()) {
                 propertySetCache.bulkLoad(decoratedPS);
             }
+            cacheKey = (String) args.get("cacheKey");
+            invalidator = (PropertySetCacheInvalidator) args.get("invalidator");
+            if (invalidator != null && cacheKey != null) {
+                invalidator.register(cacheKey, this);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the cached value of given key, or all cached values if {@code key} is {@code null}. The next read goes to
+     * the decorated property set.
+     *
+     * @param key
+     *            the key to evict (can be {@code null}).
+     * @since 3.4
+     */
+    public void evict(@Nullable final String key) {
+        lock.lock();
+        try {
+            if (key == null) {
+                propertySetCache.remove();
+            } else {
+                propertySetCache.evict(key);
+            }
         } finally {
             lock.unlock();
         }
@@ -817,6 +865,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(key);
     }
 
     /** {@inheritDoc} */
@@ -829,6 +878,7 @@ public class CachingPropertySet implements PropertySet, Serializable {
         } finally {
             lock.unlock();
         }
+        changed(null);
     }
 
     /** {@inheritDoc} */
@@ -854,4 +904,11 @@ public class CachingPropertySet implements PropertySet, Serializable {
             lock.unlock();
         }
     }
+
+    private void changed(@Nullable final String key) {
+        final PropertySetCacheInvalidator invalidator = this.invalidator;
+        if (invalidator != null && cacheKey != null) {
+            invalidator.changed(this, cacheKey, key);
+        }
+    }
 }
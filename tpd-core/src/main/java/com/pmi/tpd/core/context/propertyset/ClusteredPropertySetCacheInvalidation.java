@@ -0,0 +1,65 @@
+package com.pmi.tpd.core.context.propertyset;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.UUID;
+
+import javax.annotation.Nonnull;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import com.hazelcast.topic.ITopic;
+
+/**
+ * Binds a {@link PropertySetCacheInvalidator} to an {@link ITopic}, so that changes of cached property sets are
+ * evicted on all nodes in the cluster.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class ClusteredPropertySetCacheInvalidation {
+
+    /** */
+    private final PropertySetCacheInvalidator invalidator;
+
+    /** */
+    private final ITopic<PropertySetInvalidation> topic;
+
+    /** */
+    private volatile UUID listenerId;
+
+    /**
+     * @param invalidator
+     * @param topic
+     */
+    public ClusteredPropertySetCacheInvalidation(@Nonnull final PropertySetCacheInvalidator invalidator,
+            @Nonnull final ITopic<PropertySetInvalidation> topic) {
+        this.invalidator = checkNotNull(invalidator, "invalidator");
+        this.topic = checkNotNull(topic, "topic");
+    }
+
+    /**
+     *
+     */
+    @PostConstruct
+    public void addListener() {
+        listenerId = topic.addMessageListener(message -> {
+            if (!message.getPublishingMember().localMember()) {
+                invalidator.evict(message.getMessageObject());
+            }
+        });
+        invalidator.setBroadcaster(topic::publish);
+    }
+
+    /**
+     *
+     */
+    @PreDestroy
+    public void removeListener() {
+        invalidator.setBroadcaster(null);
+        final UUID listenerId = this.listenerId;
+        if (listenerId != null) {
+            topic.removeMessageListener(listenerId);
+        }
+    }
+}
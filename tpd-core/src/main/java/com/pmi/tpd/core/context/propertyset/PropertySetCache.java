@@ -523,6 +523,21 @@ public class PropertySetCache implements Serializable {
         existanceCache.clear();
     }
 
+    /**
+     * Forgets the cached value of given key, so that the next read goes to the underlying PropertySet.
+     * <p>
+     * Unlike {@link #remove(String)}, the key is not cached as non-existent.
+     * </p>
+     *
+     * @param key
+     *            the key to evict.
+     * @since 3.4
+     */
+    public void evict(final String key) {
+        valueCache.remove(key);
+        existanceCache.remove(key);
+    }
+
     /**
      * Eagerly loads all the values from the given PropertySet into this cache.
      *
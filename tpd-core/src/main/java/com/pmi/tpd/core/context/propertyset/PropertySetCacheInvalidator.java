@@ -0,0 +1,126 @@
+package com.pmi.tpd.core.context.propertyset;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.pmi.tpd.spring.transaction.SpringTransactionUtils;
+
+/**
+ * Keeps track of {@link CachingPropertySet} instances per cache key and coordinates their invalidation.
+ * <p>
+ * Each change applied to a registered {@link CachingPropertySet} is forwarded, once the current transaction has
+ * committed, to the attached broadcaster (typically a cluster topic, see
+ * {@link ClusteredPropertySetCacheInvalidation}). A node receiving a {@link PropertySetInvalidation} evicts only the
+ * changed key from its local caches, all other cached values stay hot.
+ * </p>
+ * <p>
+ * Registered property sets are weakly referenced, they don't have to unregister themselves.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class PropertySetCacheInvalidator {
+
+    /** */
+    private static final Logger LOGGER = LoggerFactory.getLogger(PropertySetCacheInvalidator.class);
+
+    /** */
+    private final ConcurrentMap<String, Set<CachingPropertySet>> registry = new ConcurrentHashMap<>();
+
+    /** */
+    private volatile Consumer<PropertySetInvalidation> broadcaster;
+
+    /**
+     * Attaches the broadcaster used to propagate changes to other nodes.
+     *
+     * @param broadcaster
+     *            the broadcaster to use or {@code null} to detach the current one.
+     */
+    public void setBroadcaster(@Nullable final Consumer<PropertySetInvalidation> broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Registers a caching property set under given cache key.
+     *
+     * @param cacheKey
+     *            the key identifying the cached property set (for instance the entity name and identifier).
+     * @param propertySet
+     *            the property set to register.
+     */
+    public void register(@Nonnull final String cacheKey, @Nonnull final CachingPropertySet propertySet) {
+        checkNotNull(propertySet, "propertySet");
+        registry.computeIfAbsent(checkNotNull(cacheKey, "cacheKey"),
+            k -> Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()))).add(propertySet);
+    }
+
+    /**
+     * Notifies that a property of cached property set has changed locally. All other instances sharing the same cache
+     * key are evicted and the change is broadcasted after the commit of current transaction.
+     *
+     * @param source
+     *            the property set which has changed.
+     * @param cacheKey
+     *            the key identifying the cached property set.
+     * @param key
+     *            the changed property key or {@code null} if all properties have changed.
+     */
+    public void changed(@Nonnull final CachingPropertySet source,
+        @Nonnull final String cacheKey,
+        @Nullable final String key) {
+        final PropertySetInvalidation invalidation = new PropertySetInvalidation(cacheKey, key);
+        evict(invalidation, source);
+        SpringTransactionUtils.invokeAfterCommit(() -> {
+            final Consumer<PropertySetInvalidation> broadcaster = this.broadcaster;
+            if (broadcaster != null) {
+                broadcaster.accept(invalidation);
+            }
+        });
+    }
+
+    /**
+     * Evicts the changed property from all local property sets registered under the cache key of invalidation.
+     *
+     * @param invalidation
+     *            the invalidation to apply.
+     */
+    public void evict(@Nonnull final PropertySetInvalidation invalidation) {
+        evict(checkNotNull(invalidation, "invalidation"), null);
+    }
+
+    private void evict(final PropertySetInvalidation invalidation, @Nullable final CachingPropertySet source) {
+        final Set<CachingPropertySet> propertySets = registry.get(invalidation.getCacheKey());
+        if (propertySets == null) {
+            return;
+        }
+        final List<CachingPropertySet> targets;
+        synchronized (propertySets) {
+            targets = ImmutableList.copyOf(propertySets);
+        }
+        if (targets.isEmpty()) {
+            registry.remove(invalidation.getCacheKey(), propertySets);
+            return;
+        }
+        LOGGER.trace("Evicting {}", invalidation);
+        for (final CachingPropertySet propertySet : targets) {
+            if (propertySet != source) {
+                propertySet.evict(invalidation.getKey().orElse(null));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pmi.tpd.core.context.propertyset;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.io.Serializable;
+import java.util.Optional;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Message broadcasted to all nodes of cluster when a cached property set has changed.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public final class PropertySetInvalidation implements Serializable {
+
+    /** */
+    private static final long serialVersionUID = 1L;
+
+    /** */
+    private final String cacheKey;
+
+    /** */
+    private final String key;
+
+    /**
+     * @param cacheKey
+     *            the key identifying the cached property set.
+     * @param key
+     *            the changed property key or {@code null} if all properties have changed.
+     */
+    public PropertySetInvalidation(@Nonnull final String cacheKey, @Nullable final String key) {
+        this.cacheKey = checkNotNull(cacheKey, "cacheKey");
+        this.key = key;
+    }
+
+    /**
+     * @return Returns the key identifying the cached property set.
+     */
+    @Nonnull
+    public String getCacheKey() {
+        return cacheKey;
+    }
+
+    /**
+     * @return Returns the changed property key or {@link Optional#empty()} if all properties have changed.
+     */
+    @Nonnull
+    public Optional<String> getKey() {
+        return Optional.ofNullable(key);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("cacheKey", cacheKey).add("key", key).toString();
+    }
+}
@@ -37,8 +37,10 @@ import com.pmi.tpd.api.context.IPropertySetFactory;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.context.propertyset.IPropertySetDAO;
 import com.pmi.tpd.core.context.propertyset.PropertySetAccessor;
+import com.pmi.tpd.core.context.propertyset.PropertySetCacheInvalidator;
 import com.pmi.tpd.core.context.propertyset.spi.provider.DefaultJpaConfigurationProvider;
 import com.pmi.tpd.core.context.propertyset.spi.provider.IJpaConfigurationProvider;
+import com.pmi.tpd.core.context.propertyset.spi.provider.JpaPropertySet;
 import com.pmi.tpd.core.model.propertyset.PropertySetItem;
 
 /**
@@ -62,6 +64,9 @@ public class JpaPropertySetFactory implements IPropertySetFactory {
   /** */
   private final IPropertySetDAO propertySetDAO;
 
+  /** */
+  private final PropertySetCacheInvalidator cacheInvalidator;
+
   /**
    * <p>
    * Constructor for JpaPropertySetFactory.
@@ -72,9 +77,29 @@ public class JpaPropertySetFactory implements IPropertySetFactory {
    *                       {@link com.pmi.tpd.core.context.propertyset.IPropertySetDAO}
    *                       object.
    */
-  @Inject
   public JpaPropertySetFactory(@Nonnull final IPropertySetDAO propertySetDAO) {
+    this(propertySetDAO, new PropertySetCacheInvalidator());
+  }
+
+  /**
+   * <p>
+   * Constructor for JpaPropertySetFactory.
+   * </p>
+   *
+   * @param propertySetDAO
+   *                         a
+   *                         {@link com.pmi.tpd.core.context.propertyset.IPropertySetDAO}
+   *                         object.
+   * @param cacheInvalidator
+   *                         the invalidator keeping caching property sets
+   *                         coherent.
+   * @since 3.4
+   */
+  @Inject
+  public JpaPropertySetFactory(@Nonnull final IPropertySetDAO propertySetDAO,
+      @Nonnull final PropertySetCacheInvalidator cacheInvalidator) {
     this.propertySetDAO = Assert.checkNotNull(propertySetDAO, "propertySetDAO");
+    this.cacheInvalidator = Assert.checkNotNull(cacheInvalidator, "cacheInvalidator");
   }
 
   /** {@inheritDoc} */
@@ -137,10 +162,16 @@ public class JpaPropertySetFactory implements IPropertySetFactory {
     checkNotNull(accessor, "accessor");
     Assert.state(accessor instanceof PropertySetAccessor, "Only PropertySetAccessor accepted");
     final PropertySet propertySet = toPropertySet(accessor);
-    final Map<String, Object> args = new ImmutableMap.Builder<String, Object>().put("PropertySet", propertySet)
-        .put("bulkload", Boolean.valueOf(bulkLoad))
-        .build();
-    return new PropertySetAccessor(createPropertySet("cached", args));
+    final ImmutableMap.Builder<String, Object> args = new ImmutableMap.Builder<String, Object>()
+        .put("PropertySet", propertySet)
+        .put("bulkload", Boolean.valueOf(bulkLoad));
+    if (propertySet instanceof JpaPropertySet) {
+      // only persistent property sets are shared between instances and nodes.
+      final JpaPropertySet jpaPropertySet = (JpaPropertySet) propertySet;
+      args.put("cacheKey", jpaPropertySet.getEntityName() + '#' + jpaPropertySet.getEntityId())
+          .put("invalidator", cacheInvalidator);
+    }
+    return new PropertySetAccessor(createPropertySet("cached", args.build()));
   }
 
   /** {@inheritDoc} */
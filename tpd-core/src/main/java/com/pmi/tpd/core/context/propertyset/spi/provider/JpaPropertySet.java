@@ -97,6 +97,22 @@ public class JpaPropertySet extends AbstractPropertySet {
         return findByKey(key).isPresent();
     }
 
+    /**
+     * @return Returns the name of entity owning this property set.
+     * @since 3.4
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    /**
+     * @return Returns the identifier of entity owning this property set.
+     * @since 3.4
+     */
+    public Long getEntityId() {
+        return entityId;
+    }
+
     /** {@inheritDoc} */
     @SuppressWarnings("rawtypes")
     @Override
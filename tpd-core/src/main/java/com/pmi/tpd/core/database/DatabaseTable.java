@@ -22,6 +22,7 @@ import com.pmi.tpd.core.model.euceg.StatusAttachment;
 import com.pmi.tpd.core.model.euceg.SubmissionEntity;
 import com.pmi.tpd.core.model.euceg.SubmitterEntity;
 import com.pmi.tpd.core.model.euceg.TransmitReceiptEntity;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity;
 import com.pmi.tpd.core.model.propertyset.PropertySetItem;
 import com.pmi.tpd.core.model.upgrade.UpgradeHistory;
 import com.pmi.tpd.core.model.upgrade.UpgradeHistoryVersion;
@@ -109,6 +110,9 @@ public enum DatabaseTable implements IDatabaseTable {
     /** */
     STATUS_ATTACHMENT(StatusAttachment.TABLE_NAME), // fk -> (attachment, submitter)
 
+    /** */
+    MAIL_OUTBOX(MailOutboxEntity.TABLE_NAME),
+
     /** */
     HIBERNATE_GENERATED_ID(ApplicationConstants.Jpa.Generator.NAME, PREPOPULATED);
 
@@ -3,23 +3,45 @@ package com.pmi.tpd.core.elasticsearch;
 import static com.pmi.tpd.api.util.Assert.checkHasText;
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.node.NodeClient;
+import org.elasticsearch.index.reindex.UpdateByQueryAction;
+import org.elasticsearch.index.reindex.UpdateByQueryRequest;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.tasks.Task;
+import org.elasticsearch.tasks.TaskId;
+import org.elasticsearch.tasks.TaskResult;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ElasticsearchRestTemplate;
+import org.springframework.data.elasticsearch.core.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
 import org.springframework.data.elasticsearch.core.SearchHitSupport;
 import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
 import org.springframework.data.util.CloseableIterator;
 import org.springframework.lang.Nullable;
 
-import com.google.common.collect.Lists;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
 import com.pmi.tpd.api.i18n.I18nService;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.elasticsearch.model.AttachmentIndexed;
@@ -31,12 +53,30 @@ import com.pmi.tpd.core.elasticsearch.repositories.IProductIndexedRepository;
 import com.pmi.tpd.core.elasticsearch.repositories.ISubmissionIndexedRepository;
 import com.pmi.tpd.core.elasticsearch.repositories.ISubmitterIndexedRepository;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * @author Christophe Friederich
  * @since 1.4
  */
+@Slf4j
 public class DefaultIndexerOperations implements IIndexerOperations {
 
+    /** */
+    private static final List<Class<?>> INDEXED_CLASSES = ImmutableList.of(SubmissionIndexed.class,
+        SubmitterIndexed.class,
+        ProductIndexed.class,
+        AttachmentIndexed.class);
+
+    /** key of the meta data of mapping. */
+    private static final String MAPPING_META = "_meta";
+
+    /** meta data indicating the documents of index are being updated with a new mapping. */
+    private static final String MAPPING_UPDATE_PENDING = "mappingUpdatePending";
+
+    /** */
+    private static final ObjectMapper JSON_READER = new ObjectMapper();
+
     /** */
     private final I18nService i18nService;
 
@@ -55,6 +95,9 @@ public class DefaultIndexerOperations implements IIndexerOperations {
     /** */
     private final IAttachmentIndexedRepository attachmentIndexedRepository;
 
+    /** the update tasks of documents started by {@link #updateMappings()}, per indexed class. */
+    private final ConcurrentMap<Class<?>, String> mappingUpdates = new ConcurrentHashMap<>();
+
     @Inject
     public DefaultIndexerOperations(@Nonnull final ElasticsearchOperations elasticsearchTemplate,
             @Nonnull final I18nService i18nService,
@@ -72,15 +115,14 @@ public class DefaultIndexerOperations implements IIndexerOperations {
 
     @Override
     public void clearAll() {
-        final List<Class<?>> classes = Lists.newArrayList(SubmissionIndexed.class,
-            SubmitterIndexed.class,
-            ProductIndexed.class,
-            AttachmentIndexed.class);
-        classes.stream().forEach(cl -> {
+        INDEXED_CLASSES.stream().forEach(cl -> {
             elasticsearchTemplate.indexOps(cl).delete();
             elasticsearchTemplate.indexOps(cl).create();
             elasticsearchTemplate.indexOps(cl).putMapping();
             elasticsearchTemplate.indexOps(cl).refresh();
+            // the recreated index has the current mapping
+            mappingUpdates.remove(cl);
+            SearchQuerySupport.setWildcardFieldsAvailable(cl, true);
         });
     }
 
@@ -89,6 +131,68 @@ public class DefaultIndexerOperations implements IIndexerOperations {
 
     }
 
+    @Override
+    public int updateMappings() {
+        for (final Class<?> cl : INDEXED_CLASSES) {
+            final IndexOperations indexOps = elasticsearchTemplate.indexOps(cl);
+            execute(() -> {
+                // a missing index is created with the current mapping
+                if (!indexOps.exists()) {
+                    return null;
+                }
+                final Document mapping = indexOps.createMapping();
+                final Map<String, Object> currentMapping = indexOps.getMapping();
+                final boolean missingFields = hasMissingFields(mapping, currentMapping);
+                if (!missingFields && !isMappingUpdatePending(currentMapping)) {
+                    return null;
+                }
+                final String indexName = indexOps.getIndexCoordinates().getIndexName();
+                if (missingFields) {
+                    LOGGER.info("Updating the mapping of index {}", indexName);
+                    // adding fields and sub-fields to an existing mapping is allowed, the update of documents is
+                    // recorded as pending in the mapping until it completes, so that it is resumed after a restart
+                    indexOps.putMapping(mapping.append(MAPPING_META, Map.of(MAPPING_UPDATE_PENDING, true)));
+                }
+                // the documents don't have the new fields until the update completes
+                SearchQuerySupport.setWildcardFieldsAvailable(cl, false);
+                // an update without script reindexes each document in place with the new mapping
+                final String taskId = submitUpdateByQuery(indexOps.getIndexCoordinates());
+                LOGGER.info("Updating the documents of index {} in background (task {})", indexName, taskId);
+                mappingUpdates.put(cl, taskId);
+                return null;
+            });
+        }
+        return mappingUpdates.size();
+    }
+
+    @Override
+    public int checkMappingUpdates() {
+        for (final Map.Entry<Class<?>, String> update : mappingUpdates.entrySet()) {
+            final Class<?> cl = update.getKey();
+            final IndexOperations indexOps = elasticsearchTemplate.indexOps(cl);
+            final String indexName = indexOps.getIndexCoordinates().getIndexName();
+            execute(() -> {
+                final TaskState state = getTaskState(update.getValue());
+                if (TaskState.RUNNING.equals(state)) {
+                    return null;
+                }
+                mappingUpdates.remove(cl);
+                if (TaskState.FAILED.equals(state)) {
+                    // the update stays pending, it is started again at next startup
+                    LOGGER.error("The update of documents of index {} has failed, it will be resumed at next startup",
+                        indexName);
+                    return null;
+                }
+                indexOps.putMapping(Document.from(Map.of(MAPPING_META, Map.of(MAPPING_UPDATE_PENDING, false))));
+                indexOps.refresh();
+                SearchQuerySupport.setWildcardFieldsAvailable(cl, true);
+                LOGGER.info("The documents of index {} have been updated", indexName);
+                return null;
+            });
+        }
+        return mappingUpdates.size();
+    }
+
     @Override
     @Nonnull
     public Page<SubmissionIndexed> findAllSubmission(@Nonnull final Pageable pageable) {
@@ -102,6 +206,19 @@ public class DefaultIndexerOperations implements IIndexerOperations {
         return execute(() -> findAllForStream(pageable, SubmissionIndexed.class, maxElement));
     }
 
+    @Override
+    @Nonnull
+    public IndexedCursor<SubmissionIndexed> scrollSubmission(@Nonnull final Pageable pageable,
+        final long maxElement) {
+        return execute(() -> scroll(pageable, SubmissionIndexed.class, maxElement));
+    }
+
+    @Override
+    @Nonnull
+    public IndexedCursor<ProductIndexed> scrollProduct(@Nonnull final Pageable pageable, final long maxElement) {
+        return execute(() -> scroll(pageable, ProductIndexed.class, maxElement));
+    }
+
     @Override
     @Nonnull
     public Page<ProductIndexed> findAllProduct(@Nonnull final Pageable pageable) {
@@ -191,6 +308,15 @@ public class DefaultIndexerOperations implements IIndexerOperations {
         });
     }
 
+    /**
+     * State of an update task of documents.
+     */
+    private enum TaskState {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
     @FunctionalInterface
     public interface ExcecuteCallback<R> {
 
@@ -207,6 +333,108 @@ public class DefaultIndexerOperations implements IIndexerOperations {
         }
     }
 
+    /**
+     * @param mapping
+     *                the mapping of existing index.
+     * @return Returns {@code true} if the update of documents started by {@link #updateMappings()} hasn't completed.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean isMappingUpdatePending(@Nullable final Map<String, Object> mapping) {
+        final Object meta = mapping != null ? mapping.get(MAPPING_META) : null;
+        return meta instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) meta).get(MAPPING_UPDATE_PENDING));
+    }
+
+    /**
+     * Checks whether a property or a sub-field of the {@code expected} mapping is missing in the {@code actual} mapping.
+     *
+     * @param expected
+     *                 the mapping of indexed class.
+     * @param actual
+     *                 the mapping of existing index.
+     * @return Returns {@code true} if a field is missing.
+     */
+    @SuppressWarnings("unchecked")
+    static boolean hasMissingFields(@Nullable final Map<String, Object> expected,
+        @Nullable final Map<String, Object> actual) {
+        if (expected == null) {
+            return false;
+        }
+        for (final String key : List.of("properties", "fields")) {
+            final Map<String, Object> expectedFields = (Map<String, Object>) expected.get(key);
+            if (expectedFields == null) {
+                continue;
+            }
+            final Map<String, Object> actualFields = actual != null ? (Map<String, Object>) actual.get(key) : null;
+            for (final Map.Entry<String, Object> field : expectedFields.entrySet()) {
+                final Object actualField = actualFields != null ? actualFields.get(field.getKey()) : null;
+                if (actualField == null || hasMissingFields((Map<String, Object>) field.getValue(),
+                    (Map<String, Object>) actualField)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts the update of all documents of an index without waiting for its completion.
+     *
+     * @return Returns the identifier of the update task.
+     */
+    @Nonnull
+    private String submitUpdateByQuery(@Nonnull final IndexCoordinates index) {
+        if (elasticsearchTemplate instanceof ElasticsearchRestTemplate) {
+            return ((ElasticsearchRestTemplate) elasticsearchTemplate).execute(client -> {
+                final Request request = new Request("POST", "/" + index.getIndexName() + "/_update_by_query");
+                request.addParameter("conflicts", "proceed");
+                request.addParameter("wait_for_completion", "false");
+                return readJson(client.getLowLevelClient().performRequest(request)).path("task").asText();
+            });
+        }
+        final NodeClient client = (NodeClient) ((ElasticsearchTemplate) elasticsearchTemplate).getClient();
+        final UpdateByQueryRequest request = new UpdateByQueryRequest(index.getIndexNames());
+        request.setAbortOnVersionConflict(false);
+        // the outcome is kept in the tasks index, like an update started without waiting for completion
+        request.setShouldStoreResult(true);
+        final Task task = client.executeLocally(UpdateByQueryAction.INSTANCE,
+            request,
+            ActionListener.wrap(response -> {
+            }, ex -> {
+            }));
+        return new TaskId(client.getLocalNodeId(), task.getId()).toString();
+    }
+
+    @Nonnull
+    private TaskState getTaskState(@Nonnull final String taskId) {
+        if (elasticsearchTemplate instanceof ElasticsearchRestTemplate) {
+            return ((ElasticsearchRestTemplate) elasticsearchTemplate).execute(client -> {
+                final JsonNode task = readJson(
+                    client.getLowLevelClient().performRequest(new Request("GET", "/_tasks/" + taskId)));
+                if (!task.path("completed").asBoolean()) {
+                    return TaskState.RUNNING;
+                }
+                return task.has("error") || task.path("response").path("failures").size() > 0 ? TaskState.FAILED
+                        : TaskState.COMPLETED;
+            });
+        }
+        final TaskResult task = ((ElasticsearchTemplate) elasticsearchTemplate).getClient()
+                .admin()
+                .cluster()
+                .prepareGetTask(taskId)
+                .get()
+                .getTask();
+        if (!task.isCompleted()) {
+            return TaskState.RUNNING;
+        }
+        return task.getError() != null ? TaskState.FAILED : TaskState.COMPLETED;
+    }
+
+    private static JsonNode readJson(final Response response) throws IOException {
+        try (InputStream in = response.getEntity().getContent()) {
+            return JSON_READER.readTree(in);
+        }
+    }
+
     private RuntimeException translateException(final ElasticsearchException exception) {
 
         return new IndexingException(i18nService.createKeyedMessage("app.service.index.unrecognized"), exception);
@@ -225,6 +453,20 @@ public class DefaultIndexerOperations implements IIndexerOperations {
         return it.stream();
     }
 
+    @Nonnull
+    private <T> IndexedCursor<T> scroll(@Nonnull final Pageable pageable,
+        final Class<T> entityClass,
+        final long maxElements) {
+        checkNotNull(pageable, "pageable");
+        // a scroll context doesn't accept offset
+        final NativeSearchQuery query = SearchQuerySupport.queryBuilder(entityClass, pageable.first(), true);
+        if (pageable.getSort().isUnsorted()) {
+            // index order is the cheapest order to scroll
+            query.addSort(SortBuilders.fieldSort("_doc"));
+        }
+        return new IndexedCursor<>(searchForStream(query, entityClass), pageable.getPageSize(), maxElements);
+    }
+
     private <T> SearchHitsIterator<T> searchForStream(final NativeSearchQuery query, final Class<T> entityClass) {
         final SearchHitsIterator<T> searchHits = this.elasticsearchTemplate
                 .searchForStream(query, entityClass, elasticsearchTemplate.getIndexCoordinatesFor(entityClass));
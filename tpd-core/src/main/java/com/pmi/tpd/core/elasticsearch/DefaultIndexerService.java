@@ -138,13 +138,14 @@ public class DefaultIndexerService implements IIndexerService {
 
         transactionTemplate.execute(status -> {
             PageUtils.asStream(p -> this.productStore.findAll(p), request)
-                    .peek(e -> monitor
-                            .setMessage(String.format("Indexing Product (%d/%d)", count.incrementAndGet(), totalRows)))
                     .peek(e -> monitor.increment())
                     .map(ProductIndexed::from)
                     .forEach(e -> {
                         tmp.add(e);
                         if (tmp.size() >= NUMBER_ENTITY_FETCH) {
+                            monitor.setMessage(String.format("Indexing Product (%d/%d)",
+                                count.addAndGet(tmp.size()),
+                                totalRows));
                             this.indexerOperations.saveAllProduct(tmp);
                             tmp.clear();
                         }
@@ -163,13 +164,14 @@ public class DefaultIndexerService implements IIndexerService {
 
         transactionTemplate.execute(status -> {
             PageUtils.asStream(p -> this.productSubmissionStore.findAll(p), request)
-                    .peek(e -> monitor.setMessage(
-                        String.format("Indexing Submission (%d/%d)", count.incrementAndGet(), totalRows)))
                     .peek(e -> monitor.increment())
                     .map(SubmissionIndexed::from)
                     .forEach(e -> {
                         tmp.add(e);
                         if (tmp.size() >= NUMBER_ENTITY_FETCH) {
+                            monitor.setMessage(String.format("Indexing Submission (%d/%d)",
+                                count.addAndGet(tmp.size()),
+                                totalRows));
                             this.indexerOperations.saveAllSubmission(tmp);
                             tmp.clear();
                         }
@@ -189,13 +191,14 @@ public class DefaultIndexerService implements IIndexerService {
 
         transactionTemplate.execute(status -> {
             PageUtils.asStream(p -> this.submitterStore.findAll(p), request)
-                    .peek(e -> monitor.setMessage(
-                        String.format("Indexing Submitter (%d/%d)", count.incrementAndGet(), totalRows)))
                     .peek(e -> monitor.increment())
                     .map(SubmitterIndexed::from)
                     .forEach(e -> {
                         tmp.add(e);
                         if (tmp.size() >= NUMBER_ENTITY_FETCH) {
+                            monitor.setMessage(String.format("Indexing Submitter (%d/%d)",
+                                count.addAndGet(tmp.size()),
+                                totalRows));
                             this.indexerOperations.saveAllSubmitter(tmp);
                             tmp.clear();
                         }
@@ -215,13 +218,14 @@ public class DefaultIndexerService implements IIndexerService {
 
         transactionTemplate.execute(status -> {
             PageUtils.asStream(p -> this.attachmentStore.findAll(p), request)
-                    .peek(e -> monitor.setMessage(
-                        String.format("Indexing Attachment (%d/%d)", count.incrementAndGet(), totalRows)))
                     .peek(e -> monitor.increment())
                     .map(AttachmentIndexed::from)
                     .forEach(e -> {
                         tmp.add(e);
                         if (tmp.size() >= NUMBER_ENTITY_FETCH) {
+                            monitor.setMessage(String.format("Indexing Attachment (%d/%d)",
+                                count.addAndGet(tmp.size()),
+                                totalRows));
                             this.indexerOperations.saveAllAttachment(tmp);
                             tmp.clear();
                         }
@@ -3,6 +3,7 @@ package com.pmi.tpd.core.elasticsearch;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -137,6 +138,12 @@ public class ElasticSearchConfigurer extends ElasticsearchConfigurationSupport {
         productIndexRepository, submitterIndexedRepository, attachmentIndexedRepository);
   }
 
+  @Bean
+  public IndexMappingLifecycle indexMappingLifecycle(final IIndexerOperations indexerOperations,
+      final ScheduledExecutorService executorService) {
+    return new IndexMappingLifecycle(indexerOperations, executorService);
+  }
+
   @Bean
   public IIndexerTaskFactory indexerTaskFactory(final ApplicationContext applicationContext) {
     return new IndexerTaskFactory(applicationContext);
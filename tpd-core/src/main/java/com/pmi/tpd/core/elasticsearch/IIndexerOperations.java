@@ -28,6 +28,26 @@ public interface IIndexerOperations {
      */
     void optimize();
 
+    /**
+     * Adds the fields missing in the mapping of existing indexes, for instance a new sub-field, and starts the update of
+     * documents already indexed so that they get the new fields, without requiring a full reindex. The documents are
+     * updated in background, the update is recorded in the mapping of index until it completes, so that an interrupted
+     * update is started again.
+     *
+     * @return Returns the number of indexes which documents are being updated.
+     * @since 3.4
+     * @see #checkMappingUpdates()
+     */
+    int updateMappings();
+
+    /**
+     * Checks the update of documents started by {@link #updateMappings()}, and records the completed updates.
+     *
+     * @return Returns the number of indexes which documents are still being updated.
+     * @since 3.4
+     */
+    int checkMappingUpdates();
+
     /**
      * @param pageable
      * @return
@@ -42,6 +62,36 @@ public interface IIndexerOperations {
     @Nonnull
     Stream<SubmissionIndexed> findAllSubmissionForStream(@Nonnull final Pageable pageable, long maxEelement);
 
+    /**
+     * Walks all submissions matching the query and filters of {@code pageable}, by batches of
+     * {@link Pageable#getPageSize() page size}, with a cost independent of depth. The page number of {@code pageable}
+     * is ignored.
+     *
+     * @param pageable
+     *                   the query, filters, sort and batch size.
+     * @param maxElement
+     *                   the maximum number of submissions to walk, or {@code 0} for all.
+     * @return Returns a new cursor, which has to be closed if not exhausted.
+     * @since 3.4
+     */
+    @Nonnull
+    IndexedCursor<SubmissionIndexed> scrollSubmission(@Nonnull Pageable pageable, long maxElement);
+
+    /**
+     * Walks all products matching the query and filters of {@code pageable}, by batches of
+     * {@link Pageable#getPageSize() page size}, with a cost independent of depth. The page number of {@code pageable}
+     * is ignored.
+     *
+     * @param pageable
+     *                   the query, filters, sort and batch size.
+     * @param maxElement
+     *                   the maximum number of products to walk, or {@code 0} for all.
+     * @return Returns a new cursor, which has to be closed if not exhausted.
+     * @since 3.4
+     */
+    @Nonnull
+    IndexedCursor<ProductIndexed> scrollProduct(@Nonnull Pageable pageable, long maxElement);
+
     /**
      * @param pageable
      * @return
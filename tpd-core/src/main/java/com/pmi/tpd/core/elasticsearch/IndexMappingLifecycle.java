@@ -0,0 +1,94 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.pmi.tpd.api.ApplicationConstants;
+import com.pmi.tpd.spring.context.AbstractSmartLifecycle;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Upgrades the mapping of existing indexes at startup, so that the fields added to indexed documents are available
+ * without renaming the indexes nor requiring a full reindex.
+ * <p>
+ * The documents are updated in background, the startup doesn't wait for it: the update is checked every
+ * {@value #CHECK_INTERVAL_SECONDS} seconds until it completes.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ * @see IIndexerOperations#updateMappings()
+ */
+@Slf4j
+public class IndexMappingLifecycle extends AbstractSmartLifecycle {
+
+    /** */
+    private static final long CHECK_INTERVAL_SECONDS = 10;
+
+    /** */
+    private final IIndexerOperations indexerOperations;
+
+    /** */
+    private final ScheduledExecutorService executorService;
+
+    /** */
+    private volatile ScheduledFuture<?> checkFuture;
+
+    public IndexMappingLifecycle(@Nonnull final IIndexerOperations indexerOperations,
+            @Nonnull final ScheduledExecutorService executorService) {
+        this.indexerOperations = checkNotNull(indexerOperations, "indexerOperations");
+        this.executorService = checkNotNull(executorService, "executorService");
+    }
+
+    @Override
+    public int getPhase() {
+        return ApplicationConstants.LifeCycle.LIFECYCLE_PHASE_INDEX_MAPPING;
+    }
+
+    @Override
+    public void start() {
+        try {
+            final int updating = indexerOperations.updateMappings();
+            if (updating > 0) {
+                LOGGER.info("The documents of {} index(es) are being updated in background", updating);
+                checkFuture = executorService.scheduleWithFixedDelay(this::checkUpdates,
+                    CHECK_INTERVAL_SECONDS,
+                    CHECK_INTERVAL_SECONDS,
+                    TimeUnit.SECONDS);
+            }
+        } catch (final RuntimeException ex) {
+            // the application stays usable, the update is started again at next startup
+            LOGGER.error("The mapping of indexes can not be updated", ex);
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        final ScheduledFuture<?> future = checkFuture;
+        if (future != null) {
+            future.cancel(false);
+            checkFuture = null;
+        }
+        super.stop();
+    }
+
+    private void checkUpdates() {
+        try {
+            final ScheduledFuture<?> future = checkFuture;
+            if (indexerOperations.checkMappingUpdates() == 0 && future != null) {
+                future.cancel(false);
+            }
+        } catch (final RuntimeException ex) {
+            // checked again at next run
+            LOGGER.warn("The update of indexes can not be checked", ex);
+        }
+    }
+
+}
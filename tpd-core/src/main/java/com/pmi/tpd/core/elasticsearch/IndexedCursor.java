@@ -0,0 +1,135 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+import org.springframework.data.util.CloseableIterator;
+
+import com.pmi.tpd.api.scheduler.ITaskMonitorProgress;
+import com.pmi.tpd.api.util.Assert;
+
+/**
+ * Iterates by batches over all documents matching a query, using an Elasticsearch scroll context.
+ * <p>
+ * Unlike offset paging, the cost of a batch doesn't depend on its depth, the iteration is not limited by the result
+ * window of index and works on a stable snapshot of index. The scroll context is released when the iteration is
+ * exhausted, when the limit is reached or when the cursor is closed.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @param <T>
+ *            the type of indexed documents.
+ * @since 3.4
+ */
+public class IndexedCursor<T> implements CloseableIterator<List<T>> {
+
+    /** */
+    private final SearchHitsIterator<T> iterator;
+
+    /** */
+    private final int batchSize;
+
+    /** */
+    private final long limit;
+
+    /** */
+    private long count;
+
+    /** */
+    private boolean closed;
+
+    /**
+     * @param iterator
+     *                  the scroll iterator.
+     * @param batchSize
+     *                  the number of documents per batch.
+     * @param limit
+     *                  the maximum number of documents to iterate, or a value less than or equal to {@code 0} for all.
+     */
+    public IndexedCursor(@Nonnull final SearchHitsIterator<T> iterator, final int batchSize, final long limit) {
+        Assert.state(batchSize > 0, "batchSize should be greater than 0");
+        this.iterator = checkNotNull(iterator, "iterator");
+        this.batchSize = batchSize;
+        this.limit = limit;
+    }
+
+    /**
+     * @return Returns the number of documents to iterate.
+     */
+    public long getTotalElements() {
+        final long total = iterator.getTotalHits();
+        return limit > 0 ? Math.min(total, limit) : total;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (limit > 0 && count >= limit) {
+            // stopped before the end of scroll, release the scroll context without waiting for close
+            close();
+            return false;
+        }
+        return iterator.hasNext();
+    }
+
+    @Override
+    @Nonnull
+    public List<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final List<T> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize && hasNext()) {
+            final SearchHit<T> hit = iterator.next();
+            batch.add(hit.getContent());
+            count++;
+        }
+        return batch;
+    }
+
+    /**
+     * Streams the documents converted batch by batch, for instance to load the entities of a whole batch in one query.
+     * Closing the returned stream closes this cursor.
+     *
+     * @param converter
+     *                  the converter of a batch.
+     * @param monitor
+     *                  the task monitor to notify of progress (can be {@code null}).
+     * @param <R>
+     *                  the type of converted elements.
+     * @return Returns a new stream of converted elements.
+     */
+    @Nonnull
+    public <R> Stream<R> stream(@Nonnull final Function<List<T>, List<R>> converter,
+        @Nullable final ITaskMonitorProgress monitor) {
+        checkNotNull(converter, "converter");
+        if (monitor != null) {
+            monitor.started(getTotalElements());
+        }
+        Stream<R> stream = stream().flatMap(batch -> converter.apply(batch).stream());
+        if (monitor != null) {
+            stream = stream.peek(element -> monitor.increment());
+        }
+        return stream.onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            iterator.close();
+        }
+    }
+}
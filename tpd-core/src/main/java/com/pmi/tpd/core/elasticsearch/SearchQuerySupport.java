@@ -1,12 +1,20 @@
 package com.pmi.tpd.core.elasticsearch;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.index.query.BoolQueryBuilder;
@@ -14,6 +22,8 @@ import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RangeQueryBuilder;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.core.query.Criteria;
 import org.springframework.data.elasticsearch.core.query.CriteriaQuery;
 import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
@@ -27,6 +37,46 @@ import com.pmi.tpd.api.paging.IFilterable;
 
 public final class SearchQuerySupport {
 
+    /**
+     * Suffix of the {@link FieldType#Wildcard wildcard} sub-field of a string property, used to resolve
+     * {@link Operator#contains contains} filters without scanning all terms of the property.
+     */
+    public static final String WILDCARD_FIELD = "wildcard";
+
+    /** properties having a wildcard sub-field, resolved per class. */
+    private static final ClassValue<ConcurrentMap<String, Boolean>> WILDCARD_PROPERTIES = new ClassValue<>() {
+
+        @Override
+        protected ConcurrentMap<String, Boolean> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** indexed classes which documents are being updated to get their wildcard sub-fields. */
+    private static final Set<Class<?>> UNAVAILABLE_WILDCARD_FIELDS = ConcurrentHashMap.newKeySet();
+
+    private SearchQuerySupport() {
+    }
+
+    /**
+     * Routes, or not, the {@link Operator#contains contains} filters of an indexed class to its wildcard sub-fields.
+     * The documents indexed before a wildcard sub-field has been added don't have it until they are updated, so the
+     * filters on the original field are kept meanwhile.
+     *
+     * @param entityClass
+     *                    the indexed class.
+     * @param available
+     *                    {@code true} if all documents have their wildcard sub-fields.
+     * @see IIndexerOperations#updateMappings()
+     */
+    public static void setWildcardFieldsAvailable(@Nonnull final Class<?> entityClass, final boolean available) {
+        if (available) {
+            UNAVAILABLE_WILDCARD_FIELDS.remove(entityClass);
+        } else {
+            UNAVAILABLE_WILDCARD_FIELDS.add(entityClass);
+        }
+    }
+
     @Nonnull
     public static NativeSearchQuery queryBuilder(@Nonnull final Class<?> entityClass,
         @Nonnull final Pageable pageable,
@@ -41,7 +91,7 @@ public final class SearchQuerySupport {
             } else {
                 searchQuery.withQuery(QueryBuilders.matchAllQuery());
             }
-            searchQuery.withFilter(buildFilter(filterable.getFilterMap()));
+            searchQuery.withFilter(buildFilter(entityClass, filterable.getFilterMap()));
 
         }
         searchQuery.withTrackTotalHits(totalHits);
@@ -50,13 +100,41 @@ public final class SearchQuerySupport {
 
     @Nonnull
     public static BoolQueryBuilder buildFilter(@Nonnull final Filters filters) {
-        return buildFilter(filters.stream()
-                .collect(Collectors.groupingBy(Filter::getProperty, Collectors.toCollection(Filters::new))));
+        return buildFilter(null, filters);
+    }
+
+    /**
+     * @param entityClass
+     *                    the indexed class used to route {@code contains} filters to wildcard sub-fields (can be
+     *                    {@code null}).
+     * @param filters
+     *                    filters to apply.
+     * @return Returns a new query filtering documents.
+     */
+    @Nonnull
+    public static BoolQueryBuilder buildFilter(@Nullable final Class<?> entityClass, @Nonnull final Filters filters) {
+        return buildFilter(entityClass,
+            filters.stream()
+                    .collect(Collectors.groupingBy(Filter::getProperty, Collectors.toCollection(Filters::new))));
 
     }
 
     @Nonnull
     public static BoolQueryBuilder buildFilter(@Nonnull final Map<String, Filters> filters) {
+        return buildFilter(null, filters);
+    }
+
+    /**
+     * @param entityClass
+     *                    the indexed class used to route {@code contains} filters to wildcard sub-fields (can be
+     *                    {@code null}).
+     * @param filters
+     *                    filters to apply grouped by property.
+     * @return Returns a new query filtering documents.
+     */
+    @Nonnull
+    public static BoolQueryBuilder buildFilter(@Nullable final Class<?> entityClass,
+        @Nonnull final Map<String, Filters> filters) {
         final BoolQueryBuilder queryBuilder = QueryBuilders.boolQuery();
         if (!filters.isEmpty()) {
 
@@ -133,10 +211,7 @@ public final class SearchQuerySupport {
                         case contains:
                         default: {
                             String value = filter.getValue().get().toString();
-                            addQueryBuilder(queryBuilder,
-                                property,
-                                QueryBuilders.wildcardQuery(property, value.toLowerCase()),
-                                false);
+                            addQueryBuilder(queryBuilder, property, containsQuery(entityClass, property, value), false);
 
                             break;
                         }
@@ -221,6 +296,74 @@ public final class SearchQuerySupport {
         return new CriteriaQuery(criteria, pageable);
     }
 
+    /**
+     * Checks whether a property of an indexed class has a {@link #WILDCARD_FIELD wildcard} sub-field.
+     *
+     * @param entityClass
+     *                    the indexed class.
+     * @param property
+     *                    the property path (nested properties are separated by a dot).
+     * @return Returns {@code true} if {@code property} has a wildcard sub-field.
+     */
+    public static boolean hasWildcardField(@Nonnull final Class<?> entityClass, @Nonnull final String property) {
+        return WILDCARD_PROPERTIES.get(entityClass)
+                .computeIfAbsent(property, p -> resolveWildcardField(entityClass, p));
+    }
+
+    private static QueryBuilder containsQuery(@Nullable final Class<?> entityClass,
+        final String property,
+        final String value) {
+        if (entityClass != null && !UNAVAILABLE_WILDCARD_FIELDS.contains(entityClass)
+                && hasWildcardField(entityClass, property)) {
+            // the wildcard field indexes n-grams of the original value, only candidates are verified
+            return QueryBuilders.wildcardQuery(property + '.' + WILDCARD_FIELD, value).caseInsensitive(true);
+        }
+        return QueryBuilders.wildcardQuery(property, value.toLowerCase());
+    }
+
+    private static boolean resolveWildcardField(final Class<?> entityClass, final String property) {
+        Class<?> type = entityClass;
+        Field field = null;
+        for (final String name : property.split("\\.")) {
+            if (field != null) {
+                type = elementType(field);
+            }
+            field = findField(type, name);
+            if (field == null) {
+                return false;
+            }
+        }
+        final MultiField multiField = field.getAnnotation(MultiField.class);
+        return multiField != null && Arrays.stream(multiField.otherFields())
+                .anyMatch(f -> WILDCARD_FIELD.equals(f.suffix()) && FieldType.Wildcard == f.type());
+    }
+
+    @Nullable
+    private static Field findField(final Class<?> type, final String name) {
+        for (Class<?> cl = type; cl != null && cl != Object.class; cl = cl.getSuperclass()) {
+            try {
+                return cl.getDeclaredField(name);
+            } catch (final NoSuchFieldException ex) {
+                // continue with super class
+            }
+        }
+        return null;
+    }
+
+    private static Class<?> elementType(final Field field) {
+        if (Collection.class.isAssignableFrom(field.getType())) {
+            final Type genericType = field.getGenericType();
+            if (genericType instanceof ParameterizedType) {
+                final Type argument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+                if (argument instanceof Class<?>) {
+                    return (Class<?>) argument;
+                }
+            }
+            return Object.class;
+        }
+        return field.getType();
+    }
+
     private static void addQueryBuilder(final BoolQueryBuilder queryBuilder,
         final String property,
         final QueryBuilder query,
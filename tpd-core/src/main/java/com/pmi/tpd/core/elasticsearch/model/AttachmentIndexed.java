@@ -9,6 +9,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import com.google.common.base.MoreObjects;
@@ -33,8 +35,10 @@ public class AttachmentIndexed extends AuditEntityIndexed implements IIdentityEn
     @Id
     private String id;
 
-    @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen", searchAnalyzer = "lowercase_hyphen",
-            fielddata = true)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen",
+                    searchAnalyzer = "lowercase_hyphen", fielddata = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String filename;
 
     @Field(type = FieldType.Boolean, store = true)
@@ -3,6 +3,8 @@ package com.pmi.tpd.core.elasticsearch.model;
 import org.joda.time.LocalDate;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 
 import lombok.Data;
 
@@ -27,12 +29,14 @@ public class PresentationIndexed {
     @Field(type = FieldType.Date, store = true)
     private LocalDate launchDate;
 
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String brandName;
 
     @Field(type = FieldType.Keyword, store = true)
     private String brandSubtype;
 
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String productSubmitterNumber;
 }
@@ -13,6 +13,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import com.google.common.collect.Lists;
@@ -59,13 +61,17 @@ public class ProductIndexed extends AuditEntityIndexed implements IIdentityEntit
     private String id;
 
     /** */
-    @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen", searchAnalyzer = "lowercase_hyphen",
-            fielddata = true)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen",
+                    searchAnalyzer = "lowercase_hyphen", fielddata = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String productNumber;
 
     /** */
-    @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen", searchAnalyzer = "lowercase_hyphen",
-            fielddata = true)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen",
+                    searchAnalyzer = "lowercase_hyphen", fielddata = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String child;
 
     /** */
@@ -73,7 +79,8 @@ public class ProductIndexed extends AuditEntityIndexed implements IIdentityEntit
     private ProductType productType;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String submitterId;
 
     /** */
@@ -113,11 +120,13 @@ public class ProductIndexed extends AuditEntityIndexed implements IIdentityEntit
     private SubmissionStatus latestSubmissionStatus;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String previousProductId;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String sourceFilename;
 
     @Field(type = FieldType.Nested, includeInParent = true)
@@ -16,6 +16,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -58,11 +60,13 @@ public class SubmissionIndexed extends AuditEntityIndexed implements IIdentityEn
     private Long submissionId;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String productId;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String internalProductNumber;
 
     /** */
@@ -71,8 +75,10 @@ public class SubmissionIndexed extends AuditEntityIndexed implements IIdentityEn
 
     /** */
 
-    @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen", searchAnalyzer = "lowercase_hyphen",
-            fielddata = true)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen",
+                    searchAnalyzer = "lowercase_hyphen", fielddata = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String productNumber;
 
     /** */
@@ -84,7 +90,8 @@ public class SubmissionIndexed extends AuditEntityIndexed implements IIdentityEn
     private String productTypeName;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String previousProductId;
 
     /** */
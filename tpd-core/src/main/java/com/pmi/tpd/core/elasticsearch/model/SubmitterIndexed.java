@@ -10,6 +10,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.InnerField;
+import org.springframework.data.elasticsearch.annotations.MultiField;
 import org.springframework.data.elasticsearch.annotations.Setting;
 
 import com.pmi.tpd.api.model.IIdentityEntity;
@@ -32,12 +34,15 @@ public class SubmitterIndexed extends AuditEntityIndexed implements IIdentityEnt
     private String id;
 
     /** */
-    @Field(type = FieldType.Keyword, store = true)
+    @MultiField(mainField = @Field(type = FieldType.Keyword, store = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String submitterId;
 
     /** */
-    @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen", searchAnalyzer = "lowercase_hyphen",
-            fielddata = true)
+    @MultiField(
+            mainField = @Field(type = FieldType.Text, store = true, analyzer = "lowercase_hyphen",
+                    searchAnalyzer = "lowercase_hyphen", fielddata = true),
+            otherFields = @InnerField(suffix = "wildcard", type = FieldType.Wildcard))
     private String name;
 
     @Field(type = FieldType.Keyword, store = true)
@@ -1,6 +1,9 @@
 package com.pmi.tpd.core.euceg;
 
 import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -18,15 +21,18 @@ import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.collect.Streams;
+import com.google.common.collect.Maps;
 import com.pmi.tpd.api.i18n.I18nService;
 import com.pmi.tpd.api.paging.Filter;
 import com.pmi.tpd.api.paging.Filters;
 import com.pmi.tpd.api.paging.PageUtils;
+import com.pmi.tpd.api.scheduler.ITaskMonitorProgress;
 import com.pmi.tpd.api.util.Assert;
-import com.pmi.tpd.core.elasticsearch.repositories.IProductIndexedRepository;
+import com.pmi.tpd.core.elasticsearch.IIndexerOperations;
+import com.pmi.tpd.core.elasticsearch.model.ProductIndexed;
 import com.pmi.tpd.core.euceg.spi.IAttachmentStore;
 import com.pmi.tpd.core.euceg.spi.IProductStore;
+import com.pmi.tpd.core.model.euceg.ProductEntity;
 import com.pmi.tpd.euceg.api.EucegException;
 import com.pmi.tpd.euceg.api.ProductType;
 import com.pmi.tpd.euceg.api.entity.IProductEntity;
@@ -43,12 +49,12 @@ import com.pmi.tpd.euceg.core.exporter.product.JXPathExcelExporterTobaccoProduct
 @Transactional(propagation = Propagation.REQUIRED, readOnly = true)
 public class DefaultBulkProductService implements IBulkProductService {
 
-    public DefaultBulkProductService(final IProductStore productStore,
-            final IProductIndexedRepository productIndexedRepository, final IAttachmentStore attachmentStore,
+    public DefaultBulkProductService(final IProductStore productStore, final IIndexerOperations indexerOperations,
+            final IAttachmentStore attachmentStore,
             final ISubmissionService submissionService, final IEucegConstraintRuleManager constraintRules,
             final I18nService i18nService, final ObjectMapper objectMapper) {
         this.productStore = productStore;
-        this.productIndexedRepository = productIndexedRepository;
+        this.indexerOperations = indexerOperations;
         this.attachmentStore = attachmentStore;
         this.i18nService = i18nService;
         this.objectMapper = objectMapper;
@@ -59,7 +65,7 @@ public class DefaultBulkProductService implements IBulkProductService {
     private final IProductStore productStore;
 
     /** */
-    private final IProductIndexedRepository productIndexedRepository;
+    private final IIndexerOperations indexerOperations;
 
     /** */
     private final IAttachmentStore attachmentStore;
@@ -84,7 +90,7 @@ public class DefaultBulkProductService implements IBulkProductService {
         final @Nonnull ProductType productType,
         @Nonnull final BulkRequest request) {
         final var dataProvider = new BulkProductDataProivder(productType, request, attachmentStore, productStore,
-                productIndexedRepository);
+                indexerOperations);
         try {
             if (ProductType.ECIGARETTE.equals(productType)) {
                 new JXPathExcelExporterEcigProduct(dataProvider, request, objectMapper).export(stream);
@@ -105,24 +111,29 @@ public class DefaultBulkProductService implements IBulkProductService {
     @Override
     public void bulkSend(@Nonnull final ProductType productType, @Nonnull final BulkRequest request) {
         Assert.checkNotNull(request, "request");
-        // pre check
-        findAllSendProductForBulk(productType, request).forEach(product -> {
-            SubmissionTypeEnum resolvedSubmissionType = resolveSubmissionType(product, request);
-            if (SubmissionTypeEnum.MODIFICATION_NEW.equals(resolvedSubmissionType)) {
-                throw new EucegException(i18nService.createKeyedMessage(
-                    "app.service.euceg.submission.send.bulk.modificationnewnotaccepted",
-                    product.getProductNumber()));
-            }
-            constraintRules.checkNewProductSubmissionIsPossible(product, resolvedSubmissionType);
-        });
+        final SendSubmissionType sendType = BulkRequest.BulkAction.createSubmission.equals(request.getAction())
+                ? SendSubmissionType.MANUAL : SendSubmissionType.DEFERRED;
+        // pre check and collect the submissions to create, the scroll is released before creating them
+        final List<SubmissionSendRequest> submissions;
+        try (Stream<IProductEntity> products = findAllSendProductForBulk(productType, request)) {
+            submissions = products.map(product -> {
+                final SubmissionTypeEnum resolvedSubmissionType = resolveSubmissionType(product, request);
+                if (SubmissionTypeEnum.MODIFICATION_NEW.equals(resolvedSubmissionType)) {
+                    throw new EucegException(i18nService.createKeyedMessage(
+                        "app.service.euceg.submission.send.bulk.modificationnewnotaccepted",
+                        product.getProductNumber()));
+                }
+                constraintRules.checkNewProductSubmissionIsPossible(product, resolvedSubmissionType);
+                return SubmissionSendRequest.builder()
+                        .productNumber(product.getProductNumber())
+                        .sendType(sendType)
+                        .submissionType(resolvedSubmissionType)
+                        .build();
+            }).collect(Collectors.toList());
+        }
 
         // create deferred submission;
-        findAllSendProductForBulk(productType, request).map(product -> SubmissionSendRequest.builder()
-                .productNumber(product.getProductNumber())
-                .sendType(BulkRequest.BulkAction.createSubmission.equals(request.getAction())
-                        ? SendSubmissionType.MANUAL : SendSubmissionType.DEFERRED)
-                .submissionType(resolveSubmissionType(product, request))
-                .build()).forEach(req -> submissionService.createSubmission(req));
+        submissions.forEach(req -> submissionService.createSubmission(req));
     }
 
     private Stream<IProductEntity> findAllSendProductForBulk(@Nonnull final ProductType productType,
@@ -132,9 +143,8 @@ public class DefaultBulkProductService implements IBulkProductService {
         filters.addOrReplace(Filter.eq("status", ProductStatus.VALID));
         final Pageable pageable = PageUtils
                 .newRequest(0, 1000, Sort.by(Direction.DESC, "lastModifiedDate"), filters, null);
-        return Streams.stream(PageUtils.asIterable(
-            page -> this.productIndexedRepository.findAll(page).map(p -> this.productStore.get(p.getProductNumber())),
-            pageable));
+        return this.indexerOperations.scrollProduct(pageable, 0)
+                .stream(batch -> hydrate(this.productStore, batch), null);
     }
 
     @Nullable
@@ -148,6 +158,20 @@ public class DefaultBulkProductService implements IBulkProductService {
         return submissionType;
     }
 
+    /**
+     * Hydrates a batch of indexed products in one query.
+     */
+    @Nonnull
+    private static List<IProductEntity> hydrate(@Nonnull final IProductStore productStore,
+        @Nonnull final List<ProductIndexed> products) {
+        final Map<String, ProductEntity> entities = Maps.uniqueIndex(
+            productStore.getAll(products.stream().map(ProductIndexed::getProductNumber).collect(Collectors.toList())),
+            ProductEntity::getProductNumber);
+        return products.stream()
+                .map(p -> (IProductEntity) entities.get(p.getProductNumber()))
+                .collect(Collectors.toList());
+    }
+
     @Nonnull
     protected static EucegProduct createEucegProduct(final IProductEntity entity) {
         return EucegProduct.builder()
@@ -175,19 +199,19 @@ public class DefaultBulkProductService implements IBulkProductService {
 
         private final IProductStore productStore;
 
-        private final IProductIndexedRepository productIndexedRepository;
+        private final IIndexerOperations indexerOperations;
 
         private final BulkRequest request;
 
         public BulkProductDataProivder(final ProductType productType, final BulkRequest request,
                 final IAttachmentStore attachmentStore, final IProductStore productStore,
-                final IProductIndexedRepository productIndexedRepository) {
+                final IIndexerOperations indexerOperations) {
             super();
             this.productType = productType;
             this.request = request;
             this.attachmentStore = attachmentStore;
             this.productStore = productStore;
-            this.productIndexedRepository = productIndexedRepository;
+            this.indexerOperations = indexerOperations;
         }
 
         @Override
@@ -199,8 +223,21 @@ public class DefaultBulkProductService implements IBulkProductService {
         @Override
         @Nonnull
         public Page<EucegProduct> findAll(@Nonnull final Pageable pageable) {
-            return productIndexedRepository.findAll(pageable)
-                    .map(p -> createEucegProduct(this.productStore.get(p.getProductNumber())));
+            final Page<ProductIndexed> page = indexerOperations.findAllProduct(pageable);
+            return PageUtils.createPage(toEucegProducts(page.getContent()), pageable, page.getTotalElements());
+        }
+
+        @Override
+        public Stream<EucegProduct> stream(@Nullable final ITaskMonitorProgress monitor) {
+            // walks the whole export with a scroll context instead of deep offset paging
+            return indexerOperations.scrollProduct(getInitialPageableRequest(), getLimit())
+                    .stream(this::toEucegProducts, monitor);
+        }
+
+        private List<EucegProduct> toEucegProducts(final List<ProductIndexed> products) {
+            return hydrate(this.productStore, products).stream()
+                    .map(DefaultBulkProductService::createEucegProduct)
+                    .collect(Collectors.toList());
         }
 
         @Override
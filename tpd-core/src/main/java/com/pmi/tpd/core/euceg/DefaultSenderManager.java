@@ -138,6 +138,28 @@ public class DefaultSenderManager implements ISubmissionSenderManager {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The write lock is reentrant and each handler joins the surrounding transaction, so all status updates of the
+     * batch are committed together. If a handler fails, the status updates of the whole batch are rolled back and the
+     * failure is propagated, so that the batch is redelivered without having been partially applied.
+     * </p>
+     */
+    @Override
+    public void handleBatch(final @Nonnull Runnable batch) {
+        // lock outside of transaction
+        writeLock.lock();
+        try {
+            this.requiredTransaction.<Void> execute(status -> {
+                batch.run();
+                return null;
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
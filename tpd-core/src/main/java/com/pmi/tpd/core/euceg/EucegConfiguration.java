@@ -1,5 +1,7 @@
 package com.pmi.tpd.core.euceg;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.logging.Level;
 
@@ -19,8 +21,10 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.pmi.tpd.api.config.IApplicationConfiguration;
 import com.pmi.tpd.api.context.IApplicationProperties;
+import com.pmi.tpd.api.context.IClock;
 import com.pmi.tpd.api.crypto.IKeyManagerProvider;
 import com.pmi.tpd.api.crypto.IKeyProvider;
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
@@ -28,6 +32,7 @@ import com.pmi.tpd.api.i18n.I18nService;
 import com.pmi.tpd.api.scheduler.IScheduledJobSource;
 import com.pmi.tpd.api.scheduler.ISchedulerService;
 import com.pmi.tpd.cluster.IClusterService;
+import com.pmi.tpd.cluster.concurrent.StateTransferringExecutorService;
 import com.pmi.tpd.core.elasticsearch.IIndexerOperations;
 import com.pmi.tpd.core.elasticsearch.repositories.IProductIndexedRepository;
 import com.pmi.tpd.core.elasticsearch.repositories.ISubmissionIndexedRepository;
@@ -57,6 +62,7 @@ import com.pmi.tpd.core.euceg.spi.ISubmitterRepository;
 import com.pmi.tpd.core.euceg.spi.ISubmitterStore;
 import com.pmi.tpd.core.euceg.stat.DefaultEucegStatisticService;
 import com.pmi.tpd.core.euceg.stat.IEucegStatisticService;
+import com.pmi.tpd.core.euceg.stat.MaterializedEucegStatisticService;
 import com.pmi.tpd.core.security.ISecurityService;
 import com.pmi.tpd.euceg.backend.core.BackendException;
 import com.pmi.tpd.euceg.backend.core.BackendProperties;
@@ -246,13 +252,13 @@ public class EucegConfiguration {
 
     @Bean
     public IBulkProductService bulkProductService(final IProductStore productStore,
-        final IProductIndexedRepository productIndexedRepository,
+        final IIndexerOperations indexerOperations,
         final IAttachmentStore attachmentStore,
         final ISubmissionService submissionService,
         final IEucegConstraintRuleManager constraintRules,
         final I18nService i18nService,
         final ObjectMapper objectMappe) {
-        return new DefaultBulkProductService(productStore, productIndexedRepository, attachmentStore, submissionService,
+        return new DefaultBulkProductService(productStore, indexerOperations, attachmentStore, submissionService,
                 constraintRules, i18nService, objectMappe);
     }
 
@@ -308,8 +314,11 @@ public class EucegConfiguration {
     @Bean
     public IEucegStatisticService eucegStatisticService(@Nonnull final ElasticsearchOperations operations,
         @Nonnull final ISubmissionIndexedRepository submissionIndexedRepository,
-        @Nonnull final IProductIndexedRepository productIndexedRepository) {
-        return new DefaultEucegStatisticService(operations, submissionIndexedRepository, productIndexedRepository);
+        @Nonnull final IProductIndexedRepository productIndexedRepository,
+        @Nonnull final IClock clock) {
+        return new MaterializedEucegStatisticService(
+                new DefaultEucegStatisticService(operations, submissionIndexedRepository, productIndexedRepository),
+                clock);
     }
 
     @Bean
@@ -356,9 +365,29 @@ public class EucegConfiguration {
         final @Nonnull I18nService i18nService,
         final ISecureTokenGenerator tokenGenerator,
         final IClusterService clusterService,
-        final IRequestManager requestManager) {
+        final IRequestManager requestManager,
+        final @Nonnull IApplicationConfiguration settings,
+        final @Nonnull IEucegImportExportService importExportService,
+        final @Nonnull IEventPublisher eventPublisher,
+        final @Nonnull Environment environment) {
         return new DefaultEucegTaskExecutorManager(executorService, taskFactory, i18nService, tokenGenerator,
-                clusterService, requestManager);
+                clusterService, requestManager, settings, importExportService, eventPublisher,
+                productImportExecutorService(environment));
+    }
+
+    /**
+     * Bounded pool running the product imports, limited by {@code app.euceg.import.max.concurrent} so that large
+     * Excel files can not exhaust the memory of the node.
+     *
+     * @param environment
+     *                    the environment.
+     * @return Returns the executor service of product imports.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService productImportExecutorService(final @Nonnull Environment environment) {
+        final int maxConcurrent = environment.getProperty("app.euceg.import.max.concurrent", Integer.class, 2);
+        return new StateTransferringExecutorService(Executors.newFixedThreadPool(maxConcurrent,
+            new ThreadFactoryBuilder().setNameFormat("product-import-%d").setDaemon(true).build()));
     }
 
     @Bean
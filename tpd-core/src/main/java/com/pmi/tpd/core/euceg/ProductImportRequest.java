@@ -0,0 +1,58 @@
+package com.pmi.tpd.core.euceg;
+
+import java.io.InputStream;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.pmi.tpd.euceg.api.ProductType;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Singular;
+
+/**
+ * Request to import in background the products of Excel files.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ * @see com.pmi.tpd.core.euceg.report.IEucegTaskExecutorManager#importProducts(ProductImportRequest)
+ */
+@Getter
+@Builder
+public class ProductImportRequest {
+
+    /** the type of product to import. */
+    @NonNull
+    private final ProductType productType;
+
+    /** the spreadsheets to use during import, all spreadsheets if {@code null}. */
+    @Nullable
+    private final int[] selectedSheets;
+
+    /** */
+    private final boolean keepSaleHistory;
+
+    /** the Excel files to import, in order. */
+    @Singular
+    private final List<ImportFile> files;
+
+    /**
+     * An uploaded Excel file.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class ImportFile {
+
+        /** the name of uploaded file. */
+        @Nonnull
+        private final String fileName;
+
+        /** the content of file, consumed and closed when the file is spooled. */
+        @Nonnull
+        private final InputStream content;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pmi.tpd.core.euceg;
+
+import javax.annotation.Nullable;
+
+import com.pmi.tpd.api.exec.IProgress;
+import com.pmi.tpd.api.exec.TaskState;
+import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * State of a product import, running or recently completed.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ * @see com.pmi.tpd.core.euceg.report.IEucegTaskExecutorManager#getProductImport(String)
+ */
+@Getter
+@Builder
+public class ProductImportState {
+
+    /** the state of import task. */
+    @NonNull
+    private final TaskState state;
+
+    /** the progress of import. */
+    @NonNull
+    private final IProgress progress;
+
+    /** the validation failures of the rejected file, empty while running or if all files have been imported. */
+    @NonNull
+    private final ValidationResult validationResult;
+
+    /** the cause of failure of import, if the import has failed. */
+    @Nullable
+    private final String failure;
+
+    /**
+     * @return Returns {@code true} if the import is completed, whatever its outcome.
+     */
+    public boolean isCompleted() {
+        return !TaskState.RUNNING.equals(state);
+    }
+}
@@ -2,6 +2,8 @@ package com.pmi.tpd.core.euceg.impl;
 
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -58,6 +60,22 @@ public class JpaProductRepository extends DefaultJpaEnversRevisionRepository<Pro
                 .fetch();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<ProductEntity> findAllByProductNumbers(@Nonnull final Collection<String> productNumbers) {
+        checkNotNull(productNumbers, "productNumbers");
+        if (productNumbers.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return from().leftJoin(entity().payloadProduct)
+                .fetchJoin()
+                .where(entity().productNumber.in(productNumbers))
+                .fetch();
+    }
+
     /**
      * {@inheritDoc}
      */
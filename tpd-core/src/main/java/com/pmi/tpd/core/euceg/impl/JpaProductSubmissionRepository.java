@@ -1,5 +1,8 @@
 package com.pmi.tpd.core.euceg.impl;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -63,6 +66,22 @@ public class JpaProductSubmissionRepository extends DefaultJpaRepository<Submiss
         return payload;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<SubmissionEntity> findAllWithProduct(@Nonnull final Collection<Long> ids, final boolean withPayload) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final JPQLQuery<SubmissionEntity> query = from().innerJoin(entity().product).fetchJoin();
+        if (withPayload) {
+            query.innerJoin(entity().payloadSubmission).fetchJoin();
+        }
+        return query.where(entity().id.in(ids)).fetch();
+    }
+
     @Override
     @Nonnull
     public Page<Long> getDeferredSubmissions(final Pageable pageable) {
@@ -0,0 +1,169 @@
+package com.pmi.tpd.core.euceg.impl;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableMap;
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.lifecycle.notification.NotificationEvent;
+import com.pmi.tpd.api.lifecycle.notification.NotificationRequest;
+import com.pmi.tpd.api.lifecycle.notification.NotificationRequest.Severity;
+import com.pmi.tpd.core.euceg.IEucegImportExportService;
+import com.pmi.tpd.core.euceg.ProductImportRequest;
+import com.pmi.tpd.euceg.api.EucegException;
+import com.pmi.tpd.euceg.core.task.CanceledEucegTaskException;
+import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+import com.pmi.tpd.scheduler.exec.AbstractProgressRunnableTask;
+
+/**
+ * Task importing in turn the products of spooled Excel files.
+ * <p>
+ * Each file is imported in its own transaction, the import stops at the first file containing validation failures,
+ * as the synchronous import did. Progress is published per file and the outcome is notified to the user having started
+ * the import.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class ProductImportTask extends AbstractProgressRunnableTask {
+
+    /** */
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductImportTask.class);
+
+    /** */
+    private static final long NOTIFICATION_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+
+    /** */
+    private final IEucegImportExportService importExportService;
+
+    /** */
+    private final I18nService i18nService;
+
+    /** */
+    private final ProductImportRequest request;
+
+    /** */
+    private final Map<Path, String> files;
+
+    /** the user having started the import, notified of its outcome. */
+    @Nullable
+    private final String username;
+
+    /** */
+    private volatile ValidationResult validationResult = ValidationResult.empty();
+
+    /**
+     * @param eventPublisher
+     *                            the event publisher.
+     * @param i18nService
+     *                            the i18n service.
+     * @param importExportService
+     *                            the service importing an Excel file.
+     * @param request
+     *                            the import request.
+     * @param files
+     *                            the spooled files associated to their original file name, in import order.
+     * @param username
+     *                            the user having started the import, all users are notified if {@code null}.
+     */
+    public ProductImportTask(@Nonnull final IEventPublisher eventPublisher, @Nonnull final I18nService i18nService,
+            @Nonnull final IEucegImportExportService importExportService, @Nonnull final ProductImportRequest request,
+            @Nonnull final Map<Path, String> files, @Nullable final String username) {
+        super(eventPublisher);
+        this.i18nService = checkNotNull(i18nService, "i18nService");
+        this.importExportService = checkNotNull(importExportService, "importExportService");
+        this.request = checkNotNull(request, "request");
+        this.files = ImmutableMap.copyOf(checkNotNull(files, "files"));
+        this.username = username;
+    }
+
+    /**
+     * @return Returns the validation failures of the last imported file, empty if all files have been imported.
+     */
+    @Nonnull
+    public ValidationResult getValidationResult() {
+        return validationResult;
+    }
+
+    @Override
+    public void run() {
+        started(files.size());
+        try {
+            for (final Map.Entry<Path, String> file : files.entrySet()) {
+                if (isCanceled()) {
+                    throw new CanceledEucegTaskException(
+                            i18nService.createKeyedMessage("app.service.euceg.product.import.canceled"));
+                }
+                final String fileName = file.getValue();
+                setMessage(i18nService.getMessage("app.service.euceg.product.import.progress",
+                    fileName,
+                    getRowsProcessed() + 1,
+                    getTotalRows()));
+                final ValidationResult result = importFile(file.getKey(), fileName);
+                if (result.hasFailures()) {
+                    validationResult = result;
+                    notify(Severity.danger,
+                        i18nService.getMessage("app.service.euceg.product.import.invalid",
+                            fileName,
+                            result.getFailures().size()));
+                    return;
+                }
+                increment();
+            }
+            finish();
+        } catch (final CanceledEucegTaskException e) {
+            throw e;
+        } catch (final RuntimeException e) {
+            notify(Severity.danger, e.getMessage());
+            throw e;
+        }
+    }
+
+    @Override
+    public void finish() {
+        clearMessage();
+        publishProgress();
+        notify(Severity.success, i18nService.getMessage("app.service.euceg.product.import.succeeded", files.size()));
+    }
+
+    @Override
+    @Nonnull
+    protected String getDefaultMessage() {
+        return i18nService.getMessage("app.service.euceg.product.import.progress", "", getRowsProcessed(),
+            getTotalRows());
+    }
+
+    @Nonnull
+    private ValidationResult importFile(@Nonnull final Path path, @Nonnull final String fileName) {
+        try (InputStream in = Files.newInputStream(path)) {
+            return importExportService.importProductFromExcel(in,
+                fileName,
+                request.getProductType(),
+                request.getSelectedSheets(),
+                request.isKeepSaleHistory());
+        } catch (final IOException e) {
+            throw new EucegException(
+                    i18nService.createKeyedMessage("app.service.euceg.product.import.failed", fileName), e);
+        }
+    }
+
+    private void notify(@Nonnull final Severity severity, @Nullable final String message) {
+        LOGGER.debug("Product import: {}", message);
+        getEventPublisher().publish(
+            new NotificationEvent(new NotificationRequest(severity, message, NOTIFICATION_TIMEOUT), username));
+    }
+}
@@ -2,13 +2,18 @@ package com.pmi.tpd.core.euceg.impl;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.persistence.EntityNotFoundException;
 import javax.xml.bind.JAXBException;
 
 import org.eu.ceg.EcigProduct;
@@ -24,6 +29,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.euceg.spi.IProductRepository;
 import com.pmi.tpd.core.euceg.spi.IProductStore;
@@ -53,9 +61,31 @@ public class ProductStore implements IProductStore {
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(ProductStore.class);
 
+    /** maximum number of characters of product revisions kept in XML form (about 16 MB). */
+    private static final long MAX_CACHED_REVISIONS_WEIGHT = 8L * 1024 * 1024;
+
+    /** maximum number of characters of cached revision comparisons (about 8 MB). */
+    private static final long MAX_CACHED_DIFFERENCES_WEIGHT = 4L * 1024 * 1024;
+
     /** */
     private final IProductRepository repository;
 
+    /**
+     * XML forms of product revisions, keyed by {@code productNumber@revision}. A revision is immutable, so its XML form
+     * can be reused by all comparisons involving it. Bounded by the length of XML, as its size varies widely between
+     * products.
+     */
+    private final Cache<String, Optional<String>> revisionXmls = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_REVISIONS_WEIGHT)
+            .<String, Optional<String>> weigher((key, xml) -> key.length() + xml.map(String::length).orElse(0))
+            .build();
+
+    /** results of revision comparisons, keyed by {@code productNumber@original..revised}, bounded by patch length. */
+    private final Cache<String, EucegXmlDiff.DiffResult> differences = CacheBuilder.newBuilder()
+            .maximumWeight(MAX_CACHED_DIFFERENCES_WEIGHT)
+            .<String, EucegXmlDiff.DiffResult> weigher((key, result) -> key.length() + result.getPatch().length())
+            .build();
+
     @Inject
     public ProductStore(final IProductRepository repository) {
         this.repository = Assert.checkNotNull(repository, "repository");
@@ -127,6 +157,25 @@ public class ProductStore implements IProductStore {
         return HibernateUtils.initialize(this.repository.getById(Assert.checkHasText(productNumber, "productNumber")));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<ProductEntity> getAll(@Nonnull final List<String> productNumbers) {
+        Assert.checkNotNull(productNumbers, "productNumbers");
+        final Map<String, ProductEntity> entities = this.repository.findAllByProductNumbers(productNumbers)
+                .stream()
+                .collect(Collectors.toMap(ProductEntity::getProductNumber, Function.identity()));
+        return productNumbers.stream().map(productNumber -> {
+            final ProductEntity entity = entities.get(productNumber);
+            if (entity == null) {
+                throw new EntityNotFoundException("Unable to find product with product number " + productNumber);
+            }
+            return entity;
+        }).collect(Collectors.toList());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -153,26 +202,49 @@ public class ProductStore implements IProductStore {
             revisedRevision = current.getId();
         }
 
-        final ProductEntity originalProduct = this.repository.findRevision(productNumber, originalRevision)
-                .orElseThrow()
-                .getEntity();
-        final ProductEntity revisedProduct = this.repository.findRevision(productNumber, revisedRevision)
-                .orElseThrow()
-                .getEntity();
-
-        final EucegXmlDiff diff = new EucegXmlDiff(productNumber,
-                EucegXmlDiff.getXml(originalProduct.getProduct(), Product.class, true),
-                EucegXmlDiff.getXml(revisedProduct.getProduct(), Product.class, true));
+        final int original = originalRevision;
+        final int revised = revisedRevision;
+        final EucegXmlDiff.DiffResult result = get(differences,
+            productNumber + "@" + original + ".." + revised,
+            () -> new EucegXmlDiff(productNumber, getRevisionXml(productNumber, original),
+                    getRevisionXml(productNumber, revised)).result());
 
         return ProductDifference.builder()
                 .productNumber(productNumber)
                 .originalRevision(originalRevision)
                 .revisedRevision(revisedRevision)
-                .changeType(diff.result().getChange())
-                .patch(diff.result().getPatch())
+                .changeType(result.getChange())
+                .patch(result.getPatch())
                 .build();
     }
 
+    @Nullable
+    private String getRevisionXml(@Nonnull final String productNumber, final int revision) throws IOException {
+        return get(revisionXmls, productNumber + "@" + revision, () -> {
+            final ProductEntity product = this.repository.findRevision(productNumber, revision)
+                    .orElseThrow()
+                    .getEntity();
+            return Optional.ofNullable(EucegXmlDiff.getXml(product.getProduct(), Product.class, true));
+        }).orElse(null);
+    }
+
+    private static <V> V get(final Cache<String, V> cache, final String key, final IOCallable<V> loader)
+            throws IOException {
+        try {
+            return cache.get(key, loader::call);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause().getMessage(), e.getCause());
+        } catch (final UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     @Override
     public @Nonnull ProductRevision getCurrentRevision(@Nonnull final String productNumber) {
         return this.repository.findLastChangeRevision(productNumber).map(ProductRevision::fromRevision).orElseThrow();
@@ -471,4 +543,12 @@ public class ProductStore implements IProductStore {
 
     }
 
+    /**
+     * Loads a cached value.
+     */
+    @FunctionalInterface
+    private interface IOCallable<V> {
+
+        V call() throws IOException;
+    }
 }
@@ -1,13 +1,17 @@
 package com.pmi.tpd.core.euceg.impl;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import javax.persistence.EntityNotFoundException;
 
 import org.eu.ceg.EcigProductSubmission;
 import org.eu.ceg.Submission;
@@ -138,6 +142,25 @@ public class ProductSubmissionStore implements IProductSubmissionStore {
         return HibernateUtils.initialize(this.repository.getById(Assert.checkNotNull(id, "id")));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public List<SubmissionEntity> getAll(@Nonnull final List<Long> ids, final boolean withPayload) {
+        Assert.checkNotNull(ids, "ids");
+        final Map<Long, SubmissionEntity> entities = this.repository.findAllWithProduct(ids, withPayload)
+                .stream()
+                .collect(Collectors.toMap(SubmissionEntity::getId, Function.identity()));
+        return ids.stream().map(id -> {
+            final SubmissionEntity entity = entities.get(id);
+            if (entity == null) {
+                throw new EntityNotFoundException("Unable to find submission with id " + id);
+            }
+            return entity;
+        }).collect(Collectors.toList());
+    }
+
     @Override
     public @Nonnull SubmissionEntity getLazy(@Nonnull final Long id) {
         return this.repository.getById(Assert.checkNotNull(id, "id"));
@@ -1,5 +1,14 @@
 package com.pmi.tpd.core.euceg.report;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -7,6 +16,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -15,15 +25,26 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.pmi.tpd.api.config.IApplicationConfiguration;
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.exec.ICompletionCallback;
 import com.pmi.tpd.api.exec.IRunnableTask;
 import com.pmi.tpd.api.exec.TaskState;
 import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.cluster.IClusterService;
+import com.pmi.tpd.core.euceg.IEucegImportExportService;
+import com.pmi.tpd.core.euceg.ProductImportRequest;
+import com.pmi.tpd.core.euceg.ProductImportState;
+import com.pmi.tpd.core.euceg.impl.ProductImportTask;
 import com.pmi.tpd.euceg.core.task.IEucegTaskFactory;
 import com.pmi.tpd.euceg.core.task.ITrackingReportState;
 import com.pmi.tpd.scheduler.exec.ITaskMonitor;
 import com.pmi.tpd.scheduler.exec.support.DefaultTaskMonitor;
+import com.pmi.tpd.security.IAuthenticationContext;
 import com.pmi.tpd.security.random.ISecureTokenGenerator;
 import com.pmi.tpd.web.core.request.IRequestManager;
 import com.pmi.tpd.web.core.request.spi.IRequestContext;
@@ -35,6 +56,9 @@ public class DefaultEucegTaskExecutorManager implements IEucegTaskExecutorManage
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultEucegTaskExecutorManager.class);
 
+    /** minutes the outcome of a completed product import is kept for its owner. */
+    private static final long IMPORT_RETENTION_MINUTES = 10;
+
     /** */
     @Nonnull
     private final I18nService i18nService;
@@ -58,19 +82,49 @@ public class DefaultEucegTaskExecutorManager implements IEucegTaskExecutorManage
     /** */
     private final IRequestManager requestManager;
 
+    /** */
+    @Nonnull
+    private final IApplicationConfiguration settings;
+
+    /** */
+    @Nonnull
+    private final IEucegImportExportService importExportService;
+
+    /** */
+    @Nonnull
+    private final IEventPublisher eventPublisher;
+
+    /** bounded executor running the product imports. */
+    @Nonnull
+    private final ExecutorService importExecutorService;
+
     private final ConcurrentMap<String, ITaskMonitor> runTasks = new ConcurrentHashMap<>(16);
 
+    /** running product imports. */
+    private final ConcurrentMap<String, ProductImport> runningImports = new ConcurrentHashMap<>(16);
+
+    /** completed product imports, kept so that their owner can fetch the outcome. */
+    private final Cache<String, ProductImport> completedImports = CacheBuilder.newBuilder()
+            .expireAfterWrite(IMPORT_RETENTION_MINUTES, TimeUnit.MINUTES)
+            .build();
+
     @Inject
     public DefaultEucegTaskExecutorManager(final @Nonnull ExecutorService executorService,
             final @Nonnull IEucegTaskFactory taskFactory, final @Nonnull I18nService i18nService,
             final ISecureTokenGenerator tokenGenerator, final IClusterService clusterService,
-            final IRequestManager requestManager) {
+            final IRequestManager requestManager, final @Nonnull IApplicationConfiguration settings,
+            final @Nonnull IEucegImportExportService importExportService,
+            final @Nonnull IEventPublisher eventPublisher, final @Nonnull ExecutorService importExecutorService) {
         this.i18nService = Assert.checkNotNull(i18nService, "i18nService");
         this.executorService = Assert.checkNotNull(executorService, "executorService");
         this.taskFactory = Assert.checkNotNull(taskFactory, "taskFactory");
         this.tokenGenerator = Assert.checkNotNull(tokenGenerator, "tokenGenerator");
         this.clusterService = Assert.checkNotNull(clusterService, "clusterService");
         this.requestManager = Assert.checkNotNull(requestManager, "requestManager");
+        this.settings = Assert.checkNotNull(settings, "settings");
+        this.importExportService = Assert.checkNotNull(importExportService, "importExportService");
+        this.eventPublisher = Assert.checkNotNull(eventPublisher, "eventPublisher");
+        this.importExecutorService = Assert.checkNotNull(importExecutorService, "importExecutorService");
     }
 
     @PreAuthorize("hasGlobalPermission('USER')")
@@ -80,6 +134,75 @@ public class DefaultEucegTaskExecutorManager implements IEucegTaskExecutorManage
         return submitTask(taskFactory.trackingReportTask(state));
     }
 
+    @PreAuthorize("hasGlobalPermission('USER')")
+    @Override
+    @Nonnull
+    public ITaskMonitor importProducts(final @Nonnull ProductImportRequest request) throws IOException {
+        Assert.checkNotNull(request, "request");
+        final String username = getCurrentUsername();
+        final Map<Path, String> files = spool(request.getFiles());
+        DefaultTaskMonitor runningTask = null;
+        try {
+            final ProductImportTask task = new ProductImportTask(eventPublisher, i18nService, importExportService,
+                    request, files, username);
+            runningTask = createTask(task);
+            final String cancelToken = runningTask.getCancelToken();
+            final ProductImport productImport = new ProductImport(runningTask, task, username);
+            runningImports.put(cancelToken, productImport);
+            runningTask.registerCallback(new ICompletionCallback() {
+
+                @Override
+                public void onFailure(@Nonnull final Throwable t) {
+                    productImport.failure = t.getMessage();
+                    onCompletion();
+                }
+
+                @Override
+                public void onCompletion() {
+                    deleteQuietly(files.keySet());
+                    completedImports.put(cancelToken, productImport);
+                    runningImports.remove(cancelToken);
+                }
+            });
+            runningTask.submitTo(importExecutorService);
+            return runningTask;
+        } catch (final RuntimeException e) {
+            if (runningTask != null) {
+                runTasks.remove(runningTask.getCancelToken());
+                runningImports.remove(runningTask.getCancelToken());
+            }
+            deleteQuietly(files.keySet());
+            throw e;
+        }
+    }
+
+    @PreAuthorize("hasGlobalPermission('USER')")
+    @Override
+    @Nonnull
+    public Optional<ProductImportState> getProductImport(final @Nonnull String cancelToken) {
+        Assert.checkNotNull(cancelToken, "cancelToken");
+        ProductImport productImport = runningImports.get(cancelToken);
+        if (productImport == null) {
+            productImport = completedImports.getIfPresent(cancelToken);
+        }
+        final String username = getCurrentUsername();
+        return Optional.ofNullable(productImport)
+                .filter(p -> Objects.equals(p.username, username))
+                .map(ProductImport::getState);
+    }
+
+    @PreAuthorize("hasGlobalPermission('USER')")
+    @Override
+    public boolean cancelProductImport(final @Nonnull String cancelToken) {
+        Assert.checkNotNull(cancelToken, "cancelToken");
+        final ProductImport productImport = runningImports.get(cancelToken);
+        if (productImport == null || !Objects.equals(productImport.username, getCurrentUsername())) {
+            return false;
+        }
+        cancelTask(cancelToken);
+        return true;
+    }
+
     @Override
     public Optional<ITaskMonitor> getTaskMonitor(final String id) {
         return Optional.ofNullable(this.runTasks.get(id));
@@ -95,6 +218,15 @@ public class DefaultEucegTaskExecutorManager implements IEucegTaskExecutorManage
     }
 
     private ITaskMonitor submitTask(final @Nonnull IRunnableTask task) {
+        final DefaultTaskMonitor runningTask = createTask(task);
+        runningTask.submitTo(executorService);
+        return runningTask;
+    }
+
+    /**
+     * Creates the monitor of task, registered until the task completes. The task is not submitted.
+     */
+    private DefaultTaskMonitor createTask(final @Nonnull IRunnableTask task) {
 
         final IRequestContext requestContext = requestManager.getRequestContext();
         if (requestContext == null) {
@@ -109,9 +241,83 @@ public class DefaultEucegTaskExecutorManager implements IEucegTaskExecutorManage
         runningTask.registerCallback(() -> {
             runTasks.remove(cancelToken);
         });
-        runningTask.submitTo(executorService);
         return runningTask;
 
     }
 
+    @Nullable
+    private String getCurrentUsername() {
+        return Optional.ofNullable(requestManager.getRequestContext())
+                .flatMap(IRequestContext::getAuthenticationContext)
+                .flatMap(IAuthenticationContext::getCurrentUser)
+                .map(IUser::getUsername)
+                .orElse(null);
+    }
+
+    /**
+     * Copies the uploaded files in the temporary directory, so that the request can complete before the import.
+     */
+    private Map<Path, String> spool(final Collection<ProductImportRequest.ImportFile> importFiles) throws IOException {
+        final Path directory = Files.createDirectories(settings.getTemporaryDirectory().resolve("imports"));
+        final Map<Path, String> files = new LinkedHashMap<>();
+        try {
+            for (final ProductImportRequest.ImportFile importFile : importFiles) {
+                final Path file = Files.createTempFile(directory, "import-", ".xlsx");
+                files.put(file, importFile.getFileName());
+                try (InputStream in = importFile.getContent()) {
+                    Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (final IOException | RuntimeException e) {
+            deleteQuietly(files.keySet());
+            throw e;
+        }
+        return files;
+    }
+
+    private static void deleteQuietly(final Collection<Path> files) {
+        for (final Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to delete spooled import file {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * A product import with its owner.
+     */
+    private static final class ProductImport {
+
+        /** */
+        private final ITaskMonitor monitor;
+
+        /** */
+        private final ProductImportTask task;
+
+        /** */
+        @Nullable
+        private final String username;
+
+        /** */
+        @Nullable
+        private volatile String failure;
+
+        ProductImport(final ITaskMonitor monitor, final ProductImportTask task, @Nullable final String username) {
+            this.monitor = monitor;
+            this.task = task;
+            this.username = username;
+        }
+
+        ProductImportState getState() {
+            return ProductImportState.builder()
+                    .state(monitor.getState())
+                    .progress(monitor.getProgress())
+                    .validationResult(task.getValidationResult())
+                    .failure(failure)
+                    .build();
+        }
+    }
+
 }
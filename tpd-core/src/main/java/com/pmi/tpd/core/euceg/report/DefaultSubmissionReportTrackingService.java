@@ -8,10 +8,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -32,14 +35,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.pmi.tpd.api.config.IApplicationConfiguration;
 import com.pmi.tpd.api.exception.ArgumentValidationException;
 import com.pmi.tpd.api.exception.NoSuchEntityException;
 import com.pmi.tpd.api.i18n.I18nService;
 import com.pmi.tpd.api.paging.PageUtils;
+import com.pmi.tpd.api.scheduler.ITaskMonitorProgress;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.backup.task.BackupPhase;
 import com.pmi.tpd.core.elasticsearch.IIndexerOperations;
+import com.pmi.tpd.core.elasticsearch.model.SubmissionIndexed;
 import com.pmi.tpd.core.euceg.IAttachmentService;
 import com.pmi.tpd.core.euceg.spi.IProductSubmissionStore;
 import com.pmi.tpd.core.model.euceg.ProductEntity;
@@ -316,6 +322,13 @@ public class DefaultSubmissionReportTrackingService implements ISubmissionReport
                 return findAllSubmission(request, creator);
             }
 
+            @Override
+            public Stream<B> stream(@Nullable final ITaskMonitorProgress monitor) {
+                // walks the whole report with a scroll context instead of deep offset paging
+                return indexerOperations.scrollSubmission(request, limit)
+                        .stream(batch -> hydrate(batch, creator), monitor);
+            }
+
             @Override
             @Nonnull
             public Pageable getInitialPageableRequest() {
@@ -333,8 +346,19 @@ public class DefaultSubmissionReportTrackingService implements ISubmissionReport
 
     private <B extends BaseRequestExportSubmission> Page<B> findAllSubmission(@Nonnull final Pageable pageable,
         final Supplier<B> creator) {
-        return this.indexerOperations.findAllSubmission(pageable).map(submission -> {
-            final SubmissionEntity entity = productSubmissionStore.get(submission.getId());
+        final Page<SubmissionIndexed> page = this.indexerOperations.findAllSubmission(pageable);
+        return PageUtils.createPage(hydrate(page.getContent(), creator), pageable, page.getTotalElements());
+    }
+
+    private <B extends BaseRequestExportSubmission> List<B> hydrate(
+        @Nonnull final List<SubmissionIndexed> submissions,
+        final Supplier<B> creator) {
+        // hydrates the whole batch in one query
+        final Map<Long, SubmissionEntity> entities = Maps.uniqueIndex(productSubmissionStore
+                .getAll(submissions.stream().map(SubmissionIndexed::getId).collect(Collectors.toList()), true),
+            SubmissionEntity::getId);
+        return submissions.stream().map(submission -> {
+            final SubmissionEntity entity = entities.get(submission.getId());
             final ProductEntity product = entity.getProduct();
             try {
                 final B builder = creator.get();
@@ -364,7 +388,7 @@ public class DefaultSubmissionReportTrackingService implements ISubmissionReport
             } catch (final Exception ex) {
                 throw new RuntimeException(ex);
             }
-        });
+        }).collect(Collectors.toList());
     }
 
     @Nonnull
@@ -1,9 +1,12 @@
 package com.pmi.tpd.core.euceg.report;
 
+import java.io.IOException;
 import java.util.Optional;
 
 import javax.annotation.Nonnull;
 
+import com.pmi.tpd.core.euceg.ProductImportRequest;
+import com.pmi.tpd.core.euceg.ProductImportState;
 import com.pmi.tpd.euceg.core.task.ITrackingReportState;
 import com.pmi.tpd.scheduler.exec.ITaskMonitor;
 
@@ -12,6 +15,48 @@ public interface IEucegTaskExecutorManager {
     @Nonnull
     ITaskMonitor trackingReport(@Nonnull ITrackingReportState state);
 
+    /**
+     * Spools the Excel files of request in the temporary directory and imports their products in background.
+     * <p>
+     * The files are consumed in the calling thread, the products are imported by a bounded pool of threads so that
+     * concurrent imports don't exhaust the resources of the node. The outcome of import, including the validation
+     * failures, can be fetched with {@link #getProductImport(String)} and is notified to the current user.
+     * </p>
+     *
+     * @param request
+     *                the import request.
+     * @return Returns the monitor of import task.
+     * @throws IOException
+     *                     if a file can not be spooled.
+     * @since 3.4
+     */
+    @Nonnull
+    ITaskMonitor importProducts(@Nonnull ProductImportRequest request) throws IOException;
+
+    /**
+     * Gets the state of a product import started by the current user, the outcome of a completed import is kept a few
+     * minutes.
+     *
+     * @param cancelToken
+     *                    the cancel token of import task.
+     * @return Returns the state of import, or {@link Optional#empty()} if the import is unknown, expired or has been
+     *         started by another user.
+     * @since 3.4
+     */
+    @Nonnull
+    Optional<ProductImportState> getProductImport(@Nonnull String cancelToken);
+
+    /**
+     * Cancels a running product import started by the current user.
+     *
+     * @param cancelToken
+     *                    the cancel token of import task.
+     * @return Returns {@code true} if the import has been cancelled, or {@code false} if the import is unknown, is no
+     *         longer running or has been started by another user.
+     * @since 3.4
+     */
+    boolean cancelProductImport(@Nonnull String cancelToken);
+
     /**
      * @param id
      * @return
@@ -1,5 +1,6 @@
 package com.pmi.tpd.core.euceg.spi;
 
+import java.util.Collection;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -37,6 +38,18 @@ public interface IProductRepository
     @Nonnull
     List<ProductEntity> findAllNewProduct(@Nonnull ProductType productType);
 
+    /**
+     * Gets in one query the products with their xml product. Submissions, attachments and child product are loaded
+     * lazily.
+     *
+     * @param productNumbers
+     *                       the product numbers of products to fetch.
+     * @return Returns a list of products in unspecified order.
+     * @since 3.4
+     */
+    @Nonnull
+    List<ProductEntity> findAllByProductNumbers(@Nonnull Collection<String> productNumbers);
+
     /**
      * {@inheritDoc}
      */
@@ -121,6 +121,20 @@ public interface IProductStore {
     @Nonnull
     ProductEntity get(@Nonnull String productNumber);
 
+    /**
+     * Gets a batch of products with their xml product in one query, for read only purpose (exports, bulk actions).
+     * Submissions, attachments and child product are loaded lazily.
+     *
+     * @param productNumbers
+     *                       the product numbers.
+     * @return Returns the products in the order of {@code productNumbers}.
+     * @throws javax.persistence.EntityNotFoundException
+     *                                                   if a product doesn't exist.
+     * @since 3.4
+     */
+    @Nonnull
+    List<ProductEntity> getAll(@Nonnull List<String> productNumbers);
+
     /**
      * @param productNumber
      * @return
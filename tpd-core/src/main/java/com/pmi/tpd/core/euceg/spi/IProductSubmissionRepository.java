@@ -1,5 +1,7 @@
 package com.pmi.tpd.core.euceg.spi;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -38,6 +40,19 @@ public interface IProductSubmissionRepository extends IDslAccessor<SubmissionEnt
     @Nonnull
     IPayloadEntity getSubmissionPayload(@Nonnull Long id);
 
+    /**
+     * Gets in one query the submissions with their product. Receipts and exported attachments are not loaded.
+     *
+     * @param ids
+     *                    the identifiers of submissions to fetch.
+     * @param withPayload
+     *                    {@code true} to fetch the xml submission in the same query, otherwise it is loaded lazily.
+     * @return Returns a list of submissions in unspecified order.
+     * @since 3.4
+     */
+    @Nonnull
+    List<SubmissionEntity> findAllWithProduct(@Nonnull Collection<Long> ids, boolean withPayload);
+
     /**
      * @param pageable
      * @return
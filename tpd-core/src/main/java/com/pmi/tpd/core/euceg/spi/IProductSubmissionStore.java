@@ -1,5 +1,6 @@
 package com.pmi.tpd.core.euceg.spi;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -73,6 +74,22 @@ public interface IProductSubmissionStore extends IPendingMessageProvider {
     @Nonnull
     SubmissionEntity get(@Nonnull Long id);
 
+    /**
+     * Gets a batch of submissions with their product in one query, for read only purpose (reports, exports).
+     * Receipts and exported attachments are not loaded.
+     *
+     * @param ids
+     *                    the identifiers of submissions.
+     * @param withPayload
+     *                    {@code true} to fetch the xml submission in the same query, otherwise it is loaded lazily.
+     * @return Returns the submissions in the order of {@code ids}.
+     * @throws javax.persistence.EntityNotFoundException
+     *                                                   if a submission doesn't exist.
+     * @since 3.4
+     */
+    @Nonnull
+    List<SubmissionEntity> getAll(@Nonnull List<Long> ids, boolean withPayload);
+
     /**
      * @param id
      * @return
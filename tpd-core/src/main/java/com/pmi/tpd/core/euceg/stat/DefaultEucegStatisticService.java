@@ -136,7 +136,7 @@ public class DefaultEucegStatisticService implements IEucegStatisticService {
                 .withMaxResults(0)
                 .withTrackTotalHits(true);
         if (filters != null) {
-            searchQuery.withQuery(SearchQuerySupport.buildFilter(filters));
+            searchQuery.withQuery(SearchQuerySupport.buildFilter(ProductIndexed.class, filters));
         } else {
             searchQuery.withQuery(QueryBuilders.matchAllQuery());
         }
@@ -0,0 +1,279 @@
+package com.pmi.tpd.core.euceg.stat;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.springframework.context.event.EventListener;
+
+import com.pmi.tpd.api.context.IClock;
+import com.pmi.tpd.api.paging.Filters;
+import com.pmi.tpd.core.euceg.UpdatedSubmissionEvent;
+import com.pmi.tpd.core.euceg.event.AttachmentActionEvent;
+import com.pmi.tpd.core.euceg.event.AttachmentMovedEvent;
+import com.pmi.tpd.core.euceg.event.ProductImportEvent;
+import com.pmi.tpd.core.euceg.event.SubmissiontCreatedEvent;
+import com.pmi.tpd.core.euceg.event.SubmissiontSentEvent;
+import com.pmi.tpd.euceg.api.ProductType;
+
+/**
+ * Materializes the statistics computed by a delegated {@link IEucegStatisticService}, so that dashboards read
+ * precomputed values instead of running an Elasticsearch aggregation on each request.
+ * <p>
+ * Each statistic (per status, type and histogram period) is kept as a snapshot, which becomes stale when a change event
+ * of its domain (submission, product or attachment) is received. A stale snapshot is recomputed on the next read, at
+ * most once every {@code refreshInterval}, whatever the number of readers. Snapshots are also rebuilt after
+ * {@code maxAge} to correct changes that are not notified, for instance those applied on another node.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class MaterializedEucegStatisticService implements IEucegStatisticService {
+
+    /** Default minimum interval between two computations of a same statistic. */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
+    /** Default maximum age of a statistic. */
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(5);
+
+    /**
+     * Domains of statistics.
+     */
+    enum Domain {
+        submission,
+        product,
+        attachment
+    }
+
+    /** */
+    private final IEucegStatisticService delegate;
+
+    /** */
+    private final IClock clock;
+
+    /** */
+    private final long refreshInterval;
+
+    /** */
+    private final long maxAge;
+
+    /** */
+    private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** */
+    private final Map<Domain, AtomicLong> versions = new EnumMap<>(Domain.class);
+
+    /**
+     * @param delegate
+     *                 the service computing statistics.
+     * @param clock
+     *                 a clock.
+     */
+    public MaterializedEucegStatisticService(@Nonnull final IEucegStatisticService delegate,
+            @Nonnull final IClock clock) {
+        this(delegate, clock, DEFAULT_REFRESH_INTERVAL, DEFAULT_MAX_AGE);
+    }
+
+    /**
+     * @param delegate
+     *                        the service computing statistics.
+     * @param clock
+     *                        a clock.
+     * @param refreshInterval
+     *                        the minimum interval between two computations of a same statistic.
+     * @param maxAge
+     *                        the maximum age of a statistic.
+     */
+    public MaterializedEucegStatisticService(@Nonnull final IEucegStatisticService delegate,
+            @Nonnull final IClock clock, @Nonnull final Duration refreshInterval, @Nonnull final Duration maxAge) {
+        this.delegate = checkNotNull(delegate, "delegate");
+        this.clock = checkNotNull(clock, "clock");
+        this.refreshInterval = checkNotNull(refreshInterval, "refreshInterval").toNanos();
+        this.maxAge = checkNotNull(maxAge, "maxAge").toNanos();
+        Arrays.stream(Domain.values()).forEach(domain -> versions.put(domain, new AtomicLong()));
+    }
+
+    @Override
+    public CountResult countSubmissionByStatus() {
+        return get("submission.status", List.of(Domain.submission), delegate::countSubmissionByStatus);
+    }
+
+    @Override
+    public CountResult countProductByPirStatus(@Nonnull final ProductType productType) {
+        return get("product.pirStatus." + productType.name(),
+            List.of(Domain.product, Domain.submission),
+            () -> delegate.countProductByPirStatus(productType));
+    }
+
+    @Override
+    public CountResult countProductBySubmissionType(@Nullable final Filters filters, final String query) {
+        // only the unfiltered statistic is shared by all dashboards
+        if (filters != null && !filters.isEmpty()) {
+            return delegate.countProductBySubmissionType(filters, query);
+        }
+        return get("product.submissionType",
+            List.of(Domain.product, Domain.submission),
+            () -> delegate.countProductBySubmissionType(filters, query));
+    }
+
+    @Override
+    public CountResult countAttachmentByStatus() {
+        return get("attachment.status", List.of(Domain.attachment), delegate::countAttachmentByStatus);
+    }
+
+    @Override
+    public HistogramResult getHistogramCreatedSubmission(@Nonnull final HistogramRequest request) {
+        return get("submission.created." + periodOf(request),
+            List.of(Domain.submission),
+            () -> delegate.getHistogramCreatedSubmission(request));
+    }
+
+    @Override
+    public HistogramResult getHistogramCreatedTobaccoProduct(@Nonnull final HistogramRequest request) {
+        return get("product.created.TOBACCO." + periodOf(request),
+            List.of(Domain.product),
+            () -> delegate.getHistogramCreatedTobaccoProduct(request));
+    }
+
+    @Override
+    public HistogramResult getHistogramCreatedEcigProduct(@Nonnull final HistogramRequest request) {
+        return get("product.created.ECIGARETTE." + periodOf(request),
+            List.of(Domain.product),
+            () -> delegate.getHistogramCreatedEcigProduct(request));
+    }
+
+    /**
+     * Discards all materialized statistics.
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+
+    /**
+     * @param event
+     *              a submission has been updated.
+     */
+    @EventListener
+    public void onSubmissionUpdated(@Nonnull final UpdatedSubmissionEvent event) {
+        changed(Domain.submission);
+    }
+
+    /**
+     * @param event
+     *              a submission has been created.
+     */
+    @EventListener
+    public void onSubmissionCreated(@Nonnull final SubmissiontCreatedEvent event) {
+        changed(Domain.submission);
+        changed(Domain.product);
+    }
+
+    /**
+     * @param event
+     *              a submission has been sent.
+     */
+    @EventListener
+    public void onSubmissionSent(@Nonnull final SubmissiontSentEvent event) {
+        changed(Domain.submission);
+    }
+
+    /**
+     * @param event
+     *              products have been imported.
+     */
+    @EventListener
+    public void onProductImported(@Nonnull final ProductImportEvent event) {
+        changed(Domain.product);
+    }
+
+    /**
+     * @param event
+     *              an attachment has been created, updated or deleted.
+     */
+    @EventListener
+    public void onAttachmentChanged(@Nonnull final AttachmentActionEvent event) {
+        changed(Domain.attachment);
+    }
+
+    /**
+     * @param event
+     *              an attachment has been moved.
+     */
+    @EventListener
+    public void onAttachmentMoved(@Nonnull final AttachmentMovedEvent event) {
+        changed(Domain.attachment);
+    }
+
+    void changed(@Nonnull final Domain domain) {
+        versions.get(domain).incrementAndGet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(final String key, final List<Domain> domains, final Supplier<T> supplier) {
+        final Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.isFresh(version(domains), clock.nanoTime())) {
+            return (T) snapshot.value;
+        }
+        // only one reader computes the statistic, others wait and read the new snapshot
+        return (T) snapshots.compute(key, (k, current) -> {
+            final long version = version(domains);
+            if (current != null && current.isFresh(version, clock.nanoTime())) {
+                return current;
+            }
+            return new Snapshot(supplier.get(), version, clock.nanoTime());
+        }).value;
+    }
+
+    private long version(final List<Domain> domains) {
+        long version = 0;
+        for (final Domain domain : domains) {
+            version += versions.get(domain).get();
+        }
+        return version;
+    }
+
+    private static String periodOf(final HistogramRequest request) {
+        return request.getInterval() + "." + request.getBounds();
+    }
+
+    /**
+     * A computed statistic.
+     */
+    private final class Snapshot {
+
+        /** */
+        private final Object value;
+
+        /** the version of domains when the statistic has been computed. */
+        private final long version;
+
+        /** */
+        private final long computedAt;
+
+        private Snapshot(final Object value, final long version, final long computedAt) {
+            this.value = value;
+            this.version = version;
+            this.computedAt = computedAt;
+        }
+
+        private boolean isFresh(final long currentVersion, final long now) {
+            final long age = now - computedAt;
+            if (age >= maxAge) {
+                return false;
+            }
+            return version == currentVersion || age < refreshInterval;
+        }
+    }
+}
@@ -2,46 +2,84 @@ package com.pmi.tpd.core.mail;
 
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.mail.MessagingException;
 import javax.mail.internet.MimeMessage;
 
 import org.apache.commons.lang3.StringUtils;
-import org.elasticsearch.common.Strings;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.thymeleaf.ITemplateEngine;
 import org.thymeleaf.context.Context;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
 import com.pmi.tpd.api.ApplicationConstants;
 import com.pmi.tpd.api.event.annotation.EventListener;
 import com.pmi.tpd.api.exception.MailException;
 import com.pmi.tpd.api.lifecycle.ConfigurationChangedEvent;
 import com.pmi.tpd.api.lifecycle.IShutdown;
 import com.pmi.tpd.api.lifecycle.IStartable;
+import com.pmi.tpd.api.scheduler.IJobRunner;
+import com.pmi.tpd.api.scheduler.IJobRunnerRequest;
+import com.pmi.tpd.api.scheduler.IScheduledJobSource;
+import com.pmi.tpd.api.scheduler.ISchedulerService;
+import com.pmi.tpd.api.scheduler.JobRunnerResponse;
+import com.pmi.tpd.api.scheduler.SchedulerServiceException;
+import com.pmi.tpd.api.scheduler.config.JobConfig;
+import com.pmi.tpd.api.scheduler.config.JobId;
+import com.pmi.tpd.api.scheduler.config.JobRunnerKey;
+import com.pmi.tpd.api.scheduler.config.RunMode;
+import com.pmi.tpd.api.scheduler.config.Schedule;
 import com.pmi.tpd.api.util.Assert;
+import com.pmi.tpd.core.mail.spi.IMailOutboxRepository;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity;
+import com.pmi.tpd.spring.transaction.SpringTransactionUtils;
 
 /**
  * Service for sending e-mails.
- * <p/>
  * <p>
- * We use the @Async annotation to send e-mails asynchronously.
+ * E-mails are not sent in the calling thread but stored in a persistent outbox, in the transaction of caller, so that
+ * they survive a restart of the application and are not sent when the transaction is rolled back. The outbox job,
+ * run once per cluster, sends the due e-mails by batches of {@code mail.outbox.batch.size} e-mails over one SMTP
+ * connection, at most {@code mail.outbox.rate.limit} e-mails per second. A failed e-mail is postponed with an
+ * exponential backoff and is kept with the failed status after {@code mail.outbox.max.attempts} attempts. Failed
+ * e-mails are purged after {@code mail.outbox.failed.retention.period} days by a cluster-wide job.
+ * </p>
+ * <p>
+ * E-mails are not queued while the mail host is not configured, they could never be sent.
  * </p>
  */
 @Named
 @Singleton
-public class DefaultMailService implements IMailService, IStartable, IShutdown {
+public class DefaultMailService implements IMailService, IStartable, IShutdown, IScheduledJobSource {
 
     /** */
     private static final String SMTP_AUTH = "mail.smtp.auth";
@@ -55,9 +93,83 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultMailService.class);
 
+    /** */
+    private static final JobId MAIL_OUTBOX_JOB_ID = JobId.of(MailOutboxJob.class.getSimpleName());
+
+    /** */
+    private static final JobRunnerKey MAIL_OUTBOX_JOB_RUNNER_KEY = JobRunnerKey.of(MailOutboxJob.class.getName());
+
+    /** */
+    private static final JobId MAIL_OUTBOX_CLEANUP_JOB_ID = JobId.of(MailOutboxCleanupJob.class.getSimpleName());
+
+    /** */
+    private static final JobRunnerKey MAIL_OUTBOX_CLEANUP_JOB_RUNNER_KEY = JobRunnerKey
+            .of(MailOutboxCleanupJob.class.getName());
+
+    /** */
+    private static final Joiner ADDRESS_JOINER = Joiner.on(MailOutboxEntity.ADDRESS_SEPARATOR).skipNulls();
+
+    /** */
+    private static final Splitter ADDRESS_SPLITTER = Splitter.on(MailOutboxEntity.ADDRESS_SEPARATOR)
+            .trimResults()
+            .omitEmptyStrings();
+
     /** */
     private JavaMailSender javaMailSender;
 
+    /** */
+    private final IMailOutboxRepository outboxRepository;
+
+    /** */
+    private final MailOutboxMetricSet metrics;
+
+    /** */
+    private final TransactionTemplate transactionTemplate;
+
+    /** */
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
+    /** Controls how frequently the outbox job is run (in SECONDS). */
+    @Value("${mail.outbox.send.interval:10}")
+    private long sendInterval = 10;
+
+    /** Maximum number of e-mails sent over one SMTP connection. */
+    @Value("${mail.outbox.batch.size:50}")
+    private int batchSize = 50;
+
+    /** Maximum number of e-mails sent per second, zero or a negative value for no limit. */
+    @Value("${mail.outbox.rate.limit:10}")
+    private double rateLimit = 10;
+
+    /** Maximum number of delivery attempts of an e-mail. */
+    @Value("${mail.outbox.max.attempts:10}")
+    private int maxAttempts = 10;
+
+    /** Delay before the second delivery attempt, doubled on each following attempt (in SECONDS). */
+    @Value("${mail.outbox.retry.initial.delay:30}")
+    private long retryInitialDelay = 30;
+
+    /** Maximum delay between two delivery attempts (in SECONDS). */
+    @Value("${mail.outbox.retry.max.delay:3600}")
+    private long retryMaxDelay = 3600;
+
+    /**
+     * Controls how long failed e-mails are kept (in DAYS). Zero, or a negative value, keeps failed e-mails forever.
+     */
+    @Value("${mail.outbox.failed.retention.period:30}")
+    private long failedRetentionPeriod = 30;
+
+    /** Maximum number of failed e-mails purged in one transaction. */
+    @Value("${mail.outbox.cleanup.batch.size:1000}")
+    private int cleanupBatchSize = 1000;
+
+    /** Controls how frequently the outbox cleanup job is run (in HOURS). */
+    @Value("${mail.outbox.cleanup.run.interval:24}")
+    private long cleanupRunInterval = 24;
+
+    /** */
+    private volatile RateLimiter rateLimiter;
+
     /** */
     private MailProperties mailProperties;
 
@@ -68,12 +180,84 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
     private boolean started = false;
 
     /**
-     *
+     * @param mailProperties
+     *                           the mail host configuration.
+     * @param templateEngine
+     *                           the template engine.
+     * @param outboxRepository
+     *                           the repository of e-mails waiting to be sent.
+     * @param transactionManager
+     *                           the transaction manager.
+     * @param metrics
+     *                           the metrics of outbox.
      */
     public DefaultMailService(@Nonnull final MailProperties mailProperties,
-            @Nonnull final ITemplateEngine templateEngine) {
+            @Nonnull final ITemplateEngine templateEngine, @Nonnull final IMailOutboxRepository outboxRepository,
+            @Nonnull final PlatformTransactionManager transactionManager, @Nonnull final MailOutboxMetricSet metrics) {
         this.mailProperties = checkNotNull(mailProperties, "mailProperties");
         this.templateEngine = checkNotNull(templateEngine, "templateEngine");
+        this.outboxRepository = checkNotNull(outboxRepository, "outboxRepository");
+        this.metrics = checkNotNull(metrics, "metrics");
+        checkNotNull(transactionManager, "transactionManager");
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.requiresNewTransactionTemplate = new TransactionTemplate(transactionManager,
+                SpringTransactionUtils.REQUIRES_NEW);
+    }
+
+    /**
+     * @param value
+     *              the maximum number of e-mails sent over one SMTP connection.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultMailService withBatchSize(final int value) {
+        this.batchSize = value;
+        return this;
+    }
+
+    /**
+     * @param value
+     *              the maximum number of e-mails sent per second, zero or a negative value for no limit.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultMailService withRateLimit(final double value) {
+        this.rateLimit = value;
+        this.rateLimiter = null;
+        return this;
+    }
+
+    /**
+     * @param value
+     *              the maximum number of delivery attempts of an e-mail.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultMailService withMaxAttempts(final int value) {
+        this.maxAttempts = value;
+        return this;
+    }
+
+    /**
+     * @param value
+     *              the retention period of failed e-mails in days.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultMailService withFailedRetentionPeriod(final long value) {
+        this.failedRetentionPeriod = value;
+        return this;
+    }
+
+    /**
+     * @param value
+     *              the number of failed e-mails to purge in one transaction.
+     * @return Returns a fluent instance.
+     * @since 3.4
+     */
+    public DefaultMailService withCleanupBatchSize(final int value) {
+        this.cleanupBatchSize = value;
+        return this;
     }
 
     /** {@inheritDoc} */
@@ -119,17 +303,232 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
         return javaMailSender;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The e-mail is stored in the outbox and sent by the outbox job once the current transaction, if any, is committed.
+     * Headers and attachments are not supported. The e-mail is dropped if the mail host is not configured.
+     * </p>
+     */
     @Override
-    @Async
     public void sendNow(final MailMessage message) throws MailException {
-        sendEmail(getJavaMailSender(),
-            Strings.isNullOrEmpty(message.getFrom()) ? this.mailProperties.getFrom() : message.getFrom(),
-            message.getTo(),
-            message.getSubject(),
-            message.getText(),
-            false,
-            true);
+        checkNotNull(message, "message");
+        if (!isHostConfigured()) {
+            LOGGER.warn("E-mail to '{}' is not sent, the mail host is not configured", message.getTo());
+            return;
+        }
+        if (!message.getAttachments().isEmpty() || !message.getHeaders().isEmpty()) {
+            LOGGER.debug("Headers and attachments of e-mail to '{}' are ignored", message.getTo());
+        }
+        transactionTemplate.execute(status -> outboxRepository.save(new MailOutboxEntity(message.getFrom(),
+                ADDRESS_JOINER.join(message.getTo()), ADDRESS_JOINER.join(message.getCc()),
+                ADDRESS_JOINER.join(message.getBcc()), message.getSubject(), message.getText(), new Date())));
+    }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void schedule(@Nonnull final ISchedulerService schedulerService) throws SchedulerServiceException {
+        final long interval = TimeUnit.SECONDS.toMillis(Math.max(1, sendInterval));
+        schedulerService.registerJobRunner(MAIL_OUTBOX_JOB_RUNNER_KEY, new MailOutboxJob());
+        schedulerService.scheduleJob(MAIL_OUTBOX_JOB_ID,
+            JobConfig.forJobRunnerKey(MAIL_OUTBOX_JOB_RUNNER_KEY)
+                    .withRunMode(RunMode.RUN_ONCE_PER_CLUSTER)
+                    .withSchedule(Schedule.forInterval(interval, new Date(System.currentTimeMillis() + interval))));
+        if (failedRetentionPeriod <= 0) {
+            LOGGER.info("Failed e-mails retention period is disabled, failed e-mails are kept forever");
+            return;
+        }
+        final long cleanupInterval = TimeUnit.HOURS.toMillis(Math.max(1, cleanupRunInterval));
+        schedulerService.registerJobRunner(MAIL_OUTBOX_CLEANUP_JOB_RUNNER_KEY, new MailOutboxCleanupJob());
+        schedulerService.scheduleJob(MAIL_OUTBOX_CLEANUP_JOB_ID,
+            JobConfig.forJobRunnerKey(MAIL_OUTBOX_CLEANUP_JOB_RUNNER_KEY)
+                    .withRunMode(RunMode.RUN_ONCE_PER_CLUSTER)
+                    .withSchedule(Schedule.forInterval(cleanupInterval,
+                        new Date(System.currentTimeMillis() + cleanupInterval))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void unschedule(@Nonnull final ISchedulerService schedulerService) throws SchedulerServiceException {
+        schedulerService.unregisterJobRunner(MAIL_OUTBOX_JOB_RUNNER_KEY);
+        schedulerService.unregisterJobRunner(MAIL_OUTBOX_CLEANUP_JOB_RUNNER_KEY);
+    }
+
+    /**
+     * Purges all failed e-mails whose last delivery attempt is older than the retention period,
+     * {@code mail.outbox.cleanup.batch.size} e-mails per transaction.
+     */
+    @VisibleForTesting
+    void cleanupFailedMails() {
+        if (failedRetentionPeriod <= 0) {
+            return;
+        }
+        final Date date = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(failedRetentionPeriod));
+        final int size = Math.max(1, cleanupBatchSize);
+        boolean hasMore = true;
+        while (hasMore) {
+            hasMore = requiresNewTransactionTemplate.execute(status -> {
+                final List<Long> ids = outboxRepository.findFailedIdsBefore(date, size);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Purging {} failed e-mails attempted before '{}'", ids.size(), date);
+                }
+                if (ids.isEmpty()) {
+                    return false;
+                }
+                outboxRepository.deleteByIds(ids);
+                return ids.size() >= size;
+            });
+        }
+    }
+
+    /**
+     * Sends all due e-mails of outbox, {@code mail.outbox.batch.size} e-mails per SMTP connection. Nothing is sent if
+     * the mail host is not configured or rejects the credentials.
+     */
+    @VisibleForTesting
+    void sendPendingMails() {
+        final JavaMailSender sender = getJavaMailSender();
+        if (!isHostConfigured() || sender == null) {
+            return;
+        }
+        final int size = Math.max(1, batchSize);
+        boolean hasMore = true;
+        try {
+            while (hasMore) {
+                final List<MailOutboxEntity> batch = requiresNewTransactionTemplate
+                        .execute(status -> outboxRepository.findDue(new Date(), size));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                acquire(batch.size());
+                final Map<MailOutboxEntity, Exception> failures = sendBatch(sender, batch);
+                requiresNewTransactionTemplate.execute(status -> {
+                    final List<MailOutboxEntity> sent = Lists.newArrayListWithCapacity(batch.size());
+                    final List<MailOutboxEntity> failed = Lists.newArrayListWithCapacity(failures.size());
+                    for (final MailOutboxEntity mail : batch) {
+                        final Exception failure = failures.get(mail);
+                        if (failure == null) {
+                            sent.add(mail);
+                        } else {
+                            postpone(mail, failure);
+                            failed.add(mail);
+                        }
+                    }
+                    outboxRepository.deleteAll(sent);
+                    outboxRepository.saveAll(failed);
+                    metrics.getSent().mark(sent.size());
+                    return null;
+                });
+                hasMore = batch.size() >= size;
+            }
+        } catch (final MailAuthenticationException e) {
+            LOGGER.warn("E-mails could not be sent, the mail server rejected the credentials: {}", e.getMessage());
+        } finally {
+            metrics.setPending(requiresNewTransactionTemplate.execute(status -> outboxRepository.countPending()));
+        }
+    }
+
+    /**
+     * Sends a batch of e-mails over one SMTP connection.
+     *
+     * @param sender
+     *               the mail sender to use.
+     * @param batch
+     *               the e-mails to send.
+     * @return Returns the e-mails not sent associated to the cause of failure.
+     * @throws MailAuthenticationException
+     *                                     if the mail server rejects the credentials.
+     */
+    @Nonnull
+    private Map<MailOutboxEntity, Exception> sendBatch(@Nonnull final JavaMailSender sender,
+        @Nonnull final Collection<MailOutboxEntity> batch) {
+        final Map<MailOutboxEntity, Exception> failures = new IdentityHashMap<>();
+        final Map<MimeMessage, MailOutboxEntity> messages = new LinkedHashMap<>();
+        for (final MailOutboxEntity mail : batch) {
+            try {
+                messages.put(createMimeMessage(sender,
+                    StringUtils.isEmpty(mail.getFrom()) ? this.mailProperties.getFrom() : mail.getFrom(),
+                    toAddresses(mail.getTo()),
+                    toAddresses(mail.getCc()),
+                    toAddresses(mail.getBcc()),
+                    mail.getSubject(),
+                    mail.getContent(),
+                    false,
+                    true), mail);
+            } catch (final MessagingException | RuntimeException e) {
+                failures.put(mail, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+        try {
+            // all messages are sent over the same connection
+            sender.send(messages.keySet().toArray(new MimeMessage[messages.size()]));
+        } catch (final MailSendException e) {
+            for (final Map.Entry<Object, Exception> entry : e.getFailedMessages().entrySet()) {
+                final MailOutboxEntity mail = messages.get(entry.getKey());
+                if (mail != null) {
+                    failures.put(mail, entry.getValue());
+                }
+            }
+            // should not happen, the failed messages are unknown
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(mail -> failures.put(mail, e));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Postpones the next delivery attempt of an e-mail with an exponential backoff, or marks it as failed if it has
+     * reached the maximum number of attempts.
+     */
+    private void postpone(@Nonnull final MailOutboxEntity mail, @Nonnull final Exception failure) {
+        final String error = failure.getMessage();
+        if (mail.getAttempts() + 1 >= Math.max(1, maxAttempts)) {
+            LOGGER.warn("E-mail could not be sent to '{}' after {} attempts, exception is: {}",
+                mail.getTo(),
+                mail.getAttempts() + 1,
+                error);
+            mail.fail(error);
+            metrics.getFailed().mark();
+            return;
+        }
+        final long delay = Math.min(Math.max(1, retryMaxDelay),
+            Math.max(1, retryInitialDelay) << Math.min(mail.getAttempts(), 20));
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("E-mail could not be sent to '{}', next attempt in {}s, exception is: {}",
+                mail.getTo(),
+                delay,
+                error);
+        }
+        mail.retryAt(new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delay)), error);
+        metrics.getRetried().mark();
+    }
+
+    private void acquire(final int permits) {
+        if (rateLimit <= 0) {
+            return;
+        }
+        RateLimiter limiter = rateLimiter;
+        if (limiter == null) {
+            limiter = RateLimiter.create(rateLimit);
+            rateLimiter = limiter;
+        }
+        limiter.acquire(permits);
+    }
+
+    @Nonnull
+    private static Set<String> toAddresses(@Nullable final String addresses) {
+        if (addresses == null) {
+            return Collections.emptySet();
+        }
+        return ImmutableSet.copyOf(ADDRESS_SPLITTER.split(addresses));
     }
 
     @Override
@@ -165,15 +564,16 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
                 content);
         }
 
-        // Prepare message using a Spring helper
-        final MimeMessage mimeMessage = sender.createMimeMessage();
         try {
-            final MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart,
-                    ApplicationConstants.getDefaultCharset().name());
-            message.setTo(to.toArray(new String[to.size()]));
-            message.setFrom(from);
-            message.setSubject(subject);
-            message.setText(content, isHtml);
+            final MimeMessage mimeMessage = createMimeMessage(sender,
+                from,
+                to,
+                Collections.emptySet(),
+                Collections.emptySet(),
+                subject,
+                content,
+                isMultipart,
+                isHtml);
             sender.send(mimeMessage);
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Sent e-mail to User '{}'", to);
@@ -183,6 +583,33 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
         }
     }
 
+    @Nonnull
+    protected MimeMessage createMimeMessage(@Nonnull final JavaMailSender sender,
+        final String from,
+        @Nonnull final Set<String> to,
+        @Nonnull final Set<String> cc,
+        @Nonnull final Set<String> bcc,
+        final String subject,
+        final String content,
+        final boolean isMultipart,
+        final boolean isHtml) throws MessagingException {
+        // Prepare message using a Spring helper
+        final MimeMessage mimeMessage = sender.createMimeMessage();
+        final MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart,
+                ApplicationConstants.getDefaultCharset().name());
+        message.setTo(to.toArray(new String[to.size()]));
+        if (!cc.isEmpty()) {
+            message.setCc(cc.toArray(new String[cc.size()]));
+        }
+        if (!bcc.isEmpty()) {
+            message.setBcc(bcc.toArray(new String[bcc.size()]));
+        }
+        message.setFrom(from);
+        message.setSubject(StringUtils.defaultString(subject));
+        message.setText(StringUtils.defaultString(content), isHtml);
+        return mimeMessage;
+    }
+
     @Nonnull
     protected JavaMailSender createJavaMailSender(@Nonnull final MailProperties mailProperties) {
         final JavaMailSenderImpl sender = new JavaMailSenderImpl();
@@ -226,4 +653,30 @@ public class DefaultMailService implements IMailService, IStartable, IShutdown {
         }
     }
 
+    /**
+     * Job for sending the e-mails waiting in the outbox.
+     */
+    private class MailOutboxJob implements IJobRunner {
+
+        @Nullable
+        @Override
+        public JobRunnerResponse runJob(@Nonnull final IJobRunnerRequest request) {
+            sendPendingMails();
+            return JobRunnerResponse.success();
+        }
+    }
+
+    /**
+     * Job for purging the failed e-mails older than the retention period.
+     */
+    private class MailOutboxCleanupJob implements IJobRunner {
+
+        @Nullable
+        @Override
+        public JobRunnerResponse runJob(@Nonnull final IJobRunnerRequest request) {
+            cleanupFailedMails();
+            return JobRunnerResponse.success();
+        }
+    }
+
 }
@@ -37,12 +37,12 @@ public interface IMailService {
     JavaMailSender getJavaMailSender();
 
     /**
-     * Sends an email in the calling thread. Gives synchronous feedback if the sending failed.
+     * Queues an email in the outbox, the email is sent asynchronously once the current transaction is committed.
      *
      * @param message
      *            the message to send
      * @throws MailException
-     *             if there was an error sending the mail.
+     *             if there was an error queuing the mail.
      */
     void sendNow(MailMessage message) throws MailException;
 
@@ -1,11 +1,15 @@
 package com.pmi.tpd.core.mail;
 
 import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.thymeleaf.ITemplateEngine;
 
+import com.pmi.tpd.core.mail.impl.JpaMailOutboxRepository;
+import com.pmi.tpd.core.mail.spi.IMailOutboxRepository;
 import com.pmi.tpd.spring.env.EnableConfigurationProperties;
 
 /**
@@ -22,14 +26,38 @@ public class MailConfiguration {
         this.mailProperties = mailProperties;
     }
 
+    /**
+     * @param entityManager
+     *                      JPA entity manager.
+     * @return Returns instance {@link IMailOutboxRepository}.
+     * @since 3.4
+     */
+    @Bean
+    public IMailOutboxRepository mailOutboxRepository(final EntityManager entityManager) {
+        return new JpaMailOutboxRepository(entityManager);
+    }
+
+    /**
+     * @return Returns the metrics of e-mail outbox.
+     * @since 3.4
+     */
+    @Bean
+    public MailOutboxMetricSet mailOutboxMetricSet() {
+        return new MailOutboxMetricSet();
+    }
+
     /**
      * @param applicationProperties
      * @param templateEngine
      * @return
      */
     @Bean
-    public IMailService mailService(@Nonnull final ITemplateEngine templateEngine) {
-        return new DefaultMailService(mailProperties, templateEngine);
+    public IMailService mailService(@Nonnull final ITemplateEngine templateEngine,
+        @Nonnull final IMailOutboxRepository mailOutboxRepository,
+        @Nonnull final PlatformTransactionManager transactionManager,
+        @Nonnull final MailOutboxMetricSet mailOutboxMetricSet) {
+        return new DefaultMailService(mailProperties, templateEngine, mailOutboxRepository, transactionManager,
+                mailOutboxMetricSet);
     }
 
 }
@@ -0,0 +1,71 @@
+package com.pmi.tpd.core.mail;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Provides the throughput of the e-mail outbox: e-mails sent, postponed after a failed attempt, failed after their
+ * last attempt, and the number of e-mails waiting to be sent at the end of the last run of the outbox job.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class MailOutboxMetricSet implements MetricSet {
+
+    /** */
+    private final Meter sent = new Meter();
+
+    /** */
+    private final Meter retried = new Meter();
+
+    /** */
+    private final Meter failed = new Meter();
+
+    /** */
+    private final AtomicLong pending = new AtomicLong();
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        return ImmutableMap.<String, Metric> builder()
+                .put("sent", sent)
+                .put("retried", retried)
+                .put("failed", failed)
+                .put("pending", (Gauge<Long>) pending::get)
+                .build();
+    }
+
+    @Nonnull
+    public Meter getSent() {
+        return sent;
+    }
+
+    @Nonnull
+    public Meter getRetried() {
+        return retried;
+    }
+
+    @Nonnull
+    public Meter getFailed() {
+        return failed;
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    /**
+     * @param count
+     *              the number of e-mails waiting to be sent.
+     */
+    public void setPending(final long count) {
+        pending.set(count);
+    }
+}
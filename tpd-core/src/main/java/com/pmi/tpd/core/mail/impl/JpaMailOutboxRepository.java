@@ -0,0 +1,72 @@
+package com.pmi.tpd.core.mail.impl;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.persistence.EntityManager;
+
+import com.pmi.tpd.core.mail.spi.IMailOutboxRepository;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity.Status;
+import com.pmi.tpd.core.model.mail.QMailOutboxEntity;
+import com.pmi.tpd.database.jpa.DefaultJpaRepository;
+
+/**
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class JpaMailOutboxRepository extends DefaultJpaRepository<MailOutboxEntity, Long>
+        implements IMailOutboxRepository {
+
+    /**
+     * @param entityManager
+     *                      the JPA entity manager.
+     */
+    public JpaMailOutboxRepository(final EntityManager entityManager) {
+        super(MailOutboxEntity.class, entityManager);
+    }
+
+    @Override
+    public QMailOutboxEntity entity() {
+        return QMailOutboxEntity.mailOutboxEntity;
+    }
+
+    @Override
+    public List<MailOutboxEntity> findDue(@Nonnull final Date date, final int limit) {
+        return from()
+                .where(entity().status.eq(Status.PENDING)
+                        .and(entity().nextAttemptDate.loe(checkNotNull(date, "date"))))
+                .orderBy(entity().nextAttemptDate.asc(), entity().id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public long countPending() {
+        return count(entity().status.eq(Status.PENDING));
+    }
+
+    @Override
+    public List<Long> findFailedIdsBefore(@Nonnull final Date date, final int limit) {
+        // the date of next attempt is the date of last attempt once the e-mail has failed
+        return from().select(entity().id)
+                .where(entity().status.eq(Status.FAILED)
+                        .and(entity().nextAttemptDate.before(checkNotNull(date, "date"))))
+                .orderBy(entity().id.asc())
+                .limit(limit)
+                .fetch();
+    }
+
+    @Override
+    public long deleteByIds(@Nonnull final Collection<Long> ids) {
+        if (checkNotNull(ids, "ids").isEmpty()) {
+            return 0;
+        }
+        return deleteFrom().where(entity().id.in(ids)).execute();
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.pmi.tpd.core.mail.spi;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import com.pmi.tpd.core.model.mail.MailOutboxEntity;
+import com.pmi.tpd.database.jpa.IDslAccessor;
+
+/**
+ * Repository of e-mails waiting in the outbox.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public interface IMailOutboxRepository extends IDslAccessor<MailOutboxEntity, Long> {
+
+    /**
+     * Finds the pending e-mails whose next delivery attempt is due, oldest first.
+     *
+     * @param date
+     *              the current date.
+     * @param limit
+     *              the maximum number of e-mails to return.
+     * @return Returns a list of e-mails, which may be empty but never {@code null}.
+     */
+    @Nonnull
+    List<MailOutboxEntity> findDue(@Nonnull Date date, int limit);
+
+    /**
+     * @return Returns the number of e-mails waiting for a delivery attempt.
+     */
+    long countPending();
+
+    /**
+     * Finds the failed e-mails whose last delivery attempt is older than a date.
+     *
+     * @param date
+     *              the date before which the e-mails have failed.
+     * @param limit
+     *              the maximum number of identifiers to return.
+     * @return Returns a list of e-mail identifiers, which may be empty but never {@code null}.
+     * @since 3.4
+     */
+    @Nonnull
+    List<Long> findFailedIdsBefore(@Nonnull Date date, int limit);
+
+    /**
+     * @param ids
+     *            the identifiers of e-mails to delete.
+     * @return Returns the number of deleted e-mails.
+     * @since 3.4
+     */
+    long deleteByIds(@Nonnull Collection<Long> ids);
+
+}
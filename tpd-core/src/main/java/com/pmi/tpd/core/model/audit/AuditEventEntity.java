@@ -13,6 +13,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.MapKeyColumn;
 import javax.persistence.Table;
@@ -39,7 +40,9 @@ import com.pmi.tpd.api.util.Assert;
  * @since 1.0
  */
 @Entity(name = "AuditEvent")
-@Table(name = AuditEventEntity.TABLE_NAME)
+@Table(name = AuditEventEntity.TABLE_NAME,
+        indexes = { @Index(name = "idx_audit_event_date", columnList = "event_date"),
+                @Index(name = "idx_audit_event_principal_date", columnList = "principal, event_date") })
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
 public class AuditEventEntity implements IAuditEvent, IIdentityEntity<Long>, IInitializable {
 
@@ -86,7 +89,8 @@ public class AuditEventEntity implements IAuditEvent, IIdentityEntity<Long>, IIn
 
     @ElementCollection(fetch = FetchType.EAGER)
     @Column(name = "channel_value")
-    @CollectionTable(name = TABLE_NAME_CHANNEL, joinColumns = @JoinColumn(name = "event_id"))
+    @CollectionTable(name = TABLE_NAME_CHANNEL, joinColumns = @JoinColumn(name = "event_id"),
+            indexes = { @Index(name = "idx_audit_event_channel_event", columnList = "event_id") })
     private Set<String> channels;
 
     /**
@@ -0,0 +1,277 @@
+package com.pmi.tpd.core.model.mail;
+
+import java.util.Date;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.util.ObjectUtils;
+
+import com.google.common.base.MoreObjects;
+import com.pmi.tpd.api.ApplicationConstants;
+import com.pmi.tpd.api.model.IIdentityEntity;
+import com.pmi.tpd.api.util.Assert;
+
+/**
+ * E-mail waiting in the outbox to be sent to the SMTP server.
+ * <p>
+ * Recipients are stored one address per line. An e-mail is removed from the outbox as soon as it has been sent, and
+ * kept with the {@link Status#FAILED FAILED} status once all delivery attempts have failed.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+@Entity(name = "MailOutbox")
+@Table(name = MailOutboxEntity.TABLE_NAME,
+        indexes = { @Index(name = "idx_mail_outbox_status_next", columnList = "mail_status, next_attempt_date") })
+public class MailOutboxEntity implements IIdentityEntity<Long> {
+
+    /**
+     * The delivery status of an e-mail.
+     */
+    public enum Status {
+        /** The e-mail is waiting for its next delivery attempt. */
+        PENDING,
+        /** All delivery attempts have failed. */
+        FAILED
+    }
+
+    /** table name associate to this entity. */
+    public static final String TABLE_NAME = "t_mail_outbox";
+
+    /** The separator of addresses in recipient columns. */
+    public static final String ADDRESS_SEPARATOR = "\n";
+
+    /** The name of the primary key generator to use. */
+    private static final String ID_GEN = "mailOutboxIdGenerator";
+
+    /** maximum length of last error column. */
+    private static final int ERROR_MAX_LENGTH = 1024;
+
+    /** primary key. */
+    @Id
+    @TableGenerator(name = ID_GEN, table = ApplicationConstants.Jpa.Generator.NAME,
+            pkColumnName = ApplicationConstants.Jpa.Generator.COLUMN_NAME,
+            valueColumnName = ApplicationConstants.Jpa.Generator.COLUMN_VALUE_NAME, pkColumnValue = "mail_id",
+            allocationSize = 1)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = ID_GEN)
+    @Column(name = "mail_id")
+    private Long id;
+
+    /** */
+    @Column(name = "mail_from", length = 255, nullable = true)
+    private String from;
+
+    /** */
+    @Column(name = "mail_to", length = 4000, nullable = false)
+    private String to;
+
+    /** */
+    @Column(name = "mail_cc", length = 4000, nullable = true)
+    private String cc;
+
+    /** */
+    @Column(name = "mail_bcc", length = 4000, nullable = true)
+    private String bcc;
+
+    /** */
+    @Column(name = "subject", length = 1000, nullable = true)
+    private String subject;
+
+    /** */
+    @Lob
+    @Column(name = "content", length = 1024000, nullable = true)
+    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    private String content;
+
+    /** */
+    @Column(name = "created_date", nullable = false)
+    private Date createdDate;
+
+    /** */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "mail_status", length = 25, nullable = false)
+    private Status status;
+
+    /** */
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    /** */
+    @Column(name = "next_attempt_date", nullable = false)
+    private Date nextAttemptDate;
+
+    /** */
+    @Column(name = "last_error", length = ERROR_MAX_LENGTH, nullable = true)
+    private String lastError;
+
+    /**
+     * Default constructor for JPA.
+     */
+    protected MailOutboxEntity() {
+    }
+
+    /**
+     * Creates a pending e-mail to send as soon as possible.
+     *
+     * @param from
+     *                    the sender address (can be {@code null} to use the configured sender).
+     * @param to
+     *                    the recipient addresses, one address per line.
+     * @param cc
+     *                    the carbon copy addresses, one address per line (can be {@code null}).
+     * @param bcc
+     *                    the blind carbon copy addresses, one address per line (can be {@code null}).
+     * @param subject
+     *                    the subject.
+     * @param content
+     *                    the html content.
+     * @param createdDate
+     *                    the date of creation.
+     */
+    public MailOutboxEntity(@Nullable final String from, @Nonnull final String to, @Nullable final String cc,
+            @Nullable final String bcc, @Nullable final String subject, @Nullable final String content,
+            @Nonnull final Date createdDate) {
+        this.from = from;
+        this.to = Assert.checkHasText(to, "to");
+        this.cc = StringUtils.trimToNull(cc);
+        this.bcc = StringUtils.trimToNull(bcc);
+        this.subject = subject;
+        this.content = content;
+        this.createdDate = Assert.checkNotNull(createdDate, "createdDate");
+        this.nextAttemptDate = createdDate;
+        this.status = Status.PENDING;
+        this.attempts = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Nullable
+    public String getFrom() {
+        return from;
+    }
+
+    @Nonnull
+    public String getTo() {
+        return to;
+    }
+
+    @Nullable
+    public String getCc() {
+        return cc;
+    }
+
+    @Nullable
+    public String getBcc() {
+        return bcc;
+    }
+
+    @Nullable
+    public String getSubject() {
+        return subject;
+    }
+
+    @Nullable
+    public String getContent() {
+        return content;
+    }
+
+    @Nonnull
+    public Date getCreatedDate() {
+        return createdDate;
+    }
+
+    @Nonnull
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Nonnull
+    public Date getNextAttemptDate() {
+        return nextAttemptDate;
+    }
+
+    @Nullable
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Records a failed delivery attempt and postpones the next one.
+     *
+     * @param nextAttemptDate
+     *                        the date of next attempt.
+     * @param error
+     *                        the cause of failure.
+     */
+    public void retryAt(@Nonnull final Date nextAttemptDate, @Nullable final String error) {
+        this.attempts++;
+        this.nextAttemptDate = Assert.checkNotNull(nextAttemptDate, "nextAttemptDate");
+        this.lastError = StringUtils.abbreviate(error, ERROR_MAX_LENGTH);
+    }
+
+    /**
+     * Records the last failed delivery attempt, the e-mail will not be sent.
+     *
+     * @param error
+     *              the cause of failure.
+     */
+    public void fail(@Nullable final String error) {
+        this.attempts++;
+        this.status = Status.FAILED;
+        this.lastError = StringUtils.abbreviate(error, ERROR_MAX_LENGTH);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o instanceof MailOutboxEntity) {
+            final MailOutboxEntity that = (MailOutboxEntity) o;
+            return ObjectUtils.nullSafeEquals(getId(), that.getId());
+        }
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int hashCode() {
+        return ObjectUtils.nullSafeHashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("id", id)
+                .add("to", to)
+                .add("subject", subject)
+                .add("status", status)
+                .add("attempts", attempts)
+                .add("nextAttemptDate", nextAttemptDate)
+                .toString();
+    }
+
+}
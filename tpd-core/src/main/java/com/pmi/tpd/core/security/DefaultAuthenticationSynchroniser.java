@@ -1,13 +1,16 @@
 package com.pmi.tpd.core.security;
 
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
-import static com.pmi.tpd.api.util.FluentIterable.from;
 
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -20,11 +23,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
 import com.pmi.tpd.api.exception.ApplicationException;
 import com.pmi.tpd.api.paging.PageUtils;
@@ -46,7 +54,10 @@ import com.pmi.tpd.core.event.user.GroupMembershipCreatedEvent;
 import com.pmi.tpd.core.event.user.UserCreatedEvent;
 import com.pmi.tpd.core.event.user.UserDeletedEvent;
 import com.pmi.tpd.core.model.user.GroupEntity;
+import com.pmi.tpd.core.model.user.QGroupEntity;
+import com.pmi.tpd.core.model.user.QUserEntity;
 import com.pmi.tpd.core.model.user.UserEntity;
+import com.pmi.tpd.core.security.provider.DirectorySnapshot;
 import com.pmi.tpd.core.security.provider.IAuthenticationProvider;
 import com.pmi.tpd.core.security.provider.IAuthenticationProviderService;
 import com.pmi.tpd.core.user.IGroup;
@@ -55,6 +66,8 @@ import com.pmi.tpd.core.user.preference.IPreferences;
 import com.pmi.tpd.core.user.preference.IUserPreferencesManager;
 import com.pmi.tpd.core.user.spi.IGroupRepository;
 import com.pmi.tpd.core.user.spi.IUserRepository;
+import com.pmi.tpd.spring.transaction.SpringTransactionUtils;
+import com.querydsl.core.types.dsl.BooleanExpression;
 
 /**
  * Default implementation of interface {@link IAuthenticationSynchroniser}.
@@ -91,6 +104,9 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
     /** */
     private volatile IAuthenticationProviderService authenticationProviderService;
 
+    /** */
+    private final TransactionTemplate requiresNewTransactionTemplate;
+
     /**
      * Controls how frequently the job to check deleted groups is run.
      * <p>
@@ -101,7 +117,7 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
     private long groupCheckDeletedJobInterval = 60;
 
     /**
-     * Controls the number of groups to load in memory.
+     * Controls the number of groups to load in memory and the number of users reconciled per transaction.
      */
     @Value("${security.synchronization.group.check.deleted.job.batch.size:100}")
     private int groupCheckDeletedJobBatchSize = 100;
@@ -119,12 +135,15 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
      *            user preference manager.
      * @param eventPublisher
      *            the event publisher.
+     * @param transactionManager
+     *            the transaction manager used to reconcile users per batch.
      */
     public DefaultAuthenticationSynchroniser(
             @Nonnull final IAuthenticationProviderService authenticationProviderService,
             @Nonnull final IUserRepository userRepository, @Nonnull final IGroupRepository groupRepository,
             @Nonnull final IUserPreferencesManager userPreferencesManager,
-            @Nonnull final IEventPublisher eventPublisher) {
+            @Nonnull final IEventPublisher eventPublisher,
+            @Nonnull final PlatformTransactionManager transactionManager) {
         super();
         this.authenticationProviderService = checkNotNull(authenticationProviderService,
             "authenticationProviderService");
@@ -132,6 +151,8 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
         this.groupRepository = checkNotNull(groupRepository, "groupRepository");
         this.userPreferencesManager = checkNotNull(userPreferencesManager, "userPreferencesManager");
         this.eventPublisher = checkNotNull(eventPublisher, "eventPublisher");
+        this.requiresNewTransactionTemplate = new TransactionTemplate(
+                checkNotNull(transactionManager, "transactionManager"), SpringTransactionUtils.REQUIRES_NEW);
     }
 
     /**
@@ -146,7 +167,7 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
 
     /**
      * @param value
-     *            the number of groups to load in memory
+     *            the number of groups to load in memory and of users reconciled per transaction.
      * @return Returns a fluent instance.
      */
     public DefaultAuthenticationSynchroniser withGroupCheckDeletedJobBatchSize(final int value) {
@@ -245,7 +266,9 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
                     .build());
         }
 
-        returnedUser = this.userRepository.save(synchronizeUserInGroups(returnedUser, authorities));
+        final Set<String> memberOf = normalize(authorities);
+        synchronizeUserInGroups(returnedUser, memberOf, findGroupsByNames(memberOf));
+        returnedUser = this.userRepository.save(returnedUser);
 
         // update the last update date
         storeLastUpdate(returnedUser, DateTime.now());
@@ -270,6 +293,9 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
     /**
      * Job for doing a delayed cleanup of groups. The group cleanup is delayed so that if the group is not available due
      * to some temporary outage we won't loose the configurations associated with the group.
+     * <p>
+     * The job reconciles also the users and their memberships with the user directories.
+     * </p>
      */
     private class GroupCheckDeletedJob implements IJobRunner {
 
@@ -287,29 +313,61 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
                 || !this.authenticationProviderService.hasExternalProvider()) {
             return;
         }
+        final Set<UserDirectory> directories = Sets.newHashSet();
+        for (final IAuthenticationProvider provider : authenticationProviderService.getAuthenticationProviders()) {
+            // only the first provider of a directory is used, as for the authentication.
+            if (provider.isInternal() || !directories.add(provider.getSupportedDirectory())) {
+                continue;
+            }
+            final Optional<DirectorySnapshot> snapshot;
+            try {
+                snapshot = provider.loadDirectorySnapshot();
+            } catch (final RuntimeException ex) {
+                LOGGER.warn("Skipped the reconciliation of directory '{}': {}",
+                    provider.getSupportedDirectory(),
+                    ex.getMessage());
+                continue;
+            }
+            if (!snapshot.isPresent()) {
+                checkDeletedGroups(provider);
+            } else if (snapshot.get().isEmpty()) {
+                // most likely an outage or a misconfiguration, users and groups should not be deleted.
+                LOGGER.warn("Skipped the reconciliation of directory '{}': no user and group found",
+                    provider.getSupportedDirectory());
+            } else {
+                reconcileGroups(provider, snapshot.get());
+                reconcileUsers(provider, snapshot.get());
+            }
+        }
+    }
+
+    /**
+     * Checks the groups of directory one by one, for the providers which can not read the whole directory.
+     */
+    private void checkDeletedGroups(final IAuthenticationProvider provider) {
+        forEachGroup(provider, group -> provider.findGroupByName(group.getName()) != null);
+    }
+
+    private void reconcileGroups(final IAuthenticationProvider provider, final DirectorySnapshot snapshot) {
+        forEachGroup(provider, group -> snapshot.containsGroup(group.getName()));
+    }
+
+    private void forEachGroup(final IAuthenticationProvider provider,
+        final Predicate<GroupEntity> existsInDirectory) {
+        final QGroupEntity entity = groupRepository.entity();
+        final BooleanExpression predicate = entity.directory.eq(provider.getSupportedDirectory());
         Pageable request = PageUtils.newRequest(0, groupCheckDeletedJobBatchSize);
         boolean hasNext = true;
         while (hasNext) {
-            final Page<GroupEntity> groups = this.groupRepository.findAll(request);
+            final Page<GroupEntity> groups = this.groupRepository.findAll(predicate, request);
             for (final GroupEntity group : groups) {
-                final UserDirectory userDirectory = group.getDirectory();
-                final IAuthenticationProvider provider = authenticationProviderService
-                        .getAuthenticationProvider(userDirectory)
-                        .orElse(null);
-                if (provider == null || provider.isInternal()) {
-                    continue;
-                }
-
-                final IGroup externalGroup = provider.findGroupByName(group.getName());
-                if (externalGroup == null) {
+                if (!existsInDirectory.test(group)) {
                     // the group doesn't exist in directory anymore
                     this.eventPublisher.publish(new GroupDeletedEvent(this, group.getName(), provider.getDirectory()));
-                } else {
+                } else if (!group.isActive()) {
                     // the group exist in internal directory but it is inactive
-                    if (!group.isActive()) {
-                        this.eventPublisher.publish(
-                            new GroupMembershipCreatedEvent(this, provider.getDirectory(), group.getName()));
-                    }
+                    this.eventPublisher
+                            .publish(new GroupMembershipCreatedEvent(this, provider.getDirectory(), group.getName()));
                 }
             }
             hasNext = groups.hasNext();
@@ -319,33 +377,104 @@ public class DefaultAuthenticationSynchroniser implements IAuthenticationSynchro
         }
     }
 
-    private UserEntity synchronizeUserInGroups(final UserEntity user, final Set<String> authorities) {
-        final List<GroupEntity> toRemoveGroups = Lists.newArrayList();
-        final List<GroupEntity> toAddGroups = Lists.newArrayList();
-        final Set<GroupEntity> groups = user.getGroups();
-        final Set<String> groupNames = from(groups).transform(grp -> grp.getName()).toSet();
-
-        // add
-        for (final String groupName : authorities) {
-            if (this.groupRepository.exists(groupName) && !groupNames.contains(groupName)) {
-                final GroupEntity group = this.groupRepository.findByName(groupName);
-                toAddGroups.add(group);
-            }
+    /**
+     * Reconciles the active users of directory with the snapshot, one transaction per batch of users. Users are read
+     * by increasing identifier, so that users deleted meanwhile don't shift the next batches.
+     */
+    private void reconcileUsers(final IAuthenticationProvider provider, final DirectorySnapshot snapshot) {
+        final QUserEntity entity = userRepository.entity();
+        final BooleanExpression predicate = entity.directory.eq(provider.getSupportedDirectory())
+                .and(entity.deletedDate.isNull());
+        final Pageable request = PageUtils
+                .newRequest(0, groupCheckDeletedJobBatchSize, Sort.by(Sort.Direction.ASC, "id"));
+        final Long[] lastId = { null };
+        boolean hasNext = true;
+        while (hasNext) {
+            hasNext = requiresNewTransactionTemplate.execute(status -> {
+                final Page<UserEntity> users = userRepository
+                        .findAll(lastId[0] == null ? predicate : predicate.and(entity.id.gt(lastId[0])), request);
+                final Set<String> memberOf = Sets.newHashSet();
+                users.forEach(user -> memberOf.addAll(snapshot.getGroups(user.getUsername())));
+                final Map<String, GroupEntity> groups = findGroupsByNames(memberOf);
+                final List<UserEntity> changedUsers = Lists.newArrayList();
+                for (final UserEntity user : users) {
+                    lastId[0] = user.getId();
+                    if (!snapshot.containsUser(user.getUsername())) {
+                        // the user doesn't exist in directory anymore
+                        this.eventPublisher
+                                .publish(new UserDeletedEvent(this, user.getUsername(), provider.getDirectory()));
+                    } else if (synchronizeUserInGroups(user, snapshot.getGroups(user.getUsername()), groups)) {
+                        changedUsers.add(user);
+                    }
+                }
+                if (!changedUsers.isEmpty()) {
+                    userRepository.saveAll(changedUsers);
+                }
+                return users.hasNext();
+            });
+        }
+    }
+
+    /**
+     * @param names
+     *            the normalized names of groups.
+     * @return Returns the groups known by application with these names, indexed by normalized name.
+     */
+    private Map<String, GroupEntity> findGroupsByNames(final Collection<String> names) {
+        final Map<String, GroupEntity> groups = Maps.newHashMap();
+        if (names.isEmpty()) {
+            return groups;
+        }
+        for (final GroupEntity group : groupRepository.findAll(groupRepository.entity().name.lower().in(names))) {
+            groups.putIfAbsent(DirectorySnapshot.normalize(group.getName()), group);
         }
-        // remove
-        for (final GroupEntity grp : groups) {
+        return groups;
+    }
+
+    /**
+     * Adds the user to the groups known by application which the user belongs to in directory, and removes the user
+     * from the external groups which the user doesn't belong to anymore.
+     *
+     * @param user
+     *            the user to synchronize.
+     * @param memberOf
+     *            the normalized names of groups the user belongs to in directory.
+     * @param groups
+     *            the groups known by application, indexed by normalized name.
+     * @return Returns {@code true} if the groups of user have changed.
+     */
+    private static boolean synchronizeUserInGroups(final UserEntity user,
+        final Set<String> memberOf,
+        final Map<String, GroupEntity> groups) {
+        boolean changed = false;
+        final Set<String> groupNames = Sets.newHashSet();
+        for (final Iterator<GroupEntity> it = user.getGroups().iterator(); it.hasNext();) {
+            final GroupEntity grp = it.next();
+            final String name = DirectorySnapshot.normalize(grp.getName());
             // remove only external group
-            if (!UserDirectory.Internal.equals(grp.getDirectory()) && !authorities.contains(grp.getName())) {
-                toRemoveGroups.add(grp);
+            if (!UserDirectory.Internal.equals(grp.getDirectory()) && !memberOf.contains(name)) {
+                it.remove();
+                changed = true;
+            } else {
+                groupNames.add(name);
             }
         }
-        for (final GroupEntity grp : toRemoveGroups) {
-            user.getGroups().remove(grp);
+        for (final String name : memberOf) {
+            final GroupEntity grp = groups.get(name);
+            if (grp != null && groupNames.add(name)) {
+                user.getGroups().add(grp);
+                changed = true;
+            }
         }
-        for (final GroupEntity grp : toAddGroups) {
-            user.getGroups().add(grp);
+        return changed;
+    }
+
+    private static Set<String> normalize(@Nullable final Set<String> names) {
+        final Set<String> normalized = Sets.newHashSet();
+        if (names != null) {
+            names.forEach(name -> normalized.add(DirectorySnapshot.normalize(name)));
         }
-        return user;
+        return normalized;
     }
 
     @VisibleForTesting
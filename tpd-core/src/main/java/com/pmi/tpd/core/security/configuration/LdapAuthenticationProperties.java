@@ -45,6 +45,12 @@ public class LdapAuthenticationProperties implements IAuthenticationProperties {
   /** */
   private MembershipLdapSchema membershipSchema;
 
+  /** */
+  private LdapPoolProperties pool = new LdapPoolProperties();
+
+  /** The time in seconds users and groups loaded from directory are cached, {@code 0} to disable the cache. */
+  private long lookupCacheTtl = 60;
+
   @Nullable
   public UserDirectory getDirectoryType() {
     if (empty()) {
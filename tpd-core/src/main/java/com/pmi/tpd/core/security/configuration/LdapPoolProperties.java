@@ -0,0 +1,46 @@
+package com.pmi.tpd.core.security.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Configuration of the pool of connections opened to a LDAP directory with the manager account.
+ * <p>
+ * The pool is used by user and group lookups, user authentications bind always a new connection.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+@Getter
+@Setter
+public class LdapPoolProperties {
+
+  /** Indicates whether connections are pooled. */
+  private boolean enabled = true;
+
+  /** The maximum number of connections, a negative value for no limit. */
+  private int maxActive = 8;
+
+  /** The maximum number of idle connections, a negative value for no limit. */
+  private int maxIdle = 8;
+
+  /** The minimum number of idle connections kept in pool. */
+  private int minIdle = 0;
+
+  /** The maximum time in milliseconds to wait for a connection when the pool is exhausted. */
+  private long maxWait = 5000;
+
+  /** Indicates whether a connection is validated before being borrowed from the pool. */
+  private boolean testOnBorrow = true;
+
+  /** Indicates whether idle connections are validated by the evictor. */
+  private boolean testWhileIdle = true;
+
+  /** The time in milliseconds between two runs of the idle connection evictor. */
+  private long timeBetweenEvictionRuns = 60_000;
+
+  /** The minimum time in milliseconds a connection may sit idle before being evicted. */
+  private long minEvictableIdleTime = 300_000;
+
+}
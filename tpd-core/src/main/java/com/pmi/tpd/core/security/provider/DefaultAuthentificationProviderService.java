@@ -35,12 +35,18 @@ import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.pmi.tpd.api.event.annotation.EventListener;
 import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.lifecycle.ClearCacheEvent;
 import com.pmi.tpd.api.lifecycle.ConfigurationChangedEvent;
 import com.pmi.tpd.api.lifecycle.IShutdown;
 import com.pmi.tpd.api.lifecycle.IStartable;
 import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.user.UserDirectory;
 import com.pmi.tpd.api.util.Assert;
+import com.pmi.tpd.core.event.user.GroupDeletedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipCreatedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipDeletedEvent;
+import com.pmi.tpd.core.event.user.UserCreatedEvent;
+import com.pmi.tpd.core.event.user.UserDeletedEvent;
 import com.pmi.tpd.core.exception.NoSecurityConfigurationException;
 import com.pmi.tpd.core.security.IAuthenticationSynchroniser;
 import com.pmi.tpd.core.security.configuration.IAuthenticationProperties;
@@ -222,7 +228,10 @@ public class DefaultAuthentificationProviderService
      */
     @Override
     public void shutdown() {
+        final List<IAuthenticationProvider> providers = this.authenticationProviders;
         this.authenticationProviders = Collections.emptyList();
+        // release the connections of external providers
+        providers.forEach(this::destroyAuthenticationProvider);
         this.started = false;
         if (LOGGER.isInfoEnabled()) {
             LOGGER.info("Shut down Authentication provider Service");
@@ -250,13 +259,80 @@ public class DefaultAuthentificationProviderService
 
     }
 
+    /**
+     * Discards users and groups cached by providers when they are synchronised.
+     *
+     * @param event
+     *            a user has been created by the synchronisation.
+     */
+    @EventListener
+    public void onUserCreated(@Nonnull final UserCreatedEvent event) {
+        clearCache();
+    }
+
+    /**
+     * @param event
+     *            a user doesn't exist anymore in a user directory.
+     */
+    @EventListener
+    public void onUserDeleted(@Nonnull final UserDeletedEvent event) {
+        clearCache();
+    }
+
+    /**
+     * @param event
+     *            a group doesn't exist anymore in a user directory.
+     */
+    @EventListener
+    public void onGroupDeleted(@Nonnull final GroupDeletedEvent event) {
+        clearCache();
+    }
+
+    /**
+     * @param event
+     *            a group membership has been created.
+     */
+    @EventListener
+    public void onGroupMembershipCreated(@Nonnull final GroupMembershipCreatedEvent event) {
+        clearCache();
+    }
+
+    /**
+     * @param event
+     *            a group membership has been deleted.
+     */
+    @EventListener
+    public void onGroupMembershipDeleted(@Nonnull final GroupMembershipDeletedEvent event) {
+        clearCache();
+    }
+
+    /**
+     * @param event
+     *            all caches are cleared.
+     */
+    @EventListener
+    public void onClearCache(@Nonnull final ClearCacheEvent event) {
+        clearCache();
+    }
+
+    /**
+     * Discards the users and groups cached by all providers.
+     */
+    public void clearCache() {
+        this.authenticationProviders.forEach(IAuthenticationProvider::clearCache);
+    }
+
     @Override
     public void checkConnection(final IAuthenticationProperties config) {
         final IAuthenticationProvider provider = createAuthenticationProvider(config,
             getInternalAuthenticationProvider().orElse(null))
                     .orElseThrow(() -> new NoSecurityConfigurationException(
                             i18nService.createKeyedMessage("app.security.configuration.empty")));
-        provider.checkConnection();
+        try {
+            provider.checkConnection();
+        } finally {
+            destroyAuthenticationProvider(provider);
+        }
     }
 
     /**
@@ -457,6 +533,14 @@ public class DefaultAuthentificationProviderService
         return provider;
     }
 
+    private void destroyAuthenticationProvider(final IAuthenticationProvider provider) {
+        try {
+            applicationContext.getAutowireCapableBeanFactory().destroyBean(provider);
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("error destroying authentication provider", ex);
+        }
+    }
+
     @VisibleForTesting
     static Set<String> toString(final @Nonnull Collection<? extends GrantedAuthority> authorities) {
         return authorities.stream()
@@ -0,0 +1,117 @@
+package com.pmi.tpd.core.security.provider;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Snapshot of all groups and memberships of a user directory, used to reconcile the directory with the application in
+ * one pass.
+ * <p>
+ * User and group names are compared ignoring case.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public final class DirectorySnapshot {
+
+    /** */
+    private final Set<String> groupNames;
+
+    /** */
+    private final Map<String, Set<String>> userGroups;
+
+    /**
+     * @param groupNames
+     *                   the names of all groups of directory.
+     * @param userGroups
+     *                   the names of groups of each user of directory, indexed by username.
+     */
+    public DirectorySnapshot(@Nonnull final Collection<String> groupNames,
+            @Nonnull final Map<String, ? extends Collection<String>> userGroups) {
+        final ImmutableSet.Builder<String> groups = ImmutableSet.builder();
+        checkNotNull(groupNames, "groupNames").forEach(name -> groups.add(normalize(name)));
+        this.groupNames = groups.build();
+        final Map<String, Set<String>> users = new HashMap<>();
+        checkNotNull(userGroups, "userGroups").forEach((username, names) -> {
+            final ImmutableSet.Builder<String> memberOf = ImmutableSet.builder();
+            names.forEach(name -> memberOf.add(normalize(name)));
+            users.put(normalize(username), memberOf.build());
+        });
+        this.userGroups = ImmutableMap.copyOf(users);
+    }
+
+    /**
+     * @return Returns {@code true} if the directory contains neither group nor user.
+     */
+    public boolean isEmpty() {
+        return groupNames.isEmpty() && userGroups.isEmpty();
+    }
+
+    /**
+     * @param groupName
+     *                  a group name.
+     * @return Returns {@code true} if the group exists in directory.
+     */
+    public boolean containsGroup(@Nullable final String groupName) {
+        return groupName != null && groupNames.contains(normalize(groupName));
+    }
+
+    /**
+     * @param username
+     *                 a username.
+     * @return Returns {@code true} if the user exists in directory.
+     */
+    public boolean containsUser(@Nullable final String username) {
+        return username != null && userGroups.containsKey(normalize(username));
+    }
+
+    /**
+     * @param username
+     *                 a username.
+     * @return Returns the normalized names of groups the user belongs to, empty if the user doesn't exist.
+     */
+    @Nonnull
+    public Set<String> getGroups(@Nullable final String username) {
+        if (username == null) {
+            return Collections.emptySet();
+        }
+        return userGroups.getOrDefault(normalize(username), Collections.emptySet());
+    }
+
+    /**
+     * @return Returns the number of groups of directory.
+     */
+    public int getGroupCount() {
+        return groupNames.size();
+    }
+
+    /**
+     * @return Returns the number of users of directory.
+     */
+    public int getUserCount() {
+        return userGroups.size();
+    }
+
+    /**
+     * @param name
+     *             a user or group name.
+     * @return Returns the name used to compare users and groups.
+     */
+    @Nonnull
+    public static String normalize(@Nonnull final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -154,4 +154,22 @@ public interface IAuthenticationProvider extends AuthenticationProvider, UserDet
      */
     void checkConnection();
 
+    /**
+     * Reads all groups and memberships of the user directory at once, so that the application can be reconciled with
+     * the directory in one pass instead of one lookup per group or user.
+     *
+     * @return Returns the snapshot of the user directory, or {@link Optional#empty()} if the provider can not read the
+     *         whole directory.
+     */
+    @Nonnull
+    default Optional<DirectorySnapshot> loadDirectorySnapshot() {
+        return Optional.empty();
+    }
+
+    /**
+     * Discards the users and groups cached by this provider, so that next lookups read the user directory.
+     */
+    default void clearCache() {
+    }
+
 }
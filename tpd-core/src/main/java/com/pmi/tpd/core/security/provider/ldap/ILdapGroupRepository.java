@@ -1,5 +1,7 @@
 package com.pmi.tpd.core.security.provider.ldap;
 
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -34,4 +36,14 @@ public interface ILdapGroupRepository {
     @Nullable
     IGroup findByName(String groupName);
 
+    /**
+     * Reads the names of all groups of directory with paged searches.
+     *
+     * @param pageSize
+     *            the number of groups to read per page.
+     * @return Returns the names of all groups.
+     */
+    @Nonnull
+    Set<String> findAllNames(int pageSize);
+
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package com.pmi.tpd.core.security.provider.ldap;
 
+import java.util.Map;
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -59,4 +62,14 @@ public interface ILdapUserRepository {
     @Nullable
     LdapUser findByName(@Nonnull String username);
 
+    /**
+     * Reads the memberships of all users of directory with paged searches.
+     *
+     * @param pageSize
+     *            the number of users to read per page.
+     * @return Returns the names of groups each user belongs to, indexed by username.
+     */
+    @Nonnull
+    Map<String, Set<String>> findAllMemberships(int pageSize);
+
 }
\ No newline at end of file
@@ -3,9 +3,11 @@ package com.pmi.tpd.core.security.provider.ldap;
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.naming.directory.Attribute;
 
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
@@ -22,6 +24,7 @@ import org.springframework.ldap.query.LdapQueryBuilder;
 
 import com.google.common.base.Strings;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.core.security.configuration.GroupLdapSchema;
 import com.pmi.tpd.core.security.configuration.LdapAuthenticationProperties;
@@ -95,6 +98,24 @@ public class LdapGroupRepository implements ILdapGroupRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Set<String> findAllNames(final int pageSize) {
+        final String nameAttribute = config.getGroupSchema().getGroupNameAttribute();
+        return Sets.newHashSet(LdapPagedSearch.search(ldapTemplate.getContextSource(),
+            config.getLdapSchema().getBaseDn(),
+            buildAdditionFilter(),
+            new String[] { nameAttribute },
+            pageSize,
+            attributes -> {
+                final Attribute name = attributes.get(nameAttribute);
+                return name != null ? (String) name.get() : null;
+            }));
+    }
+
     private LdapQueryBuilder buildQuery() {
         final LdapQueryBuilder query = LdapQueryBuilder.query();
         if (!Strings.isNullOrEmpty(config.getLdapSchema().getBaseDn())) {
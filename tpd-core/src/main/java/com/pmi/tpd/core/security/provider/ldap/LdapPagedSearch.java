@@ -0,0 +1,96 @@
+package com.pmi.tpd.core.security.provider.ldap;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.naming.directory.DirContext;
+import javax.naming.directory.SearchControls;
+
+import org.springframework.ldap.control.PagedResultsDirContextProcessor;
+import org.springframework.ldap.core.AttributesMapper;
+import org.springframework.ldap.core.ContextSource;
+import org.springframework.ldap.core.LdapTemplate;
+import org.springframework.ldap.core.support.SingleContextSource;
+import org.springframework.ldap.filter.Filter;
+import org.springframework.ldap.support.LdapUtils;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
+import com.pmi.tpd.api.util.Assert;
+
+/**
+ * Searches all entries matching a filter with the LDAP paged results control, so that a whole directory can be read
+ * without reaching the size limit of server.
+ * <p>
+ * All pages are read on a same connection, as required by the paged results control, and only the requested
+ * attributes are returned. The paged results control is removed from the connection before it is released, so that a
+ * pooled connection is not returned to the pool with this control.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+final class LdapPagedSearch {
+
+    private LdapPagedSearch() {
+        throw new UnsupportedOperationException(getClass().getName() + " is a utility class");
+    }
+
+    /**
+     * @param contextSource
+     *                      the context source to use.
+     * @param base
+     *                      the base dn of search (can be {@code null}).
+     * @param filter
+     *                      the search filter.
+     * @param attributes
+     *                      the attributes to return.
+     * @param pageSize
+     *                      the number of entries per page.
+     * @param mapper
+     *                      the mapper of entries, entries mapped to {@code null} are ignored.
+     * @param <T>
+     *                      the type of mapped entries.
+     * @return Returns a new list containing all mapped entries.
+     */
+    @Nonnull
+    static <T> List<T> search(@Nonnull final ContextSource contextSource,
+        final String base,
+        @Nonnull final Filter filter,
+        @Nonnull final String[] attributes,
+        final int pageSize,
+        @Nonnull final AttributesMapper<T> mapper) {
+        checkNotNull(contextSource, "contextSource");
+        checkNotNull(filter, "filter");
+        checkNotNull(mapper, "mapper");
+        Assert.state(pageSize > 0, "pageSize should be greater than 0");
+        final SearchControls controls = new SearchControls();
+        controls.setSearchScope(SearchControls.SUBTREE_SCOPE);
+        controls.setReturningAttributes(attributes);
+
+        final PagedResultsDirContextProcessor processor = new PagedResultsDirContextProcessor(pageSize);
+        final List<T> results = Lists.newArrayList();
+        final DirContext context = contextSource.getReadOnlyContext();
+        try {
+            final LdapTemplate template = new LdapTemplate(new SingleContextSource(context));
+            template.setIgnorePartialResultException(true);
+            do {
+                for (final T result : template
+                        .search(Strings.nullToEmpty(base), filter.encode(), controls, mapper, processor)) {
+                    if (result != null) {
+                        results.add(result);
+                    }
+                }
+            } while (processor.hasMore());
+        } finally {
+            try {
+                PooledLdapContextSource.clearRequestControls(context);
+            } finally {
+                LdapUtils.closeContext(context);
+            }
+        }
+        return results;
+    }
+}
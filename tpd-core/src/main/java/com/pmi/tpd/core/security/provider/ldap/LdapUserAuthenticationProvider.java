@@ -5,6 +5,8 @@ import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +39,8 @@ import org.springframework.security.ldap.SpringSecurityLdapTemplate;
 import org.springframework.security.ldap.ppolicy.PasswordPolicyException;
 import org.springframework.util.StringUtils;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.pmi.tpd.api.paging.PageUtils;
@@ -44,8 +48,10 @@ import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.user.UserDirectory;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.security.configuration.LdapAuthenticationProperties;
+import com.pmi.tpd.core.security.configuration.LdapPoolProperties;
 import com.pmi.tpd.core.security.provider.AbstractAuthenticationProvider;
 import com.pmi.tpd.core.security.provider.DefaultDirectory;
+import com.pmi.tpd.core.security.provider.DirectorySnapshot;
 import com.pmi.tpd.core.security.provider.IDirectory;
 import com.pmi.tpd.core.user.IGroup;
 
@@ -61,6 +67,12 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(LdapUserAuthenticationProvider.class);
 
+    /** */
+    private static final int LOOKUP_CACHE_SIZE = 1000;
+
+    /** the number of entries read per page when the whole directory is read. */
+    private static final int SNAPSHOT_PAGE_SIZE = 500;
+
     /** */
     protected final T configuration;
 
@@ -82,6 +94,12 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     /** */
     protected boolean active = false;
 
+    /** users loaded by name, absent if the user doesn't exist. */
+    private Cache<String, Optional<LdapUser>> users;
+
+    /** groups loaded by name, absent if the group doesn't exist. */
+    private Cache<String, Optional<IGroup>> groups;
+
     /**
      * <p>
      * Constructor for LdapUserAuthenticationProvider.
@@ -104,7 +122,9 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     @PostConstruct
     public void init() throws Exception {
         this.provider = buildProvider();
-        this.contextSource = buildContextSource();
+        this.contextSource = createPooledContextSource(buildContextSource());
+        this.users = createLookupCache();
+        this.groups = createLookupCache();
 
         ldapTemplate = new SpringSecurityLdapTemplate(contextSource);
         ldapTemplate.setIgnorePartialResultException(true);
@@ -155,6 +175,34 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
         return contextSource;
     }
 
+    /**
+     * Wraps the context source in a pool of connections, if pooling is enabled in configuration.
+     *
+     * @param target
+     *               the context source creating the connections.
+     * @return Returns the context source to use.
+     */
+    protected ContextSource createPooledContextSource(@Nonnull final ContextSource target) {
+        final LdapPoolProperties pool = configuration.getPool();
+        if (pool == null || !pool.isEnabled()) {
+            return target;
+        }
+        return new PooledLdapContextSource(target, pool);
+    }
+
+    /**
+     * Discards all users and groups loaded from the directory.
+     */
+    @Override
+    public void clearCache() {
+        if (users != null) {
+            users.invalidateAll();
+        }
+        if (groups != null) {
+            groups.invalidateAll();
+        }
+    }
+
     /**
      * @return Returns new instance of {@link AuthenticationProvider}.
      * @throws Exception
@@ -197,7 +245,7 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     @Override
     public @Nonnull IUser loadUser(final @Nonnull String username)
             throws UsernameNotFoundException, DataAccessException {
-        final IUser user = this.userRepository.findByName(username);
+        final IUser user = lookupUser(username);
         if (user == null) {
             throw new UsernameNotFoundException("The user " + username + " doesn't exists.");
         }
@@ -239,7 +287,15 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     @Override
     @Nullable
     public IGroup findGroupByName(final String groupName) {
-        return this.groupRepository.findByName(groupName);
+        if (groupName == null) {
+            return this.groupRepository.findByName(groupName);
+        }
+        Optional<IGroup> group = groups.getIfPresent(groupName);
+        if (group == null) {
+            group = Optional.ofNullable(this.groupRepository.findByName(groupName));
+            groups.put(groupName, group);
+        }
+        return group.orElse(null);
     }
 
     /**
@@ -248,7 +304,17 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
     @Override
     @Nullable
     public IUser findUserByName(final String username) {
-        return this.userRepository.findByName(username);
+        return lookupUser(username);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Optional<DirectorySnapshot> loadDirectorySnapshot() {
+        return Optional.of(new DirectorySnapshot(this.groupRepository.findAllNames(SNAPSHOT_PAGE_SIZE),
+                this.userRepository.findAllMemberships(SNAPSHOT_PAGE_SIZE)));
     }
 
     /**
@@ -323,6 +389,28 @@ public class LdapUserAuthenticationProvider<T extends LdapAuthenticationProperti
         findUsersByName("toto", PageUtils.newRequest(0, 10));
     }
 
+    @Nullable
+    private LdapUser lookupUser(final String username) {
+        if (username == null) {
+            return this.userRepository.findByName(username);
+        }
+        Optional<LdapUser> user = users.getIfPresent(username);
+        if (user == null) {
+            user = Optional.ofNullable(this.userRepository.findByName(username));
+            users.put(username, user);
+        }
+        return user.orElse(null);
+    }
+
+    private <V> Cache<String, V> createLookupCache() {
+        final long ttl = configuration.getLookupCacheTtl();
+        // a size of zero disables the cache
+        return CacheBuilder.newBuilder()
+                .maximumSize(ttl > 0 ? LOOKUP_CACHE_SIZE : 0)
+                .expireAfterWrite(Math.max(ttl, 1), TimeUnit.SECONDS)
+                .build();
+    }
+
     /**
      * @param user
      *            the user to transform
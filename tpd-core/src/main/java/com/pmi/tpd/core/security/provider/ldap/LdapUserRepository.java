@@ -3,9 +3,14 @@ package com.pmi.tpd.core.security.provider.ldap;
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.naming.NamingEnumeration;
+import javax.naming.directory.Attribute;
+import javax.naming.ldap.LdapName;
 
 import org.elasticsearch.common.Strings;
 import org.springframework.dao.EmptyResultDataAccessException;
@@ -19,9 +24,12 @@ import org.springframework.ldap.filter.HardcodedFilter;
 import org.springframework.ldap.filter.LikeFilter;
 import org.springframework.ldap.query.LdapQuery;
 import org.springframework.ldap.query.LdapQueryBuilder;
+import org.springframework.ldap.support.LdapUtils;
 import org.springframework.security.authentication.BadCredentialsException;
 
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.api.user.UserDirectory;
 import com.pmi.tpd.core.security.configuration.LdapAuthenticationProperties;
@@ -111,6 +119,43 @@ public class LdapUserRepository implements ILdapUserRepository {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Nonnull
+    public Map<String, Set<String>> findAllMemberships(final int pageSize) {
+        final String nameAttribute = config.getUserSchema().getUserNameAttribute();
+        final String membersAttribute = config.getMembershipSchema().getUserMembersAttribute();
+        final String groupNameAttribute = config.getGroupSchema().getGroupNameAttribute();
+        final Map<String, Set<String>> memberships = Maps.newHashMap();
+        LdapPagedSearch.search(ldapTemplate.getContextSource(),
+            config.getLdapSchema().getBaseDn(),
+            buildAdditionFilter(),
+            new String[] { nameAttribute, membersAttribute },
+            pageSize,
+            attributes -> {
+                final Attribute name = attributes.get(nameAttribute);
+                if (name == null) {
+                    return null;
+                }
+                final Set<String> memberOf = Sets.newHashSet();
+                final Attribute members = attributes.get(membersAttribute);
+                if (members != null) {
+                    for (final NamingEnumeration<?> values = members.getAll(); values.hasMore();) {
+                        try {
+                            memberOf.add(
+                                LdapUtils.getStringValue(new LdapName((String) values.next()), groupNameAttribute));
+                        } catch (final Exception ex) {
+                            // ignore value which is not a group dn, as the user context mapper does
+                        }
+                    }
+                }
+                return Maps.immutableEntry((String) name.get(), memberOf);
+            }).forEach(entry -> memberships.put(entry.getKey(), entry.getValue()));
+        return memberships;
+    }
+
     private UserContextMapper getContextMapper() {
         return new UserContextMapper(config, userDirectory);
     }
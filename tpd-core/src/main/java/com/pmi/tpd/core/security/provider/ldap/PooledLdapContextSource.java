@@ -0,0 +1,118 @@
+package com.pmi.tpd.core.security.provider.ldap;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import javax.annotation.Nonnull;
+import javax.naming.NamingException;
+import javax.naming.directory.DirContext;
+import javax.naming.ldap.LdapContext;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.ldap.core.ContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PooledContextSource;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
+import org.springframework.ldap.support.LdapUtils;
+
+import com.pmi.tpd.core.security.configuration.LdapPoolProperties;
+
+/**
+ * Context source borrowing the connections bound with the manager account from a pool.
+ * <p>
+ * Read-only and read-write contexts are validated before being borrowed and evicted when idle for too long. Contexts
+ * bound with the credentials of a user (authentication) can not be shared and are created by the target context
+ * source.
+ * </p>
+ * <p>
+ * Request controls set on a connection, for instance the paged results control, are kept by the connection once
+ * returned to the pool. They are cleared when the connection is borrowed, so that a search is never sent with the
+ * controls of a previous borrower.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class PooledLdapContextSource extends PooledContextSource {
+
+    /** */
+    private final ContextSource target;
+
+    /**
+     * @param target
+     *                   the context source creating the connections (should not be pooled itself).
+     * @param properties
+     *                   the pool configuration.
+     */
+    public PooledLdapContextSource(@Nonnull final ContextSource target, @Nonnull final LdapPoolProperties properties) {
+        super(createPoolConfig(properties));
+        this.target = checkNotNull(target, "target");
+        setContextSource(target);
+        setDirContextValidator(new DefaultDirContextValidator());
+    }
+
+    @Override
+    public DirContext getReadOnlyContext() {
+        return clearRequestControls(super.getReadOnlyContext());
+    }
+
+    @Override
+    public DirContext getReadWriteContext() {
+        return clearRequestControls(super.getReadWriteContext());
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The context is not pooled.
+     * </p>
+     */
+    @Override
+    public DirContext getContext(final String principal, final String credentials) {
+        return target.getContext(principal, credentials);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        try {
+            super.destroy();
+        } finally {
+            if (target instanceof DisposableBean) {
+                ((DisposableBean) target).destroy();
+            }
+        }
+    }
+
+    /**
+     * Clears the request controls left by a previous borrower of {@code context}.
+     *
+     * @param context
+     *                a borrowed context.
+     * @return Returns {@code context}.
+     */
+    static DirContext clearRequestControls(final DirContext context) {
+        if (context instanceof LdapContext) {
+            try {
+                ((LdapContext) context).setRequestControls(null);
+            } catch (final NamingException ex) {
+                LdapUtils.closeContext(context);
+                throw LdapUtils.convertLdapException(ex);
+            }
+        }
+        return context;
+    }
+
+    private static PoolConfig createPoolConfig(@Nonnull final LdapPoolProperties properties) {
+        checkNotNull(properties, "properties");
+        final PoolConfig config = new PoolConfig();
+        config.setMaxTotal(properties.getMaxActive());
+        config.setMaxTotalPerKey(properties.getMaxActive());
+        config.setMaxIdlePerKey(properties.getMaxIdle());
+        config.setMinIdlePerKey(properties.getMinIdle());
+        config.setMaxWaitMillis(properties.getMaxWait());
+        config.setTestOnBorrow(properties.isTestOnBorrow());
+        config.setTestWhileIdle(properties.isTestWhileIdle());
+        config.setTimeBetweenEvictionRunsMillis(properties.getTimeBetweenEvictionRuns());
+        config.setMinEvictableIdleTimeMillis(properties.getMinEvictableIdleTime());
+        return config;
+    }
+}
@@ -1,6 +1,8 @@
 package com.pmi.tpd.core.user.permission;
 
 import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -12,7 +14,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hazelcast.core.EntryEvent;
 import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapEvent;
+import com.hazelcast.map.listener.EntryEvictedListener;
+import com.hazelcast.map.listener.EntryExpiredListener;
+import com.hazelcast.map.listener.EntryRemovedListener;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.map.listener.MapClearedListener;
 import com.pmi.tpd.api.event.ICancelableEvent;
 import com.pmi.tpd.api.event.annotation.EventListener;
 import com.pmi.tpd.api.paging.IPageProvider;
@@ -21,6 +32,10 @@ import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.user.User;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.core.event.user.GroupCleanupEvent;
+import com.pmi.tpd.core.event.user.GroupMemberAddedEvent;
+import com.pmi.tpd.core.event.user.GroupMemberRemovedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipCreatedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipDeletedEvent;
 import com.pmi.tpd.core.event.user.UserCleanupEvent;
 import com.pmi.tpd.core.model.user.GrantedPermission;
 import com.pmi.tpd.core.model.user.IIterablePermissionGraph;
@@ -47,6 +62,10 @@ import com.pmi.tpd.security.permission.Permission;
  * <p>
  * {@link CachingPermissionGraphFactory} listens for relevant permission and project events to keep the cached
  * permissions in sync with the database.
+ * <p>
+ * The graphs resolved for each user are also kept in a local near cache, so that the user's groups are not traversed
+ * for each request. Resolved graphs are tagged with the cache version and discarded as soon as a cached permission is
+ * invalidated, either locally or on another node of the cluster (see {@link #addCacheListeners()}).
  *
  * @since 2.0
  */
@@ -90,6 +109,18 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
     /** */
     private volatile long cacheVersion;
 
+    /** local near cache of graphs resolved per user. */
+    private final Cache<Long, Pair<IIterablePermissionGraph, Long>> resolvedPermissions = CacheBuilder.newBuilder()
+            .maximumSize(1000)
+            .expireAfterAccess(10, TimeUnit.MINUTES)
+            .build();
+
+    /** */
+    private final InvalidationListener invalidationListener = new InvalidationListener();
+
+    /** */
+    private UUID[] listenerRegistrations;
+
     /**
      * Create new instance of {@link CachingPermissionGraphFactory}.
      *
@@ -140,6 +171,54 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
         invalidate(groupPermissions, event.getGroup());
     }
 
+    /**
+     * Execute when a user is added to a group.
+     *
+     * @param event
+     *              a group member event.
+     * @since 3.4
+     */
+    @EventListener
+    public void onGroupMemberAdded(final GroupMemberAddedEvent event) {
+        invalidateMembership(event.getUsername(), event.getGroup());
+    }
+
+    /**
+     * Execute when a user is removed from a group.
+     *
+     * @param event
+     *              a group member event.
+     * @since 3.4
+     */
+    @EventListener
+    public void onGroupMemberRemoved(final GroupMemberRemovedEvent event) {
+        invalidateMembership(event.getUsername(), event.getGroup());
+    }
+
+    /**
+     * Execute when the members of a group are synchronised from a user directory.
+     *
+     * @param event
+     *              a group membership event.
+     * @since 3.4
+     */
+    @EventListener
+    public void onGroupMembershipCreated(final GroupMembershipCreatedEvent event) {
+        invalidate(groupPermissions, event.getGroupName());
+    }
+
+    /**
+     * Execute when the members of a group are removed by a user directory synchronisation.
+     *
+     * @param event
+     *              a group membership event.
+     * @since 3.4
+     */
+    @EventListener
+    public void onGroupMembershipDeleted(final GroupMembershipDeletedEvent event) {
+        invalidate(groupPermissions, event.getGroupName());
+    }
+
     /**
      * @param event
      *              a permission event.
@@ -222,6 +301,34 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
         getDefaultPermissions();
     }
 
+    /**
+     * Listens the removal of cached permissions on any node of cluster to discard the local resolved graphs.
+     *
+     * @since 3.4
+     */
+    public synchronized void addCacheListeners() {
+        if (listenerRegistrations == null) {
+            listenerRegistrations = new UUID[] { defaultPermissions.addEntryListener(invalidationListener, false),
+                    groupPermissions.addEntryListener(invalidationListener, false),
+                    userPermissions.addEntryListener(invalidationListener, false) };
+        }
+    }
+
+    /**
+     * Stops to listen the removal of cached permissions.
+     *
+     * @since 3.4
+     */
+    public synchronized void removeCacheListeners() {
+        if (listenerRegistrations != null) {
+            defaultPermissions.removeEntryListener(listenerRegistrations[0]);
+            groupPermissions.removeEntryListener(listenerRegistrations[1]);
+            userPermissions.removeEntryListener(listenerRegistrations[2]);
+            listenerRegistrations = null;
+        }
+        markCacheUpdated();
+    }
+
     /**
      * @return a {@link Function} that loads the {@link PermissionGraph} representing the default project permissions
      *         from the database
@@ -311,6 +418,17 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
         markCacheUpdated();
     }
 
+    private void invalidateMembership(final String username, final String group) {
+        // removing the user entry notifies the other nodes, even when the group has never been cached.
+        final IUser user = StringUtils.isNotBlank(username) ? userService.getUserByName(username) : null;
+        if (user != null && user.getId() != null) {
+            invalidate(userPermissions, user.getId());
+        }
+        if (StringUtils.isNotBlank(group)) {
+            invalidate(groupPermissions, group);
+        }
+    }
+
     // private void invalidateAll(final IMap<?, DefaultPermissionGraph> cache) {
     // cache.clear();
     // markCacheUpdated();
@@ -483,6 +601,22 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
 
         @Override
         public IIterablePermissionGraph calculate() {
+            final Long userId = user.getId();
+            if (userId == null) {
+                return resolve();
+            }
+            // copy the cacheVersion before resolving, a concurrent invalidation discards the resolved graph.
+            final long currentVersion = cacheVersion;
+            final Pair<IIterablePermissionGraph, Long> resolved = resolvedPermissions.getIfPresent(userId);
+            if (resolved != null && !cacheInvalidatedSince(resolved.getRight())) {
+                return resolved.getLeft();
+            }
+            final IIterablePermissionGraph graph = resolve();
+            resolvedPermissions.put(userId, Pair.of(graph, currentVersion));
+            return graph;
+        }
+
+        private IIterablePermissionGraph resolve() {
             return new DefaultPermissionGraph.Builder()
                     // all default permissions
                     .addAll(getDefaultPermissions())
@@ -494,4 +628,39 @@ public class CachingPermissionGraphFactory implements IPermissionGraphFactory {
         }
     }
 
+    /**
+     * Discards the local resolved graphs when a cached permission is removed or replaced on any node of cluster.
+     *
+     * @since 3.4
+     */
+    private final class InvalidationListener implements EntryRemovedListener<Object, DefaultPermissionGraph>,
+            EntryEvictedListener<Object, DefaultPermissionGraph>, EntryExpiredListener<Object, DefaultPermissionGraph>,
+            EntryUpdatedListener<Object, DefaultPermissionGraph>, MapClearedListener {
+
+        @Override
+        public void entryRemoved(final EntryEvent<Object, DefaultPermissionGraph> event) {
+            markCacheUpdated();
+        }
+
+        @Override
+        public void entryEvicted(final EntryEvent<Object, DefaultPermissionGraph> event) {
+            markCacheUpdated();
+        }
+
+        @Override
+        public void entryExpired(final EntryEvent<Object, DefaultPermissionGraph> event) {
+            markCacheUpdated();
+        }
+
+        @Override
+        public void entryUpdated(final EntryEvent<Object, DefaultPermissionGraph> event) {
+            markCacheUpdated();
+        }
+
+        @Override
+        public void mapCleared(final MapEvent event) {
+            markCacheUpdated();
+        }
+    }
+
 }
@@ -0,0 +1,120 @@
+package com.pmi.tpd.core.user.permission;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.Nonnull;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.pmi.tpd.security.permission.Permission;
+
+/**
+ * Index of the usernames granted each global permission, directly or through a group membership, so that the users
+ * holding a permission are resolved in a single lookup.
+ * <p>
+ * An entry is loaded the first time a permission is requested and is then maintained from the permission and user
+ * events: a permission granted to a user or a deleted user updates the entries in place, other changes discard the
+ * entries they may affect so that the next lookup reloads them. Entries also expire after
+ * {@value #EXPIRE_AFTER_WRITE} minutes, which bounds the staleness of changes made without event (memberships
+ * synchronised from a user directory at login) or on another node of the cluster.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+final class GrantedUsersIndex {
+
+    /** */
+    static final long EXPIRE_AFTER_WRITE = 5;
+
+    /** */
+    private final LoadingCache<Permission, Set<String>> entries;
+
+    /**
+     * @param loader
+     *            the function returning the usernames granted a permission.
+     */
+    GrantedUsersIndex(@Nonnull final Function<Permission, Set<String>> loader) {
+        checkNotNull(loader, "loader");
+        this.entries = CacheBuilder.newBuilder()
+                .expireAfterWrite(EXPIRE_AFTER_WRITE, TimeUnit.MINUTES)
+                .build(CacheLoader.from(permission -> ImmutableSet.copyOf(loader.apply(permission))));
+    }
+
+    /**
+     * @param permission
+     *            a global permission.
+     * @return Returns the immutable set of usernames granted the {@code permission}.
+     */
+    @Nonnull
+    Set<String> get(@Nonnull final Permission permission) {
+        return entries.getUnchecked(checkNotNull(permission, "permission"));
+    }
+
+    /**
+     * Adds a user to the entries of all permissions inherited from a granted permission.
+     *
+     * @param granted
+     *            the permission granted to the user.
+     * @param username
+     *            the username.
+     */
+    void grant(@Nonnull final Permission granted, @Nonnull final String username) {
+        final ConcurrentMap<Permission, Set<String>> map = entries.asMap();
+        for (final Map.Entry<Permission, Set<String>> entry : map.entrySet()) {
+            final Set<String> usernames = entry.getValue();
+            if (entry.getKey().getInheritingPermissions().contains(granted) && !usernames.contains(username)) {
+                // if the entry has been changed meanwhile, the entry is discarded rather than merged
+                if (!map.replace(entry.getKey(),
+                    usernames,
+                    ImmutableSet.<String> builder().addAll(usernames).add(username).build())) {
+                    entries.invalidate(entry.getKey());
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a user from all entries.
+     *
+     * @param username
+     *            the username.
+     */
+    void remove(@Nonnull final String username) {
+        final ConcurrentMap<Permission, Set<String>> map = entries.asMap();
+        for (final Map.Entry<Permission, Set<String>> entry : map.entrySet()) {
+            final Set<String> usernames = entry.getValue();
+            if (usernames.contains(username) && !map.replace(entry.getKey(),
+                usernames,
+                ImmutableSet.copyOf(Sets.difference(usernames, ImmutableSet.of(username))))) {
+                entries.invalidate(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Discards the entries of all permissions inherited from a changed permission.
+     *
+     * @param changed
+     *            the permission granted, revoked or modified.
+     */
+    void invalidate(@Nonnull final Permission changed) {
+        entries.asMap().keySet().removeIf(permission -> permission.getInheritingPermissions().contains(changed));
+    }
+
+    /**
+     * Discards all entries.
+     */
+    void invalidateAll() {
+        entries.invalidateAll();
+    }
+}
@@ -23,11 +23,13 @@ public class PermissionGraphFactoryLifecycle implements Lifecycle {
     @Override
     public void start() {
         permissionGraphFactory.warmCaches();
+        permissionGraphFactory.addCacheListeners();
         running = true;
     }
 
     @Override
     public void stop() {
+        permissionGraphFactory.removeCacheListeners();
         running = false;
     }
 
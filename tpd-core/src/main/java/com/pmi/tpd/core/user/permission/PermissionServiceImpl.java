@@ -13,7 +13,6 @@ import static java.util.Optional.ofNullable;
 import java.security.Principal;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -28,17 +27,29 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
+import com.pmi.tpd.api.event.ICancelableEvent;
+import com.pmi.tpd.api.event.annotation.EventListener;
 import com.pmi.tpd.api.paging.IPageProvider;
 import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.api.user.IUser;
-import com.pmi.tpd.api.user.UserRequest;
 import com.pmi.tpd.api.util.Timer;
 import com.pmi.tpd.api.util.TimerUtils;
+import com.pmi.tpd.core.event.permission.AbstractGlobalPermissionModificationEvent;
+import com.pmi.tpd.core.event.permission.IPermissionGrantedEvent;
+import com.pmi.tpd.core.event.user.GroupCleanupEvent;
+import com.pmi.tpd.core.event.user.GroupMemberAddedEvent;
+import com.pmi.tpd.core.event.user.GroupMemberRemovedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipCreatedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipDeletedEvent;
+import com.pmi.tpd.core.event.user.UserCleanupEvent;
+import com.pmi.tpd.core.event.user.UserCreatedEvent;
+import com.pmi.tpd.core.event.user.UserDeletedEvent;
 import com.pmi.tpd.core.model.user.QUserEntity;
 import com.pmi.tpd.core.user.IUserService;
 import com.pmi.tpd.core.user.permission.spi.IEffectivePermissionRepository;
@@ -48,6 +59,7 @@ import com.pmi.tpd.security.permission.IPermissionGraph;
 import com.pmi.tpd.security.permission.IPermissionService;
 import com.pmi.tpd.security.permission.Permission;
 import com.pmi.tpd.security.spring.UserAuthenticationToken;
+import com.pmi.tpd.spring.transaction.ITransactionSynchronizer;
 
 /**
  * None of the service methods here are restricted by permissions because this
@@ -87,19 +99,23 @@ public class PermissionServiceImpl implements IPermissionService {
   private final IUserService userService;
 
   /** */
-  // TODO to fix find better solution to retrieve paging users.
-  private final int maxUserPageSize = 1000;
+  private final ITransactionSynchronizer synchronizer;
+
+  /** usernames granted each global permission, see {@link #getUsersWithPermission(Permission)}. */
+  private final GrantedUsersIndex grantedUsers;
 
   /**
    * @param authenticationContext
    * @param effectivePermissionDao
    * @param permissionGraphFactory
    * @param userService
+   * @param synchronizer
    */
   @Autowired
   public PermissionServiceImpl(final IAuthenticationContext authenticationContext,
       final IEffectivePermissionRepository effectivePermissionDao,
-      final IPermissionGraphFactory permissionGraphFactory, final IUserService userService
+      final IPermissionGraphFactory permissionGraphFactory, final IUserService userService,
+      final ITransactionSynchronizer synchronizer
   // final FeatureManager featureManager, final RecoveryModeService
   // recoveryModeService
   ) {
@@ -107,6 +123,8 @@ public class PermissionServiceImpl implements IPermissionService {
     this.effectivePermissionDao = effectivePermissionDao;
     this.permissionGraphFactory = permissionGraphFactory;
     this.userService = userService;
+    this.synchronizer = synchronizer;
+    this.grantedUsers = new GrantedUsersIndex(permission -> effectivePermissionDao.findUsernames(permission));
     // this.featureManager = featureManager;
     // this.recoveryModeService = recoveryModeService;
   }
@@ -205,30 +223,145 @@ public class PermissionServiceImpl implements IPermissionService {
         excludedGroups);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The users are resolved from an index maintained from the permission and
+   * membership events, the users of a permission are read from the database
+   * only when the index has been discarded.
+   * </p>
+   */
   @Nonnull
   @Override
   public Set<String> getUsersWithPermission(@Nonnull final Permission permission) {
     validateGlobalPermission(permission);
 
-    final Set<String> usersWithPermission = new HashSet<>();
+    return grantedUsers.get(permission);
+  }
 
-    final Iterable<IUser> users = Iterables.filter(
-        asIterable(request -> getGrantedUsers(permission, request), maxUserPageSize),
-        user -> user.isActivated());
+  /**
+   * Updates the index of granted users when a permission is granted, revoked or
+   * modified.
+   *
+   * @param event
+   *              a permission event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onPermissionChanged(final PermissionEvent event) {
+    if (event instanceof ICancelableEvent || !event.getPermission().isGlobal()) {
+      return;
+    }
+    final IUser user = event.getAffectedUser();
+    if (event instanceof IPermissionGrantedEvent && user != null) {
+      if (user.isActivated()) {
+        grantedUsers.grant(event.getPermission(), user.getUsername());
+      }
+    } else if (event instanceof AbstractGlobalPermissionModificationEvent) {
+      grantedUsers.invalidate(((AbstractGlobalPermissionModificationEvent) event).getOldValue());
+      grantedUsers.invalidate(((AbstractGlobalPermissionModificationEvent) event).getNewValue());
+    } else {
+      grantedUsers.invalidate(event.getPermission());
+    }
+  }
 
-    Iterables.addAll(usersWithPermission, Iterables.transform(users, user -> user.getUsername()));
+  /**
+   * @param event
+   *              a user cleanup event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onUserCleanup(final UserCleanupEvent event) {
+    grantedUsers.remove(event.getDeletedUser().getUsername());
+  }
 
-    final Iterable<String> groups = asIterable(request -> getGrantedGroups(permission, request), GROUP_PAGESIZE);
+  /**
+   * @param event
+   *              a user event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onUserCreated(final UserCreatedEvent event) {
+    // the groups of a user created from a user directory are synchronised without
+    // membership event
+    invalidateAllAfterCommit();
+  }
 
-    for (final String group : groups) {
-      final Iterable<UserRequest> usersInGroup = Iterables.filter(
-          asIterable(request -> userService.findUsersByGroup(group, request), maxUserPageSize),
-          user -> user.isActivated());
+  /**
+   * @param event
+   *              a user event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onUserDeleted(final UserDeletedEvent event) {
+    // the user is deleted only if the user directory confirms the deletion
+    grantedUsers.invalidateAll();
+  }
 
-      Iterables.addAll(usersWithPermission, Iterables.transform(usersInGroup, user -> user.getUsername()));
-    }
+  /**
+   * @param event
+   *              a group event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onGroupCleanup(final GroupCleanupEvent event) {
+    invalidateAllAfterCommit();
+  }
+
+  /**
+   * @param event
+   *              a group member event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onGroupMemberAdded(final GroupMemberAddedEvent event) {
+    invalidateAllAfterCommit();
+  }
 
-    return usersWithPermission;
+  /**
+   * @param event
+   *              a group member event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onGroupMemberRemoved(final GroupMemberRemovedEvent event) {
+    invalidateAllAfterCommit();
+  }
+
+  /**
+   * @param event
+   *              a group membership event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onGroupMembershipCreated(final GroupMembershipCreatedEvent event) {
+    grantedUsers.invalidateAll();
+  }
+
+  /**
+   * @param event
+   *              a group membership event.
+   * @since 3.4
+   */
+  @EventListener
+  public void onGroupMembershipDeleted(final GroupMembershipDeletedEvent event) {
+    grantedUsers.invalidateAll();
+  }
+
+  /**
+   * Invalidates the granted users now and once the current transaction has
+   * committed, events published before commit would let a concurrent request
+   * reload the index before the change is visible.
+   */
+  private void invalidateAllAfterCommit() {
+    grantedUsers.invalidateAll();
+    synchronizer.register(new TransactionSynchronization() {
+
+      @Override
+      public void afterCommit() {
+        grantedUsers.invalidateAll();
+      }
+    });
   }
 
   @Override
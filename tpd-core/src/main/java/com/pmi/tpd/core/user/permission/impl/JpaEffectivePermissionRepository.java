@@ -16,6 +16,7 @@ import com.pmi.tpd.security.permission.Permission;
 import com.pmi.tpd.core.model.user.GlobalPermissionEntity;
 import com.pmi.tpd.core.model.user.GrantedPermission;
 import com.pmi.tpd.core.model.user.PermissionTypeEntity;
+import com.pmi.tpd.core.model.user.QGroupEntity;
 import com.pmi.tpd.core.model.user.QGlobalPermissionEntity;
 import com.pmi.tpd.core.model.user.QGrantedPermission;
 import com.pmi.tpd.core.model.user.QPermissionTypeEntity;
@@ -29,6 +30,7 @@ import com.pmi.tpd.database.jpa.DefaultJpaRepository;
 import com.pmi.tpd.database.support.IdentifierUtils;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Predicate;
+import com.querydsl.jpa.JPAExpressions;
 import com.querydsl.jpa.impl.JPAQuery;
 
 /**
@@ -119,6 +121,37 @@ public class JpaEffectivePermissionRepository extends DefaultJpaRepository<Grant
             pageable);
     }
 
+    @Override
+    @Nonnull
+    public Set<String> findUsernames(@Nonnull final Permission permission) {
+        final QUserEntity user = QUserEntity.userEntity;
+        final QGroupEntity group = QGroupEntity.groupEntity;
+        final Predicate active = user.activated.isTrue().and(user.deletedDate.isNull());
+        // granted explicitly
+        final Set<String> usernames = Sets.newHashSet(new JPAQuery<String>(entityManager).from(user, globalPermission())
+                .where(active,
+                    globalPermission().user.eq(user)
+                            .and(globalPermission().permission.in(permission.getInheritingPermissions()))
+                            .and(globalPermission().group.isNull()))
+                .select(user.username)
+                .distinct()
+                .fetch());
+        // granted through a group, group names of permissions are lower case
+        usernames.addAll(new JPAQuery<String>(entityManager).from(user)
+                .innerJoin(user.groups, group)
+                .where(active,
+                    group.name.lower()
+                            .in(JPAExpressions.select(globalPermission().group)
+                                    .from(globalPermission())
+                                    .where(globalPermission().permission.in(permission.getInheritingPermissions())
+                                            .and(globalPermission().user.isNull())
+                                            .and(globalPermission().group.isNotNull()))))
+                .select(user.username)
+                .distinct()
+                .fetch());
+        return usernames;
+    }
+
     @Override
     public boolean isGrantedToGroup(@Nonnull final GroupPermissionCriteria criteria) {
         final Permission permission = criteria.getPermission();
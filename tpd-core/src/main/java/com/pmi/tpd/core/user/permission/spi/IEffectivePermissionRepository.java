@@ -1,5 +1,7 @@
 package com.pmi.tpd.core.user.permission.spi;
 
+import java.util.Set;
+
 import javax.annotation.Nonnull;
 
 import org.springframework.data.domain.Page;
@@ -83,6 +85,21 @@ public interface IEffectivePermissionRepository extends IDslAccessor<GrantedPerm
         @Nonnull Pageable pageRequest,
         @Nonnull Predicate predicate);
 
+    /**
+     * Searches for the active users that have a (direct or inherited) permission, either explicitly or through any
+     * group they are a member of.
+     * <p>
+     * The users granted explicitly and the users of granted groups are resolved by the database, without walking the
+     * granted groups and their members.
+     *
+     * @param permission
+     *            permission the users must have (either directly or through inheritance)
+     * @return the usernames of all active users with the permission
+     * @since 3.4
+     */
+    @Nonnull
+    Set<String> findUsernames(@Nonnull Permission permission);
+
     /**
      * Searches for groups that have a (direct or inherited) permission.
      * <p>
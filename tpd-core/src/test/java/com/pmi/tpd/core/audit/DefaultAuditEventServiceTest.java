@@ -0,0 +1,105 @@
+package com.pmi.tpd.core.audit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.joda.time.DateTimeUtils;
+import org.joda.time.Duration;
+import org.joda.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.google.common.collect.ImmutableList;
+import com.pmi.tpd.api.audit.IAuditEvent;
+import com.pmi.tpd.core.audit.spi.IAuditEventRepository;
+import com.pmi.tpd.core.model.audit.AuditEventEntity;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+import com.querydsl.core.types.Predicate;
+
+public class DefaultAuditEventServiceTest extends MockitoTestCase {
+
+    @Mock
+    private IAuditEventRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DefaultAuditEventService service;
+
+    @BeforeEach
+    public void setUp() {
+        DateTimeUtils.setCurrentMillisFixed(System.currentTimeMillis());
+        service = new DefaultAuditEventService(repository, transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
+    @Test
+    public void testCleanupExpiredEventsWithMultipleBatches() {
+        service.withRetentionPeriod(30).withCleanupBatchSize(2);
+        final Date date = Instant.now().minus(Duration.standardDays(30)).toDate();
+
+        final List<AuditEventEntity> events = ImmutableList.of(event(1L), event(2L));
+        when(repository.findIdsByAuditEventDateBefore(eq(date), eq(2))).thenReturn(ImmutableList.of(1L, 2L))
+                .thenReturn(ImmutableList.of(3L))
+                .thenReturn(Collections.emptyList());
+        when(repository.findAll(any(Predicate.class))).thenReturn(events);
+
+        service.cleanupExpiredEvents();
+
+        verify(repository, times(2)).findIdsByAuditEventDateBefore(eq(date), eq(2));
+        verify(repository, times(2)).deleteAll(events);
+    }
+
+    @Test
+    public void testCleanupExpiredEventsDisabled() {
+        service.withRetentionPeriod(0);
+
+        service.cleanupExpiredEvents();
+
+        verify(repository, never()).findIdsByAuditEventDateBefore(any(Date.class), anyInt());
+    }
+
+    @Test
+    public void testCleanupExpiredEventsDisabledByDefault() {
+        service.cleanupExpiredEvents();
+
+        verify(repository, never()).findIdsByAuditEventDateBefore(any(Date.class), anyInt());
+    }
+
+    @Test
+    public void testFindByDatesWithKeyset() {
+        when(repository.findAllByAuditEventDateBetween(10L, 3, null, null))
+                .thenReturn(ImmutableList.of(event(9L), event(8L), event(7L)));
+
+        final Page<? extends IAuditEvent> page = service.findByDates(10L, 2, null, null);
+
+        assertEquals(2, page.getNumberOfElements());
+        assertTrue(page.hasNext());
+    }
+
+    @Test
+    public void testFindByDatesWithKeysetLastSlice() {
+        when(repository.findAllByAuditEventDateBetween(10L, 3, null, null))
+                .thenReturn(ImmutableList.of(event(9L)));
+
+        final Page<? extends IAuditEvent> page = service.findByDates(10L, 2, null, null);
+
+        assertEquals(1, page.getNumberOfElements());
+        assertFalse(page.hasNext());
+    }
+
+    private static AuditEventEntity event(final long id) {
+        return AuditEventEntity.builder().id(id).principal("user").created(new Date()).build();
+    }
+}
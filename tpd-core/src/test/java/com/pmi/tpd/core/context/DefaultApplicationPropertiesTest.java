@@ -243,6 +243,40 @@ public class DefaultApplicationPropertiesTest extends AbstractJunitTest {
         assertEquals("kb/cougar.zip", properties.getString("species.animal.associateFile").get());
     }
 
+    @Test
+    public void shouldReuseConfigurationSnapshot() {
+        environment.setProperty("species.name", "P. concolor");
+
+        final Species snapshot = properties.getConfigurationSnapshot(Species.class);
+
+        assertEquals("P. concolor", snapshot.getName());
+        assertSame(snapshot, properties.getConfigurationSnapshot(Species.class));
+        assertNotSame(snapshot, properties.getConfiguration(Species.class));
+    }
+
+    @Test
+    public void shouldSwapConfigurationSnapshotOnPropertyChange() {
+        environment.setProperty("species.name", "P. concolor");
+        final Species snapshot = properties.getConfigurationSnapshot(Species.class);
+
+        environment.setProperty("species.name", "Cougar");
+        properties.setString("species.name", "Cougar");
+
+        final Species newSnapshot = properties.getConfigurationSnapshot(Species.class);
+        assertNotSame(snapshot, newSnapshot);
+        assertEquals("Cougar", newSnapshot.getName());
+        assertEquals("P. concolor", snapshot.getName());
+    }
+
+    @Test
+    public void shouldClearConfigurationSnapshotOnClearCache() {
+        final Species snapshot = properties.getConfigurationSnapshot(Species.class);
+
+        properties.onClearCache(ClearCacheEvent.empty());
+
+        assertNotSame(snapshot, properties.getConfigurationSnapshot(Species.class));
+    }
+
     @Test()
     public void testRaiseChangeEvent() {
         // new
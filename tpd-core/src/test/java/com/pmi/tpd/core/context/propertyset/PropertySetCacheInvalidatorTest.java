@@ -0,0 +1,88 @@
+package com.pmi.tpd.core.context.propertyset;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.opensymphony.module.propertyset.memory.SerializablePropertySet;
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class PropertySetCacheInvalidatorTest extends TestCase {
+
+    private static final String CACHE_KEY = "entity#1";
+
+    private PropertySetCacheInvalidator invalidator;
+
+    private SerializablePropertySet store;
+
+    private final List<PropertySetInvalidation> broadcasted = Lists.newArrayList();
+
+    @BeforeEach
+    public void setUp() {
+        invalidator = new PropertySetCacheInvalidator();
+        invalidator.setBroadcaster(broadcasted::add);
+        store = new SerializablePropertySet();
+        store.init(null, null);
+    }
+
+    @Test
+    public void shouldEvictOtherInstancesOnLocalChange() {
+        final CachingPropertySet first = create(CACHE_KEY);
+        final CachingPropertySet second = create(CACHE_KEY);
+        first.setString("key", "value1");
+        assertEquals("value1", second.getString("key"));
+
+        first.setString("key", "value2");
+        assertEquals("value2", second.getString("key"));
+        assertEquals(2, broadcasted.size());
+        assertEquals(CACHE_KEY, broadcasted.get(1).getCacheKey());
+        assertEquals("key", broadcasted.get(1).getKey().orElseThrow());
+    }
+
+    @Test
+    public void shouldEvictOnlyChangedKeyOnRemoteInvalidation() {
+        final CachingPropertySet propertySet = create(CACHE_KEY);
+        propertySet.setString("key", "value1");
+        propertySet.setString("other", "other1");
+
+        // simulates a change applied by another node
+        store.setString("key", "value2");
+        store.setString("other", "other2");
+        invalidator.evict(new PropertySetInvalidation(CACHE_KEY, "key"));
+
+        assertEquals("value2", propertySet.getString("key"));
+        assertEquals("other1", propertySet.getString("other"));
+    }
+
+    @Test
+    public void shouldEvictAllKeysOnRemoteRemove() {
+        final CachingPropertySet propertySet = create(CACHE_KEY);
+        propertySet.setString("key", "value1");
+
+        store.remove();
+        invalidator.evict(new PropertySetInvalidation(CACHE_KEY, null));
+
+        assertFalse(propertySet.exists("key"));
+    }
+
+    @Test
+    public void shouldIgnoreOtherCacheKey() {
+        final CachingPropertySet propertySet = create(CACHE_KEY);
+        propertySet.setString("key", "value1");
+
+        store.setString("key", "value2");
+        invalidator.evict(new PropertySetInvalidation("entity#2", "key"));
+
+        assertEquals("value1", propertySet.getString("key"));
+    }
+
+    private CachingPropertySet create(final String cacheKey) {
+        final CachingPropertySet propertySet = new CachingPropertySet();
+        propertySet.init(null,
+            ImmutableMap.of("PropertySet", store, "cacheKey", cacheKey, "invalidator", invalidator));
+        return propertySet;
+    }
+}
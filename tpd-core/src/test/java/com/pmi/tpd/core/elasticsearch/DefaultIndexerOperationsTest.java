@@ -0,0 +1,53 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class DefaultIndexerOperationsTest extends TestCase {
+
+    private static final Map<String, Object> KEYWORD = Map.of("type", "keyword", "store", true);
+
+    private static final Map<String, Object> KEYWORD_WITH_WILDCARD = Map.of("type",
+        "keyword",
+        "store",
+        true,
+        "fields",
+        Map.of("wildcard", Map.of("type", "wildcard")));
+
+    @Test
+    public void shouldDetectMissingSubField() {
+        assertTrue(DefaultIndexerOperations.hasMissingFields(
+            Map.of("properties", Map.of("productId", KEYWORD_WITH_WILDCARD)),
+            Map.of("properties", Map.of("productId", KEYWORD))));
+    }
+
+    @Test
+    public void shouldDetectMissingNestedProperty() {
+        assertTrue(DefaultIndexerOperations.hasMissingFields(
+            Map.of("properties",
+                Map.of("presentations", Map.of("type", "nested", "properties", Map.of("brandName", KEYWORD)))),
+            Map.of("properties", Map.of("presentations", Map.of("type", "nested")))));
+    }
+
+    @Test
+    public void shouldAcceptUpToDateMapping() {
+        final Map<String, Object> mapping = Map.of("properties",
+            Map.of("productId", KEYWORD_WITH_WILDCARD, "status", KEYWORD));
+        assertFalse(DefaultIndexerOperations.hasMissingFields(mapping, mapping));
+        // fields removed from the indexed class are left in the index
+        assertFalse(DefaultIndexerOperations.hasMissingFields(Map.of("properties", Map.of("status", KEYWORD)),
+            mapping));
+    }
+
+    @Test
+    public void shouldDetectPendingUpdateOfDocuments() {
+        assertTrue(DefaultIndexerOperations.isMappingUpdatePending(
+            Map.of("_meta", Map.of("mappingUpdatePending", true), "properties", Map.of("status", KEYWORD))));
+        assertFalse(DefaultIndexerOperations.isMappingUpdatePending(
+            Map.of("_meta", Map.of("mappingUpdatePending", false), "properties", Map.of("status", KEYWORD))));
+        assertFalse(DefaultIndexerOperations.isMappingUpdatePending(Map.of("properties", Map.of("status", KEYWORD))));
+    }
+}
@@ -0,0 +1,67 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class IndexMappingLifecycleTest extends MockitoTestCase {
+
+    @Mock
+    private IIndexerOperations indexerOperations;
+
+    @Mock
+    private ScheduledExecutorService executorService;
+
+    @Mock
+    private ScheduledFuture<Object> future;
+
+    @Test
+    public void shouldNotCheckWhenMappingsAreUpToDate() {
+        when(indexerOperations.updateMappings()).thenReturn(0);
+        final IndexMappingLifecycle lifecycle = new IndexMappingLifecycle(indexerOperations, executorService);
+
+        lifecycle.start();
+
+        assertTrue(lifecycle.isRunning());
+        verifyZeroInteractions(executorService);
+    }
+
+    @Test
+    public void shouldCheckUpdatesInBackgroundUntilCompleted() {
+        when(indexerOperations.updateMappings()).thenReturn(2);
+        when(indexerOperations.checkMappingUpdates()).thenReturn(1, 0);
+        final ArgumentCaptor<Runnable> check = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(future).when(executorService)
+                .scheduleWithFixedDelay(check.capture(), anyLong(), anyLong(), eq(TimeUnit.SECONDS));
+        final IndexMappingLifecycle lifecycle = new IndexMappingLifecycle(indexerOperations, executorService);
+
+        // the startup doesn't wait for the update of documents
+        lifecycle.start();
+        assertTrue(lifecycle.isRunning());
+        verify(indexerOperations, never()).checkMappingUpdates();
+
+        check.getValue().run();
+        verify(future, never()).cancel(false);
+        check.getValue().run();
+        verify(future).cancel(false);
+    }
+
+    @Test
+    public void shouldStartWhenMappingsCanNotBeUpdated() {
+        when(indexerOperations.updateMappings()).thenThrow(new IllegalStateException("unavailable"));
+        final IndexMappingLifecycle lifecycle = new IndexMappingLifecycle(indexerOperations, executorService);
+
+        lifecycle.start();
+
+        assertTrue(lifecycle.isRunning());
+        verifyZeroInteractions(executorService);
+    }
+}
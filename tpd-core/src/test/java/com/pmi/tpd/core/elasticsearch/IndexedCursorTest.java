@@ -0,0 +1,111 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHitsIterator;
+
+import com.pmi.tpd.api.scheduler.ITaskMonitorProgress;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class IndexedCursorTest extends MockitoTestCase {
+
+    @Test
+    public void shouldReturnLastPartialBatch() {
+        final SearchHitsIterator<Integer> iterator = scroll(7);
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(iterator, 3, 0);
+
+        assertEquals(7, cursor.getTotalElements());
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5), List.of(6)), batches(cursor));
+        assertThrows(NoSuchElementException.class, cursor::next);
+    }
+
+    @Test
+    public void shouldStopAtLimitMultipleOfBatchSize() {
+        final SearchHitsIterator<Integer> iterator = scroll(10);
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(iterator, 3, 6);
+
+        assertEquals(6, cursor.getTotalElements());
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3, 4, 5)), batches(cursor));
+        // no empty batch and no document read past the limit
+        verify(iterator, times(6)).next();
+    }
+
+    @Test
+    public void shouldStopAtLimitWithinBatch() {
+        final SearchHitsIterator<Integer> iterator = scroll(10);
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(iterator, 3, 4);
+
+        assertEquals(List.of(List.of(0, 1, 2), List.of(3)), batches(cursor));
+        verify(iterator, times(4)).next();
+    }
+
+    @Test
+    public void shouldClearScrollWhenLimitStopsIteration() {
+        final SearchHitsIterator<Integer> iterator = scroll(10);
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(iterator, 3, 3);
+
+        cursor.next();
+        assertFalse(cursor.hasNext());
+        verify(iterator).close();
+
+        // closing again doesn't clear the scroll twice
+        cursor.close();
+        verify(iterator).close();
+    }
+
+    @Test
+    public void shouldClearScrollWhenStreamClosedEarly() {
+        final SearchHitsIterator<Integer> iterator = scroll(10);
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(iterator, 3, 0);
+
+        try (Stream<Integer> stream = cursor.stream(batch -> batch, null)) {
+            assertEquals(List.of(0, 1), stream.limit(2).collect(Collectors.toList()));
+        }
+        verify(iterator).close();
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void shouldReportProgressOfStream() {
+        final IndexedCursor<Integer> cursor = new IndexedCursor<>(scroll(5), 2, 0);
+        final ITaskMonitorProgress monitor = mock(ITaskMonitorProgress.class);
+
+        try (Stream<String> stream = cursor.stream(
+            batch -> batch.stream().map(String::valueOf).collect(Collectors.toList()),
+            monitor)) {
+            assertEquals(List.of("0", "1", "2", "3", "4"), stream.collect(Collectors.toList()));
+        }
+        verify(monitor).started(5);
+        verify(monitor, times(5)).increment();
+    }
+
+    private static List<List<Integer>> batches(final IndexedCursor<Integer> cursor) {
+        final List<List<Integer>> batches = new ArrayList<>();
+        while (cursor.hasNext()) {
+            batches.add(cursor.next());
+        }
+        return batches;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static SearchHitsIterator<Integer> scroll(final int total) {
+        final Iterator<Integer> documents = IntStream.range(0, total).iterator();
+        final SearchHitsIterator<Integer> iterator = mock(SearchHitsIterator.class, withSettings().lenient());
+        when(iterator.getTotalHits()).thenReturn((long) total);
+        when(iterator.hasNext()).thenAnswer(invocation -> documents.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> {
+            final SearchHit<Integer> hit = mock(SearchHit.class, withSettings().lenient());
+            when(hit.getContent()).thenReturn(documents.next());
+            return hit;
+        });
+        return iterator;
+    }
+}
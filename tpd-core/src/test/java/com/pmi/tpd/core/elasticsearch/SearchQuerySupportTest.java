@@ -0,0 +1,53 @@
+package com.pmi.tpd.core.elasticsearch;
+
+import org.junit.jupiter.api.Test;
+
+import com.pmi.tpd.api.paging.Filter;
+import com.pmi.tpd.api.paging.Filters;
+import com.pmi.tpd.core.elasticsearch.model.ProductIndexed;
+import com.pmi.tpd.core.elasticsearch.model.SubmissionIndexed;
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class SearchQuerySupportTest extends TestCase {
+
+    @Test
+    public void shouldResolveWildcardField() {
+        assertTrue(SearchQuerySupport.hasWildcardField(ProductIndexed.class, "productNumber"));
+        assertTrue(SearchQuerySupport.hasWildcardField(ProductIndexed.class, "sourceFilename"));
+        assertTrue(SearchQuerySupport.hasWildcardField(SubmissionIndexed.class, "presentations.brandName"));
+        assertFalse(SearchQuerySupport.hasWildcardField(ProductIndexed.class, "typeName"));
+        assertFalse(SearchQuerySupport.hasWildcardField(ProductIndexed.class, "unknown"));
+        assertFalse(SearchQuerySupport.hasWildcardField(ProductIndexed.class, "unknown.brandName"));
+    }
+
+    @Test
+    public void shouldRouteContainsFilterToWildcardField() {
+        final String query = SearchQuerySupport
+                .buildFilter(ProductIndexed.class, new Filters(Filter.contains("productNumber", "*ABC*")))
+                .toString();
+        assertContains(query, "productNumber.wildcard", "*ABC*", "\"case_insensitive\" : true");
+    }
+
+    @Test
+    public void shouldFallbackToLowerCaseWildcardQuery() {
+        final String query = SearchQuerySupport
+                .buildFilter(ProductIndexed.class, new Filters(Filter.contains("typeName", "*ABC*")))
+                .toString();
+        assertFalse(query.contains("typeName.wildcard"));
+        assertContains(query, "*abc*");
+    }
+
+    @Test
+    public void shouldKeepOriginalFieldWhileDocumentsAreUpdated() {
+        SearchQuerySupport.setWildcardFieldsAvailable(ProductIndexed.class, false);
+        try {
+            final String query = SearchQuerySupport
+                    .buildFilter(ProductIndexed.class, new Filters(Filter.contains("productNumber", "*ABC*")))
+                    .toString();
+            assertFalse(query.contains("productNumber.wildcard"));
+            assertContains(query, "*abc*");
+        } finally {
+            SearchQuerySupport.setWildcardFieldsAvailable(ProductIndexed.class, true);
+        }
+    }
+}
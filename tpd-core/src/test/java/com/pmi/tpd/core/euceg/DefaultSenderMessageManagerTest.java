@@ -127,6 +127,39 @@ public class DefaultSenderMessageManagerTest extends MockitoTestCase {
         assertNull(receipt.getResponse());
     }
 
+    @Test
+    public void shouldHandleBatchOfMessagesInSameUnitOfWork() {
+        final String firstMessageId = RandomUtil.uuid();
+        final String secondMessageId = RandomUtil.uuid();
+        when(productSubmissionStore.findReceiptByMessageId(firstMessageId)).thenReturn(Optional.of(TransmitReceiptEntity
+                .create(SubmissionEntity.builder().build(), PayloadType.ATTACHMENT, "attachment", firstMessageId,
+                    TransmitStatus.PENDING)));
+        when(productSubmissionStore.findReceiptByMessageId(secondMessageId)).thenReturn(Optional.of(
+            TransmitReceiptEntity.create(SubmissionEntity.builder().build(), PayloadType.ATTACHMENT, "attachment",
+                secondMessageId, TransmitStatus.PENDING)));
+        when(productSubmissionStore.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        // handlers re-enter the lock held by the batch
+        senderMessageManager.handleBatch(() -> {
+            senderMessageManager.handleMessageSendFailure(
+                MessageSendFailure.builder().messageId(firstMessageId).status(TransmitStatus.REJECTED).build());
+            senderMessageManager.handleMessageSendFailure(
+                MessageSendFailure.builder().messageId(secondMessageId).status(TransmitStatus.REJECTED).build());
+        });
+
+        verify(productSubmissionStore, times(2)).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldPropagateFailureOfBatch() {
+        final IllegalStateException failure = new IllegalStateException("failed");
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> senderMessageManager.handleBatch(() -> {
+            throw failure;
+        })));
+        verify(productSubmissionStore, never()).saveAndFlush(any());
+    }
+
     @Test
     public void shouldUpdateReceiptForReceiveSuccessResponsse() {
         final String conversationId = RandomUtil.uuid();
@@ -0,0 +1,113 @@
+package com.pmi.tpd.core.euceg.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.i18n.support.SimpleI18nService;
+import com.pmi.tpd.api.lifecycle.notification.NotificationEvent;
+import com.pmi.tpd.api.lifecycle.notification.NotificationRequest.Severity;
+import com.pmi.tpd.core.euceg.IEucegImportExportService;
+import com.pmi.tpd.core.euceg.ProductImportRequest;
+import com.pmi.tpd.euceg.api.ProductType;
+import com.pmi.tpd.euceg.core.util.validation.SimpleValidationFailure;
+import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class ProductImportTaskTest extends MockitoTestCase {
+
+    @Mock
+    private IEventPublisher eventPublisher;
+
+    @Mock
+    private IEucegImportExportService importExportService;
+
+    private final I18nService i18nService = new SimpleI18nService();
+
+    @TempDir
+    public Path temporaryDirectory;
+
+    @Test
+    public void shouldImportAllFilesInOrder() throws IOException {
+        when(importExportService.importProductFromExcel(any(InputStream.class),
+            any(String.class),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(true))).thenReturn(ValidationResult.empty());
+
+        final ProductImportTask task = createTask(true, "first.xlsx", "second.xlsx");
+        task.run();
+
+        verify(importExportService).importProductFromExcel(any(InputStream.class),
+            eq("first.xlsx"),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(true));
+        verify(importExportService).importProductFromExcel(any(InputStream.class),
+            eq("second.xlsx"),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(true));
+        assertEquals(2, task.getRowsProcessed());
+        assertFalse(task.getValidationResult().hasFailures());
+        assertEquals(Severity.success, lastNotification().getNotification().getSeverity());
+        assertEquals("user", lastNotification().getUsername());
+    }
+
+    @Test
+    public void shouldStopAtFirstInvalidFile() throws IOException {
+        final ValidationResult result = new ValidationResult();
+        result.addFailure(new SimpleValidationFailure("sheet", "invalid product number"));
+        when(importExportService.importProductFromExcel(any(InputStream.class),
+            eq("first.xlsx"),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(false))).thenReturn(result);
+
+        final ProductImportTask task = createTask(false, "first.xlsx", "second.xlsx");
+        task.run();
+
+        verify(importExportService, never()).importProductFromExcel(any(InputStream.class),
+            eq("second.xlsx"),
+            any(ProductType.class),
+            any(),
+            eq(false));
+        assertEquals(0, task.getRowsProcessed());
+        assertSame(result, task.getValidationResult());
+        assertEquals(Severity.danger, lastNotification().getNotification().getSeverity());
+        assertEquals("user", lastNotification().getUsername());
+    }
+
+    private ProductImportTask createTask(final boolean keepSaleHistory, final String... fileNames) throws IOException {
+        final Map<Path, String> files = new LinkedHashMap<>();
+        for (final String fileName : fileNames) {
+            files.put(Files.createTempFile(temporaryDirectory, "import-", ".xlsx"), fileName);
+        }
+        final ProductImportRequest request = ProductImportRequest.builder()
+                .productType(ProductType.TOBACCO)
+                .keepSaleHistory(keepSaleHistory)
+                .build();
+        return new ProductImportTask(eventPublisher, i18nService, importExportService, request, files, "user");
+    }
+
+    private NotificationEvent lastNotification() {
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher, atLeastOnce()).publish(captor.capture());
+        return captor.getAllValues()
+                .stream()
+                .filter(NotificationEvent.class::isInstance)
+                .map(NotificationEvent.class::cast)
+                .reduce((first, second) -> second)
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,222 @@
+package com.pmi.tpd.core.euceg.report;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.pmi.tpd.api.config.IApplicationConfiguration;
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.exec.TaskState;
+import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.i18n.support.SimpleI18nService;
+import com.pmi.tpd.api.user.IUser;
+import com.pmi.tpd.cluster.IClusterService;
+import com.pmi.tpd.core.euceg.IEucegImportExportService;
+import com.pmi.tpd.core.euceg.ProductImportRequest;
+import com.pmi.tpd.core.euceg.ProductImportState;
+import com.pmi.tpd.euceg.api.ProductType;
+import com.pmi.tpd.euceg.core.task.IEucegTaskFactory;
+import com.pmi.tpd.euceg.core.util.validation.SimpleValidationFailure;
+import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+import com.pmi.tpd.scheduler.exec.ITaskMonitor;
+import com.pmi.tpd.security.IAuthenticationContext;
+import com.pmi.tpd.security.random.ISecureTokenGenerator;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+import com.pmi.tpd.web.core.request.IRequestManager;
+import com.pmi.tpd.web.core.request.spi.IRequestContext;
+
+public class DefaultEucegTaskExecutorManagerTest extends MockitoTestCase {
+
+    @Mock
+    private ExecutorService executorService;
+
+    @Mock
+    private IEucegTaskFactory taskFactory;
+
+    @Mock(lenient = true)
+    private ISecureTokenGenerator tokenGenerator;
+
+    @Mock
+    private IClusterService clusterService;
+
+    @Mock(lenient = true)
+    private IRequestManager requestManager;
+
+    @Mock(lenient = true)
+    private IRequestContext requestContext;
+
+    @Mock(lenient = true)
+    private IAuthenticationContext authenticationContext;
+
+    @Mock(lenient = true)
+    private IUser user;
+
+    @Mock(lenient = true)
+    private IApplicationConfiguration settings;
+
+    @Mock
+    private IEucegImportExportService importExportService;
+
+    @Mock
+    private IEventPublisher eventPublisher;
+
+    private final I18nService i18nService = new SimpleI18nService();
+
+    @TempDir
+    public Path temporaryDirectory;
+
+    @BeforeEach
+    public void setUp() {
+        when(settings.getTemporaryDirectory()).thenReturn(temporaryDirectory);
+        when(tokenGenerator.generateToken()).thenReturn("token");
+        when(requestManager.getRequestContext()).thenReturn(requestContext);
+        when(requestContext.getAuthenticationContext()).thenReturn(Optional.of(authenticationContext));
+        when(authenticationContext.getCurrentUser()).thenReturn(Optional.of(user));
+        when(user.getUsername()).thenReturn("user");
+    }
+
+    @Test
+    public void shouldSpoolFilesAndDeleteThemOnCompletion() throws IOException {
+        final List<String> imported = new ArrayList<>();
+        when(importExportService.importProductFromExcel(any(InputStream.class),
+            any(String.class),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(true))).thenAnswer(invocation -> {
+                // all files are spooled before the import starts
+                assertEquals(2, spooledFiles().size());
+                imported.add(new String(ByteStreams.toByteArray(invocation.getArgument(0, InputStream.class)),
+                        StandardCharsets.UTF_8));
+                return ValidationResult.empty();
+            });
+
+        final ITaskMonitor monitor = createManager(MoreExecutors.newDirectExecutorService())
+                .importProducts(request("first.xlsx", "second.xlsx"));
+
+        assertEquals(TaskState.SUCCESSFUL, monitor.getState());
+        assertEquals(List.of("first.xlsx", "second.xlsx"), imported);
+        assertTrue(spooledFiles().isEmpty());
+    }
+
+    @Test
+    public void shouldDeleteSpooledFilesWhenSubmitFails() throws IOException {
+        final ExecutorService importExecutorService = mock(ExecutorService.class);
+        when(importExecutorService.submit(any(Runnable.class))).thenThrow(new RejectedExecutionException());
+        final DefaultEucegTaskExecutorManager manager = createManager(importExecutorService);
+
+        assertThrows(RejectedExecutionException.class, () -> manager.importProducts(request("first.xlsx")));
+
+        assertTrue(spooledFiles().isEmpty());
+        assertFalse(manager.getTaskMonitor("token").isPresent());
+        assertFalse(manager.getProductImport("token").isPresent());
+        verifyZeroInteractions(importExportService);
+    }
+
+    @Test
+    public void shouldDeleteSpooledFilesWhenSpoolingFails() throws IOException {
+        final InputStream failing = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken upload");
+            }
+        };
+        final ProductImportRequest request = ProductImportRequest.builder()
+                .productType(ProductType.TOBACCO)
+                .file(new ProductImportRequest.ImportFile("first.xlsx", content("first.xlsx")))
+                .file(new ProductImportRequest.ImportFile("second.xlsx", failing))
+                .build();
+        final ExecutorService importExecutorService = mock(ExecutorService.class);
+
+        assertThrows(IOException.class, () -> createManager(importExecutorService).importProducts(request));
+
+        assertTrue(spooledFiles().isEmpty());
+        verify(importExecutorService, never()).submit(any(Runnable.class));
+    }
+
+    @Test
+    public void shouldKeepOutcomeOfCompletedImportForItsOwner() throws IOException {
+        final ValidationResult result = new ValidationResult();
+        result.addFailure(new SimpleValidationFailure("sheet", "invalid product number"));
+        when(importExportService.importProductFromExcel(any(InputStream.class),
+            any(String.class),
+            eq(ProductType.TOBACCO),
+            any(),
+            eq(true))).thenReturn(result);
+        final DefaultEucegTaskExecutorManager manager = createManager(MoreExecutors.newDirectExecutorService());
+
+        final ITaskMonitor monitor = manager.importProducts(request("first.xlsx"));
+
+        // the monitor is no longer tracked, but the outcome is kept
+        assertFalse(manager.getTaskMonitor(monitor.getCancelToken()).isPresent());
+        final ProductImportState state = manager.getProductImport(monitor.getCancelToken()).orElseThrow();
+        assertTrue(state.isCompleted());
+        assertSame(result, state.getValidationResult());
+        assertTrue(spooledFiles().isEmpty());
+
+        when(user.getUsername()).thenReturn("other");
+        assertFalse(manager.getProductImport(monitor.getCancelToken()).isPresent());
+    }
+
+    @Test
+    public void shouldCancelImportOnlyForItsOwner() throws IOException {
+        final DefaultEucegTaskExecutorManager manager = createManager(mock(ExecutorService.class));
+        final ITaskMonitor monitor = manager.importProducts(request("first.xlsx"));
+        final String cancelToken = monitor.getCancelToken();
+
+        when(user.getUsername()).thenReturn("other");
+        assertFalse(manager.cancelProductImport(cancelToken));
+        assertEquals(TaskState.RUNNING, monitor.getState());
+
+        when(user.getUsername()).thenReturn("user");
+        assertFalse(manager.cancelProductImport("unknown"));
+        assertTrue(manager.cancelProductImport(cancelToken));
+        assertEquals(TaskState.CANCELED, monitor.getState());
+    }
+
+    private DefaultEucegTaskExecutorManager createManager(final ExecutorService importExecutorService) {
+        return new DefaultEucegTaskExecutorManager(executorService, taskFactory, i18nService, tokenGenerator,
+                clusterService, requestManager, settings, importExportService, eventPublisher, importExecutorService);
+    }
+
+    private static ProductImportRequest request(final String... fileNames) {
+        final ProductImportRequest.ProductImportRequestBuilder request = ProductImportRequest.builder()
+                .productType(ProductType.TOBACCO)
+                .keepSaleHistory(true);
+        for (final String fileName : fileNames) {
+            request.file(new ProductImportRequest.ImportFile(fileName, content(fileName)));
+        }
+        return request.build();
+    }
+
+    private static InputStream content(final String fileName) {
+        return new ByteArrayInputStream(fileName.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Path> spooledFiles() throws IOException {
+        final Path directory = temporaryDirectory.resolve("imports");
+        if (!Files.exists(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+}
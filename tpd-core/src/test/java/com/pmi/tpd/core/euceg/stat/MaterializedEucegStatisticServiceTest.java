@@ -0,0 +1,103 @@
+package com.pmi.tpd.core.euceg.stat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import com.pmi.tpd.api.context.IClock;
+import com.pmi.tpd.core.euceg.stat.MaterializedEucegStatisticService.Domain;
+import com.pmi.tpd.euceg.api.ProductType;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class MaterializedEucegStatisticServiceTest extends MockitoTestCase {
+
+    @Mock
+    private IEucegStatisticService delegate;
+
+    @Mock(lenient = true)
+    private IClock clock;
+
+    private long now;
+
+    private MaterializedEucegStatisticService service;
+
+    @BeforeEach
+    public void setUp() {
+        now = 0;
+        when(clock.nanoTime()).thenAnswer(invocation -> now);
+        service = new MaterializedEucegStatisticService(delegate, clock, Duration.ofSeconds(10),
+                Duration.ofMinutes(5));
+    }
+
+    @Test
+    public void shouldReadMaterializedStatistic() {
+        final CountResult result = CountResult.builder().count(1).build();
+        when(delegate.countSubmissionByStatus()).thenReturn(result);
+
+        assertSame(result, service.countSubmissionByStatus());
+        now += Duration.ofMinutes(1).toNanos();
+        assertSame(result, service.countSubmissionByStatus());
+
+        verify(delegate, times(1)).countSubmissionByStatus();
+    }
+
+    @Test
+    public void shouldRefreshChangedStatisticAfterRefreshInterval() {
+        when(delegate.countSubmissionByStatus()).thenReturn(CountResult.builder().count(1).build(),
+            CountResult.builder().count(2).build());
+
+        assertEquals(1, service.countSubmissionByStatus().getCount());
+        service.changed(Domain.submission);
+        // throttled
+        assertEquals(1, service.countSubmissionByStatus().getCount());
+
+        now += Duration.ofSeconds(10).toNanos();
+        assertEquals(2, service.countSubmissionByStatus().getCount());
+        verify(delegate, times(2)).countSubmissionByStatus();
+    }
+
+    @Test
+    public void shouldIgnoreChangeOfOtherDomain() {
+        when(delegate.countAttachmentByStatus()).thenReturn(CountResult.builder().count(1).build());
+
+        service.countAttachmentByStatus();
+        service.changed(Domain.submission);
+        now += Duration.ofSeconds(30).toNanos();
+        service.countAttachmentByStatus();
+
+        verify(delegate, times(1)).countAttachmentByStatus();
+    }
+
+    @Test
+    public void shouldRebuildStatisticAfterMaxAge() {
+        when(delegate.countProductByPirStatus(ProductType.TOBACCO)).thenReturn(CountResult.builder().build());
+
+        service.countProductByPirStatus(ProductType.TOBACCO);
+        now += Duration.ofMinutes(5).toNanos();
+        service.countProductByPirStatus(ProductType.TOBACCO);
+
+        verify(delegate, times(2)).countProductByPirStatus(ProductType.TOBACCO);
+    }
+
+    @Test
+    public void shouldMaterializeHistogramPerPeriod() {
+        final HistogramRequest day = HistogramRequest.builder()
+                .interval(HistogramRequest.HistogramInterval.day)
+                .bounds(1)
+                .build();
+        final HistogramRequest week = HistogramRequest.builder()
+                .interval(HistogramRequest.HistogramInterval.week)
+                .bounds(7)
+                .build();
+        when(delegate.getHistogramCreatedSubmission(any())).thenReturn(HistogramResult.builder().build());
+
+        service.getHistogramCreatedSubmission(day);
+        service.getHistogramCreatedSubmission(week);
+        service.getHistogramCreatedSubmission(day);
+
+        verify(delegate, times(1)).getHistogramCreatedSubmission(day);
+        verify(delegate, times(1)).getHistogramCreatedSubmission(week);
+    }
+}
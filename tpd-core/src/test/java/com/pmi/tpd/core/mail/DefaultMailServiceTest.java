@@ -0,0 +1,169 @@
+package com.pmi.tpd.core.mail;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.thymeleaf.ITemplateEngine;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.pmi.tpd.core.mail.spi.IMailOutboxRepository;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity;
+import com.pmi.tpd.core.model.mail.MailOutboxEntity.Status;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class DefaultMailServiceTest extends MockitoTestCase {
+
+    @Mock
+    private ITemplateEngine templateEngine;
+
+    @Mock
+    private IMailOutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JavaMailSender javaMailSender;
+
+    private final MailOutboxMetricSet metrics = new MailOutboxMetricSet();
+
+    private DefaultMailService service;
+
+    @BeforeEach
+    public void setUp() {
+        final MailProperties properties = new MailProperties();
+        properties.setFrom("noreply@company.com");
+        service = new DefaultMailService(properties, templateEngine, outboxRepository, transactionManager, metrics) {
+
+            @Override
+            protected JavaMailSender createJavaMailSender(@Nonnull final MailProperties mailProperties) {
+                return javaMailSender;
+            }
+
+            @Override
+            protected void checkConnection(@Nonnull final JavaMailSender sender) {
+            }
+        }.withRateLimit(0).withBatchSize(10).withMaxAttempts(2);
+    }
+
+    @Test
+    public void shouldQueueMessageInOutbox() {
+        service.start();
+        service.sendNow(MailMessage.builder().to("john@company.com").subject("subject").text("text").build());
+
+        final ArgumentCaptor<MailOutboxEntity> captor = ArgumentCaptor.forClass(MailOutboxEntity.class);
+        verify(outboxRepository).save(captor.capture());
+        final MailOutboxEntity mail = captor.getValue();
+        assertEquals("john@company.com", mail.getTo());
+        assertEquals("subject", mail.getSubject());
+        assertEquals(Status.PENDING, mail.getStatus());
+        assertEquals(0, mail.getAttempts());
+        verifyZeroInteractions(javaMailSender);
+    }
+
+    @Test
+    public void shouldNotQueueMessageWhenHostIsNotConfigured() {
+        service.sendNow(MailMessage.builder().to("john@company.com").subject("subject").text("text").build());
+
+        verifyZeroInteractions(outboxRepository, javaMailSender);
+    }
+
+    @Test
+    public void shouldPurgeFailedMessagesByBatch() {
+        service.withFailedRetentionPeriod(30).withCleanupBatchSize(2);
+        when(outboxRepository.findFailedIdsBefore(any(Date.class), eq(2))).thenReturn(ImmutableList.of(1L, 2L),
+            ImmutableList.of(3L));
+
+        service.cleanupFailedMails();
+
+        final ArgumentCaptor<Date> date = ArgumentCaptor.forClass(Date.class);
+        verify(outboxRepository, times(2)).findFailedIdsBefore(date.capture(), eq(2));
+        assertTrue(date.getValue().before(new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(29))));
+        verify(outboxRepository).deleteByIds(ImmutableList.of(1L, 2L));
+        verify(outboxRepository).deleteByIds(ImmutableList.of(3L));
+    }
+
+    @Test
+    public void shouldKeepFailedMessagesWhenRetentionIsDisabled() {
+        service.withFailedRetentionPeriod(0);
+
+        service.cleanupFailedMails();
+
+        verifyZeroInteractions(outboxRepository);
+    }
+
+    @Test
+    public void shouldNotSendWhenHostIsNotConfigured() {
+        service.sendPendingMails();
+
+        verifyZeroInteractions(outboxRepository, javaMailSender);
+    }
+
+    @Test
+    public void shouldSendBatchOverOneConnectionAndPostponeFailures() {
+        service.start();
+        final MailOutboxEntity sent = mail("john@company.com");
+        final MailOutboxEntity failed = mail("jane@company.com\njim@company.com");
+        when(outboxRepository.findDue(any(Date.class), eq(10))).thenReturn(ImmutableList.of(sent, failed));
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            final MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            final Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+            failedMessages.put(messages[1], new IllegalStateException("mailbox unavailable"));
+            throw new MailSendException(failedMessages);
+        }).when(javaMailSender).send(any(MimeMessage[].class));
+
+        service.sendPendingMails();
+
+        verify(javaMailSender).send(any(MimeMessage[].class));
+        verify(outboxRepository).deleteAll(ImmutableList.of(sent));
+        verify(outboxRepository).saveAll(ImmutableList.of(failed));
+        assertEquals(1, failed.getAttempts());
+        assertEquals(Status.PENDING, failed.getStatus());
+        assertTrue(failed.getNextAttemptDate().after(new Date()));
+        assertEquals("mailbox unavailable", failed.getLastError());
+        assertEquals(1, metrics.getSent().getCount());
+        assertEquals(1, metrics.getRetried().getCount());
+    }
+
+    @Test
+    public void shouldFailMessageAfterMaxAttempts() {
+        service.start();
+        final MailOutboxEntity mail = mail("john@company.com");
+        mail.retryAt(new Date(), "first attempt");
+        when(outboxRepository.findDue(any(Date.class), eq(10))).thenReturn(ImmutableList.of(mail));
+        when(javaMailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doThrow(new MailSendException("connection lost")).when(javaMailSender).send(any(MimeMessage[].class));
+
+        service.sendPendingMails();
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<List<MailOutboxEntity>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        assertEquals(mail, Iterables.getOnlyElement(captor.getValue()));
+        verify(outboxRepository).deleteAll(Collections.emptyList());
+        assertEquals(Status.FAILED, mail.getStatus());
+        assertEquals(2, mail.getAttempts());
+        assertEquals(1, metrics.getFailed().getCount());
+    }
+
+    private static MailOutboxEntity mail(final String to) {
+        return new MailOutboxEntity(null, to, null, null, "subject", "<p>text</p>", new Date());
+    }
+}
@@ -7,16 +7,34 @@ import org.joda.time.DateTime;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.api.user.IUser;
+import com.pmi.tpd.api.user.UserDirectory;
+import com.pmi.tpd.core.event.user.GroupDeletedEvent;
+import com.pmi.tpd.core.event.user.GroupMembershipCreatedEvent;
+import com.pmi.tpd.core.event.user.UserDeletedEvent;
+import com.pmi.tpd.core.model.user.GroupEntity;
+import com.pmi.tpd.core.model.user.QGroupEntity;
+import com.pmi.tpd.core.model.user.QUserEntity;
+import com.pmi.tpd.core.model.user.UserEntity;
+import com.pmi.tpd.core.security.provider.DirectorySnapshot;
+import com.pmi.tpd.core.security.provider.IAuthenticationProvider;
 import com.pmi.tpd.core.security.provider.IAuthenticationProviderService;
+import com.pmi.tpd.core.security.provider.IDirectory;
 import com.pmi.tpd.core.user.UserPreferenceKeys;
 import com.pmi.tpd.core.user.preference.IPreferences;
 import com.pmi.tpd.core.user.preference.IUserPreferencesManager;
 import com.pmi.tpd.core.user.spi.IGroupRepository;
 import com.pmi.tpd.core.user.spi.IUserRepository;
 import com.pmi.tpd.testing.junit5.MockitoTestCase;
+import com.querydsl.core.types.Predicate;
 
 public class DefaultAuthenticationSynchroniserTest extends MockitoTestCase {
 
@@ -40,6 +58,10 @@ public class DefaultAuthenticationSynchroniserTest extends MockitoTestCase {
     @Mock
     private volatile IAuthenticationProviderService authenticationProviderService;
 
+    /** */
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private DefaultAuthenticationSynchroniser authenticationSynchroniser;
 
@@ -70,4 +92,75 @@ public class DefaultAuthenticationSynchroniserTest extends MockitoTestCase {
 
         assertNotNull(lastUpdate, "Last Update date should be not null");
     }
+
+    @Test
+    public void shouldReconcileDirectoryInOnePass() throws Exception {
+        final IAuthenticationProvider provider = mock(IAuthenticationProvider.class);
+        when(provider.isInternal()).thenReturn(false);
+        when(provider.getSupportedDirectory()).thenReturn(UserDirectory.Ldap);
+        when(provider.getDirectory()).thenReturn(mock(IDirectory.class));
+        when(provider.loadDirectorySnapshot()).thenReturn(Optional.of(new DirectorySnapshot(
+                ImmutableSet.of("Users", "Admins"),
+                ImmutableMap.of("john", ImmutableSet.of("USERS"), "jane", ImmutableSet.of("admins")))));
+        when(authenticationProviderService.isStarted()).thenReturn(true);
+        when(authenticationProviderService.hasExternalProvider()).thenReturn(true);
+        when(authenticationProviderService.getAuthenticationProviders()).thenReturn(Lists.newArrayList(provider));
+
+        final GroupEntity users = GroupEntity.builder().name("users").directory(UserDirectory.Ldap).build();
+        final GroupEntity admins = GroupEntity.builder()
+                .name("admins")
+                .directory(UserDirectory.Ldap)
+                .deletedDate(new Date())
+                .build();
+        final GroupEntity old = GroupEntity.builder().name("old").directory(UserDirectory.Ldap).build();
+        final GroupEntity staff = GroupEntity.builder().name("staff").directory(UserDirectory.Internal).build();
+        final UserEntity john = UserEntity.builder()
+                .id(1L)
+                .username("john")
+                .directory(UserDirectory.Ldap)
+                .groups(old, staff)
+                .build();
+        final UserEntity jane = UserEntity.builder()
+                .id(2L)
+                .username("jane")
+                .directory(UserDirectory.Ldap)
+                .groups(admins)
+                .build();
+        final UserEntity bob = UserEntity.builder().id(3L).username("bob").directory(UserDirectory.Ldap).build();
+
+        when(groupRepository.entity()).thenReturn(QGroupEntity.groupEntity);
+        when(groupRepository.findAll(any(Predicate.class), any(Pageable.class))).thenReturn(
+            PageUtils.createPage(Lists.newArrayList(users, admins, old), PageUtils.newRequest(0, 100)));
+        when(groupRepository.findAll(any(Predicate.class))).thenReturn(Lists.newArrayList(users, admins));
+        when(userRepository.entity()).thenReturn(QUserEntity.userEntity);
+        when(userRepository.findAll(any(Predicate.class), any(Pageable.class))).thenReturn(
+            PageUtils.createPage(Lists.newArrayList(john, jane, bob), PageUtils.newRequest(0, 100)));
+
+        authenticationSynchroniser.checkDeletedGroups();
+
+        verify(eventPublisher).publish(any(GroupDeletedEvent.class));
+        verify(eventPublisher).publish(any(GroupMembershipCreatedEvent.class));
+        verify(eventPublisher).publish(any(UserDeletedEvent.class));
+        // external group removed, internal group kept
+        assertEquals(ImmutableSet.of(users, staff), john.getGroups());
+        assertEquals(ImmutableSet.of(admins), jane.getGroups());
+        verify(userRepository).saveAll(Lists.newArrayList(john));
+        verify(provider, never()).findGroupByName(any());
+    }
+
+    @Test
+    public void shouldSkipReconciliationWhenDirectoryIsEmpty() throws Exception {
+        final IAuthenticationProvider provider = mock(IAuthenticationProvider.class);
+        when(provider.isInternal()).thenReturn(false);
+        when(provider.getSupportedDirectory()).thenReturn(UserDirectory.Ldap);
+        when(provider.loadDirectorySnapshot())
+                .thenReturn(Optional.of(new DirectorySnapshot(ImmutableSet.of(), ImmutableMap.of())));
+        when(authenticationProviderService.isStarted()).thenReturn(true);
+        when(authenticationProviderService.hasExternalProvider()).thenReturn(true);
+        when(authenticationProviderService.getAuthenticationProviders()).thenReturn(Lists.newArrayList(provider));
+
+        authenticationSynchroniser.checkDeletedGroups();
+
+        verifyNoMoreInteractions(eventPublisher, groupRepository, userRepository);
+    }
 }
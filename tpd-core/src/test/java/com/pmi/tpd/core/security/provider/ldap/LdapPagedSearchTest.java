@@ -0,0 +1,53 @@
+package com.pmi.tpd.core.security.provider.ldap;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+
+import java.util.List;
+
+import javax.naming.directory.SearchControls;
+import javax.naming.directory.SearchResult;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.springframework.ldap.core.AttributesMapper;
+import org.springframework.ldap.core.ContextSource;
+import org.springframework.ldap.filter.EqualsFilter;
+
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class LdapPagedSearchTest extends MockitoTestCase {
+
+    @Mock(lenient = true)
+    private ContextSource contextSource;
+
+    @Mock(lenient = true)
+    private LdapContext context;
+
+    @Test
+    public void shouldRemovePagedResultsControlBeforeReleasingConnection() throws Exception {
+        when(contextSource.getReadOnlyContext()).thenReturn(context);
+        when(context.search(anyString(), anyString(), any(SearchControls.class)))
+                .thenReturn(new EmptyNamingEnumeration<SearchResult>());
+
+        final List<String> results = LdapPagedSearch.search(contextSource,
+            "dc=company,dc=com",
+            new EqualsFilter("objectClass", "group"),
+            new String[] { "cn" },
+            100,
+            (AttributesMapper<String>) attributes -> null);
+
+        assertTrue(results.isEmpty());
+        final InOrder inOrder = Mockito.inOrder(context);
+        inOrder.verify(context)
+                .setRequestControls(argThat(controls -> controls != null && controls.length == 1
+                        && controls[0] instanceof PagedResultsControl));
+        inOrder.verify(context).search(anyString(), anyString(), any(SearchControls.class));
+        inOrder.verify(context).setRequestControls(null);
+        inOrder.verify(context).close();
+    }
+}
@@ -1,6 +1,9 @@
 package com.pmi.tpd.core.security.provider.ldap;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.util.stream.Collectors;
 
@@ -79,6 +82,35 @@ public class LdapUserAuthenticationProviderTest extends AbstractLdapIntegration
         assertThat(user.getMemberOf(), Matchers.containsInAnyOrder("group app developers", "group app administrators"));
     }
 
+    @Test
+    public void shouldCacheUserLookupUntilCleared() throws Exception {
+        final LdapUserAuthenticationProvider<LdapAuthenticationProperties> provider = create(config);
+        provider.init();
+        provider.userRepository = spy(provider.userRepository);
+
+        assertSame(provider.findUserByName("joe"), provider.findUserByName("joe"));
+        assertNull(provider.findUserByName("noexist"));
+        assertNull(provider.findUserByName("noexist"));
+        verify(provider.userRepository, times(1)).findByName("joe");
+        verify(provider.userRepository, times(1)).findByName("noexist");
+
+        provider.clearCache();
+        assertNotNull(provider.findUserByName("joe"));
+        verify(provider.userRepository, times(2)).findByName("joe");
+    }
+
+    @Test
+    public void shouldNotCacheLookupWhenDisabled() throws Exception {
+        config.setLookupCacheTtl(0);
+        final LdapUserAuthenticationProvider<LdapAuthenticationProperties> provider = create(config);
+        provider.init();
+        provider.groupRepository = spy(provider.groupRepository);
+
+        assertNotNull(provider.findGroupByName("group app developers"));
+        assertNotNull(provider.findGroupByName("group app developers"));
+        verify(provider.groupRepository, times(2)).findByName("group app developers");
+    }
+
     @Test
     public void shouldFindUsersByUsername() throws Exception {
         final LdapUserAuthenticationProvider<LdapAuthenticationProperties> provider = create(config);
@@ -0,0 +1,57 @@
+package com.pmi.tpd.core.security.provider.ldap;
+
+import javax.naming.directory.DirContext;
+import javax.naming.ldap.Control;
+import javax.naming.ldap.LdapContext;
+import javax.naming.ldap.PagedResultsControl;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.ldap.core.ContextSource;
+
+import com.pmi.tpd.core.security.configuration.LdapPoolProperties;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class PooledLdapContextSourceTest extends MockitoTestCase {
+
+    @Mock(lenient = true)
+    private ContextSource target;
+
+    @Mock(lenient = true)
+    private LdapContext connection;
+
+    private PooledLdapContextSource contextSource;
+
+    @BeforeEach
+    public void setUp() {
+        when(target.getReadOnlyContext()).thenReturn(connection);
+        final LdapPoolProperties properties = new LdapPoolProperties();
+        properties.setMaxActive(1);
+        properties.setTestOnBorrow(false);
+        properties.setTestWhileIdle(false);
+        contextSource = new PooledLdapContextSource(target, properties);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        contextSource.destroy();
+    }
+
+    @Test
+    public void shouldClearRequestControlsOfBorrowedConnection() throws Exception {
+        final DirContext first = contextSource.getReadOnlyContext();
+        ((LdapContext) first).setRequestControls(new Control[] { new PagedResultsControl(10, Control.CRITICAL) });
+        first.close();
+
+        final DirContext second = contextSource.getReadOnlyContext();
+        try {
+            // one connection, borrowed twice
+            verify(target).getReadOnlyContext();
+            verify(connection, times(2)).setRequestControls(null);
+        } finally {
+            second.close();
+        }
+    }
+}
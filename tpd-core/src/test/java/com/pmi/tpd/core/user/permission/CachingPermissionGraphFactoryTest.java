@@ -2,6 +2,7 @@ package com.pmi.tpd.core.user.permission;
 
 import static com.pmi.tpd.security.permission.Permission.USER;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -129,16 +130,62 @@ public class CachingPermissionGraphFactoryTest extends MockitoTestCase {
         // initialize the factory
         factory = buildFactory(0);
         factory.warmCaches();
+        factory.addCacheListeners();
 
         verificationFactory = buildFactory(1);
         verificationFactory.warmCaches();
+        verificationFactory.addCacheListeners();
     }
 
     @AfterEach
     public void teardown() {
+        factory.removeCacheListeners();
+        verificationFactory.removeCacheListeners();
         cluster.reset();
     }
 
+    @Test
+    public void shouldReuseResolvedGraph() {
+        mockNoGroupMemberships(user);
+
+        factory.createGraph(user);
+        factory.createGraph(user);
+
+        verify(userService, times(1)).findGroupsByUser(eq(user.getUsername()), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldResolveGraphAfterPermissionChanged() {
+        mockNoGroupMemberships(user);
+        factory.createGraph(user);
+
+        final PermissionEvent event = mock(PermissionEvent.class);
+        when(event.getAffectedUser()).thenReturn(user);
+        factory.onPermissionsChanged(event);
+        factory.createGraph(user);
+
+        verify(userService, times(2)).findGroupsByUser(eq(user.getUsername()), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldResolveGraphAfterPermissionChangedOnOtherNode() throws Exception {
+        mockNoGroupMemberships(user);
+        factory.createGraph(user);
+
+        final PermissionEvent event = mock(PermissionEvent.class);
+        when(event.getAffectedUser()).thenReturn(user);
+        verificationFactory.onPermissionsChanged(event);
+
+        // entry listeners are notified asynchronously
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (!factory.cacheInvalidatedSince(0) && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        factory.createGraph(user);
+
+        verify(userService, times(2)).findGroupsByUser(eq(user.getUsername()), any(Pageable.class));
+    }
+
     @Test
     public void testAnyPermission() {
         // tests whether passing a null resourceId returns 'permission on any resource'
@@ -18,19 +18,24 @@ import org.hamcrest.Description;
 import org.hamcrest.TypeSafeMatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.hamcrest.MockitoHamcrest;
-import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.user.User;
-import com.pmi.tpd.api.user.UserRequest;
+import com.pmi.tpd.core.event.permission.GlobalPermissionGrantedEvent;
+import com.pmi.tpd.core.event.permission.GlobalPermissionRevokedEvent;
+import com.pmi.tpd.core.event.user.GroupMemberAddedEvent;
+import com.pmi.tpd.core.event.user.GroupMemberRemovedEvent;
 import com.pmi.tpd.core.model.user.IIterablePermissionGraph;
 import com.pmi.tpd.core.user.IUserService;
 import com.pmi.tpd.core.user.permission.spi.IEffectivePermissionRepository;
@@ -38,6 +43,7 @@ import com.pmi.tpd.security.IAuthenticationContext;
 import com.pmi.tpd.security.permission.IPermissionGraph;
 import com.pmi.tpd.security.permission.Permission;
 import com.pmi.tpd.security.spring.UserAuthenticationToken;
+import com.pmi.tpd.spring.transaction.ITransactionSynchronizer;
 import com.pmi.tpd.testing.junit5.MockitoTestCase;
 
 public class PermissionServiceImplTest extends MockitoTestCase {
@@ -54,6 +60,9 @@ public class PermissionServiceImplTest extends MockitoTestCase {
     @Mock(lenient = true)
     private IUserService userService;
 
+    @Mock(lenient = true)
+    private ITransactionSynchronizer synchronizer;
+
     @InjectMocks
     private PermissionServiceImpl service;
 
@@ -120,34 +129,68 @@ public class PermissionServiceImplTest extends MockitoTestCase {
 
     @Test
     public void testGetUsersWithPermission() throws Exception {
-        new DirectFieldAccessor(service).setPropertyValue("maxUserPageSize", 100);
         final Permission permission = Permission.USER;
 
-        final IUser user1 = createActiveUser("user1");
-        final IUser user2 = createActiveUser("user2");
-        final IUser user3 = createActiveUser("user3");
-        final IUser user4 = createUser("user4"); // Not active
-
-        when(permissionDao.findUsers(eq(permission), notNull(), notNull())).thenAnswer(invocation -> {
-            final Pageable pageRequest = (Pageable) invocation.getArguments()[1];
-            // only activated user
-            return PageUtils.createPage(Arrays.asList(user1, user2), pageRequest);
-        });
-
-        when(permissionDao.findGroups(eq(permission), notNull())).thenAnswer(invocation -> {
-            final Pageable pageRequest = (Pageable) invocation.getArguments()[1];
-            return PageUtils.createPage(Arrays.asList("group1"), pageRequest);
-        });
-
-        when(userService.findUsersByGroup(eq("group1"), any())).thenAnswer(invocation -> {
-            final Pageable pageRequest = (Pageable) invocation.getArguments()[1];
-            return PageUtils.createPage(Arrays.asList(user2, user3, user4), pageRequest)
-                    .map(user -> UserRequest.builder(user).build());
-        });
+        when(permissionDao.findUsernames(permission)).thenReturn(Sets.newHashSet("user1", "user2", "user3"));
 
         final Set<String> users = service.getUsersWithPermission(permission);
         assertThat(users, containsInAnyOrder("user1", "user2", "user3"));
         assertEquals(3, users.size(), "Number of users is incorrect");
+
+        // resolved from the index
+        assertEquals(users, service.getUsersWithPermission(permission));
+        verify(permissionDao).findUsernames(permission);
+        verify(userService, never()).findUsersByGroup(anyString(), any());
+    }
+
+    @Test
+    public void testGetUsersWithPermissionUpdatedByEvents() throws Exception {
+        when(permissionDao.findUsernames(Permission.USER)).thenReturn(Sets.newHashSet("user1"));
+        when(permissionDao.findUsernames(Permission.SYS_ADMIN)).thenReturn(Sets.newHashSet("user1"));
+        assertThat(service.getUsersWithPermission(Permission.USER), containsInAnyOrder("user1"));
+        assertThat(service.getUsersWithPermission(Permission.SYS_ADMIN), containsInAnyOrder("user1"));
+
+        // granting ADMIN implies USER but not SYS_ADMIN, the index is updated without reading the database
+        service.onPermissionChanged(
+            new GlobalPermissionGrantedEvent(this, Permission.ADMIN, null, createActiveUser("user2")));
+        assertThat(service.getUsersWithPermission(Permission.USER), containsInAnyOrder("user1", "user2"));
+        assertThat(service.getUsersWithPermission(Permission.SYS_ADMIN), containsInAnyOrder("user1"));
+        // inactive users are ignored
+        service.onPermissionChanged(
+            new GlobalPermissionGrantedEvent(this, Permission.USER, null, createUser("user3")));
+        assertThat(service.getUsersWithPermission(Permission.USER), containsInAnyOrder("user1", "user2"));
+        verify(permissionDao).findUsernames(Permission.USER);
+
+        // a revoked permission is reloaded
+        service.onPermissionChanged(new GlobalPermissionRevokedEvent(this, Permission.USER, "group1", null));
+        assertThat(service.getUsersWithPermission(Permission.USER), containsInAnyOrder("user1"));
+        verify(permissionDao, times(2)).findUsernames(Permission.USER);
+        verify(permissionDao).findUsernames(Permission.SYS_ADMIN);
+
+        // membership changes discard all permissions
+        service.onGroupMemberAdded(new GroupMemberAddedEvent(this, "user2", "group1"));
+        service.getUsersWithPermission(Permission.SYS_ADMIN);
+        verify(permissionDao, times(2)).findUsernames(Permission.SYS_ADMIN);
+    }
+
+    @Test
+    public void shouldInvalidateGrantedUsersAfterCommitOfMembershipChange() throws Exception {
+        when(permissionDao.findUsernames(Permission.SYS_ADMIN)).thenReturn(Sets.newHashSet("user1"));
+        when(synchronizer.register(any(TransactionSynchronization.class))).thenReturn(true);
+        service.getUsersWithPermission(Permission.SYS_ADMIN);
+
+        service.onGroupMemberRemoved(new GroupMemberRemovedEvent(this, "user1", "group1"));
+        final ArgumentCaptor<TransactionSynchronization> synchronization = ArgumentCaptor
+                .forClass(TransactionSynchronization.class);
+        verify(synchronizer).register(synchronization.capture());
+
+        // reloaded before commit, the membership change is not visible yet
+        service.getUsersWithPermission(Permission.SYS_ADMIN);
+        verify(permissionDao, times(2)).findUsernames(Permission.SYS_ADMIN);
+
+        synchronization.getValue().afterCommit();
+        service.getUsersWithPermission(Permission.SYS_ADMIN);
+        verify(permissionDao, times(3)).findUsernames(Permission.SYS_ADMIN);
     }
 
     @Test
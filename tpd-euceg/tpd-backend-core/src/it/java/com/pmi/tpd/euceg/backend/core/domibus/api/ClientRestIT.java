@@ -32,7 +32,7 @@ public class ClientRestIT extends MockitoTestCase {
     @BeforeEach
     public void beforeEach() {
         assumeTrue(!Strings.isNullOrEmpty(System.getenv("MODE_ID")));
-        when(applicationProperties.getConfiguration(BackendProperties.class)).thenReturn(BackendProperties.builder()
+        when(applicationProperties.getConfigurationSnapshot(BackendProperties.class)).thenReturn(BackendProperties.builder()
                 .url("http://domibus-blue-192-168-1-175.traefik.me")
                 .username("admin")
                 .password("123456")
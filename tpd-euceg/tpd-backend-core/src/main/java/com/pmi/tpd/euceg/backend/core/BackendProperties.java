@@ -213,6 +213,16 @@ public class BackendProperties {
         @Builder.Default()
         private String concurrency = "1-1";
 
+        /** Indicates whether messages sent to Domibus are delivered in persistent mode. */
+        @Builder.Default()
+        @NoPersistent
+        private boolean persistentDelivery = true;
+
+        /** The maximum number of received messages acknowledged and handled in the same transaction. */
+        @Builder.Default()
+        @NoPersistent
+        private int receiveBatchSize = 50;
+
         /** */
         private String username;
 
@@ -237,5 +247,21 @@ public class BackendProperties {
         @Builder.Default()
         private long pendingInterval = 5L;
 
+        /** The maximum number of concurrent status requests sent to Domibus while polling pending messages. */
+        @Builder.Default()
+        @NoPersistent
+        private int pendingParallelism = 4;
+
+        /** The timeout in second of a status request sent to Domibus while polling pending messages. */
+        @Builder.Default()
+        @NoPersistent
+        @DurationUnit(ChronoUnit.SECONDS)
+        private long pendingTimeout = 30L;
+
+        /** Controls the number of pending messages checked and applied together. */
+        @Builder.Default()
+        @NoPersistent
+        private int pendingBatchSize = 100;
+
     }
 }
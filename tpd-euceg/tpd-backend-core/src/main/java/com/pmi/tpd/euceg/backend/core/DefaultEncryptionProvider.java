@@ -142,7 +142,7 @@ public class DefaultEncryptionProvider implements IEncryptionProvider {
             return this.backendProperties;
         }
         notNull(applicationProperties);
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     /**
@@ -295,8 +295,18 @@ public class DefaultDeliveryBackendManager implements IBackendManager {
         final BackendProperties properties = getBackendProperties();
         switch (properties.getConnectionType()) {
             case Jms:
-                return new JmsMessageSender<>(new DefaultDeliverySenderCreator(encryptionProvider, i18nService),
-                        pendingMessageProvider, eventPublisher, applicationProperties);
+                final JmsMessageSender<Object, AppResponse> jmsSender = new JmsMessageSender<>(
+                        new DefaultDeliverySenderCreator(encryptionProvider, i18nService), pendingMessageProvider,
+                        eventPublisher, applicationProperties);
+                // handles all messages received in a same JMS transaction in a single unit of work
+                jmsSender.setBatchExecutor(batch -> {
+                    if (delegate == null) {
+                        batch.run();
+                    } else {
+                        delegate.handleBatch(batch);
+                    }
+                });
+                return jmsSender;
             case WsPlugin:
                 return new WsPluginMessageSender<>(new DefaultDeliverySenderCreator(encryptionProvider, i18nService),
                         pendingMessageProvider, i18nService, applicationProperties, eventPublisher, keyManagerProvider,
@@ -312,7 +322,7 @@ public class DefaultDeliveryBackendManager implements IBackendManager {
     }
 
     protected BackendProperties getBackendProperties() {
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     /**
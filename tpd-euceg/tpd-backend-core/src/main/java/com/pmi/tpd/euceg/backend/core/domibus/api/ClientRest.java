@@ -164,7 +164,7 @@ public class ClientRest implements IClientRest {
         if (this.backendProperties != null) {
             return this.backendProperties;
         }
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     /**
@@ -0,0 +1,210 @@
+package com.pmi.tpd.euceg.backend.core.domibus.plugin.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+
+import org.springframework.jms.JmsException;
+import org.springframework.jms.listener.DefaultMessageListenerContainer;
+import org.springframework.jms.support.JmsUtils;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * A {@link DefaultMessageListenerContainer} which consumes up to {@link #setBatchSize(int) batchSize} messages in the
+ * same transaction.
+ * <p>
+ * A batch is handled in two phases:
+ * </p>
+ * <ol>
+ * <li>the messages are received without invoking the listener, only the first receive waits for the receive timeout.
+ * An idle poll ends here.</li>
+ * <li>the listener is invoked for all received messages in a single unit of work (for instance a database transaction)
+ * provided by {@link #setBatchExecutor(Consumer)}.</li>
+ * </ol>
+ * <p>
+ * The JMS transaction is committed once the batch has been applied, so messages are acknowledged only after the unit of
+ * work has committed. If any message fails, the whole unit of work and the JMS transaction are rolled back and the batch
+ * is redelivered. A batch stops at the first redelivered message, so a failing message ends up being applied alone and
+ * doesn't hold back the other messages of its former batch.
+ * </p>
+ * <p>
+ * Batching requires either a {@link #setSessionTransacted(boolean) transacted session} or a
+ * {@link #setTransactionManager(org.springframework.transaction.PlatformTransactionManager) transaction manager},
+ * otherwise messages are handled one by one. A batch is received from the same consumer, so the
+ * {@link #setCacheLevel(int) cache level} should be at least {@link #CACHE_CONSUMER}: without a cached consumer, the
+ * container creates a new consumer for each message and a batch rarely gets more than one message.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class BatchMessageListenerContainer extends DefaultMessageListenerContainer {
+
+    /** */
+    private int batchSize = 1;
+
+    /** */
+    @Nullable
+    private Consumer<Runnable> batchExecutor;
+
+    /** messages received by the current invoker thread, while a batch is being received. */
+    private final ThreadLocal<List<ReceivedMessage>> receiving = new ThreadLocal<>();
+
+    /**
+     * @param batchSize
+     *                  the maximum number of messages consumed in the same transaction.
+     */
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * @param batchExecutor
+     *                      executes a batch of listener invocations as a single unit of work (can be {@code null}).
+     */
+    public void setBatchExecutor(@Nullable final Consumer<Runnable> batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
+    @Override
+    protected boolean doReceiveAndExecute(@Nonnull final Object invoker,
+        @Nullable final Session session,
+        @Nullable final MessageConsumer consumer,
+        @Nullable final TransactionStatus status) throws JMSException {
+        if (batchSize <= 1 && batchExecutor == null || status == null && !isLocallyTransacted(session)) {
+            return super.doReceiveAndExecute(invoker, session, consumer, status);
+        }
+        final List<ReceivedMessage> batch = receiveBatch(invoker, session, consumer, status);
+        if (batch.isEmpty()) {
+            return false;
+        }
+        if (status == null || !status.isRollbackOnly()) {
+            executeBatch(batch, status);
+        }
+        return true;
+    }
+
+    /**
+     * Defers the commit of a locally transacted session until the batch has been applied.
+     */
+    @Override
+    protected void commitIfNecessary(@Nonnull final Session session, @Nullable final Message message)
+            throws JMSException {
+        if (receiving.get() == null) {
+            super.commitIfNecessary(session, message);
+        }
+    }
+
+    /**
+     * Collects the received message instead of invoking the listener, while a batch is being received.
+     */
+    @Override
+    protected void invokeListener(@Nonnull final Session session, @Nonnull final Message message)
+            throws JMSException {
+        final List<ReceivedMessage> batch = receiving.get();
+        if (batch != null) {
+            batch.add(new ReceivedMessage(session, message));
+        } else {
+            super.invokeListener(session, message);
+        }
+    }
+
+    /**
+     * Only the first message of a batch waits for the receive timeout.
+     */
+    @Override
+    @Nullable
+    protected Message receiveMessage(@Nonnull final MessageConsumer consumer) throws JMSException {
+        final List<ReceivedMessage> batch = receiving.get();
+        if (batch != null && !batch.isEmpty()) {
+            return consumer.receiveNoWait();
+        }
+        return super.receiveMessage(consumer);
+    }
+
+    private List<ReceivedMessage> receiveBatch(final Object invoker,
+        @Nullable final Session session,
+        @Nullable final MessageConsumer consumer,
+        final TransactionStatus status) throws JMSException {
+        final List<ReceivedMessage> batch = new ArrayList<>(batchSize);
+        receiving.set(batch);
+        try {
+            while (batch.size() < batchSize) {
+                final int size = batch.size();
+                if (!super.doReceiveAndExecute(invoker, session, consumer, status) || batch.size() == size
+                        || status != null && status.isRollbackOnly()) {
+                    break;
+                }
+                // stop at a redelivered message, once its batch has failed it ends up being applied alone
+                if (batch.get(size).message.getJMSRedelivered()) {
+                    break;
+                }
+            }
+        } finally {
+            receiving.remove();
+        }
+        return batch;
+    }
+
+    private void executeBatch(final List<ReceivedMessage> batch, @Nullable final TransactionStatus status)
+            throws JMSException {
+        final ReceivedMessage last = batch.get(batch.size() - 1);
+        final Runnable runnable = () -> {
+            for (final ReceivedMessage received : batch) {
+                try {
+                    invokeListener(received.session, received.message);
+                } catch (final JMSException ex) {
+                    throw JmsUtils.convertJmsAccessException(ex);
+                }
+            }
+        };
+        try {
+            if (batchExecutor != null) {
+                batchExecutor.accept(runnable);
+            } else {
+                runnable.run();
+            }
+        } catch (final RuntimeException | Error ex) {
+            // the unit of work has been rolled back, the whole batch will be redelivered
+            if (status != null) {
+                status.setRollbackOnly();
+            }
+            rollbackIfNecessary(last.session);
+            handleListenerException(ex);
+            if (ex instanceof JmsException && ex.getCause() instanceof JMSException) {
+                // infrastructure problem, let the container recover
+                throw (JMSException) ex.getCause();
+            }
+            return;
+        }
+        commitIfNecessary(last.session, last.message);
+    }
+
+    private boolean isLocallyTransacted(@Nullable final Session session) throws JMSException {
+        return session != null && session.getTransacted() && isSessionLocallyTransacted(session);
+    }
+
+    /**
+     * A message received in the session of current batch.
+     */
+    private static final class ReceivedMessage {
+
+        /** */
+        private final Session session;
+
+        /** */
+        private final Message message;
+
+        ReceivedMessage(final Session session, final Message message) {
+            this.session = session;
+            this.message = message;
+        }
+    }
+}
@@ -10,7 +10,9 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import javax.activation.DataSource;
+import javax.activation.FileDataSource;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
 import javax.jms.Message;
@@ -56,17 +58,7 @@ public class JmsHelper {
         messageMap.setStringProperty("P1InBody", "true");
         // messageMap.setStringProperty("putAttachmentInQueue", "true");
 
-        messageMap.setStringProperty("totalNumberOfPayloads", String.valueOf(submitMessage.getPayloads().size()));
-        int index = 1;
-        for (final Payload payload : submitMessage.getPayloads()) {
-            final String prefix = MessageFormat.format("payload_{0}", index);
-            messageMap.setStringProperty(prefix + "_mimeContentId", payload.getMimeContentId());
-            messageMap.setStringProperty(prefix + "_mimeType", payload.getMimeType());
-            messageMap.setStringProperty(prefix + "_fileName", payload.getFileName());
-            messageMap.setStringProperty(prefix + "_PayloadName", payload.getName());
-            messageMap.setBytes(prefix, toByteArray(payload));
-            index++;
-        }
+        writePayloads(messageMap, submitMessage.getPayloads());
 
         return messageMap;
     }
@@ -98,17 +90,7 @@ public class JmsHelper {
         messageMap.setStringProperty("P1InBody", "true");
         // messageMap.setStringProperty("putAttachmentInQueue", "true");
 
-        messageMap.setStringProperty("totalNumberOfPayloads", String.valueOf(responseMessage.getPayloads().size()));
-        int index = 1;
-        for (final Payload payload : responseMessage.getPayloads()) {
-            final String prefix = MessageFormat.format("payload_{0}", index);
-            messageMap.setStringProperty(prefix + "_mimeContentId", payload.getMimeContentId());
-            messageMap.setStringProperty(prefix + "_mimeType", payload.getMimeType());
-            messageMap.setStringProperty(prefix + "_fileName", payload.getFileName());
-            messageMap.setStringProperty(prefix + "_PayloadName", payload.getName());
-            messageMap.setBytes(prefix, toByteArray(payload));
-            index++;
-        }
+        writePayloads(messageMap, responseMessage.getPayloads());
 
         return messageMap;
     }
@@ -221,6 +203,49 @@ public class JmsHelper {
                 .build();
     }
 
+    /**
+     * Writes the payloads in the message.
+     * <p>
+     * The Domibus JMS plugin only accepts {@link MapMessage} submissions carrying the content of each payload, so the
+     * payloads can't be streamed or chunked: each payload is held in memory once, while the message is built.
+     * </p>
+     */
+    private static void writePayloads(final MapMessage messageMap, final List<Payload> payloads)
+            throws JMSException {
+        messageMap.setStringProperty("totalNumberOfPayloads", String.valueOf(payloads.size()));
+        int index = 1;
+        for (final Payload payload : payloads) {
+            final String prefix = MessageFormat.format("payload_{0}", index);
+            messageMap.setStringProperty(prefix + "_mimeContentId", payload.getMimeContentId());
+            messageMap.setStringProperty(prefix + "_mimeType", payload.getMimeType());
+            messageMap.setStringProperty(prefix + "_fileName", payload.getFileName());
+            messageMap.setStringProperty(prefix + "_PayloadName", payload.getName());
+            // the whole content of file is read, once, straight from the file
+            final File file = toFile(payload);
+            messageMap.setBytes(prefix, file != null ? readFile(file) : toByteArray(payload));
+            index++;
+        }
+    }
+
+    @Nullable
+    private static File toFile(final Payload payload) {
+        if (payload instanceof PayloadFile) {
+            return ((PayloadFile) payload).getContent();
+        } else if (payload instanceof PayloadDataSource
+                && ((PayloadDataSource) payload).getContent() instanceof FileDataSource) {
+            return ((FileDataSource) ((PayloadDataSource) payload).getContent()).getFile();
+        }
+        return null;
+    }
+
+    private static byte[] readFile(final File file) {
+        try {
+            return readAllBytes(file.toPath());
+        } catch (final IOException ex) {
+            throw new RuntimeException(ex.getLocalizedMessage(), ex);
+        }
+    }
+
     private static byte[] toByteArray(final Payload payload) {
         byte[] bytes = null;
         if (payload instanceof PayloadByte) {
@@ -228,11 +253,7 @@ public class JmsHelper {
         } else if (payload instanceof PayloadFile) {
             final File file = ((PayloadFile) payload).getContent();
             if (file != null) {
-                try {
-                    bytes = readAllBytes(file.toPath());
-                } catch (final IOException ex) {
-                    throw new RuntimeException(ex.getLocalizedMessage(), ex);
-                }
+                bytes = readFile(file);
             }
         } else if (payload instanceof PayloadDataSource) {
             final DataSource source = ((PayloadDataSource) payload).getContent();
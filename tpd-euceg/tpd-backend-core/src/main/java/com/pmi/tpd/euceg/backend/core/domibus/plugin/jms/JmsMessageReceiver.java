@@ -32,13 +32,11 @@ import org.apache.activemq.command.ActiveMQQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.connection.CachingConnectionFactory;
-import org.springframework.jms.connection.JmsTransactionManager;
 import org.springframework.jms.connection.SingleConnectionFactory;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.listener.DefaultMessageListenerContainer;
 import org.springframework.jms.listener.SessionAwareMessageListener;
 import org.springframework.jms.support.JmsUtils;
-import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.util.ErrorHandler;
 
 import com.google.common.base.Strings;
@@ -48,6 +46,7 @@ import com.pmi.tpd.api.event.publisher.IEventPublisher;
 import com.pmi.tpd.api.util.RandomUtil;
 import com.pmi.tpd.euceg.backend.core.BackendException;
 import com.pmi.tpd.euceg.backend.core.BackendProperties;
+import com.pmi.tpd.euceg.backend.core.BackendProperties.JmsOption;
 import com.pmi.tpd.euceg.backend.core.IReceiver;
 import com.pmi.tpd.euceg.backend.core.IReceiverMessageCreator;
 import com.pmi.tpd.euceg.backend.core.event.EventBackendReceived;
@@ -77,8 +76,6 @@ public class JmsMessageReceiver<R>
 
     private SingleConnectionFactory connectionFactory;
 
-    private PlatformTransactionManager transactionManager;
-
     private BackendProperties backendProperties;
 
     private boolean started = false;
@@ -172,7 +169,7 @@ public class JmsMessageReceiver<R>
             return this.backendProperties;
         }
         notNull(applicationProperties);
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     @Override
@@ -245,11 +242,10 @@ public class JmsMessageReceiver<R>
         conn.setPassword(properties.getJmsOptions().getPassword());
         this.connectionFactory = new CachingConnectionFactory(conn);
 
-        this.transactionManager = new JmsTransactionManager(connectionFactory);
-
         this.template = new JmsTemplate(connectionFactory);
         // this.template.setSessionTransacted(true);
-        this.template.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        template.setExplicitQosEnabled(true);
+        template.setDeliveryPersistent(properties.getJmsOptions().isPersistentDelivery());
         template.setSessionAcknowledgeMode(Session.AUTO_ACKNOWLEDGE);
 
         containers = Lists.newArrayListWithCapacity(4);
@@ -269,7 +265,8 @@ public class JmsMessageReceiver<R>
     protected DefaultMessageListenerContainer createMessageListenerContainer(final String queue,
         final Object messageListener,
         final String messageSelector) {
-        final DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        final BatchMessageListenerContainer container = new BatchMessageListenerContainer();
+        container.setBatchSize(getBackendProperties().getJmsOptions().getReceiveBatchSize());
         container.setConnectionFactory(connectionFactory);
         container.setErrorHandler(this);
         container.setExceptionListener(this);
@@ -282,14 +279,19 @@ public class JmsMessageReceiver<R>
         container.setMessageListener(messageListener);
         container.setAutoStartup(false);
         container.setConcurrency(concurencyListener);
-        container.setTransactionManager(transactionManager);
+        // a batch is received from the cached consumer and committed with its locally transacted session
+        container.setCacheLevel(DefaultMessageListenerContainer.CACHE_CONSUMER);
+        container.setSessionTransacted(true);
         return container;
     }
 
     private void sendResponse(@Nonnull final ResponseMessage responseMessage, final Session session)
             throws JMSException {
         final Queue queue = session.createQueue(JmsConstants.JMS_QUEUE_IN_NAME);
+        final JmsOption options = getBackendProperties().getJmsOptions();
         final MessageProducer producer = session.createProducer(queue);
+        producer.setDeliveryMode(
+            options.isPersistentDelivery() ? DeliveryMode.PERSISTENT : DeliveryMode.NON_PERSISTENT);
         producer.send(JmsHelper.convertFrom(responseMessage, session));
         publish(new EventBackendReceived<>(this, responseMessage));
         producer.close();
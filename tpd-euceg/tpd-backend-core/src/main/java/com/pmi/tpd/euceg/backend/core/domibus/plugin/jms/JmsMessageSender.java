@@ -14,11 +14,11 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.jms.DeliveryMode;
 import javax.jms.ExceptionListener;
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
@@ -31,12 +31,10 @@ import org.apache.activemq.command.ActiveMQQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jms.connection.CachingConnectionFactory;
-import org.springframework.jms.connection.JmsTransactionManager;
 import org.springframework.jms.connection.SingleConnectionFactory;
 import org.springframework.jms.core.JmsTemplate;
 import org.springframework.jms.listener.DefaultMessageListenerContainer;
 import org.springframework.jms.support.JmsUtils;
-import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.ErrorHandler;
@@ -88,10 +86,11 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
     private SingleConnectionFactory connectionFactory;
 
     /** */
-    private PlatformTransactionManager transactionManager;
+    private BackendProperties backendProperties;
 
     /** */
-    private BackendProperties backendProperties;
+    @Nullable
+    private Consumer<Runnable> batchExecutor;
 
     /** */
     private boolean started = false;
@@ -114,6 +113,17 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
         this.applicationProperties = checkNotNull(applicationProperties, "applicationProperties");
     }
 
+    /**
+     * Sets the executor wrapping the handling of a batch of received messages in a single unit of work.
+     *
+     * @param batchExecutor
+     *                      a batch executor (can be {@code null}).
+     * @since 3.4
+     */
+    public void setBatchExecutor(@Nullable final Consumer<Runnable> batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+
     @Override
     public void setAutoStartup(final boolean autoStartup) {
         this.autoStartup = autoStartup;
@@ -175,7 +185,7 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
         if (this.backendProperties != null) {
             return this.backendProperties;
         }
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     @Override
@@ -227,10 +237,9 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
         }
         this.connectionFactory = new CachingConnectionFactory(conn);
 
-        this.transactionManager = new JmsTransactionManager(connectionFactory);
-
         this.template = new JmsTemplate(connectionFactory);
-        this.template.setDeliveryMode(DeliveryMode.NON_PERSISTENT);
+        template.setExplicitQosEnabled(true);
+        template.setDeliveryPersistent(properties.getJmsOptions().isPersistentDelivery());
         template.setSessionAcknowledgeMode(Session.SESSION_TRANSACTED);
         template.setSessionTransacted(true);
         template.setReceiveTimeout(Duration.ofSeconds(properties.getJmsOptions().getReceiveTimeout()).toMillis());
@@ -270,7 +279,9 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
         @Nullable final String messageSelector) {
         Assert.checkHasText(queue, "queue");
         final BackendProperties properties = getBackendProperties();
-        final DefaultMessageListenerContainer container = new DefaultMessageListenerContainer();
+        final BatchMessageListenerContainer container = new BatchMessageListenerContainer();
+        container.setBatchSize(properties.getJmsOptions().getReceiveBatchSize());
+        container.setBatchExecutor(batchExecutor);
         container.setConnectionFactory(connectionFactory);
         container.setErrorHandler(this);
         container.setExceptionListener(this);
@@ -281,7 +292,9 @@ public class JmsMessageSender<REQUEST, RESPONSE> implements ISender<REQUEST>, Er
         container.setMessageListener(messageListener);
         container.setAutoStartup(false);
         container.setConcurrency(properties.getJmsOptions().getConcurrency());
-        container.setTransactionManager(transactionManager);
+        // a batch is received from the cached consumer and committed with its locally transacted session
+        container.setCacheLevel(DefaultMessageListenerContainer.CACHE_CONSUMER);
+        container.setSessionTransacted(true);
         return container;
     }
 
@@ -31,6 +31,7 @@ import com.pmi.tpd.euceg.backend.core.domibus.plugin.jms.SubmitMessage;
 import com.pmi.tpd.euceg.backend.core.domibus.support.AbstractWsMessageSender;
 import com.pmi.tpd.euceg.backend.core.event.EventBackendReceived;
 import com.pmi.tpd.euceg.backend.core.internal.WebServiceFactory;
+import com.pmi.tpd.euceg.backend.core.message.IBackendMessage;
 import com.pmi.tpd.euceg.backend.core.message.MessageCurrentStatus;
 import com.pmi.tpd.euceg.backend.core.message.MessageReceiveFailure;
 import com.pmi.tpd.euceg.backend.core.message.MessageSendFailure;
@@ -134,7 +135,7 @@ public class WsPluginMessageSender<REQUEST, RESPONSE> extends AbstractWsMessageS
     }
 
     @Override
-    protected @Nonnull TransmitStatus checkPendingMessage(final @Nonnull String messageId) {
+    protected @Nonnull IBackendMessage queryPendingMessage(final @Nonnull String messageId) {
         // Try to retrieve message from Domibus if exists
         final MessageStatus messageStatus = this.getMessageStatus(messageId);
         if (LOGGER.isDebugEnabled()) {
@@ -147,28 +148,16 @@ public class WsPluginMessageSender<REQUEST, RESPONSE> extends AbstractWsMessageS
         }
         // update only if REJECTED
         if (TransmitStatus.REJECTED.equals(status)) {
-            EventBackendReceived<?> event = null;
             switch (messageStatus) {
                 case SEND_FAILURE:
-                    event = new EventBackendReceived<>(this,
-                            MessageSendFailure.builder().status(status).messageId(messageId).build());
-                    break;
+                    return MessageSendFailure.builder().status(status).messageId(messageId).build();
                 case SEND_ATTEMPT_FAILED:
                 default:
-                    event = new EventBackendReceived<>(this,
-                            MessageReceiveFailure.builder().status(status).messageId(messageId).build());
-                    break;
+                    return MessageReceiveFailure.builder().status(status).messageId(messageId).build();
             }
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug("Publish rejected event: {}", event);
-            }
-            getEventPublisher().publish(event);
-        } else {
-            // publish current status
-            getEventPublisher().publish(new EventBackendReceived<>(this,
-                    MessageCurrentStatus.builder().messageId(messageId).status(status).build()));
         }
-        return status;
+        // current status
+        return MessageCurrentStatus.builder().messageId(messageId).status(status).build();
     }
 
     @Nonnull
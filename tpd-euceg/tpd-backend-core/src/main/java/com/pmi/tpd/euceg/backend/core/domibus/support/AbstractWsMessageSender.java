@@ -8,9 +8,20 @@ import static com.pmi.tpd.euceg.backend.core.message.MessageHelper.createSubmitM
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import javax.activation.DataSource;
 import javax.annotation.Nonnull;
@@ -23,6 +34,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.pmi.tpd.api.context.IApplicationProperties;
 import com.pmi.tpd.api.crypto.IKeyManagerProvider;
 import com.pmi.tpd.api.event.annotation.EventListener;
@@ -34,7 +47,6 @@ import com.pmi.tpd.api.scheduler.ISchedulerService;
 import com.pmi.tpd.api.scheduler.SchedulerServiceException;
 import com.pmi.tpd.euceg.api.BackendNotStartedException;
 import com.pmi.tpd.euceg.api.EucegException;
-import com.pmi.tpd.euceg.api.entity.TransmitStatus;
 import com.pmi.tpd.euceg.backend.core.BackendException;
 import com.pmi.tpd.euceg.backend.core.BackendProperties;
 import com.pmi.tpd.euceg.backend.core.ISender;
@@ -42,6 +54,7 @@ import com.pmi.tpd.euceg.backend.core.ISenderMessageCreator;
 import com.pmi.tpd.euceg.backend.core.domibus.plugin.jms.SubmitMessage;
 import com.pmi.tpd.euceg.backend.core.event.EventBackendReceived;
 import com.pmi.tpd.euceg.backend.core.internal.GracefullyScheduledFuture;
+import com.pmi.tpd.euceg.backend.core.message.IBackendMessage;
 import com.pmi.tpd.euceg.backend.core.message.Response;
 import com.pmi.tpd.euceg.backend.core.spi.IPendingMessageProvider;
 
@@ -82,6 +95,9 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
     /** */
     private ScheduledExecutorService taskScheduler;
 
+    /** executor used to query the status of pending messages concurrently. */
+    private ExecutorService pendingExecutor;
+
     /** */
     protected GracefullyScheduledFuture currentTask;
 
@@ -147,7 +163,7 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
         if (this.backendProperties != null) {
             return this.backendProperties;
         }
-        return applicationProperties.getConfiguration(BackendProperties.class);
+        return applicationProperties.getConfigurationSnapshot(BackendProperties.class);
     }
 
     @Override
@@ -187,6 +203,9 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
             return;
         }
         try {
+            final int parallelism = Math.max(1, properties.getWsOptions().getPendingParallelism());
+            pendingExecutor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("domibus-pending-%d").setDaemon(true).build());
             if (schedulerService != null) {
                 pendingScheduler = new WsMessageReceiverScheduler(this, applicationProperties);
                 pendingScheduler.schedule(schedulerService);
@@ -225,8 +244,13 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
         } catch (final Exception ex) {
             LOGGER.warn(ex.getMessage(), ex);
         }
+        if (pendingExecutor != null) {
+            // let in-flight status requests complete, they are bounded by the pending timeout.
+            pendingExecutor.shutdown();
+        }
         pendingScheduler = null;
         taskScheduler = null;
+        pendingExecutor = null;
     }
 
     @Override
@@ -285,9 +309,7 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
         // gets all messages waiting response
         final var pendings = this.pendingMessageProvider.getPendingMessageIds();
         // Check the status of transmission for all pending messages.
-        for (final String messageId : pendings) {
-            checkPendingMessage(messageId);
-        }
+        checkPendingMessages(pendings);
 
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug("Scheduling pending messages: Retrieve Reponse of pending message");
@@ -334,11 +356,76 @@ public abstract class AbstractWsMessageSender<REQUEST, RESPONSE> implements ISen
     }
 
     /**
+     * Checks the status of transmission of pending messages and publishes the result for each message.
+     * <p>
+     * Status requests are sent concurrently, bounded by {@link BackendProperties.WsOption#getPendingParallelism()}
+     * and {@link BackendProperties.WsOption#getPendingTimeout()}, by batch of
+     * {@link BackendProperties.WsOption#getPendingBatchSize()} messages. The results of a batch are published in the
+     * polling thread, in the order of messages. A message which the status can not be retrieved is treated on next
+     * iteration.
+     * </p>
+     *
+     * @param messageIds
+     *            the pending messages to check.
+     */
+    protected void checkPendingMessages(@Nonnull final Collection<String> messageIds) {
+        final ExecutorService executor = this.pendingExecutor;
+        if (messageIds.isEmpty() || executor == null) {
+            return;
+        }
+        final BackendProperties.WsOption options = getBackendProperties().getWsOptions();
+        final long timeout = options.getPendingTimeout();
+        for (final List<String> batch : Iterables.partition(messageIds, Math.max(1, options.getPendingBatchSize()))) {
+            if (!this.isRunning()) {
+                return;
+            }
+            final Map<String, CompletableFuture<IBackendMessage>> results = new LinkedHashMap<>();
+            try {
+                for (final String messageId : batch) {
+                    CompletableFuture<IBackendMessage> result = CompletableFuture
+                            .supplyAsync(() -> queryPendingMessage(messageId), executor);
+                    if (timeout > 0) {
+                        result = result.orTimeout(timeout, TimeUnit.SECONDS);
+                    }
+                    results.put(messageId, result);
+                }
+            } catch (final RejectedExecutionException e) {
+                // the backend is shutting down
+                return;
+            }
+            for (final Map.Entry<String, CompletableFuture<IBackendMessage>> entry : results.entrySet()) {
+                final IBackendMessage message;
+                try {
+                    message = entry.getValue().join();
+                } catch (final CompletionException | CancellationException e) {
+                    final Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    // Will be treated on next iteration
+                    LOGGER.warn("Check status of message '{}' has failed for unexpected error : {}",
+                        entry.getKey(),
+                        cause instanceof TimeoutException ? "timeout" : cause.getMessage());
+                    continue;
+                }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Publish status of message {}: {}", entry.getKey(), message);
+                }
+                eventPublisher.publish(new EventBackendReceived<>(this, message));
+            }
+        }
+    }
+
+    /**
+     * Retrieves the status of transmission of a pending message.
+     * <p>
+     * <b>Note:</b> this method is called concurrently and should not publish any event.
+     * </p>
+     *
      * @param messageId
-     * @return
+     *            the pending message to check.
+     * @return Returns a {@link IBackendMessage} representing the current status of message.
+     * @since 3.4
      */
     @Nonnull
-    protected abstract TransmitStatus checkPendingMessage(@Nonnull String messageId);
+    protected abstract IBackendMessage queryPendingMessage(@Nonnull String messageId);
 
     @Nonnull
     protected abstract Response<RESPONSE> getResponse(@Nonnull final String messageId);
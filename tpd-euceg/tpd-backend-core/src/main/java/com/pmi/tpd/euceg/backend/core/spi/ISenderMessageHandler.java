@@ -64,4 +64,16 @@ public interface ISenderMessageHandler<R> {
      */
     void handleMessageSent(@Nonnull MessageSent message);
 
+    /**
+     * Handles a batch of received messages as a single unit of work. Messages handled while {@code batch} runs share the
+     * same transaction.
+     *
+     * @param batch
+     *              the batch to execute.
+     * @since 3.4
+     */
+    default void handleBatch(@Nonnull final Runnable batch) {
+        batch.run();
+    }
+
 }
@@ -79,7 +79,7 @@ public class DefaultEncryptionProviderTest extends MockitoTestCase {
     public void setup() {
         encryptionProviderReciever = new DefaultEncryptionProvider(keyProviderReceiver);
         encryptionProviderReciever.setBackendProperties(backendPropertiesReceiver);
-        when(applicationProperties.getConfiguration(eq(BackendProperties.class))).thenReturn(backendPropertiesSender);
+        when(applicationProperties.getConfigurationSnapshot(eq(BackendProperties.class))).thenReturn(backendPropertiesSender);
     }
 
     @Test
@@ -0,0 +1,213 @@
+package com.pmi.tpd.euceg.backend.core.domibus.plugin.jms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.MessageListener;
+import javax.jms.Session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.transaction.TransactionStatus;
+
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class BatchMessageListenerContainerTest extends MockitoTestCase {
+
+    @Mock(lenient = true)
+    private Session session;
+
+    @Mock(lenient = true)
+    private MessageConsumer consumer;
+
+    @Mock(lenient = true)
+    private TransactionStatus status;
+
+    /** listener invocations, with whether a unit of work was active. */
+    private final List<String> invocations = new ArrayList<>();
+
+    /** outcome of each unit of work. */
+    private final List<String> unitsOfWork = new ArrayList<>();
+
+    private boolean inUnitOfWork;
+
+    private TestContainer container;
+
+    @BeforeEach
+    public void setUp() {
+        container = new TestContainer();
+        container.setConnectionFactory(mock(ConnectionFactory.class));
+        container.setBatchSize(10);
+        container.setAcceptMessagesWhileStopping(true);
+        container.setReceiveTimeout(1000);
+        container.setBatchExecutor(batch -> {
+            inUnitOfWork = true;
+            try {
+                batch.run();
+                unitsOfWork.add("commit");
+            } catch (final RuntimeException ex) {
+                unitsOfWork.add("rollback");
+                throw ex;
+            } finally {
+                inUnitOfWork = false;
+            }
+        });
+        container.setErrorHandler(ex -> {
+        });
+    }
+
+    @Test
+    public void shouldNotStartUnitOfWorkOnIdlePoll() throws Exception {
+        container.setMessageListener((MessageListener) message -> invocations.add("message"));
+
+        assertFalse(container.doReceiveAndExecute(new Object(), session, consumer, status));
+
+        verify(consumer).receive(1000);
+        verify(consumer, never()).receiveNoWait();
+        assertTrue(unitsOfWork.isEmpty());
+        assertTrue(invocations.isEmpty());
+    }
+
+    @Test
+    public void shouldApplyReceivedMessagesInOneUnitOfWork() throws Exception {
+        final Message first = message("first", false);
+        final Message second = message("second", false);
+        when(consumer.receive(1000)).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, (Message) null);
+        container.setMessageListener(
+            (MessageListener) message -> invocations.add(id(message) + (inUnitOfWork ? ":unit" : ":none")));
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, status));
+
+        // only the first receive waits
+        verify(consumer).receive(1000);
+        verify(consumer, times(2)).receiveNoWait();
+        assertEquals(List.of("first:unit", "second:unit"), invocations);
+        assertEquals(List.of("commit"), unitsOfWork);
+        verify(status, never()).setRollbackOnly();
+    }
+
+    @Test
+    public void shouldRollbackWholeBatchWhenMessageFails() throws Exception {
+        final Message first = message("first", false);
+        final Message second = message("second", false);
+        final Message third = message("third", false);
+        when(consumer.receive(1000)).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, third, null);
+        container.setMessageListener((MessageListener) message -> {
+            invocations.add(id(message));
+            if ("second".equals(id(message))) {
+                throw new IllegalStateException("failed");
+            }
+        });
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, status));
+
+        // the unit of work doesn't commit the first message, the JMS transaction is rolled back
+        assertEquals(List.of("first", "second"), invocations);
+        assertEquals(List.of("rollback"), unitsOfWork);
+        verify(status).setRollbackOnly();
+    }
+
+    @Test
+    public void shouldStopBatchAtRedeliveredMessage() throws Exception {
+        final Message redelivered = message("redelivered", true);
+        when(consumer.receive(1000)).thenReturn(redelivered);
+        container.setMessageListener((MessageListener) message -> invocations.add(id(message)));
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, status));
+
+        verify(consumer, never()).receiveNoWait();
+        assertEquals(List.of("redelivered"), invocations);
+        assertEquals(List.of("commit"), unitsOfWork);
+    }
+
+    @Test
+    public void shouldCommitLocallyTransactedSessionOnceBatchIsApplied() throws Exception {
+        final Message first = message("first", false);
+        final Message second = message("second", false);
+        final Message third = message("third", false);
+        container.setSessionTransacted(true);
+        when(session.getTransacted()).thenReturn(true);
+        doAnswer(invocation -> unitsOfWork.add("jms commit")).when(session).commit();
+        // the consumer is cached, all messages of batch are received from it
+        when(consumer.receive(1000)).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, third, null);
+        container.setMessageListener((MessageListener) message -> invocations.add(id(message)));
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, null));
+
+        assertEquals(List.of("first", "second", "third"), invocations);
+        // one JMS commit for the whole batch, after the unit of work
+        assertEquals(List.of("commit", "jms commit"), unitsOfWork);
+        verify(session, never()).rollback();
+    }
+
+    @Test
+    public void shouldRollbackLocallyTransactedSessionWhenMessageFails() throws Exception {
+        final Message first = message("first", false);
+        final Message second = message("second", false);
+        container.setSessionTransacted(true);
+        when(session.getTransacted()).thenReturn(true);
+        when(consumer.receive(1000)).thenReturn(first);
+        when(consumer.receiveNoWait()).thenReturn(second, (Message) null);
+        container.setMessageListener((MessageListener) message -> {
+            invocations.add(id(message));
+            throw new IllegalStateException("failed");
+        });
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, null));
+
+        assertEquals(List.of("first"), invocations);
+        assertEquals(List.of("rollback"), unitsOfWork);
+        verify(session).rollback();
+        verify(session, never()).commit();
+    }
+
+    @Test
+    public void shouldNotBatchWithoutTransaction() throws Exception {
+        final Message first = message("first", false);
+        when(consumer.receive(1000)).thenReturn(first);
+        container.setMessageListener((MessageListener) message -> invocations.add(id(message)));
+
+        assertTrue(container.doReceiveAndExecute(new Object(), session, consumer, null));
+
+        verify(consumer, never()).receiveNoWait();
+        assertEquals(List.of("first"), invocations);
+        assertTrue(unitsOfWork.isEmpty());
+    }
+
+    private static Message message(final String id, final boolean redelivered) throws Exception {
+        final Message message = mock(Message.class, withSettings().lenient());
+        when(message.getJMSMessageID()).thenReturn(id);
+        when(message.getJMSRedelivered()).thenReturn(redelivered);
+        return message;
+    }
+
+    private static String id(final Message message) {
+        try {
+            return message.getJMSMessageID();
+        } catch (final Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * The invoker of {@link org.springframework.jms.listener.DefaultMessageListenerContainer} isn't reachable from
+     * tests.
+     */
+    private static class TestContainer extends BatchMessageListenerContainer {
+
+        @Override
+        protected void messageReceived(final Object invoker, final Session session) {
+        }
+
+        @Override
+        protected void noMessageReceived(final Object invoker, final Session session) {
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.pmi.tpd.euceg.backend.core.domibus.plugin.jms;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.activation.FileDataSource;
+import javax.jms.MapMessage;
+import javax.jms.Session;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import com.pmi.tpd.euceg.backend.core.message.PayloadDataSource;
+import com.pmi.tpd.euceg.backend.core.message.PayloadFile;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class JmsHelperTest extends MockitoTestCase {
+
+    @TempDir
+    public Path temporaryFolder;
+
+    @Mock(lenient = true)
+    private Session session;
+
+    @Mock(lenient = true)
+    private MapMessage mapMessage;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        when(session.createMapMessage()).thenReturn(mapMessage);
+    }
+
+    @Test
+    public void shouldSendFilePayloadByValue() throws Exception {
+        final File file = createFile("payload.xml", "payload content");
+
+        JmsHelper.convertFrom(createResponseMessage(file), session);
+
+        verify(mapMessage).setStringProperty("totalNumberOfPayloads", "1");
+        verify(mapMessage).setBytes(eq("payload_1"), eq("payload content".getBytes(StandardCharsets.UTF_8)));
+        // the file stays in working directory of sender, removed once the message is sent
+        assertTrue(file.exists());
+    }
+
+    @Test
+    public void shouldSendFileDataSourcePayloadByValue() throws Exception {
+        final File file = createFile("payload.xml", "payload content");
+
+        JmsHelper.convertFrom(ResponseMessage.builder()
+                .messageId("messageId")
+                .payloads(List.of(PayloadDataSource.builder()
+                        .name("payload")
+                        .fileName(file.getName())
+                        .mimeType("text/xml")
+                        .mimeContentId("cid:message")
+                        .content(new FileDataSource(file))
+                        .build()))
+                .build(),
+            session);
+
+        verify(mapMessage).setBytes(eq("payload_1"), eq("payload content".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private File createFile(final String name, final String content) throws Exception {
+        final Path path = temporaryFolder.resolve(name);
+        Files.writeString(path, content);
+        return path.toFile();
+    }
+
+    private ResponseMessage createResponseMessage(final File file) {
+        return ResponseMessage.builder()
+                .messageId("messageId")
+                .payloads(List.of(PayloadFile.builder()
+                        .name("payload")
+                        .fileName(file.getName())
+                        .mimeType("text/xml")
+                        .mimeContentId("cid:message")
+                        .content(file)
+                        .build()))
+                .build();
+    }
+}
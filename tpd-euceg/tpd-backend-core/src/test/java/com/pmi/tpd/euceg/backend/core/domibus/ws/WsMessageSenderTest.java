@@ -23,12 +23,15 @@ import com.pmi.tpd.api.lifecycle.ConfigurationChangedEvent;
 import com.pmi.tpd.euceg.api.BackendNotStartedException;
 import com.pmi.tpd.euceg.api.EucegException;
 import com.pmi.tpd.euceg.api.Eucegs;
+import com.pmi.tpd.euceg.api.entity.TransmitStatus;
 import com.pmi.tpd.euceg.backend.core.BackendProperties;
 import com.pmi.tpd.euceg.backend.core.BackendProperties.ConnectionType;
 import com.pmi.tpd.euceg.backend.core.ISenderMessageCreator;
 import com.pmi.tpd.euceg.backend.core.TestEventPublisher;
 import com.pmi.tpd.euceg.backend.core.event.EventBackendReceived;
 import com.pmi.tpd.euceg.backend.core.message.IBackendMessage;
+import com.pmi.tpd.euceg.backend.core.message.MessageCurrentStatus;
+import com.pmi.tpd.euceg.backend.core.message.MessageSendFailure;
 import com.pmi.tpd.euceg.backend.core.message.Response;
 import com.pmi.tpd.euceg.backend.core.message.SubmitResponse;
 import com.pmi.tpd.euceg.backend.core.spi.IPendingMessageProvider;
@@ -44,6 +47,7 @@ import eu.domibus.backend.ws.MessageStatus;
 import eu.domibus.backend.ws.RetrieveMessageFault;
 import eu.domibus.backend.ws.RetrieveMessageResponse;
 import eu.domibus.backend.ws.StatusFault;
+import eu.domibus.backend.ws.StatusRequest;
 import eu.domibus.backend.ws.message.CollaborationInfo;
 import eu.domibus.backend.ws.message.Messaging;
 import eu.domibus.backend.ws.message.UserMessage;
@@ -75,7 +79,7 @@ public class WsMessageSenderTest extends MockitoTestCase {
         sender = new WsMessageSender<>(senderMessageCreator, pendingMessageProvider, i18nService, applicationProperties,
                 eventPublisher);
         sender.setBackendInterface(backendInterface);
-        when(applicationProperties.getConfiguration(eq(BackendProperties.class))).thenReturn(backendProperties);
+        when(applicationProperties.getConfigurationSnapshot(eq(BackendProperties.class))).thenReturn(backendProperties);
 
         when(backendInterface.listPendingMessages(any()))
                 .thenReturn(new ListPendingMessagesResponse().withMessageID(Lists.newArrayList()));
@@ -128,7 +132,7 @@ public class WsMessageSenderTest extends MockitoTestCase {
         assertEquals("http://service.com/services/backend", sender.getBackendProperties().getWebServiceUrl());
 
         final BackendProperties newConfiguration = getNewConfiguration();
-        when(applicationProperties.getConfiguration(eq(BackendProperties.class))).thenReturn(newConfiguration);
+        when(applicationProperties.getConfigurationSnapshot(eq(BackendProperties.class))).thenReturn(newConfiguration);
         sender.onDomibusConfigurationChangedEvent(new ConfigurationChangedEvent<>(newConfiguration));
 
         assertEquals(true, sender.isRunning());
@@ -156,6 +160,37 @@ public class WsMessageSenderTest extends MockitoTestCase {
 
     }
 
+    @Test
+    public void shouldPublishStatusOfAllPendingMessages() throws Exception {
+        getOrCreateConfiguration(backendProperties);
+        sender.start();
+        when(pendingMessageProvider.getPendingMessageIds())
+                .thenReturn(Sets.newLinkedHashSet(List.of("received", "failed", "fault")));
+        when(backendInterface.getStatus(any())).thenAnswer(invocation -> {
+            final StatusRequest request = invocation.getArgument(0);
+            switch (request.getMessageID()) {
+                case "received":
+                    return MessageStatus.RECEIVED;
+                case "failed":
+                    return MessageStatus.SEND_FAILURE;
+                default:
+                    throw new StatusFault(null, null);
+            }
+        });
+
+        sender.updatePendingMessage();
+
+        // the failed status request doesn't prevent other messages to be published.
+        final List<EventBackendReceived<IBackendMessage>> events = eventPublisher.getPublishedEvents();
+        assertEquals(2, events.size());
+        final MessageCurrentStatus received = (MessageCurrentStatus) events.get(0).getMessage();
+        assertEquals("received", received.getMessageId());
+        assertEquals(TransmitStatus.RECEIVED, received.getStatus());
+        final MessageSendFailure failed = (MessageSendFailure) events.get(1).getMessage();
+        assertEquals("failed", failed.getMessageId());
+        assertEquals(TransmitStatus.REJECTED, failed.getStatus());
+    }
+
     @Test
     public void testGetReponse() throws Exception {
 
@@ -45,7 +45,7 @@ public abstract class BaseExcelXPathExporter<R> extends BaseExcelExporter<R> {
 
     private final JXPathContext sharedContext;
 
-    private final Map<String, CompiledExpression> expressions = Maps.newHashMap();
+    private final Map<String, ColumnAccessor> accessors = Maps.newHashMap();
 
     protected BaseExcelXPathExporter(@Nonnull final ListDescriptor root, @Nonnull final List<ExcelSheet> excelSheets,
             @Nullable final ExportOption options, @Nonnull final IDataProvider<R> dataProvider) {
@@ -85,11 +85,11 @@ public abstract class BaseExcelXPathExporter<R> extends BaseExcelExporter<R> {
     protected void export(@Nonnull final OutputStream stream,
         @Nullable final ITaskMonitorProgress monitor,
         @Nonnull final ICallbackExport<R> callback) throws Throwable {
-        expressions.clear();
+        accessors.clear();
         try {
             super.export(stream, monitor, callback);
         } finally {
-            expressions.clear();
+            accessors.clear();
         }
 
     }
@@ -145,8 +145,7 @@ public abstract class BaseExcelXPathExporter<R> extends BaseExcelExporter<R> {
 
     private boolean push(@Nonnull final String relativePath) {
         checkState(!Strings.isNullOrEmpty(relativePath), "relativePath can not be null or empty");
-        final CompiledExpression expression = getCompiledExpression(relativePath);
-        if (expression.getValue(getCurrentContext()) != null) {
+        if (getColumnAccessor(relativePath).getValue(getCurrentContext()) != null) {
             final Pointer pointer = getCurrentContext().getPointer(relativePath);
             contextQueue.push(getCurrentContext().getRelativeContext(pointer));
             return true;
@@ -210,8 +209,7 @@ public abstract class BaseExcelXPathExporter<R> extends BaseExcelExporter<R> {
                 path = path.substring("root$".length());
             }
             if (context != null) {
-                final CompiledExpression expression = getCompiledExpression(path);
-                Object obj = expression.getValue(context);
+                Object obj = getColumnAccessor(path).getValue(context);
                 if (obj == null) {
                     obj = defaultValue;
                 }
@@ -238,12 +236,24 @@ public abstract class BaseExcelXPathExporter<R> extends BaseExcelExporter<R> {
     }
 
     public CompiledExpression getCompiledExpression(final String xpath) {
-        CompiledExpression expression = this.expressions.get(xpath);
-        if (expression == null) {
-            expression = JXPathContext.compile(xpath);
-            this.expressions.put(xpath, expression);
+        return getColumnAccessor(xpath).getExpression();
+    }
+
+    /**
+     * Gets the compiled accessor of {@code xpath}, evaluating simple property paths with direct getter calls.
+     *
+     * @param xpath
+     *              a xpath expression.
+     * @return Returns the compiled accessor of {@code xpath}.
+     * @since 3.4
+     */
+    public ColumnAccessor getColumnAccessor(final String xpath) {
+        ColumnAccessor accessor = this.accessors.get(xpath);
+        if (accessor == null) {
+            accessor = ColumnAccessor.compile(xpath);
+            this.accessors.put(xpath, accessor);
         }
-        return expression;
+        return accessor;
     }
 
     @FunctionalInterface
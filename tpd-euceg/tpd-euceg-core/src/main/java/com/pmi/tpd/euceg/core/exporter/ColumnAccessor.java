@@ -0,0 +1,194 @@
+package com.pmi.tpd.euceg.core.exporter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.apache.commons.jxpath.CompiledExpression;
+import org.apache.commons.jxpath.JXPathContext;
+
+import com.google.common.base.Splitter;
+
+/**
+ * Evaluates an export column xpath.
+ * <p>
+ * An xpath composed only of property names (for instance {@code product/presentation/brandName}) is compiled to a
+ * chain of getter {@link MethodHandle}s, resolved once per class and cached, so that its evaluation is a sequence of
+ * direct calls. Any other expression (functions, predicates, variables, ...) or value that is not a plain bean
+ * (collection, map, array, DOM node) is evaluated by JXPath.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public final class ColumnAccessor {
+
+    /** */
+    private static final Pattern PROPERTY_PATH = Pattern
+            .compile("[A-Za-z_][A-Za-z0-9_]*(/[A-Za-z_][A-Za-z0-9_]*)*");
+
+    /** */
+    private static final Object UNRESOLVED = new Object();
+
+    /** compiled accessors shared by all exports. */
+    private static final ConcurrentMap<String, ColumnAccessor> ACCESSORS = new ConcurrentHashMap<>();
+
+    /** getters resolved per class. */
+    private static final ClassValue<ConcurrentMap<String, Optional<MethodHandle>>> GETTERS = new ClassValue<>() {
+
+        @Override
+        protected ConcurrentMap<String, Optional<MethodHandle>> computeValue(final Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /** */
+    private final CompiledExpression expression;
+
+    /** the property names of xpath, or {@code null} if it can not be compiled. */
+    @Nullable
+    private final String[] properties;
+
+    private ColumnAccessor(@Nonnull final String xpath) {
+        this.expression = JXPathContext.compile(xpath);
+        if (PROPERTY_PATH.matcher(xpath).matches()) {
+            final List<String> names = Splitter.on('/').splitToList(xpath);
+            this.properties = names.toArray(new String[names.size()]);
+        } else {
+            this.properties = null;
+        }
+    }
+
+    /**
+     * Gets the compiled accessor of {@code xpath}.
+     *
+     * @param xpath
+     *              a xpath expression.
+     * @return Returns the compiled accessor of {@code xpath}.
+     */
+    @Nonnull
+    public static ColumnAccessor compile(@Nonnull final String xpath) {
+        return ACCESSORS.computeIfAbsent(xpath, ColumnAccessor::new);
+    }
+
+    /**
+     * @return Returns the JXPath compiled expression.
+     */
+    @Nonnull
+    public CompiledExpression getExpression() {
+        return expression;
+    }
+
+    /**
+     * @return Returns {@code true} if the xpath is evaluated with direct calls whenever possible.
+     */
+    public boolean isCompiled() {
+        return properties != null;
+    }
+
+    /**
+     * Evaluates the xpath against the bean of {@code context}.
+     *
+     * @param context
+     *                the context to use.
+     * @return Returns the value of xpath (can be {@code null}).
+     */
+    @Nullable
+    public Object getValue(@Nonnull final JXPathContext context) {
+        if (properties != null) {
+            final Object value = invoke(context.getContextBean());
+            if (value != UNRESOLVED) {
+                return value;
+            }
+        }
+        return expression.getValue(context);
+    }
+
+    private Object invoke(@Nullable final Object bean) {
+        if (bean == null) {
+            return UNRESOLVED;
+        }
+        Object value = bean;
+        for (final String property : properties) {
+            if (value == null) {
+                return null;
+            }
+            if (!isBean(value)) {
+                return UNRESOLVED;
+            }
+            final Optional<MethodHandle> getter = getGetter(value.getClass(), property);
+            if (getter.isEmpty()) {
+                return UNRESOLVED;
+            }
+            try {
+                value = getter.get().invokeExact(value);
+            } catch (final Throwable ex) {
+                // let JXPath report the error
+                return UNRESOLVED;
+            }
+        }
+        if (value != null && !isBean(value)) {
+            return UNRESOLVED;
+        }
+        return value;
+    }
+
+    private static boolean isBean(final Object value) {
+        return !(value instanceof Collection<?> || value instanceof Map<?, ?> || value.getClass().isArray()
+                || value instanceof org.w3c.dom.Node);
+    }
+
+    private static Optional<MethodHandle> getGetter(final Class<?> type, final String property) {
+        return GETTERS.get(type).computeIfAbsent(property, p -> findGetter(type, p));
+    }
+
+    /**
+     * Finds the read method of a property as {@link java.beans.Introspector} does: {@code getXxx()} or
+     * {@code isXxx()} returning a primitive {@code boolean}.
+     */
+    private static Optional<MethodHandle> findGetter(final Class<?> type, final String property) {
+        final String suffix = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        Method method = findMethod(type, "get" + suffix);
+        if (method == null || method.getReturnType() == void.class) {
+            method = findMethod(type, "is" + suffix);
+            if (method == null || method.getReturnType() != boolean.class) {
+                return Optional.empty();
+            }
+        }
+        if (Modifier.isStatic(method.getModifiers())) {
+            return Optional.empty();
+        }
+        try {
+            final MethodHandle handle = MethodHandles.publicLookup().unreflect(method);
+            return Optional.of(handle.asType(MethodType.methodType(Object.class, Object.class)));
+        } catch (final IllegalAccessException ex) {
+            return Optional.empty();
+        }
+    }
+
+    @Nullable
+    private static Method findMethod(final Class<?> type, final String name) {
+        try {
+            final Method method = type.getMethod(name);
+            // public method declared in a non public class is not accessible
+            if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                return null;
+            }
+            return method;
+        } catch (final NoSuchMethodException ex) {
+            return null;
+        }
+    }
+}
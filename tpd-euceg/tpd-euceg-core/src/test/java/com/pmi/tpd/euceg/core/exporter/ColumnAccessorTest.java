@@ -0,0 +1,95 @@
+package com.pmi.tpd.euceg.core.exporter;
+
+import java.util.List;
+
+import org.apache.commons.jxpath.JXPathContext;
+import org.junit.jupiter.api.Test;
+
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class ColumnAccessorTest extends TestCase {
+
+    @Test
+    public void shouldCompilePropertyPath() {
+        final ColumnAccessor accessor = ColumnAccessor.compile("presentation/brandName");
+        assertTrue(accessor.isCompiled());
+        assertEquals("brand", accessor.getValue(newContext(new Product(new Presentation("brand", true)))));
+    }
+
+    @Test
+    public void shouldReturnNullOnNullIntermediateProperty() {
+        assertNull(ColumnAccessor.compile("presentation/brandName").getValue(newContext(new Product(null))));
+    }
+
+    @Test
+    public void shouldReadBooleanProperty() {
+        assertEquals(Boolean.TRUE,
+            ColumnAccessor.compile("presentation/withdrawn").getValue(newContext(new Product(new Presentation(
+                    "brand", true)))));
+    }
+
+    @Test
+    public void shouldEvaluateSameValueAsJXPath() {
+        final JXPathContext context = newContext(new Product(new Presentation("brand", false)));
+        for (final String xpath : List.of("presentation/brandName",
+            "presentation/withdrawn",
+            "presentation/unknown",
+            "names",
+            "names[2]",
+            "presentation/brandName[. = 'brand']")) {
+            assertEquals(JXPathContext.compile(xpath).getValue(context),
+                ColumnAccessor.compile(xpath).getValue(context),
+                xpath);
+        }
+    }
+
+    @Test
+    public void shouldNotCompileExpression() {
+        assertFalse(ColumnAccessor.compile("fmt:size(names)").isCompiled());
+        assertFalse(ColumnAccessor.compile("names[$i]").isCompiled());
+        assertSame(ColumnAccessor.compile("names[$i]"), ColumnAccessor.compile("names[$i]"));
+    }
+
+    private static JXPathContext newContext(final Object bean) {
+        final JXPathContext context = JXPathContext.newContext(bean);
+        context.setLenient(true);
+        return context;
+    }
+
+    public static class Product {
+
+        private final Presentation presentation;
+
+        public Product(final Presentation presentation) {
+            this.presentation = presentation;
+        }
+
+        public Presentation getPresentation() {
+            return presentation;
+        }
+
+        public List<String> getNames() {
+            return List.of("first", "second");
+        }
+    }
+
+    public static class Presentation {
+
+        private final String brandName;
+
+        private final boolean withdrawn;
+
+        public Presentation(final String brandName, final boolean withdrawn) {
+            this.brandName = brandName;
+            this.withdrawn = withdrawn;
+        }
+
+        public String getBrandName() {
+            return brandName;
+        }
+
+        public boolean isWithdrawn() {
+            return withdrawn;
+        }
+    }
+}
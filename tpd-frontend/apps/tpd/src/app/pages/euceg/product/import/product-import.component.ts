@@ -1,17 +1,25 @@
 import { Location } from '@angular/common';
 import { HttpErrorResponse } from '@angular/common/http';
-import { Component, ElementRef, OnInit, QueryList, ViewChild, ViewChildren } from '@angular/core';
+import { Component, ElementRef, OnDestroy, OnInit, QueryList, ViewChild, ViewChildren } from '@angular/core';
 import { ActivatedRoute } from '@angular/router';
 import { BlockUI, BreadcrumbService, ScrollDirective, ScrollOptions, SvgIcons } from '@devacfr/bootstrap';
-import { ProductDiffItem, ProductDiffRequest, ProductService, ProductType, SheetDescriptor } from '@devacfr/euceg';
+import { TaskMonitoring } from '@devacfr/core';
+import {
+    ProductDiffItem,
+    ProductDiffRequest,
+    ProductImportState,
+    ProductService,
+    ProductType,
+    SheetDescriptor,
+} from '@devacfr/euceg';
 import { I18nService, NotifierService, PortletToolType } from '@devacfr/layout';
 import { ErrorApiResponse, ErrorResponse, isErrorApiResponse, isErrorResponse } from '@devacfr/util';
 import { OutputFormatType } from 'diff2html/lib/types';
 import _ from 'lodash-es';
 import { isArray } from 'lodash-es';
 import { FileItem, FileUploader } from 'ng2-file-upload';
-import { Observable, of } from 'rxjs';
-import { catchError, finalize, mergeMap, tap } from 'rxjs/operators';
+import { forkJoin, Observable, of, Subscription, timer } from 'rxjs';
+import { catchError, finalize, last, map, mergeMap, switchMap, takeWhile, tap } from 'rxjs/operators';
 
 interface SelectedSheetDescriptor extends SheetDescriptor {
     selected?: boolean;
@@ -70,7 +78,7 @@ export class ProductDiffContainer {
     templateUrl: './product-import.component.html',
     styleUrls: ['./product-import.component.scss'],
 })
-export class ProductImportComponent implements OnInit {
+export class ProductImportComponent implements OnInit, OnDestroy {
     @ViewChild('inputFile', { static: true })
     public inputFile!: ElementRef;
 
@@ -100,6 +108,11 @@ export class ProductImportComponent implements OnInit {
 
     private _block = new BlockUI();
 
+    /** imports accepted by the server, followed once all files are uploaded. */
+    private _imports: { fileItem: FileItem; monitor: TaskMonitoring }[] = [];
+
+    private _importSubscription: Subscription | undefined;
+
     constructor(
         public svgIcons: SvgIcons,
         private _route: ActivatedRoute,
@@ -116,23 +129,36 @@ export class ProductImportComponent implements OnInit {
         this.uploader.onCompleteItem = (item: FileItem, response: string, status: number): void => {
             if (status < 200 || status > 210) {
                 this.errorResponse = JSON.parse(response);
+            } else if (status === 202) {
+                // the import runs in background, its outcome is fetched with the returned task monitor
+                this._imports.push({ fileItem: item, monitor: JSON.parse(response) });
             }
         };
         this.uploader.onCompleteAll = () => {
-            if (!this.errorResponse) {
-                this._location.back();
-                this._notifierService.success('The import was successful');
-            } else {
-                if (isArray(this.errorResponse)) {
-                    this.errorResponse.forEach((err) => {
-                        this._notifierService.error(err);
-                    });
-                } else {
-                    this._notifierService.error(this.errorResponse);
-                }
-                this.errorResponse = undefined;
-            }
-            this._block.release();
+            const imports = this._imports;
+            this._imports = [];
+            const imports$: Observable<boolean[]> = imports.length
+                ? forkJoin(imports.map((i) => this.followImport$(i.fileItem, i.monitor)))
+                : of([]);
+            this._importSubscription = imports$
+                .pipe(finalize(() => this._block.release()))
+                .subscribe((succeeded) => {
+                    if (!this.errorResponse) {
+                        if (succeeded.every((s) => s)) {
+                            this._location.back();
+                            this._notifierService.success('The import was successful');
+                        }
+                    } else {
+                        if (isArray(this.errorResponse)) {
+                            this.errorResponse.forEach((err) => {
+                                this._notifierService.error(err);
+                            });
+                        } else {
+                            this._notifierService.error(this.errorResponse);
+                        }
+                        this.errorResponse = undefined;
+                    }
+                });
         };
     }
     ngOnInit(): void {
@@ -141,6 +167,10 @@ export class ProductImportComponent implements OnInit {
         });
     }
 
+    ngOnDestroy(): void {
+        this._importSubscription?.unsubscribe();
+    }
+
     public get sheetOptions(): string {
         return this._sheetOptions;
     }
@@ -170,6 +200,40 @@ export class ProductImportComponent implements OnInit {
         }
     }
 
+    /**
+     * Polls the state of an import until it completes, and marks the file in error if the import has not succeeded.
+     * @returns an observable emitting whether the import has succeeded.
+     */
+    public followImport$(fileItem: FileItem, monitor: TaskMonitoring, period = 500): Observable<boolean> {
+        return timer(0, period).pipe(
+            switchMap(() => this._productService.importProgress(monitor.cancelToken)),
+            takeWhile((state) => !state.completed, true),
+            last(),
+            map((state: ProductImportState) => {
+                if (state.state === 'SUCCESSFUL' && !state.validationResult.failures?.length) {
+                    return true;
+                }
+                fileItem.isSuccess = false;
+                fileItem.isError = true;
+                if (state.validationResult.failures?.length) {
+                    fileItem['errorResponse'] = state.validationResult.failures.map((desc) => desc.description);
+                    this._notifierService.error(state.validationResult);
+                } else {
+                    const message = state.failure ?? `The import of ${fileItem.file.name} has been canceled`;
+                    fileItem['errorResponse'] = message;
+                    this._notifierService.error(message);
+                }
+                return false;
+            }),
+            catchError((err) => {
+                fileItem.isSuccess = false;
+                fileItem.isError = true;
+                this._notifierService.error(err.error ?? err);
+                return of(false);
+            })
+        );
+    }
+
     public onRemoveFileItem(event: { fileItem: FileItem }): void {
         this.diffRequest.remove(event.fileItem._file);
     }
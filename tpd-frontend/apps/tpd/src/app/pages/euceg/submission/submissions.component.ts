@@ -84,6 +84,7 @@ export class SubmissionsComponent implements OnDestroy {
                             );
                             this.content = p.content;
                             this.totalElement = p.totalElements;
+                            this._submissionActivity.filter(p.content.map((item) => item.submissionId));
                             return p;
                         }),
                         finalize(() => this._block.release())
@@ -100,7 +101,7 @@ export class SubmissionsComponent implements OnDestroy {
         };
 
         this._subscriptions.add(
-            this._submissionActivity.watch().subscribe((message) => {
+            this._submissionActivity.watchFiltered().subscribe((message) => {
                 if (!this.content) {
                     return;
                 }
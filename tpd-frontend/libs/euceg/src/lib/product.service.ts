@@ -1,6 +1,7 @@
 import { HttpClient, HttpResponse } from '@angular/common/http';
 import { Inject, Injectable } from '@angular/core';
 import { AuthProvider } from '@devacfr/auth';
+import { TaskMonitoring } from '@devacfr/core';
 import { ErrorResponse, FilterTerms, Hateoas, HateoasResponse, Page, Pageable } from '@devacfr/util';
 import moment from 'moment';
 import { FileUploader } from 'ng2-file-upload';
@@ -13,6 +14,7 @@ import { ProductRequest } from './product-request.model';
 import {
     BulkRequest,
     ProductDiffRequest,
+    ProductImportState,
     ProductPirStatus,
     ProductRevision,
     ProductRevisionDiffItem,
@@ -143,14 +145,26 @@ export class ProductService {
         productType: ProductType,
         keepSaleHistory = true,
         ...sheets: string[]
-    ): Observable<void> {
+    ): Observable<TaskMonitoring> {
         const formData = new FormData();
         formData.append('product_type', productType);
         formData.append('sheets', sheets.join('|'));
         formData.append('keep_sale_history', String(keepSaleHistory));
         files.forEach((file) => formData.append('files', file));
 
-        return this._httpClient.post<void>(`${this.API_URL}/import`, formData);
+        return this._httpClient.post<TaskMonitoring>(`${this.API_URL}/import`, formData);
+    }
+
+    /**
+     * Gets the state of a product import, including its validation failures once completed.
+     * @param cancelToken the cancel token of import task.
+     */
+    public importProgress(cancelToken: string): Observable<ProductImportState> {
+        return this._httpClient.get<ProductImportState>(`${this.API_URL}/import/progress/${cancelToken}`);
+    }
+
+    public cancelImport(cancelToken: string): Observable<void> {
+        return this._httpClient.get<void>(`${this.API_URL}/import/cancel/${cancelToken}`);
     }
 
     public diff(
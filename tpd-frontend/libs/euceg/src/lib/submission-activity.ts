@@ -1,6 +1,7 @@
 import { Inject, Injectable } from '@angular/core';
 import { WebSocketProvider, WebsocketService } from '@devacfr/core';
-import { Observable } from 'rxjs';
+import { from, Observable } from 'rxjs';
+import { finalize, mergeMap } from 'rxjs/operators';
 import { BACKEND_SERVER_URL_TOKEN } from '../shared';
 import { ProductPirStatus, SubmissionStatus } from './typing';
 
@@ -15,7 +16,7 @@ export interface SubmissionProgress {
 
 @Injectable({ providedIn: 'root' })
 export class SubmissionActivity {
-    private webSocketProvider: WebSocketProvider<SubmissionProgress>;
+    private webSocketProvider: WebSocketProvider<SubmissionProgress | SubmissionProgress[]>;
 
     constructor(
         @Inject(BACKEND_SERVER_URL_TOKEN) private _BACKEND_SERVER_URL_TOKEN: string,
@@ -27,7 +28,30 @@ export class SubmissionActivity {
         });
     }
 
+    /**
+     * Watches the updates of all submissions.
+     */
     public watch(): Observable<SubmissionProgress> {
-        return this.webSocketProvider.watch('/topic/submissions');
+        return this.webSocketProvider.watch('/topic/submissions') as Observable<SubmissionProgress>;
+    }
+
+    /**
+     * Watches only the updates of submissions registered with `filter`, the filter is cleared on unsubscribe.
+     * A session watching the filtered updates should not watch all submissions, it would receive the updates of
+     * viewed submissions on the topic only.
+     */
+    public watchFiltered(): Observable<SubmissionProgress> {
+        return (this.webSocketProvider.watch('/user/queue/submissions') as Observable<SubmissionProgress[]>).pipe(
+            mergeMap((messages) => from(messages)),
+            finalize(() => this.filter([]))
+        );
+    }
+
+    /**
+     * Registers the submissions currently viewed.
+     * @param submissionIds the viewed submission identifiers.
+     */
+    public filter(submissionIds: number[]): void {
+        this.webSocketProvider.publish('/ws/submissions/filter', { submissionIds });
     }
 }
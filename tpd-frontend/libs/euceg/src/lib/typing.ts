@@ -1,4 +1,4 @@
-import { FilterTerms } from '@devacfr/util';
+import { ErrorResponse, FilterTerms, Progress } from '@devacfr/util';
 import { AttachmentRequest, EcigProduct, TobaccoProduct } from '.';
 import { Observable } from 'rxjs';
 
@@ -217,6 +217,18 @@ export interface ProductDiffRequest {
     validationResult: any;
 }
 
+/**
+ * State of a product import, running or recently completed.
+ */
+export interface ProductImportState {
+    state: 'RUNNING' | 'SUCCESSFUL' | 'FAILED' | 'CANCELED';
+    completed: boolean;
+    progress: Progress;
+    /** validation failures of the rejected file, empty while running or if all files have been imported. */
+    validationResult: ErrorResponse;
+    failure?: string;
+}
+
 export interface PresentationType {
     nationalMarket: string;
     nationalMarketName: string;
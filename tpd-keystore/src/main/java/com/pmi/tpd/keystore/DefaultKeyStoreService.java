@@ -41,8 +41,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
-import com.google.common.collect.Lists;
 import com.google.common.io.Closeables;
 import com.pmi.tpd.api.context.IApplicationProperties;
 import com.pmi.tpd.api.crypto.IKeyProvider;
@@ -53,9 +53,11 @@ import com.pmi.tpd.api.crypto.KeyStoreHelper;
 import com.pmi.tpd.api.crypto.KeyStoreType;
 import com.pmi.tpd.api.crypto.KeystoreException;
 import com.pmi.tpd.api.crypto.X509CertHelper;
+import com.pmi.tpd.api.event.annotation.EventListener;
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
 import com.pmi.tpd.api.exception.ApplicationException;
 import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.lifecycle.ClearCacheEvent;
 import com.pmi.tpd.api.paging.DslPagingHelper;
 import com.pmi.tpd.api.paging.PageUtils;
 import com.pmi.tpd.api.util.Assert;
@@ -79,6 +81,12 @@ import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.PathBuilder;
 
 /**
+ * <p>
+ * The keystore file is decrypted and parsed once in a {@link KeyStoreModel}, which holds the metadata of all entries.
+ * The model is reloaded only when a key is created, updated or deleted, or when the file is modified outside of this
+ * service.
+ * </p>
+ *
  * @author devacfr<christophefriederich@mac.com>
  * @since 1.0
  */
@@ -105,6 +113,10 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   /** */
   private final PathBuilder<KeyStoreEntry> builder;
 
+  /** the parsed keystore, or {@code null} if it has to be reloaded. */
+  @Nullable
+  private volatile KeyStoreModel model;
+
   /**
    * @param preferencesManager
    *                           preferencesManager.
@@ -179,8 +191,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   @Nullable
   public KeyStoreEntry get(@Nonnull final String alias) {
     checkHasText(alias, "alias");
-    final QKeyStoreEntry entity = QKeyStoreEntry.keyStoreEntry;
-    return query().from(entity, getEntries()).where(entity.alias.equalsIgnoreCase(alias)).fetchOne();
+    return getEntries().stream().filter(entry -> alias.equalsIgnoreCase(entry.getAlias())).findFirst().orElse(null);
   }
 
   /**
@@ -223,48 +234,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   @PreAuthorize("hasGlobalPermission('SYS_ADMIN') or hasGlobalPermission('ADMIN')")
   @Override
   public List<KeyStoreEntry> getEntries() {
-    final List<KeyStoreEntry> list = Lists.newArrayList();
-    try {
-      for (final String alias : getAliases()) {
-        EntryType entryType = null;
-        final KeyStore keystore = getKeyStore();
-        final KeyStoreEntryBuilder keyStoreEntry = KeyStoreEntry.builder().alias(alias);
-
-        final Date expiredDate = KeyStoreHelper.getCertificateExpiry(alias, keystore);
-        if (expiredDate != null) {
-          keyStoreEntry.expiredDate(new DateTime(expiredDate));
-        }
-        Date lastModified = null;
-        if (!keystore.getType().equals(KeyStoreType.PKCS12.value())) {
-          lastModified = keystore.getCreationDate(alias);
-        }
-        if (lastModified != null) {
-          keyStoreEntry.lastModified(new DateTime(lastModified));
-        }
-
-        final KeyInfo keyInfo = KeyStoreHelper.getKeyInfo(alias, keystore, null);
-        if (keyInfo != null) {
-          keyStoreEntry.algorithm(keyInfo.getAlgorithm()).keySize(keyInfo.getSize());
-        }
-        if (KeyStoreHelper.isTrustedCertificateEntry(alias, keystore)) {
-          entryType = EntryType.TrustedCertificate;
-        } else if (KeyStoreHelper.isKeyPairEntry(alias, keystore)) {
-          entryType = EntryType.KeyPair;
-        } else if (KeyStoreHelper.isKeyEntry(alias, keystore)) {
-          entryType = EntryType.Key;
-        } else {
-          continue;
-        }
-        keyStoreEntry.type(entryType);
-
-        keyStoreEntry.valid(KeyStoreHelper.getValidity(alias, keystore));
-        keyStoreEntry.expired(KeyStoreHelper.getExpired(alias, keystore));
-        list.add(keyStoreEntry.build());
-      }
-    } catch (final Exception e) {
-      throw new RuntimeException(e.getMessage(), e);
-    }
-    return list;
+    return getModel().entries;
   }
 
   /**
@@ -275,7 +245,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   @Nonnull
   public List<String> getAliases() {
     try {
-      return Collections.list(getKeyStore().aliases());
+      return Collections.list(getModel().keyStore.aliases());
     } catch (final Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
@@ -292,6 +262,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
     try {
       keystore.deleteEntry(alias);
       save(keystore, this.getConfiguration().getLocation().getFile(), getConfiguration().getPassword());
+      invalidate();
       clearPreference(alias);
       this.eventPublisher.publish(new KeyDeletedEvent(this, alias));
     } catch (final Exception e) {
@@ -308,7 +279,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   public boolean isEntryExist(@Nonnull final String alias) {
     checkHasText(alias, "alias");
     try {
-      return getAliases().contains(alias);
+      return getModel().keyStore.containsAlias(alias);
     } catch (final Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
@@ -323,7 +294,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   public Optional<Certificate> getCertificate(@Nonnull final String alias) {
     checkHasText(alias, "alias");
     try {
-      return Optional.ofNullable(getKeyStore().getCertificate(alias));
+      return Optional.ofNullable(getModel().keyStore.getCertificate(alias));
     } catch (final Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
@@ -343,6 +314,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
       keystore.setCertificateEntry(alias, certificate);
       final boolean isNew = !this.isEntryExist(alias);
       save(keystore, this.getConfiguration().getLocation().getFile(), this.getConfiguration().getPassword());
+      invalidate();
       clearPreference(alias);
       if (isNew) {
         this.eventPublisher.publish(new KeyCreatedEvent(this, alias));
@@ -377,6 +349,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
       final boolean isNew = !this.isEntryExist(alias);
       keystore.setKeyEntry(alias, keypair.getPrivateKey(), password.toCharArray(), keypair.getCertificateChain());
       save(keystore, this.getConfiguration().getLocation().getFile(), this.getConfiguration().getPassword());
+      invalidate();
       clearPreference(alias);
       if (isNew) {
         this.eventPublisher.publish(new KeyCreatedEvent(this, alias));
@@ -433,18 +406,99 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
     Assert.checkHasText(alias, "alias");
     final char[] pwd = Assert.checkHasText(password, "password").toCharArray();
     try {
-      return Optional.ofNullable(getKeyStore().getKey(alias, pwd));
+      return Optional.ofNullable(getModel().keyStore.getKey(alias, pwd));
     } catch (final Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
   }
 
   /**
-   * @return Returns a {@link KeyStore} representing the current {@link KeyStore}
-   *         if exists, otherwise create it.
+   * Discards the parsed keystore, so it is reloaded on next access.
+   *
+   * @since 3.4
+   */
+  public void invalidate() {
+    this.model = null;
+  }
+
+  /**
+   * @param event
+   *              a key has been created.
+   * @since 3.4
+   */
+  @EventListener
+  public void onKeyCreated(final KeyCreatedEvent event) {
+    invalidate();
+  }
+
+  /**
+   * @param event
+   *              a key has been updated.
+   * @since 3.4
+   */
+  @EventListener
+  public void onKeyUpdated(final KeyUpdatedEvent event) {
+    invalidate();
+  }
+
+  /**
+   * @param event
+   *              a key has been deleted.
+   * @since 3.4
+   */
+  @EventListener
+  public void onKeyDeleted(final KeyDeletedEvent event) {
+    invalidate();
+  }
+
+  /**
+   * @param event
+   *              caches have to be cleared.
+   * @since 3.4
+   */
+  @EventListener
+  public void onClearCache(final ClearCacheEvent event) {
+    invalidate();
+  }
+
+  /**
+   * @return Returns a new {@link KeyStore} loaded from the current keystore file, which can be modified before being
+   *         saved.
    */
   @VisibleForTesting
   protected KeyStore getKeyStore() {
+    try {
+      return KeyStoreHelper.load(getKeyStoreFile(), getConfiguration().getPassword(), this.keyStoreType.value());
+    } catch (final Exception e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return Returns the parsed keystore, reloaded if the keystore file has been modified since last load.
+   */
+  @Nonnull
+  private KeyStoreModel getModel() {
+    final File file = getKeyStoreFile();
+    KeyStoreModel current = this.model;
+    if (current != null && current.isUpToDate(file)) {
+      return current;
+    }
+    synchronized (this) {
+      current = this.model;
+      if (current == null || !current.isUpToDate(file)) {
+        current = new KeyStoreModel(file, getKeyStore());
+        this.model = current;
+      }
+      return current;
+    }
+  }
+
+  /**
+   * @return Returns the current keystore file, created if it doesn't exist.
+   */
+  @Nonnull
+  private File getKeyStoreFile() {
     final Resource location = getConfiguration().getLocation();
     final Resource defaultLocation = getConfiguration().getDefaultLocation();
     try {
@@ -461,12 +515,64 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
         }
         save(keystore, location.getFile(), getConfiguration().getPassword());
       }
-      return KeyStoreHelper.load(location.getFile(), getConfiguration().getPassword(), this.keyStoreType.value());
+      return location.getFile();
     } catch (final Exception e) {
       throw new RuntimeException(e.getMessage(), e);
     }
   }
 
+  /**
+   * Creates the metadata of all entries of {@code keystore}.
+   *
+   * @param keystore
+   *                 a keystore.
+   * @return Returns a list of entries.
+   * @throws Exception
+   *                   if error occurs
+   */
+  @Nonnull
+  private static List<KeyStoreEntry> createEntries(@Nonnull final KeyStore keystore) throws Exception {
+    final ImmutableList.Builder<KeyStoreEntry> list = ImmutableList.builder();
+    for (final String alias : Collections.list(keystore.aliases())) {
+      EntryType entryType = null;
+      final KeyStoreEntryBuilder keyStoreEntry = KeyStoreEntry.builder().alias(alias);
+
+      final Date expiredDate = KeyStoreHelper.getCertificateExpiry(alias, keystore);
+      if (expiredDate != null) {
+        keyStoreEntry.expiredDate(new DateTime(expiredDate));
+      }
+      final Date notBefore = KeyStoreHelper.getCertificateStart(alias, keystore);
+      if (notBefore != null) {
+        keyStoreEntry.notBefore(new DateTime(notBefore));
+      }
+      Date lastModified = null;
+      if (!keystore.getType().equals(KeyStoreType.PKCS12.value())) {
+        lastModified = keystore.getCreationDate(alias);
+      }
+      if (lastModified != null) {
+        keyStoreEntry.lastModified(new DateTime(lastModified));
+      }
+
+      final KeyInfo keyInfo = KeyStoreHelper.getKeyInfo(alias, keystore, null);
+      if (keyInfo != null) {
+        keyStoreEntry.algorithm(keyInfo.getAlgorithm()).keySize(keyInfo.getSize());
+      }
+      if (KeyStoreHelper.isTrustedCertificateEntry(alias, keystore)) {
+        entryType = EntryType.TrustedCertificate;
+      } else if (KeyStoreHelper.isKeyPairEntry(alias, keystore)) {
+        entryType = EntryType.KeyPair;
+      } else if (KeyStoreHelper.isKeyEntry(alias, keystore)) {
+        entryType = EntryType.Key;
+      } else {
+        continue;
+      }
+      keyStoreEntry.type(entryType);
+
+      list.add(keyStoreEntry.build());
+    }
+    return list.build();
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -476,7 +582,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   @Unsecured("Only for internal use")
   public KeyManager[] getKeyManagers() throws NoSuchAlgorithmException, UnrecoverableKeyException, KeyStoreException {
     final KeyManagerFactory kmf = KeyManagerFactory.getInstance("SunX509");
-    kmf.init(getKeyStore(), this.getConfiguration().getPassword().toCharArray());
+    kmf.init(getModel().keyStore, this.getConfiguration().getPassword().toCharArray());
     return kmf.getKeyManagers();
   }
 
@@ -489,7 +595,7 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
   @Unsecured("Only for internal use")
   public TrustManager[] getTrustManagers() throws NoSuchAlgorithmException, KeyStoreException {
     final TrustManagerFactory tmf = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
-    tmf.init(getKeyStore());
+    tmf.init(getModel().keyStore);
     return tmf.getTrustManagers();
   }
 
@@ -612,4 +718,41 @@ public class DefaultKeyStoreService implements IKeyStoreService, IKeyProvider {
     }
     preferencesManager.clearCache(alias);
   }
+
+  /**
+   * The parsed keystore and the metadata of its entries, associated to the state of keystore file.
+   */
+  private static final class KeyStoreModel {
+
+    /** */
+    private final File file;
+
+    /** */
+    private final long lastModified;
+
+    /** */
+    private final long length;
+
+    /** read only keystore. */
+    private final KeyStore keyStore;
+
+    /** */
+    private final List<KeyStoreEntry> entries;
+
+    private KeyStoreModel(final File file, final KeyStore keyStore) {
+      this.file = file;
+      this.lastModified = file.lastModified();
+      this.length = file.length();
+      this.keyStore = keyStore;
+      try {
+        this.entries = createEntries(keyStore);
+      } catch (final Exception e) {
+        throw new RuntimeException(e.getMessage(), e);
+      }
+    }
+
+    private boolean isUpToDate(final File current) {
+      return file.equals(current) && lastModified == current.lastModified() && length == current.length();
+    }
+  }
 }
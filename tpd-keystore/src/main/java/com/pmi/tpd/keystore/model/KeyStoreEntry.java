@@ -4,6 +4,7 @@ import javax.annotation.concurrent.Immutable;
 
 import org.joda.time.DateTime;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.querydsl.core.annotations.QueryEntity;
 
 import lombok.Builder;
@@ -19,6 +20,7 @@ import lombok.extern.jackson.Jacksonized;
 @Getter
 @Builder
 @Jacksonized
+@JsonIgnoreProperties(value = { "valid", "expired" }, allowGetters = true)
 public final class KeyStoreEntry {
 
   /** */
@@ -33,16 +35,32 @@ public final class KeyStoreEntry {
   /** */
   private final int keySize;
 
-  /** */
+  /** start of the validity period of the certificate, {@code null} if the entry has no certificate. */
+  private final DateTime notBefore;
+
+  /** end of the validity period of the certificate, {@code null} if the entry has no certificate. */
   private final DateTime expiredDate;
 
   /** */
   private final DateTime lastModified;
 
-  /** {@code false} if not yet valid */
-  private final boolean valid;
+  /**
+   * The validity is computed when read, the entries are kept as long as the keystore is unchanged.
+   *
+   * @return Returns {@code true} if the certificate is within its validity period or if the entry has no certificate.
+   */
+  public boolean isValid() {
+    final DateTime now = DateTime.now();
+    return (notBefore == null || !now.isBefore(notBefore)) && (expiredDate == null || !now.isAfter(expiredDate));
+  }
 
-  /** */
-  private final boolean expired;
+  /**
+   * The expiry is computed when read, the entries are kept as long as the keystore is unchanged.
+   *
+   * @return Returns {@code true} if the validity period of the certificate has ended.
+   */
+  public boolean isExpired() {
+    return expiredDate != null && DateTime.now().isAfter(expiredDate);
+  }
 
 }
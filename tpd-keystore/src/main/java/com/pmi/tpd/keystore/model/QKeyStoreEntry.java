@@ -23,8 +23,6 @@ public class QKeyStoreEntry extends EntityPathBase<KeyStoreEntry> {
 
     public final StringPath alias = createString("alias");
 
-    public final BooleanPath expired = createBoolean("expired");
-
     public final DateTimePath<org.joda.time.DateTime> expiredDate = createDateTime("expiredDate",
         org.joda.time.DateTime.class);
 
@@ -33,9 +31,10 @@ public class QKeyStoreEntry extends EntityPathBase<KeyStoreEntry> {
     public final DateTimePath<org.joda.time.DateTime> lastModified = createDateTime("lastModified",
         org.joda.time.DateTime.class);
 
-    public final EnumPath<EntryType> type = createEnum("type", EntryType.class);
+    public final DateTimePath<org.joda.time.DateTime> notBefore = createDateTime("notBefore",
+        org.joda.time.DateTime.class);
 
-    public final BooleanPath valid = createBoolean("valid");
+    public final EnumPath<EntryType> type = createEnum("type", EntryType.class);
 
     public QKeyStoreEntry(final String variable) {
         super(KeyStoreEntry.class, forVariable(variable));
@@ -17,6 +17,9 @@ import java.util.List;
 import org.hamcrest.collection.IsEmptyCollection;
 import org.hamcrest.core.Is;
 import org.joda.time.DateTime;
+import org.joda.time.DateTimeUtils;
+import org.joda.time.DateTimeZone;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -90,6 +93,11 @@ public class DefaultKeyStoreServiceTest extends AbstractServiceTest {
         this.eventPublisher = mock(IEventPublisher.class);
     }
 
+    @AfterEach
+    public void tearDown() {
+        DateTimeUtils.setCurrentMillisSystem();
+    }
+
     public DefaultKeyStoreServiceTest() throws IOException {
         super(DefaultKeyStoreService.class, IKeyStoreService.class);
         keyPairsLocation = getClassResource("key-pairs.jks");
@@ -239,6 +247,58 @@ public class DefaultKeyStoreServiceTest extends AbstractServiceTest {
 
     }
 
+    @Test
+    public void getEntriesIsLoadedOnceUntilChange() throws Exception {
+        final DefaultKeyStoreService keyStoreService = emptyKeyStore();
+        final List<KeyStoreEntry> entries = keyStoreService.getEntries();
+        assertTrue(entries.isEmpty());
+        assertSame(entries, keyStoreService.getEntries());
+
+        try (InputStream in = pkcs12Location.getInputStream()) {
+            final KeyPair keypair = KeyPairHelper.extractKeyPairPkcs12(in, password);
+            keyStoreService.storeKey(keypair, KEY_PAIRS_ALIAS, password);
+        }
+        final List<KeyStoreEntry> updated = keyStoreService.getEntries();
+        assertEquals(1, updated.size());
+        assertEquals("RSA", updated.get(0).getAlgorithm());
+        assertSame(updated, keyStoreService.getEntries());
+    }
+
+    @Test
+    public void entryValidityIsComputedWhenRead() throws Exception {
+        final DateTime notBefore = new DateTime(2024, 1, 1, 0, 0, DateTimeZone.UTC);
+        final DateTime notAfter = notBefore.plusYears(1);
+        final KeyStoreEntry notYetValid = KeyStoreEntry.builder()
+                .alias("not-yet-valid")
+                .notBefore(notBefore)
+                .expiredDate(notAfter)
+                .build();
+        DateTimeUtils.setCurrentMillisFixed(notBefore.minusDays(1).getMillis());
+        assertFalse(notYetValid.isValid());
+        assertFalse(notYetValid.isExpired());
+
+        DateTimeUtils.setCurrentMillisFixed(notBefore.plusDays(1).getMillis());
+        assertTrue(notYetValid.isValid());
+        assertFalse(notYetValid.isExpired());
+
+        DateTimeUtils.setCurrentMillisFixed(notAfter.plusDays(1).getMillis());
+        assertFalse(notYetValid.isValid());
+        assertTrue(notYetValid.isExpired());
+
+        final KeyStoreEntry key = KeyStoreEntry.builder().alias("key").build();
+        assertTrue(key.isValid());
+        assertFalse(key.isExpired());
+    }
+
+    @Test
+    public void getEntriesKeepValidityPeriodOfCertificate() throws Exception {
+        final DefaultKeyStoreService keyStoreService = createKeyStoreService(keyPairsLocation, null);
+        final KeyStoreEntry entry = Iterables.getOnlyElement(keyStoreService.getEntries());
+        final X509Certificate certificate = (X509Certificate) keyStoreService.getCertificate(KEY_PAIRS_ALIAS).get();
+        assertEquals(new DateTime(certificate.getNotBefore()), entry.getNotBefore());
+        assertEquals(new DateTime(certificate.getNotAfter()), entry.getExpiredDate());
+    }
+
     @Test
     public void findAllWithSimplePageableRequest() throws Exception {
         final DefaultKeyStoreService keyStoreService = createKeyStoreService(certificatesLocation, null);
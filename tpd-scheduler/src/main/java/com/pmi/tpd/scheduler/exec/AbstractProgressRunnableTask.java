@@ -0,0 +1,148 @@
+package com.pmi.tpd.scheduler.exec;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.exec.IProgress;
+import com.pmi.tpd.api.exec.ProgressTask;
+import com.pmi.tpd.api.lifecycle.ProgressEvent;
+import com.pmi.tpd.api.scheduler.ITaskMonitorProgress;
+
+/**
+ * Base class of long-running tasks reporting their progress through {@link ProgressEvent}.
+ * <p>
+ * Processed rows are tracked with lock-free counters and a {@link ProgressEvent} is only published when the
+ * percentage changes or when the publish interval has elapsed since the last publication, whichever comes first.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public abstract class AbstractProgressRunnableTask extends AbstractRunnableTask implements ITaskMonitorProgress {
+
+    /** default minimum interval between two publications of progress. */
+    public static final long DEFAULT_PUBLISH_INTERVAL = TimeUnit.SECONDS.toMillis(1);
+
+    /** */
+    private final IEventPublisher eventPublisher;
+
+    /** */
+    private final AtomicLong rowsProcessed = new AtomicLong();
+
+    /** */
+    private final AtomicLong lastPublished = new AtomicLong();
+
+    /** */
+    private final AtomicInteger lastPercentage = new AtomicInteger(-1);
+
+    /** */
+    private volatile long totalRows;
+
+    /** */
+    private volatile String message;
+
+    /** */
+    private long publishInterval = DEFAULT_PUBLISH_INTERVAL;
+
+    /**
+     * @param eventPublisher
+     *            the event publisher used to publish progress.
+     */
+    protected AbstractProgressRunnableTask(@Nonnull final IEventPublisher eventPublisher) {
+        this.eventPublisher = checkNotNull(eventPublisher, "eventPublisher");
+    }
+
+    /**
+     * Sets the minimum interval between two publications of progress when the percentage doesn't change.
+     *
+     * @param interval
+     *            the interval
+     * @param unit
+     *            the unit of {@code interval}
+     */
+    public void setPublishInterval(final long interval, @Nonnull final TimeUnit unit) {
+        this.publishInterval = checkNotNull(unit, "unit").toMillis(interval);
+    }
+
+    @Override
+    @Nonnull
+    public IProgress getProgress() {
+        final String msg = this.message;
+        return new ProgressTask(msg == null ? getDefaultMessage() : msg, getPercentage());
+    }
+
+    @Override
+    public void started(final long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    @Override
+    public void increment() {
+        rowsProcessed.incrementAndGet();
+        final int percentage = getPercentage();
+        final int previousPercentage = lastPercentage.get();
+        final long now = System.currentTimeMillis();
+        final long previous = lastPublished.get();
+        if (percentage > previousPercentage && lastPercentage.compareAndSet(previousPercentage, percentage)
+                || now - previous >= publishInterval && lastPublished.compareAndSet(previous, now)) {
+            lastPublished.set(now);
+            publishProgress();
+        }
+    }
+
+    @Override
+    public void setMessage(@Nullable final String message) {
+        this.message = message;
+    }
+
+    @Override
+    public void clearMessage() {
+        this.message = null;
+    }
+
+    @Override
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    /**
+     * @return Returns the number of processed rows.
+     */
+    public long getRowsProcessed() {
+        return rowsProcessed.get();
+    }
+
+    /**
+     * Publishes unconditionally the current progress.
+     */
+    protected void publishProgress() {
+        eventPublisher.publish(new ProgressEvent(this, getProgress()));
+    }
+
+    /**
+     * @return Returns the event publisher.
+     */
+    @Nonnull
+    protected IEventPublisher getEventPublisher() {
+        return eventPublisher;
+    }
+
+    /**
+     * @return Returns the message used in progress when no message is set.
+     */
+    @Nonnull
+    protected abstract String getDefaultMessage();
+
+    private int getPercentage() {
+        final long processed = rowsProcessed.get();
+        final long total = totalRows;
+        return processed == 0 || total == 0 ? 0 : (int) Math.min(100, 100 * processed / total);
+    }
+}
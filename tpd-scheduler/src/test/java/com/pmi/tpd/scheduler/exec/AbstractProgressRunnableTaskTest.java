@@ -0,0 +1,81 @@
+package com.pmi.tpd.scheduler.exec;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.pmi.tpd.api.event.publisher.IEventPublisher;
+import com.pmi.tpd.api.lifecycle.ProgressEvent;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class AbstractProgressRunnableTaskTest extends MockitoTestCase {
+
+    private IEventPublisher eventPublisher;
+
+    private TestTask task;
+
+    @BeforeEach
+    public void setUp() {
+        eventPublisher = mock(IEventPublisher.class);
+        task = new TestTask(eventPublisher);
+        task.setPublishInterval(1, TimeUnit.HOURS);
+    }
+
+    @Test
+    public void shouldPublishOnlyOnPercentageChange() {
+        task.started(10_000);
+        // first increment publishes 0%, then once per whole percent.
+        for (int i = 0; i < 10_000; i++) {
+            task.increment();
+        }
+        verify(eventPublisher, times(101)).publish(any(ProgressEvent.class));
+        assertEquals(10_000, task.getRowsProcessed());
+        assertEquals(100, task.getProgress().getPercentage());
+    }
+
+    @Test
+    public void shouldPublishAfterInterval() {
+        task.setPublishInterval(0, TimeUnit.MILLISECONDS);
+        task.started(0);
+        task.increment();
+        task.increment();
+        verify(eventPublisher, times(2)).publish(any(ProgressEvent.class));
+    }
+
+    @Test
+    public void shouldUseDefaultMessage() {
+        assertEquals("default", task.getProgress().getMessage());
+        task.setMessage("custom");
+        assertEquals("custom", task.getProgress().getMessage());
+        task.clearMessage();
+        assertEquals("default", task.getProgress().getMessage());
+    }
+
+    private static class TestTask extends AbstractProgressRunnableTask {
+
+        TestTask(final IEventPublisher eventPublisher) {
+            super(eventPublisher);
+        }
+
+        @Override
+        public void run() {
+        }
+
+        @Override
+        public void finish() {
+            publishProgress();
+        }
+
+        @Override
+        @Nonnull
+        protected String getDefaultMessage() {
+            return "default";
+        }
+    }
+}
@@ -2,6 +2,11 @@ package com.pmi.tpd.web.core.servlet.gzip;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.Filter;
@@ -17,17 +22,76 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
+ * Filter compressing the response body with gzip when the client accepts it.
+ * <p>
+ * By default, the whole response is compressed in memory and sent with its content length. When the {@code streaming}
+ * init parameter is {@code true}, the response is compressed on the fly and sent using chunked transfer: responses
+ * smaller than {@code threshold} bytes and responses with an excluded content type ({@code excludedMimeTypes}, comma
+ * separated) are sent uncompressed. The {@code compressionLevel} init parameter sets the deflate level (0-9, -1 for the
+ * default level).
+ * </p>
+ *
  * @author Christophe Friederich
  * @since 1.0
  */
 public class GZipServletFilter implements Filter {
 
+    /** Init parameter enabling the streaming mode. */
+    public static final String PARAM_STREAMING = "streaming";
+
+    /** Init parameter defining the minimum response size (in bytes) to compress in streaming mode. */
+    public static final String PARAM_THRESHOLD = "threshold";
+
+    /** Init parameter defining the deflate compression level. */
+    public static final String PARAM_COMPRESSION_LEVEL = "compressionLevel";
+
+    /** Init parameter defining the comma separated list of mime types not compressed in streaming mode. */
+    public static final String PARAM_EXCLUDED_MIME_TYPES = "excludedMimeTypes";
+
+    /** */
+    public static final int DEFAULT_THRESHOLD = 2048;
+
+    /** already compressed content types. */
+    public static final String DEFAULT_EXCLUDED_MIME_TYPES = "application/zip,application/gzip,application/x-gzip,"
+            + "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet,image/png,image/jpeg,image/gif";
+
     /** */
     private final Logger log = LoggerFactory.getLogger(GZipServletFilter.class);
 
+    /** */
+    private boolean streaming = false;
+
+    /** */
+    private int threshold = DEFAULT_THRESHOLD;
+
+    /** */
+    private int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /** */
+    private Set<String> excludedMimeTypes = parseMimeTypes(DEFAULT_EXCLUDED_MIME_TYPES);
+
     @Override
     public void init(final FilterConfig filterConfig) throws ServletException {
-        // Nothing to initialize
+        final String streamingParam = filterConfig.getInitParameter(PARAM_STREAMING);
+        if (streamingParam != null) {
+            this.streaming = Boolean.parseBoolean(streamingParam);
+        }
+        final String thresholdParam = filterConfig.getInitParameter(PARAM_THRESHOLD);
+        if (thresholdParam != null) {
+            this.threshold = Math.max(0, Integer.parseInt(thresholdParam.trim()));
+        }
+        final String levelParam = filterConfig.getInitParameter(PARAM_COMPRESSION_LEVEL);
+        if (levelParam != null) {
+            final int level = Integer.parseInt(levelParam.trim());
+            if (level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION) {
+                throw new ServletException("Invalid compression level: " + level);
+            }
+            this.compressionLevel = level;
+        }
+        final String mimeTypesParam = filterConfig.getInitParameter(PARAM_EXCLUDED_MIME_TYPES);
+        if (mimeTypesParam != null) {
+            this.excludedMimeTypes = parseMimeTypes(mimeTypesParam);
+        }
     }
 
     @Override
@@ -48,6 +112,11 @@ public class GZipServletFilter implements Filter {
                 log.trace("{} Written with gzip compression", httpRequest.getRequestURL());
             }
 
+            if (streaming) {
+                doFilterStreaming(httpRequest, httpResponse, chain);
+                return;
+            }
+
             // Create a gzip stream
             final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
             final GZIPOutputStream gzout = new GZIPOutputStream(compressed);
@@ -104,6 +173,23 @@ public class GZipServletFilter implements Filter {
         }
     }
 
+    private void doFilterStreaming(final HttpServletRequest request,
+        final HttpServletResponse response,
+        final FilterChain chain) throws IOException, ServletException {
+        final GZipStreamingResponseWrapper wrapper = new GZipStreamingResponseWrapper(response, threshold,
+                compressionLevel, excludedMimeTypes);
+        chain.doFilter(request, wrapper);
+        wrapper.finish();
+    }
+
+    private static Set<String> parseMimeTypes(final String mimeTypes) {
+        return Stream.of(mimeTypes.split(","))
+                .map(String::trim)
+                .filter(type -> !type.isEmpty())
+                .map(type -> type.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Checks if the request uri is an include. These cannot be gzipped.
      */
@@ -0,0 +1,171 @@
+package com.pmi.tpd.web.core.servlet.gzip;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+
+/**
+ * Output stream compressing the response body on the fly.
+ * <p>
+ * The first {@code threshold} bytes are buffered. Once the threshold is exceeded, the stream decides whether the body
+ * is compressed (see {@link GZipStreamingResponseWrapper#isCompressible()}) and from then on writes directly to the
+ * underlying response, without holding the whole body in memory. Bodies smaller than the threshold are written
+ * uncompressed with their content length.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+class GZipStreamingOutputStream extends ServletOutputStream {
+
+    /** */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** */
+    private final GZipStreamingResponseWrapper response;
+
+    /** */
+    private final int threshold;
+
+    /** */
+    private final int compressionLevel;
+
+    /** buffered content while compression is undecided, {@code null} after. */
+    private ByteArrayOutputStream buffer;
+
+    /** the decided target stream, {@code null} while compression is undecided. */
+    private OutputStream stream;
+
+    /** */
+    private boolean closed = false;
+
+    GZipStreamingOutputStream(final GZipStreamingResponseWrapper response, final int threshold,
+            final int compressionLevel) {
+        this.response = response;
+        this.threshold = Math.max(0, threshold);
+        this.compressionLevel = compressionLevel;
+        this.buffer = new ByteArrayOutputStream(Math.min(this.threshold, BUFFER_SIZE));
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        if (stream == null) {
+            if (buffer.size() < threshold) {
+                buffer.write(b);
+                return;
+            }
+            decide(true);
+        }
+        stream.write(b);
+    }
+
+    @Override
+    public void write(final byte[] b) throws IOException {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        ensureOpen();
+        if (stream == null) {
+            if (buffer.size() + len <= threshold) {
+                buffer.write(b, off, len);
+                return;
+            }
+            decide(true);
+        }
+        stream.write(b, off, len);
+    }
+
+    /**
+     * Flushes the content already streamed. While compression is undecided, the content remains buffered so that the
+     * threshold can still be applied.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (stream != null && !closed) {
+            stream.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        if (stream == null) {
+            // the whole body holds in the threshold: send it as is.
+            decide(false);
+        }
+        closed = true;
+        if (stream instanceof GZIPOutputStream) {
+            ((GZIPOutputStream) stream).finish();
+        }
+        stream.close();
+    }
+
+    /**
+     * Discards the buffered content while compression is undecided.
+     *
+     * @throws IllegalStateException
+     *                               if content has already been streamed.
+     */
+    void resetBuffer() {
+        if (stream != null) {
+            throw new IllegalStateException("Response content already streamed - cannot reset buffer");
+        }
+        buffer.reset();
+    }
+
+    /**
+     * @return Returns {@code true} whether the body is compressed.
+     */
+    boolean isCompressing() {
+        return stream instanceof GZIPOutputStream;
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    public void setWriteListener(final WriteListener listener) {
+    }
+
+    private void decide(final boolean exceedThreshold) throws IOException {
+        final ServletOutputStream out = response.getResponse().getOutputStream();
+        if (exceedThreshold && response.isCompressible()) {
+            response.startCompression();
+            stream = new LevelGZIPOutputStream(out, compressionLevel);
+        } else {
+            response.startIdentity(buffer.size(), exceedThreshold);
+            stream = out;
+        }
+        buffer.writeTo(stream);
+        buffer = null;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * {@link GZIPOutputStream} with a configurable compression level and flushing the compressed content on
+     * {@link #flush()}.
+     */
+    private static class LevelGZIPOutputStream extends GZIPOutputStream {
+
+        LevelGZIPOutputStream(final OutputStream out, final int level) throws IOException {
+            super(out, BUFFER_SIZE, true);
+            def.setLevel(level);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.pmi.tpd.web.core.servlet.gzip;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Response wrapper used by {@link GZipServletFilter} in streaming mode.
+ * <p>
+ * The content length set by the application is retained until the stream decides whether the body is compressed: it
+ * is dropped for a compressed body (the response is sent using chunked transfer), and forwarded otherwise.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+class GZipStreamingResponseWrapper extends HttpServletResponseWrapper {
+
+    /** */
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    /** */
+    private static final String CONTENT_ENCODING = "Content-Encoding";
+
+    /** */
+    private final GZipStreamingOutputStream outputStream;
+
+    /** */
+    private final Set<String> excludedMimeTypes;
+
+    /** */
+    private PrintWriter printWriter = null;
+
+    /** */
+    private boolean outputStreamObtained = false;
+
+    /** content length set by the application, {@code -1} if unknown. */
+    private long contentLength = -1;
+
+    /** */
+    private boolean decided = false;
+
+    GZipStreamingResponseWrapper(final HttpServletResponse response, final int threshold, final int compressionLevel,
+            final Set<String> excludedMimeTypes) {
+        super(response);
+        this.excludedMimeTypes = excludedMimeTypes;
+        this.outputStream = new GZipStreamingOutputStream(this, threshold, compressionLevel);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (this.printWriter != null) {
+            throw new IllegalStateException("PrintWriter obtained already - cannot get OutputStream");
+        }
+        outputStreamObtained = true;
+        return this.outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (outputStreamObtained) {
+            throw new IllegalStateException("OutputStream obtained already - cannot get PrintWriter");
+        }
+        if (this.printWriter == null) {
+            this.printWriter = new PrintWriter(new OutputStreamWriter(this.outputStream, getCharacterEncoding()));
+        }
+        return this.printWriter;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (this.printWriter != null) {
+            this.printWriter.flush();
+        }
+        this.outputStream.flush();
+        // do not commit the response while the compression is undecided.
+        if (decided) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void setContentLength(final int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(final long len) {
+        if (decided) {
+            if (!outputStream.isCompressing()) {
+                super.setContentLengthLong(len);
+            }
+        } else {
+            this.contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(final String name, final String value) {
+        if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(final String name, final String value) {
+        if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value != null ? Long.parseLong(value) : -1);
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(final String name, final int value) {
+        if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.setIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addIntHeader(final String name, final int value) {
+        if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(value);
+        } else {
+            super.addIntHeader(name, value);
+        }
+    }
+
+    @Override
+    public void reset() {
+        if (decided) {
+            throw new IllegalStateException("Response content already streamed - cannot reset");
+        }
+        super.reset();
+        this.outputStream.resetBuffer();
+        this.contentLength = -1;
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (decided) {
+            throw new IllegalStateException("Response content already streamed - cannot reset buffer");
+        }
+        super.resetBuffer();
+        this.outputStream.resetBuffer();
+    }
+
+    /**
+     * Flushes and completes the response body.
+     *
+     * @throws IOException
+     *             if an I/O error occurs.
+     */
+    public void finish() throws IOException {
+        if (this.printWriter != null) {
+            this.printWriter.flush();
+        }
+        this.outputStream.close();
+    }
+
+    /**
+     * @return Returns {@code true} whether the current response can be compressed: the response is not committed, its
+     *         status allows a body, it is not already encoded and its content type is not excluded.
+     */
+    boolean isCompressible() {
+        if (isCommitted() || containsHeader(CONTENT_ENCODING) || isBodyless()) {
+            return false;
+        }
+        final String contentType = getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        final int index = contentType.indexOf(';');
+        final String mimeType = (index >= 0 ? contentType.substring(0, index) : contentType).trim()
+                .toLowerCase(Locale.ROOT);
+        return !excludedMimeTypes.contains(mimeType);
+    }
+
+    /**
+     * Prepares the headers of a compressed response.
+     *
+     * @throws IOException
+     *             if the response headers can not be modified.
+     */
+    void startCompression() throws IOException {
+        this.decided = true;
+        try {
+            GZipResponseUtil.addGzipHeader((HttpServletResponse) getResponse());
+        } catch (final GzipResponseHeadersNotModifiableException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        ((HttpServletResponse) getResponse()).addHeader("Vary", "Accept-Encoding");
+    }
+
+    /**
+     * Prepares the headers of an uncompressed response.
+     *
+     * @param bufferedLength
+     *            the length of the buffered content.
+     * @param partial
+     *            {@code true} if the buffered content is only the beginning of the body.
+     */
+    void startIdentity(final long bufferedLength, final boolean partial) {
+        this.decided = true;
+        if (isBodyless()) {
+            // content length of a 204 or 304 response must not be set
+            return;
+        }
+        if (contentLength >= 0) {
+            super.setContentLengthLong(contentLength);
+        } else if (!partial && !isCommitted()) {
+            super.setContentLengthLong(bufferedLength);
+        }
+    }
+
+    /**
+     * @return Returns {@code true} whether the status of response doesn't allow a body.
+     */
+    private boolean isBodyless() {
+        switch (getStatus()) {
+            case HttpServletResponse.SC_NO_CONTENT:
+            case HttpServletResponse.SC_RESET_CONTENT:
+            case HttpServletResponse.SC_NOT_MODIFIED:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
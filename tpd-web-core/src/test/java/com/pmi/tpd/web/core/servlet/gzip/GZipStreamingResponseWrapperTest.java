@@ -0,0 +1,205 @@
+package com.pmi.tpd.web.core.servlet.gzip;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class GZipStreamingResponseWrapperTest extends TestCase {
+
+    private static final int THRESHOLD = 16;
+
+    private static final Set<String> EXCLUDED = ImmutableSet.of("application/zip");
+
+    private MockHttpServletResponse response;
+
+    private GZipStreamingResponseWrapper wrapper;
+
+    @BeforeEach
+    public void setUp() {
+        response = new MockHttpServletResponse();
+        wrapper = new GZipStreamingResponseWrapper(response, THRESHOLD, Deflater.DEFAULT_COMPRESSION, EXCLUDED);
+    }
+
+    @Test
+    public void shouldSendSmallBodyUncompressedWithContentLength() throws IOException {
+        wrapper.setContentType("application/json");
+        wrapper.getOutputStream().write(bytes(THRESHOLD));
+        wrapper.finish();
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(THRESHOLD, response.getContentLength());
+        assertArrayEquals(bytes(THRESHOLD), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldCompressBodyAboveThreshold() throws IOException {
+        wrapper.setContentType("application/json");
+        wrapper.setContentLength(THRESHOLD * 4);
+        final ServletOutputStream out = wrapper.getOutputStream();
+        out.write(bytes(THRESHOLD));
+        out.write(bytes(THRESHOLD * 3));
+        wrapper.finish();
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("Vary"));
+        // the application content length is dropped, the compressed body is chunked
+        assertFalse(response.containsHeader("Content-Length"));
+        final byte[] expected = concat(bytes(THRESHOLD), bytes(THRESHOLD * 3));
+        assertArrayEquals(expected, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    public void shouldCompressWriterOutput() throws IOException {
+        wrapper.setCharacterEncoding("UTF-8");
+        wrapper.setContentType("text/plain");
+        final String text = new String(new char[THRESHOLD * 2]).replace('\0', 'a');
+        wrapper.getWriter().write(text);
+        wrapper.finish();
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(text, new String(gunzip(response.getContentAsByteArray()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldNotCompressExcludedMimeType() throws IOException {
+        wrapper.setContentType("application/zip; charset=binary");
+        wrapper.setContentLength(THRESHOLD * 2);
+        wrapper.getOutputStream().write(bytes(THRESHOLD * 2));
+        wrapper.finish();
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(THRESHOLD * 2, response.getContentLength());
+        assertArrayEquals(bytes(THRESHOLD * 2), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldNotSetContentLengthOfPartialUncompressedBody() throws IOException {
+        wrapper.setContentType("application/zip");
+        wrapper.getOutputStream().write(bytes(THRESHOLD * 2));
+        wrapper.finish();
+
+        assertFalse(response.containsHeader("Content-Length"));
+        assertArrayEquals(bytes(THRESHOLD * 2), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldRetainContentLengthHeaderUntilDecided() throws IOException {
+        wrapper.setHeader("Content-Length", "4");
+        assertFalse(response.containsHeader("Content-Length"));
+
+        wrapper.getOutputStream().write(bytes(4));
+        wrapper.finish();
+
+        assertEquals(4, response.getContentLength());
+    }
+
+    @Test
+    public void shouldNotCommitOnFlushBufferWhileUndecided() throws IOException {
+        wrapper.getOutputStream().write(bytes(4));
+        wrapper.flushBuffer();
+
+        assertFalse(response.isCommitted());
+        assertEquals(0, response.getContentAsByteArray().length);
+
+        wrapper.getOutputStream().write(bytes(THRESHOLD));
+        wrapper.flushBuffer();
+
+        assertTrue(response.isCommitted());
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+    }
+
+    @Test
+    public void shouldDiscardBufferedContentOnReset() throws IOException {
+        wrapper.getOutputStream().write(bytes(4));
+        wrapper.setContentLength(4);
+        wrapper.reset();
+        wrapper.getOutputStream().write(bytes(2));
+        wrapper.finish();
+
+        assertEquals(2, response.getContentLength());
+        assertArrayEquals(bytes(2), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldDiscardBufferedContentOnResetBuffer() throws IOException {
+        wrapper.getOutputStream().write(bytes(4));
+        wrapper.resetBuffer();
+        wrapper.getOutputStream().write(bytes(2));
+        wrapper.finish();
+
+        assertArrayEquals(bytes(2), response.getContentAsByteArray());
+    }
+
+    @Test
+    public void shouldNotResetStreamedContent() throws IOException {
+        wrapper.getOutputStream().write(bytes(THRESHOLD * 2));
+
+        assertThrows(IllegalStateException.class, () -> wrapper.reset());
+        assertThrows(IllegalStateException.class, () -> wrapper.resetBuffer());
+    }
+
+    @Test
+    public void shouldNotCompressNoContentResponse() throws IOException {
+        wrapper.setStatus(HttpServletResponse.SC_NO_CONTENT);
+        wrapper.finish();
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertFalse(response.containsHeader("Content-Length"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    public void shouldNotCompressNotModifiedResponse() throws IOException {
+        wrapper.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+        wrapper.getOutputStream().write(bytes(THRESHOLD * 2));
+        wrapper.finish();
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertFalse(response.containsHeader("Content-Length"));
+    }
+
+    @Test
+    public void shouldNotCompressAlreadyEncodedResponse() throws IOException {
+        wrapper.setHeader("Content-Encoding", "br");
+        wrapper.getOutputStream().write(bytes(THRESHOLD * 2));
+        wrapper.finish();
+
+        assertEquals("br", response.getHeader("Content-Encoding"));
+        assertArrayEquals(bytes(THRESHOLD * 2), response.getContentAsByteArray());
+    }
+
+    private static byte[] bytes(final int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) ('a' + i % 26);
+        }
+        return bytes;
+    }
+
+    private static byte[] concat(final byte[] first, final byte[] second) {
+        final byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static byte[] gunzip(final byte[] content) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return ByteStreams.toByteArray(in);
+        }
+    }
+}
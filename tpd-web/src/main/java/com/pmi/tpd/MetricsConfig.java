@@ -38,10 +38,13 @@ import com.codahale.metrics.jvm.ThreadStatesGaugeSet;
 import com.codahale.metrics.logback.InstrumentedAppender;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableMap.Builder;
+import com.hazelcast.core.HazelcastInstance;
 import com.pmi.tpd.api.util.ByteConverter;
 import com.pmi.tpd.core.mail.IMailService;
+import com.pmi.tpd.core.mail.MailOutboxMetricSet;
 import com.pmi.tpd.euceg.backend.core.IBackendManager;
 import com.pmi.tpd.metrics.gauge.BoneCpGaugeSet;
+import com.pmi.tpd.metrics.gauge.HazelcastNearCacheGaugeSet;
 import com.pmi.tpd.metrics.gauge.OperatingSystemGaugeSet;
 import com.pmi.tpd.metrics.heath.DatabaseHealthIndicator;
 import com.pmi.tpd.metrics.heath.DiskSpaceHealthIndicator;
@@ -90,6 +93,12 @@ public class MetricsConfig extends MetricsConfigurerAdapter implements Environme
 
     private static final String PROP_METRIC_REG_CACHE = "cache";
 
+    /** */
+    private static final String PROP_METRIC_REG_NEAR_CACHE = "cache.near";
+
+    /** */
+    private static final String PROP_METRIC_REG_MAIL_OUTBOX = "mail.outbox";
+
     /** */
     private static final Logger LOGGER = LoggerFactory.getLogger(MetricsConfig.class);
 
@@ -99,6 +108,14 @@ public class MetricsConfig extends MetricsConfigurerAdapter implements Environme
     /** */
     private PropertyResolver propertyResolver;
 
+    /** */
+    @Autowired(required = false)
+    private HazelcastInstance hazelcastInstance;
+
+    /** */
+    @Autowired(required = false)
+    private MailOutboxMetricSet mailOutboxMetricSet;
+
     @Override
     @Bean
     public MetricRegistry getMetricRegistry() {
@@ -127,6 +144,12 @@ public class MetricsConfig extends MetricsConfigurerAdapter implements Environme
         metricRegistry.register(PROP_METRIC_REG_JVM_FILES, new FileDescriptorRatioGauge());
         metricRegistry.register(PROP_METRIC_REG_OS, new OperatingSystemGaugeSet());
         metricRegistry.register(PROP_METRIC_REG_CACHE, new JCacheGaugeSet());
+        if (hazelcastInstance != null) {
+            metricRegistry.register(PROP_METRIC_REG_NEAR_CACHE, new HazelcastNearCacheGaugeSet(hazelcastInstance));
+        }
+        if (mailOutboxMetricSet != null) {
+            metricRegistry.register(PROP_METRIC_REG_MAIL_OUTBOX, mailOutboxMetricSet);
+        }
         metricRegistry.register(PROP_METRIC_REG_JVM_BUFFERS,
             new BufferPoolMetricSet(ManagementFactory.getPlatformMBeanServer()));
         metricRegistry.register(PROP_METRIC_REG_DATASOURCE, new BoneCpGaugeSet());
@@ -12,6 +12,7 @@ import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.zip.Deflater;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -69,6 +70,7 @@ import com.codahale.metrics.health.HealthCheckRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ObjectArrays;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.web.WebFilter;
 import com.pmi.tpd.api.ApplicationConstants;
@@ -292,7 +294,7 @@ public class WebAppInitializer implements WebApplicationInitializer {
         final ConfigurableEnvironment environment = bootstrap(servletContext);
 
         addListeners(servletContext);
-        addFilters(servletContext);
+        addFilters(servletContext, environment);
         addServlets(servletContext, environment);
 
     }
@@ -405,7 +407,7 @@ public class WebAppInitializer implements WebApplicationInitializer {
 
     }
 
-    private void addFilters(final ServletContext servletContext) {
+    private void addFilters(final ServletContext servletContext, final ConfigurableEnvironment environment) {
         // instead of ISO-8859-1. For more info, see http://wiki.apache.org/tomcat/FAQ/CharacterEncoding#Q1 and
         // http://wiki.apache.org/tomcat/FAQ/CharacterEncoding#Q3
         final FilterRegistration.Dynamic requestCharsetFilter = servletContext.addFilter("DefaultCharsetRequestFilter",
@@ -456,7 +458,7 @@ public class WebAppInitializer implements WebApplicationInitializer {
             "false")); // Mustn't ask us... Not their business...
         urlRewriteFilter.addMappingForUrlPatterns(DEFAULT, true, URL_ALL);
 
-        initGzipFilter(servletContext, COMPRESSED_MAPPING_PATTERNS);
+        initGzipFilter(servletContext, environment, COMPRESSED_MAPPING_PATTERNS);
         initCachingHttpHeadersFilter(servletContext, CACHED_MAPPING_PATTERNS);
 
         //
@@ -555,13 +557,31 @@ public class WebAppInitializer implements WebApplicationInitializer {
 
     /**
      * Initializes the GZip filter.
+     * <p>
+     * When the streaming compression is enabled ({@code app.compression.streaming}), REST responses are compressed
+     * too.
+     * </p>
      */
-    private void initGzipFilter(final ServletContext servletContext, final String... compressedMappingPatterns) {
+    private void initGzipFilter(final ServletContext servletContext,
+        final Environment environment,
+        final String... compressedMappingPatterns) {
         final FilterRegistration.Dynamic compressingFilter = registerServletFilter(servletContext,
             new GZipServletFilter());
+        final boolean streaming = environment.getProperty("app.compression.streaming", Boolean.class, false);
         final Map<String, String> parameters = new HashMap<>();
+        parameters.put(GZipServletFilter.PARAM_STREAMING, String.valueOf(streaming));
+        parameters.put(GZipServletFilter.PARAM_THRESHOLD,
+            environment.getProperty("app.compression.threshold",
+                String.valueOf(GZipServletFilter.DEFAULT_THRESHOLD)));
+        parameters.put(GZipServletFilter.PARAM_COMPRESSION_LEVEL,
+            environment.getProperty("app.compression.level", String.valueOf(Deflater.DEFAULT_COMPRESSION)));
+        parameters.put(GZipServletFilter.PARAM_EXCLUDED_MIME_TYPES,
+            environment.getProperty("app.compression.excluded-mime-types",
+                GZipServletFilter.DEFAULT_EXCLUDED_MIME_TYPES));
         compressingFilter.setInitParameters(parameters);
-        compressingFilter.addMappingForUrlPatterns(getDispatcherTypes(), true, compressedMappingPatterns);
+        compressingFilter.addMappingForUrlPatterns(getDispatcherTypes(),
+            true,
+            streaming ? ObjectArrays.concat(compressedMappingPatterns, URL_REST) : compressedMappingPatterns);
         compressingFilter.setAsyncSupported(isAsyncSupported());
     }
 
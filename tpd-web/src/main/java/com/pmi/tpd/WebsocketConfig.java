@@ -4,11 +4,13 @@ import java.security.Principal;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
 
 import org.elasticsearch.common.Strings;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.server.ServerHttpRequest;
@@ -37,6 +39,7 @@ import com.pmi.tpd.api.ApplicationConstants;
 import com.pmi.tpd.api.event.publisher.IEventPublisher;
 import com.pmi.tpd.web.security.jwt.JwtConfigurer;
 import com.pmi.tpd.web.security.jwt.JwtTokenProvider;
+import com.pmi.tpd.web.websocket.SubmissionUpdateBroadcaster;
 import com.pmi.tpd.web.websocket.WebSocketController;
 
 /**
@@ -55,14 +58,23 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(final MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/ws");
     }
 
+    @Bean
+    public SubmissionUpdateBroadcaster submissionUpdateBroadcaster(
+        @Nonnull final SimpMessageSendingOperations messagingTemplate,
+        @Nonnull final ScheduledExecutorService scheduledExecutorService,
+        @Value("${websocket.submission.window:500}") final long window) {
+        return new SubmissionUpdateBroadcaster(messagingTemplate, scheduledExecutorService, window);
+    }
+
     @Bean
     public WebSocketController webSocketController(@Nonnull final SimpMessageSendingOperations messagingTemplate,
-        @Nonnull final IEventPublisher eventPublisher) {
-        return new WebSocketController(messagingTemplate, eventPublisher);
+        @Nonnull final IEventPublisher eventPublisher,
+        @Nonnull final SubmissionUpdateBroadcaster submissionUpdateBroadcaster) {
+        return new WebSocketController(messagingTemplate, eventPublisher, submissionUpdateBroadcaster);
     }
 
     @Override
@@ -0,0 +1,85 @@
+package com.pmi.tpd.metrics.gauge;
+
+import static com.pmi.tpd.api.util.Assert.checkNotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.ParametersAreNonnullByDefault;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricSet;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nearcache.NearCacheStats;
+
+/**
+ * Provides hit/miss gauges of all near-cached maps explicitly declared in the Hazelcast configuration. A map which has
+ * not been created yet reports zero values.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+@ParametersAreNonnullByDefault
+public class HazelcastNearCacheGaugeSet implements MetricSet {
+
+    /** */
+    private final HazelcastInstance hazelcast;
+
+    /**
+     * @param hazelcast
+     *                  a Hazelcast instance.
+     */
+    public HazelcastNearCacheGaugeSet(@Nonnull final HazelcastInstance hazelcast) {
+        this.hazelcast = checkNotNull(hazelcast, "hazelcast");
+    }
+
+    @Override
+    public Map<String, Metric> getMetrics() {
+        final Map<String, Metric> gauges = new HashMap<>();
+        for (final MapConfig config : hazelcast.getConfig().getMapConfigs().values()) {
+            final String name = config.getName();
+            // wildcard configurations are not maps
+            if (config.getNearCacheConfig() == null || name.contains("*")) {
+                continue;
+            }
+            gauges.put(name + ".hits", createGauge(name, NearCacheStats::getHits));
+            gauges.put(name + ".misses", createGauge(name, NearCacheStats::getMisses));
+            gauges.put(name + ".entries", createGauge(name, NearCacheStats::getOwnedEntryCount));
+            gauges.put(name + ".evictions", createGauge(name, NearCacheStats::getEvictions));
+            gauges.put(name + ".expirations", createGauge(name, NearCacheStats::getExpirations));
+            gauges.put(name + ".invalidations", createGauge(name, NearCacheStats::getInvalidations));
+            gauges.put(name + ".ratio", (Gauge<Double>) () -> {
+                final NearCacheStats stats = getStats(name);
+                return stats != null ? stats.getRatio() : 0D;
+            });
+        }
+        return gauges;
+    }
+
+    private Gauge<Long> createGauge(final String name, final ToLongFunction<NearCacheStats> stat) {
+        return () -> {
+            final NearCacheStats stats = getStats(name);
+            return stats != null ? stat.applyAsLong(stats) : 0L;
+        };
+    }
+
+    /**
+     * Reads the statistics from the existing map only, as {@link HazelcastInstance#getMap(String)} would create it.
+     */
+    @Nullable
+    private NearCacheStats getStats(final String name) {
+        for (final DistributedObject object : hazelcast.getDistributedObjects()) {
+            if (object instanceof IMap && name.equals(object.getName())) {
+                return ((IMap<?, ?>) object).getLocalMapStats().getNearCacheStats();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,146 @@
+package com.pmi.tpd.metrics.jersey;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.codahale.metrics.Clock;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.MoreObjects;
+import com.pmi.tpd.api.util.Assert;
+
+/**
+ * Limits the number of concurrent requests with an additive increase / multiplicative decrease algorithm.
+ * <p>
+ * The limit grows by one each time a request completes under the latency threshold while the limit was at least half
+ * used, and is cut by {@link #BACKOFF_RATIO} when a request is slower than the threshold or fails with a server error.
+ * The limit is cut at most once per latency window (the latency threshold), so that the requests slowed down by the
+ * same overload don't each cut it. Requests above the limit are rejected immediately instead of queueing behind slow
+ * ones.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class AimdConcurrencyLimiter {
+
+    /** ratio applied to the limit when a request is slow or has failed. */
+    public static final double BACKOFF_RATIO = 0.9;
+
+    /** */
+    private final int minLimit;
+
+    /** */
+    private final int maxLimit;
+
+    /** */
+    private final long latencyThresholdNanos;
+
+    /** */
+    private final Clock clock;
+
+    /** */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** updated under lock of this instance. */
+    private volatile int limit;
+
+    /** tick of the last decrease of limit, guarded by this instance. */
+    private long lastDecreaseNanos;
+
+    /**
+     * @param initialLimit
+     *                         the limit before any request has completed.
+     * @param minLimit
+     *                         the lowest limit, at least 1.
+     * @param maxLimit
+     *                         the highest limit.
+     * @param latencyThreshold
+     *                         the latency above which a request is considered as a sign of overload.
+     * @param unit
+     *                         the unit of latency threshold.
+     */
+    public AimdConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit,
+            final long latencyThreshold, final TimeUnit unit) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, unit, Clock.defaultClock());
+    }
+
+    @VisibleForTesting
+    AimdConcurrencyLimiter(final int initialLimit, final int minLimit, final int maxLimit, final long latencyThreshold,
+            final TimeUnit unit, final Clock clock) {
+        Assert.isTrue(minLimit >= 1, "minLimit must be at least 1");
+        Assert.isTrue(minLimit <= initialLimit && initialLimit <= maxLimit,
+            "initialLimit must be between minLimit and maxLimit");
+        Assert.isTrue(latencyThreshold > 0, "latencyThreshold must be positive");
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+        this.latencyThresholdNanos = Assert.checkNotNull(unit, "unit").toNanos(latencyThreshold);
+        this.clock = Assert.checkNotNull(clock, "clock");
+        this.lastDecreaseNanos = clock.getTick() - latencyThresholdNanos;
+    }
+
+    /**
+     * Reserves a slot for a new request.
+     *
+     * @return Returns {@code true} if the request can proceed, in which case {@link #release(long, boolean)} must be
+     *         called once it has completed, otherwise {@code false}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases the slot of a completed request and adapts the limit from its outcome.
+     *
+     * @param latencyNanos
+     *                     the latency of request in nanoseconds.
+     * @param failed
+     *                     {@code true} if the request has failed with a server error.
+     */
+    public void release(final long latencyNanos, final boolean failed) {
+        final int used = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                final long now = clock.getTick();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, (int) (limit * BACKOFF_RATIO));
+                    lastDecreaseNanos = now;
+                }
+            } else if (used * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * @return Returns the current limit of concurrent requests.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return Returns the number of requests in progress.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("limit", limit)
+                .add("inFlight", inFlight.get())
+                .add("minLimit", minLimit)
+                .add("maxLimit", maxLimit)
+                .toString();
+    }
+}
@@ -0,0 +1,26 @@
+package com.pmi.tpd.metrics.jersey;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the concurrent calls of a resource method, or of all methods of a resource class, with the adaptive limiter
+ * of its {@link EndpointGroup group}. Calls above the limit are rejected with the status code 503.
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ * @see InstrumentedResourceFeature
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE, ElementType.METHOD })
+public @interface ConcurrencyLimited {
+
+    /**
+     * @return Returns the group sharing the concurrency limit.
+     */
+    EndpointGroup value();
+}
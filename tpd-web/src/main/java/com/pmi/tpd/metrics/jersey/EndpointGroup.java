@@ -0,0 +1,69 @@
+package com.pmi.tpd.metrics.jersey;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.codahale.metrics.Clock;
+
+/**
+ * Groups of resource methods sharing the same concurrency limit.
+ * <p>
+ * Heavy groups start with a low limit and tolerate a long latency, interactive groups start higher and back off as
+ * soon as their latency degrades.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public enum EndpointGroup {
+
+    /** upload and import of files. */
+    IMPORT(2, 8, 30, TimeUnit.SECONDS),
+    /** generation of exports, packages and reports. */
+    EXPORT(2, 8, 30, TimeUnit.SECONDS),
+    /** paged searches. */
+    SEARCH(20, 100, 2, TimeUnit.SECONDS),
+    /** sending of submissions to the backend. */
+    SEND(4, 16, 10, TimeUnit.SECONDS);
+
+    /** */
+    private final int initialLimit;
+
+    /** */
+    private final int maxLimit;
+
+    /** */
+    private final long latencyThreshold;
+
+    /** */
+    private final TimeUnit unit;
+
+    EndpointGroup(final int initialLimit, final int maxLimit, final long latencyThreshold, final TimeUnit unit) {
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThreshold = latencyThreshold;
+        this.unit = unit;
+    }
+
+    /**
+     * @return Returns a new limiter configured for this group.
+     */
+    @Nonnull
+    public AimdConcurrencyLimiter createLimiter() {
+        return createLimiter(Clock.defaultClock());
+    }
+
+    @Nonnull
+    AimdConcurrencyLimiter createLimiter(@Nonnull final Clock clock) {
+        return new AimdConcurrencyLimiter(initialLimit, 1, maxLimit, latencyThreshold, unit, clock);
+    }
+
+    /**
+     * @return Returns the name of group used in metric names.
+     */
+    @Nonnull
+    public String getMetricName() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,240 @@
+package com.pmi.tpd.metrics.jersey;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response.Status;
+
+import org.glassfish.jersey.model.AnnotatedMethod;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.pmi.tpd.api.i18n.I18nService;
+import com.pmi.tpd.api.util.Assert;
+import com.pmi.tpd.web.core.rs.support.ResponseFactory;
+import com.pmi.tpd.web.core.rs.support.RestUtils;
+
+/**
+ * Times each resource method and applies the admission control of resource methods annotated with
+ * {@link ConcurrencyLimited}.
+ * <p>
+ * Each resource method has its own timer {@code rest.<Resource>.<method>}, stopped once the response has been written,
+ * so that streamed responses count their write time. Each {@link EndpointGroup} has its own
+ * {@link AimdConcurrencyLimiter}, fed with the same latency and exposed with the metrics
+ * {@code rest.limiter.<group>.limit}, {@code inFlight} and {@code rejected}.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class InstrumentedResourceFeature implements DynamicFeature, ApplicationEventListener {
+
+    /** */
+    public static final String METRIC_PREFIX = "rest";
+
+    /** */
+    private static final String MEASURE_PROPERTY = InstrumentedResourceFeature.class.getName() + ".measure";
+
+    /** delay in seconds advised to rejected clients. */
+    private static final String RETRY_AFTER = "5";
+
+    /** */
+    private final MetricRegistry registry;
+
+    /** */
+    private final I18nService i18nService;
+
+    /** */
+    private final Clock clock;
+
+    /** */
+    private final ConcurrentMap<EndpointGroup, Limiter> limiters = new ConcurrentHashMap<>();
+
+    /** resource method owning each timer name, guarded by itself. */
+    private final Map<String, Method> timerOwners = new HashMap<>();
+
+    @Inject
+    public InstrumentedResourceFeature(final MetricRegistry registry, final I18nService i18nService) {
+        this(registry, i18nService, Clock.defaultClock());
+    }
+
+    @VisibleForTesting
+    InstrumentedResourceFeature(final MetricRegistry registry, final I18nService i18nService, final Clock clock) {
+        this.registry = Assert.checkNotNull(registry, "registry");
+        this.i18nService = Assert.checkNotNull(i18nService, "i18nService");
+        this.clock = Assert.checkNotNull(clock, "clock");
+    }
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        final Class<?> resourceClass = resourceInfo.getResourceClass();
+        final Method resourceMethod = resourceInfo.getResourceMethod();
+        final Timer timer = registry.timer(timerName(resourceClass, resourceMethod),
+            () -> new Timer(new ExponentiallyDecayingReservoir(), clock));
+
+        ConcurrencyLimited limited = new AnnotatedMethod(resourceMethod).getAnnotation(ConcurrencyLimited.class);
+        if (limited == null) {
+            limited = resourceClass.getAnnotation(ConcurrencyLimited.class);
+        }
+        final Limiter limiter = limited != null ? limiters.computeIfAbsent(limited.value(), this::createLimiter)
+                : null;
+        context.register(new MeasureFilter(timer, limiter));
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return event -> {
+            if (event.getType() == RequestEvent.Type.FINISHED) {
+                final Measure measure = (Measure) event.getContainerRequest().getProperty(MEASURE_PROPERTY);
+                if (measure != null) {
+                    final ContainerResponse response = event.getContainerResponse();
+                    measure.stop(response == null
+                            || response.getStatus() >= Status.INTERNAL_SERVER_ERROR.getStatusCode());
+                }
+            }
+        };
+    }
+
+    /**
+     * @param group
+     *              a group of resource methods.
+     * @return Returns the limiter of group, or {@code null} if no resource method of group has been configured.
+     */
+    @VisibleForTesting
+    @Nullable
+    AimdConcurrencyLimiter getLimiter(@Nonnull final EndpointGroup group) {
+        final Limiter limiter = limiters.get(group);
+        return limiter != null ? limiter.limiter : null;
+    }
+
+    /**
+     * Resource methods overloading the same name get a distinct timer suffixed by their position.
+     */
+    private String timerName(final Class<?> resourceClass, final Method resourceMethod) {
+        final String baseName = name(METRIC_PREFIX, resourceClass.getSimpleName(), resourceMethod.getName());
+        synchronized (timerOwners) {
+            String timerName = baseName;
+            for (int i = 2;; i++) {
+                final Method owner = timerOwners.putIfAbsent(timerName, resourceMethod);
+                if (owner == null || owner.equals(resourceMethod)) {
+                    return timerName;
+                }
+                timerName = baseName + i;
+            }
+        }
+    }
+
+    private Limiter createLimiter(final EndpointGroup group) {
+        final AimdConcurrencyLimiter limiter = group.createLimiter(clock);
+        final String prefix = name(METRIC_PREFIX, "limiter", group.getMetricName());
+        registry.gauge(name(prefix, "limit"), () -> (Gauge<Integer>) limiter::getLimit);
+        registry.gauge(name(prefix, "inFlight"), () -> (Gauge<Integer>) limiter::getInFlight);
+        return new Limiter(limiter, registry.meter(name(prefix, "rejected")));
+    }
+
+    /**
+     * Limiter of a group with the meter of rejected requests.
+     */
+    private static final class Limiter {
+
+        /** */
+        private final AimdConcurrencyLimiter limiter;
+
+        /** */
+        private final Meter rejected;
+
+        Limiter(final AimdConcurrencyLimiter limiter, final Meter rejected) {
+            this.limiter = limiter;
+            this.rejected = rejected;
+        }
+    }
+
+    /**
+     * Measure of a request in progress, stopped when the response has been written.
+     */
+    private static final class Measure {
+
+        /** */
+        private final Timer.Context context;
+
+        /** */
+        @Nullable
+        private final AimdConcurrencyLimiter limiter;
+
+        Measure(@Nonnull final Timer.Context context, @Nullable final AimdConcurrencyLimiter limiter) {
+            this.context = context;
+            this.limiter = limiter;
+        }
+
+        void stop(final boolean failed) {
+            final long elapsed = context.stop();
+            if (limiter != null) {
+                limiter.release(elapsed, failed);
+            }
+        }
+    }
+
+    /**
+     * Runs after the authorization filters, so that unauthorised requests don't consume the limit of their group.
+     */
+    @Priority(Priorities.USER)
+    private class MeasureFilter implements ContainerRequestFilter {
+
+        /** */
+        private final Timer timer;
+
+        /** */
+        @Nullable
+        private final Limiter limiter;
+
+        MeasureFilter(@Nonnull final Timer timer, @Nullable final Limiter limiter) {
+            this.timer = timer;
+            this.limiter = limiter;
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            if (limiter != null && !limiter.limiter.tryAcquire()) {
+                limiter.rejected.mark();
+                requestContext.abortWith(ResponseFactory
+                        .error(Status.SERVICE_UNAVAILABLE, null, i18nService.getMessage("app.rest.overloaded"))
+                        .type(RestUtils.APPLICATION_JSON_UTF8)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER)
+                        .build());
+                return;
+            }
+            requestContext.setProperty(MEASURE_PROPERTY,
+                new Measure(timer.time(), limiter != null ? limiter.limiter : null));
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Per-endpoint latency metrics and admission control of REST resources.
+ *
+ * @author Christophe Friederich
+ */
+package com.pmi.tpd.metrics.jersey;
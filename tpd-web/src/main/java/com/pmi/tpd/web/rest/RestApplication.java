@@ -16,9 +16,9 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.jersey2.MetricsFeature;
 import com.pmi.tpd.api.util.Assert;
 import com.pmi.tpd.euceg.backend.core.domibus.api.DomibusResource;
+import com.pmi.tpd.metrics.jersey.InstrumentedResourceFeature;
 import com.pmi.tpd.web.core.rs.container.HttpSessionFactory;
 import com.pmi.tpd.web.core.rs.container.LoggingFilter;
 import com.pmi.tpd.web.core.rs.container.PageableFactory;
@@ -142,7 +142,7 @@ public class RestApplication extends ResourceConfig {
         /*
          * Metrics Config
          */
-        register(new MetricsFeature(metricRegistry));
+        register(InstrumentedResourceFeature.class);
 
         // Enable LoggingFilter & output entity.
         registerInstances(new LoggingFilter(LoggerFactory.getLogger(RestApplication.class.getName()), true));
@@ -112,6 +112,52 @@ public class AuditResource {
                 .build();
     }
 
+    /**
+     * Finds a slice of audit events by range date and associated to specific channels, using keyset pagination.
+     * <p>
+     * The identifier of the last event of a slice is used as {@code before} parameter to retrieve the next slice.
+     * </p>
+     *
+     * @param pageable
+     *                 defines the size of the slice to retrieve, the page number is ignored.
+     * @param before
+     *                 the identifier of the last event of the previous slice (optional).
+     * @param fromDate
+     *                 the from date.
+     * @param toDate
+     *                 the from date.
+     * @return Returns the requested slice of {@link IAuditEvent} filtered from {@code fromDate} to {@code toDate},
+     *         which may be empty but never {@code null}.
+     * @since 3.4
+     */
+    @GET
+    @Path("byDates/seek")
+    @Produces(MediaType.APPLICATION_JSON)
+    @PreAuthorize("isAuthenticated()")
+    @Timed
+    @Operation(summary = "Finds a slice of audit events by range date using keyset pagination",
+            responses = { @ApiResponse(content = @Content(schema = @Schema(implementation = Page.class))),
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded") })
+    public Response seekByDates(@Context final Pageable pageable,
+        @Parameter(required = false, description = "identifier of the last event of the previous slice") //
+        @QueryParam("before") final Long before, //
+        @Parameter(required = false, description = "from date (yyyy-MM-dd)") //
+        @QueryParam("fromDate") final String fromDate, //
+        @Parameter(required = false, description = "to date (yyyy-MM-dd)") //
+        @QueryParam("toDate") final String toDate,
+        @Parameter(required = false, description = "representing string[], separator ','") //
+        @QueryParam("channels") final String channels) {
+        String[] cs = ArrayUtils.EMPTY_STRING_ARRAY;
+        if (!Strings.isNullOrEmpty(channels)) {
+            cs = channels.split(",");
+        }
+
+        return ResponseFactory
+                .ok(auditEventService
+                        .findByDates(before, pageable.getPageSize(), toDate(fromDate), toDate(toDate), cs))
+                .build();
+    }
+
     private static LocalDate toDate(final String text) {
         if (Strings.isNullOrEmpty(text)) {
             return null;
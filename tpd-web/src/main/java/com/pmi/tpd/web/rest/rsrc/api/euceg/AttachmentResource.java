@@ -48,6 +48,8 @@ import com.pmi.tpd.core.euceg.filestorage.MoveDirectoryRequest;
 import com.pmi.tpd.core.euceg.filestorage.MoveFileRequest;
 import com.pmi.tpd.core.model.euceg.AttachmentRevision;
 import com.pmi.tpd.euceg.api.entity.IAttachmentEntity;
+import com.pmi.tpd.metrics.jersey.ConcurrencyLimited;
+import com.pmi.tpd.metrics.jersey.EndpointGroup;
 import com.pmi.tpd.web.core.hateoas.BaseResourceSupport;
 import com.pmi.tpd.web.core.rs.support.ResponseFactory;
 import com.pmi.tpd.web.rest.RestApplication;
@@ -108,6 +110,7 @@ public class AttachmentResource extends BaseResourceSupport<AttachmentResource>
     @Timed
     @Operation(summary = "Gets list of attachments",
             responses = { @ApiResponse(content = @Content(schema = @Schema(implementation = CollectionModel.class))) })
+    @ConcurrencyLimited(EndpointGroup.SEARCH)
     public Response findAll(
         @Parameter(description = "page to load (zero-based page index)",
                 required = false) @QueryParam("page") @DefaultValue("0") final int page,
@@ -324,6 +327,7 @@ public class AttachmentResource extends BaseResourceSupport<AttachmentResource>
                     @ApiResponse(responseCode = "404", description = "The specified attachment does not exist."),
                     @ApiResponse(responseCode = "500", description = "The server encountered an  unexpected condition"
                             + " which prevented it from fulfilling the request.") })
+    @ConcurrencyLimited(EndpointGroup.IMPORT)
     public Response create(final CreateAttachmentRequest attachment, @FormDataParam("file") final InputStream file)
             throws IOException, ConcurrencyAttachmentAccessException, AttachmentInvalidFilenaneException {
         final IAttachmentEntity attachmentEntity = this.attachmentService.storeAttachment(file,
@@ -376,6 +380,7 @@ public class AttachmentResource extends BaseResourceSupport<AttachmentResource>
     @Path("/upload")
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
+    @ConcurrencyLimited(EndpointGroup.IMPORT)
     public Response uploadFileHttp(@FormDataParam("file") final FormDataBodyPart file,
         @FormDataParam("file") final InputStream fileInputStream)
             throws IOException, ConcurrencyAttachmentAccessException, AttachmentInvalidFilenaneException {
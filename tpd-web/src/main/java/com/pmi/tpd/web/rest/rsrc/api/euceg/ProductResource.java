@@ -64,7 +64,9 @@ import com.pmi.tpd.core.euceg.ISubmissionService;
 import com.pmi.tpd.core.euceg.PirStatusUpdateRequest;
 import com.pmi.tpd.core.euceg.ProductDiffRequest;
 import com.pmi.tpd.core.euceg.ProductDiffRequest.ProductDiffRequestBuilder;
+import com.pmi.tpd.core.euceg.ProductImportRequest;
 import com.pmi.tpd.core.euceg.ProductUpdateRequest;
+import com.pmi.tpd.core.euceg.report.IEucegTaskExecutorManager;
 import com.pmi.tpd.core.euceg.spi.IProductStore;
 import com.pmi.tpd.core.euceg.spi.IProductSubmissionStore;
 import com.pmi.tpd.core.model.euceg.ProductEntity;
@@ -77,6 +79,9 @@ import com.pmi.tpd.euceg.core.excel.ExcelHelper;
 import com.pmi.tpd.euceg.core.excel.SheetDescriptor;
 import com.pmi.tpd.euceg.core.excel.UnsupportedExcelFormatException;
 import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+import com.pmi.tpd.metrics.jersey.ConcurrencyLimited;
+import com.pmi.tpd.metrics.jersey.EndpointGroup;
+import com.pmi.tpd.scheduler.exec.ITaskMonitor;
 import com.pmi.tpd.web.core.hateoas.BaseResourceSupport;
 import com.pmi.tpd.web.core.rs.support.ResponseFactory;
 import com.pmi.tpd.web.rest.RestApplication;
@@ -129,6 +134,9 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     /** */
     private final IBulkProductService bulkProductService;
 
+    /** */
+    private final IEucegTaskExecutorManager taskExecutorManager;
+
     /**
      * @param submissionService
      *                          a submission service
@@ -141,7 +149,8 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     public ProductResource(final ISubmissionService submissionService,
             final IEucegImportExportService eucegImportExportService, final IProductStore store,
             final IProductSubmissionStore submissionStore, final IIndexerOperations indexerOperations,
-            final I18nService i18nService, final IBulkProductService bulkProductService) {
+            final I18nService i18nService, final IBulkProductService bulkProductService,
+            final IEucegTaskExecutorManager taskExecutorManager) {
         this.store = Assert.checkNotNull(store, "store");
         this.submissionStore = Assert.checkNotNull(submissionStore, "submissionStore");
         this.submissionService = Assert.checkNotNull(submissionService, "submissionService");
@@ -149,6 +158,7 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
         this.indexerOperations = Assert.checkNotNull(indexerOperations, "indexerOperations");
         this.i18nService = Assert.checkNotNull(i18nService, "i18nService");
         this.bulkProductService = Assert.checkNotNull(bulkProductService, "bulkProductService");
+        this.taskExecutorManager = Assert.checkNotNull(taskExecutorManager, "taskExecutorManager");
     }
 
     /**
@@ -164,6 +174,7 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     @Timed
     @Operation(summary = "Gets list of Product",
             responses = { @ApiResponse(content = @Content(schema = @Schema(implementation = CollectionModel.class))) })
+    @ConcurrencyLimited(EndpointGroup.SEARCH)
     public Response findAll(
         @Parameter(description = "page to load (zero-based page index)",
                 required = false) @QueryParam("page") @DefaultValue("0") final int page,
@@ -461,6 +472,7 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     @Timed
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
+    @ConcurrencyLimited(EndpointGroup.IMPORT)
     public Response getDiffFromFile(@FormDataParam("file") final FormDataBodyPart file,
         @FormDataParam("file") final InputStream fileInputStream,
         @FormDataParam("product_type") final String type,
@@ -489,11 +501,16 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     }
 
     /**
-     * Import a product excel file from {@link FormDataMultiPart} form.
+     * Import product excel files from {@link FormDataMultiPart} form.
+     * <p>
+     * The files are spooled and imported in background, the progress and the outcome of import, including the
+     * validation failures, can be fetched with the cancel token of returned task monitor on {@code import/progress}.
+     * </p>
      *
      * @param form
      *             the form to use
-     * @return Returns status code OK or ACCEPTED with empty response when the request has succeeded.
+     * @return Returns status code ACCEPTED with the task monitor of import, or OK with empty response when the request
+     *         contains no file.
      * @throws IOException
      *                     if I/O errors
      */
@@ -514,29 +531,63 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
         if (!Strings.isNullOrEmpty(sheets) && !"[]".equals(sheets)) {
             arSheets = Arrays.stream(sheets.split("\\|")).mapToInt(Integer::valueOf).toArray();
         }
-        if (files != null) {
-            ValidationResult result = null;
-
+        if (files != null && !files.isEmpty()) {
+            final ProductImportRequest.ProductImportRequestBuilder request = ProductImportRequest.builder()
+                    .productType(productType)
+                    .selectedSheets(arSheets)
+                    .keepSaleHistory(keepSaleHistory);
             for (final FormDataBodyPart bodyPart : files) {
                 final BodyPartEntity bodyPartEntity = (BodyPartEntity) bodyPart.getEntity();
-                try (InputStream file = bodyPartEntity.getInputStream()) {
-
-                    result = this.eucegImportExportService.importProductFromExcel(file,
-                        bodyPart.getContentDisposition().getFileName(),
-                        productType,
-                        arSheets,
-                        keepSaleHistory);
-                    if (result.hasFailures()) {
-                        return ResponseFactory.status(Status.BAD_REQUEST).entity(result).build();
-                    }
-                }
+                request.file(new ProductImportRequest.ImportFile(bodyPart.getContentDisposition().getFileName(),
+                        bodyPartEntity.getInputStream()));
             }
-
-            return ResponseFactory.accepted().build();
+            final ITaskMonitor taskMonitor = this.taskExecutorManager.importProducts(request.build());
+            return ResponseFactory.accepted().entity(taskMonitor).build();
         }
         return ResponseFactory.ok().build();
     }
 
+    /**
+     * Cancel a running product import started by the current user.
+     *
+     * @param token
+     *              the cancel token of import task.
+     * @return Returns status code ACCEPTED, or NOT FOUND if the import is unknown, is no longer running or has been
+     *         started by another user.
+     * @since 3.4
+     */
+    @RolesAllowed(ApplicationConstants.Authorities.USER)
+    @GET
+    @Path("import/cancel/{token}")
+    @Timed
+    @Operation(summary = "cancel a product import")
+    public Response cancelImport(@PathParam("token") final String token) {
+        if (!this.taskExecutorManager.cancelProductImport(token)) {
+            return ResponseFactory.notFound().build();
+        }
+        return ResponseFactory.accepted().build();
+    }
+
+    /**
+     * Gets the state of a product import started by the current user.
+     *
+     * @param token
+     *              the cancel token of import task.
+     * @return Returns the state of import with its progress, and once completed, its validation failures. Returns
+     *         status code NOT FOUND if the import is unknown or its outcome has expired.
+     * @since 3.4
+     */
+    @RolesAllowed(ApplicationConstants.Authorities.USER)
+    @GET
+    @Path("import/progress/{token}")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Operation(summary = "Returns progress and outcome of a product import")
+    public Response progressImport(@PathParam("token") final String token) {
+        return taskExecutorManager.getProductImport(token)
+                .map(state -> ResponseFactory.ok(state).build())
+                .orElse(ResponseFactory.notFound().build());
+    }
+
     /**
      * Export list of product in excel file.
      *
@@ -553,6 +604,7 @@ public class ProductResource extends BaseResourceSupport<ProductResource> {
     @Timed
     @Produces({ "application/vnd.ms-excel", "application/octet-stream" })
     @Operation(summary = "export a Product")
+    @ConcurrencyLimited(EndpointGroup.EXPORT)
     public Response export(@NotNull @Nonnull @PathParam("productType") final ProductType productType,
         @NotNull @Nonnull final BulkRequest request) {
         StreamingOutput outputStream = null;
@@ -51,6 +51,8 @@ import com.pmi.tpd.euceg.api.ProductType;
 import com.pmi.tpd.euceg.api.entity.IProductEntity;
 import com.pmi.tpd.euceg.api.entity.ISubmissionEntity;
 import com.pmi.tpd.euceg.core.BulkRequest;
+import com.pmi.tpd.metrics.jersey.ConcurrencyLimited;
+import com.pmi.tpd.metrics.jersey.EndpointGroup;
 import com.pmi.tpd.web.core.hateoas.BaseResourceSupport;
 import com.pmi.tpd.web.rest.RestApplication;
 import com.pmi.tpd.web.rest.model.ProductListRequest;
@@ -132,6 +134,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Timed
     @Operation(summary = "Gets list of Product Submission", responses = {
             @ApiResponse(content = @Content(schema = @Schema(implementation = SubmissionRequest.class))) })
+    @ConcurrencyLimited(EndpointGroup.SEARCH)
     public Response findAll(
         @Parameter(description = "page to load (zero-based page index)",
                 required = false) @QueryParam("page") @DefaultValue("0") final int page,
@@ -324,6 +327,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Timed
     @Produces({ "application/zip", "application/octet-stream" })
     @Operation(summary = "export a Product Submission")
+    @ConcurrencyLimited(EndpointGroup.EXPORT)
     public Response export(@PathParam("id") final Long id) {
         final StreamingOutput outputStream = output -> eucegImportExportService.writeZipSubmissionReport(id, output);
 
@@ -344,6 +348,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Timed
     @Produces({ "application/zip", "application/octet-stream" })
     @Operation(summary = "package a Product Submission")
+    @ConcurrencyLimited(EndpointGroup.EXPORT)
     public Response packageSubmission(@PathParam("id") final Long id) {
         final StreamingOutput outputStream = output -> eucegImportExportService.writeZipSubmissionPackage(id, output);
 
@@ -367,6 +372,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Operation(summary = "create and send the submission of product",
             responses = { @ApiResponse(content = @Content(schema = @Schema(implementation = SubmissionEntity.class))),
                     @ApiResponse(responseCode = "201", description = "Submission has been succefully sent.") })
+    @ConcurrencyLimited(EndpointGroup.SEND)
     public Response send(final SubmissionSendRequest request) {
         final ISubmissionEntity entity = this.submissionService.createOrSendSubmission(request);
         return Response.status(Status.CREATED).entity(resource(entity)).build();
@@ -377,6 +383,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Path("{productType}/bulkSend")
     @Timed
     @Operation(summary = "create and send the submission of products")
+    @ConcurrencyLimited(EndpointGroup.SEND)
     public Response bulkSendSubmissions(@Nonnull @PathParam("productType") final ProductType productType,
         @Nonnull final BulkRequest request) {
         this.bulkProductService.bulkSend(productType, request);
@@ -388,6 +395,7 @@ public class SubmissionProductResource extends BaseResourceSupport<SubmissionPro
     @Path("{id}/send")
     @Timed
     @Operation(summary = "send the submission of product")
+    @ConcurrencyLimited(EndpointGroup.SEND)
     public Response send(@PathParam("id") final Long id) throws EucegException {
         this.submissionService.sendSubmission(id);
         return Response.ok().build();
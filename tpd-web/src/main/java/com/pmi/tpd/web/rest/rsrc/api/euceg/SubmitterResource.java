@@ -43,6 +43,8 @@ import com.pmi.tpd.core.euceg.SubmitterRequest;
 import com.pmi.tpd.core.euceg.spi.ISubmitterStore;
 import com.pmi.tpd.core.model.euceg.SubmitterRevision;
 import com.pmi.tpd.euceg.core.util.validation.ValidationResult;
+import com.pmi.tpd.metrics.jersey.ConcurrencyLimited;
+import com.pmi.tpd.metrics.jersey.EndpointGroup;
 import com.pmi.tpd.web.core.hateoas.BaseResourceSupport;
 import com.pmi.tpd.web.core.rs.support.ResponseFactory;
 import com.pmi.tpd.web.rest.RestApplication;
@@ -101,6 +103,7 @@ public class SubmitterResource extends BaseResourceSupport<SubmitterResource> {
     @Timed
     @Operation(summary = "Gets list of submitters", responses = { @ApiResponse(responseCode = "200",
             content = @Content(schema = @Schema(implementation = SubmitterListRequest.class))) })
+    @ConcurrencyLimited(EndpointGroup.SEARCH)
     public Response findAll(
         @Parameter(description = "page to load (zero-based page index)",
                 required = false) @QueryParam("page") @DefaultValue("0") final int page,
@@ -250,6 +253,7 @@ public class SubmitterResource extends BaseResourceSupport<SubmitterResource> {
     @Timed
     @Consumes(MediaType.MULTIPART_FORM_DATA)
     @Produces(MediaType.APPLICATION_JSON)
+    @ConcurrencyLimited(EndpointGroup.IMPORT)
     public Response importFile(@FormDataParam("file") final InputStream file) throws Exception {
         try {
             final ValidationResult result = this.eucegImportExportService.importSubmitterFromExcel(file);
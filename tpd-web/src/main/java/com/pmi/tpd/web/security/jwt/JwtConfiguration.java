@@ -18,6 +18,9 @@ public class JwtConfiguration {
     /** */
     private int tokenValidityInSecondsForRememberMe;
 
+    /** maximum number of verified tokens kept in cache. */
+    private int tokenCacheSize = 1000;
+
     /**
      * @return the secret
      */
@@ -63,4 +66,21 @@ public class JwtConfiguration {
         this.tokenValidityInSecondsForRememberMe = tokenValidityInSecondsForRememberMe;
     }
 
+    /**
+     * @return the maximum number of verified tokens kept in cache.
+     * @since 3.4
+     */
+    public int getTokenCacheSize() {
+        return tokenCacheSize;
+    }
+
+    /**
+     * @param tokenCacheSize
+     *            the maximum number of verified tokens kept in cache.
+     * @since 3.4
+     */
+    public void setTokenCacheSize(final int tokenCacheSize) {
+        this.tokenCacheSize = tokenCacheSize;
+    }
+
 }
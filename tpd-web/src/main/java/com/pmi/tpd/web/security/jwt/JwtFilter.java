@@ -41,9 +41,8 @@ public class JwtFilter extends OncePerRequestFilter {
         final HttpServletResponse response,
         final FilterChain filterChain) throws ServletException, IOException {
         final String jwt = resolveToken(request);
-        Authentication authentication = null;
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            authentication = this.tokenProvider.getAuthentication(jwt, request);
+        if (StringUtils.hasText(jwt)) {
+            final Authentication authentication = this.tokenProvider.authenticate(jwt, request);
             if (authentication != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
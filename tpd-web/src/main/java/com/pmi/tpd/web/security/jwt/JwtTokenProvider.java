@@ -3,13 +3,17 @@ package com.pmi.tpd.web.security.jwt;
 import static com.pmi.tpd.api.util.Assert.checkNotNull;
 import static org.joda.time.Duration.standardSeconds;
 
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.servlet.http.HttpServletRequest;
@@ -23,13 +27,17 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
 import com.pmi.tpd.api.user.IUser;
 import com.pmi.tpd.api.user.UserDirectory;
 import com.pmi.tpd.security.spring.UserAuthenticationToken;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -52,7 +60,13 @@ public class JwtTokenProvider {
     private static final String IDENTIFIER_KEY = "id";
 
     /** */
-    private String secretKey;
+    private Key signingKey;
+
+    /** */
+    private JwtParser parser;
+
+    /** */
+    private Cache<String, VerifiedToken> verifiedTokens;
 
     /** */
     private long tokenValidityInMilliseconds;
@@ -77,11 +91,19 @@ public class JwtTokenProvider {
      */
     @PostConstruct
     public void init() {
-        this.secretKey = config.getSecret();
+        this.signingKey = Keys.hmacShaKeyFor(config.getSecret().getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
 
         this.tokenValidityInMilliseconds = standardSeconds(config.getTokenValidityInSeconds()).getMillis();
         this.tokenValidityInMillisecondsForRememberMe = standardSeconds(config.getTokenValidityInSecondsForRememberMe())
                 .getMillis();
+        this.verifiedTokens = CacheBuilder.newBuilder()
+                .concurrencyLevel(4)
+                .maximumSize(config.getTokenCacheSize())
+                .expireAfterWrite(
+                    Math.max(tokenValidityInMilliseconds, tokenValidityInMillisecondsForRememberMe),
+                    TimeUnit.MILLISECONDS)
+                .build();
     }
 
     /**
@@ -120,41 +142,40 @@ public class JwtTokenProvider {
                 .claim(AUTHORITIES_KEY, authorities)
                 .claim(IDENTIFIER_KEY, id)
                 .claim("dir", directory)
-                .signWith(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .signWith(signingKey)
                 .setExpiration(validity)
                 .compact();
     }
 
     /**
+     * Parses, verifies and converts the token in a single pass.
+     * <p>
+     * Verified tokens are kept in a bounded cache keyed by the token digest until their expiration date, so that
+     * repeated requests carrying the same token don't pay again for the signature check.
+     * </p>
+     *
      * @param token
-     * @return
+     *            the compact JWT to verify.
+     * @param request
+     *            the current request used to build authentication details (can be {@code null}).
+     * @return Returns the authentication associated to the token, or {@code null} if the token is invalid.
+     * @since 3.4
      */
-    public Authentication getAuthentication(final String token, HttpServletRequest request) {
-        final Claims claims = createClaim(token).getBody();
-
-        final String auths = claims.get(AUTHORITIES_KEY, String.class);
-        final Collection<? extends GrantedAuthority> authorities = Strings.isNullOrEmpty(auths)
-                ? Collections.emptyList()
-                : Arrays.stream(auths.split(",")).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
-
-        final User principal = new User(claims.getSubject(), "", authorities);
-        final String dir = claims.get("dir", String.class);
-        final IUser user = com.pmi.tpd.api.user.User.builder()
-                .activated(true)
-                .directory(dir != null ? UserDirectory.valueOf(dir) : null)
-                .id(claims.get("id", Integer.class).longValue())
-                .password("")
-                .username(claims.getSubject())
-                .slug(claims.getSubject())
-                .build();
-        UserAuthenticationToken authentication = UserAuthenticationToken.forUser(user, principal);
-        if (request != null) {
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+    @Nullable
+    public Authentication authenticate(final String token, @Nullable final HttpServletRequest request) {
+        final UserAuthenticationToken verified = verify(token);
+        if (verified == null) {
+            return null;
         }
-        return authentication;
-        /*
-         * return new UsernamePasswordAuthenticationToken(principal, token, authorities);
-         */
+        return copyOf(verified, request);
+    }
+
+    /**
+     * @param token
+     * @return
+     */
+    public Authentication getAuthentication(final String token, final HttpServletRequest request) {
+        return copyOf(resolve(token), request);
     }
 
     /**
@@ -162,9 +183,22 @@ public class JwtTokenProvider {
      * @return
      */
     public boolean validateToken(final String authToken) {
+        return verify(authToken) != null;
+    }
+
+    /**
+     * Invalidates all verified tokens.
+     *
+     * @since 3.4
+     */
+    public void clearCache() {
+        verifiedTokens.invalidateAll();
+    }
+
+    @Nullable
+    private UserAuthenticationToken verify(final String authToken) {
         try {
-            createClaim(authToken);
-            return true;
+            return resolve(authToken);
         } catch (final SignatureException e) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info("Invalid JWT signature.");
@@ -201,13 +235,85 @@ public class JwtTokenProvider {
                 LOGGER.trace("JWT token compact of handler are invalid trace: {}", e);
             }
         }
-        return false;
+        return null;
+    }
+
+    /**
+     * Gets the verified authentication of token from cache, or parses and verifies the token otherwise.
+     *
+     * @throws JwtException
+     *             if the token is invalid or expired.
+     * @throws IllegalArgumentException
+     *             if the token is empty.
+     */
+    private UserAuthenticationToken resolve(final String authToken) {
+        if (Strings.isNullOrEmpty(authToken)) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        final String key = Hashing.sha256().hashString(authToken, StandardCharsets.UTF_8).toString();
+        final VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiration > System.currentTimeMillis()) {
+                return cached.authentication;
+            }
+            // expired: parse again to raise the expected exception.
+            verifiedTokens.invalidate(key);
+        }
+        final Claims claims = parser.parseClaimsJws(authToken).getBody();
+        final UserAuthenticationToken authentication = createAuthentication(claims);
+        final Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            verifiedTokens.put(key, new VerifiedToken(authentication, expiration.getTime()));
+        }
+        return authentication;
     }
 
-    private Jws<Claims> createClaim(final String authToken) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
-                .build()
-                .parseClaimsJws(authToken);
+    private UserAuthenticationToken createAuthentication(final Claims claims) {
+        final String auths = claims.get(AUTHORITIES_KEY, String.class);
+        final Collection<? extends GrantedAuthority> authorities = Strings.isNullOrEmpty(auths)
+                ? Collections.emptyList()
+                : Arrays.stream(auths.split(",")).map(SimpleGrantedAuthority::new).collect(Collectors.toList());
+
+        final User principal = new User(claims.getSubject(), "", authorities);
+        final String dir = claims.get("dir", String.class);
+        final IUser user = com.pmi.tpd.api.user.User.builder()
+                .activated(true)
+                .directory(dir != null ? UserDirectory.valueOf(dir) : null)
+                .id(claims.get(IDENTIFIER_KEY, Integer.class).longValue())
+                .password("")
+                .username(claims.getSubject())
+                .slug(claims.getSubject())
+                .build();
+        return UserAuthenticationToken.forUser(user, principal);
+    }
+
+    /**
+     * Cached authentications are shared, each caller receives its own copy as details and permissions are mutable.
+     */
+    private UserAuthenticationToken copyOf(final UserAuthenticationToken verified,
+        @Nullable final HttpServletRequest request) {
+        final UserAuthenticationToken authentication = verified.copyWithUser(verified.getPrincipal());
+        if (request != null) {
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        }
+        return authentication;
+    }
+
+    /**
+     * @author devacfr
+     * @since 3.4
+     */
+    private static final class VerifiedToken {
+
+        /** */
+        private final UserAuthenticationToken authentication;
+
+        /** expiration date of token in milliseconds. */
+        private final long expiration;
+
+        private VerifiedToken(final UserAuthenticationToken authentication, final long expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration;
+        }
     }
 }
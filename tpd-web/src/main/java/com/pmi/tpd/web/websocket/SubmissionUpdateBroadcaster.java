@@ -0,0 +1,285 @@
+package com.pmi.tpd.web.websocket;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.pmi.tpd.api.util.Assert;
+import com.pmi.tpd.spring.context.AbstractSmartLifecycle;
+import com.pmi.tpd.web.websocket.WebSocketController.SubmissionMessage;
+
+/**
+ * Coalesces the submission updates sent to the WebSocket clients.
+ * <p>
+ * Only the latest state of each submission is kept during a window ({@code websocket.submission.window} in
+ * milliseconds), then the pending states are delivered on one channel per session:
+ * </p>
+ * <ul>
+ * <li>sessions having registered a filter and subscribed to the {@value #QUEUE_SUBMISSIONS} user destination receive
+ * in one frame only the submissions they are viewing,</li>
+ * <li>other subscribers of {@value #TOPIC_SUBMISSIONS} receive one message per submission, as before coalescing.</li>
+ * </ul>
+ * <p>
+ * The filter of a session is cleared when the session unsubscribes from its queue or disconnects.
+ * </p>
+ *
+ * @author Christophe Friederich
+ * @since 3.4
+ */
+public class SubmissionUpdateBroadcaster extends AbstractSmartLifecycle {
+
+    /** */
+    public static final String TOPIC_SUBMISSIONS = "/topic/submissions";
+
+    /** */
+    public static final String QUEUE_SUBMISSIONS = "/queue/submissions";
+
+    /** destination of {@link #QUEUE_SUBMISSIONS} as subscribed by the clients. */
+    public static final String USER_QUEUE_SUBMISSIONS = "/user" + QUEUE_SUBMISSIONS;
+
+    /** */
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubmissionUpdateBroadcaster.class);
+
+    /** */
+    private final SimpMessageSendingOperations messagingTemplate;
+
+    /** */
+    private final ScheduledExecutorService executorService;
+
+    /** */
+    private final long window;
+
+    /** latest state per submission identifier. */
+    private final Map<Long, SubmissionMessage> pendingMessages = new ConcurrentHashMap<>();
+
+    /** submission filter per session identifier. */
+    private final Map<String, SessionFilter> sessionFilters = new ConcurrentHashMap<>();
+
+    /** subscription identifier to {@link #TOPIC_SUBMISSIONS} per session identifier. */
+    private final Map<String, String> topicSubscriptions = new ConcurrentHashMap<>();
+
+    /** subscription identifier to {@link #USER_QUEUE_SUBMISSIONS} per session identifier. */
+    private final Map<String, String> queueSubscriptions = new ConcurrentHashMap<>();
+
+    /** */
+    private volatile ScheduledFuture<?> flushTask;
+
+    /**
+     * Default constructor.
+     *
+     * @param messagingTemplate
+     *                          operations for sending messages to destination.
+     * @param executorService
+     *                          the executor used to flush pending messages.
+     * @param window
+     *                          the coalescing window in milliseconds.
+     */
+    public SubmissionUpdateBroadcaster(@Nonnull final SimpMessageSendingOperations messagingTemplate,
+            @Nonnull final ScheduledExecutorService executorService, final long window) {
+        this.messagingTemplate = Assert.checkNotNull(messagingTemplate, "messagingTemplate");
+        this.executorService = Assert.checkNotNull(executorService, "executorService");
+        this.window = Math.max(50, window);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        flushTask = executorService.scheduleWithFixedDelay(this::flushSafely, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flush();
+        super.stop();
+    }
+
+    /**
+     * Queues the latest state of a submission, replacing any pending state of the same submission.
+     *
+     * @param message
+     *                the submission message to send.
+     */
+    public void publish(@Nonnull final SubmissionMessage message) {
+        Assert.checkNotNull(message, "message");
+        pendingMessages.put(message.getSubmissionId(), message);
+    }
+
+    /**
+     * Registers the submissions viewed by a session. Once registered, the session receives on its
+     * {@value #QUEUE_SUBMISSIONS} user destination only the updates of these submissions.
+     *
+     * @param sessionId
+     *                      the WebSocket session identifier.
+     * @param user
+     *                      the name of user associated to the session.
+     * @param submissionIds
+     *                      the submission identifiers, {@code null} or empty to remove the filter.
+     */
+    public void setFilter(@Nonnull final String sessionId,
+        @Nonnull final String user,
+        @Nullable final Set<Long> submissionIds) {
+        Assert.checkNotNull(sessionId, "sessionId");
+        Assert.checkNotNull(user, "user");
+        if (submissionIds == null || submissionIds.isEmpty()) {
+            sessionFilters.remove(sessionId);
+        } else {
+            sessionFilters.put(sessionId, new SessionFilter(user, ImmutableSet.copyOf(submissionIds)));
+        }
+    }
+
+    /**
+     * Records the subscription of a session to a submission destination.
+     *
+     * @param sessionId
+     *                       the WebSocket session identifier.
+     * @param subscriptionId
+     *                       the subscription identifier.
+     * @param destination
+     *                       the subscribed destination.
+     */
+    public void subscribe(@Nonnull final String sessionId,
+        @Nonnull final String subscriptionId,
+        @Nullable final String destination) {
+        Assert.checkNotNull(sessionId, "sessionId");
+        Assert.checkNotNull(subscriptionId, "subscriptionId");
+        if (TOPIC_SUBMISSIONS.equals(destination)) {
+            topicSubscriptions.put(sessionId, subscriptionId);
+        } else if (USER_QUEUE_SUBMISSIONS.equals(destination)) {
+            queueSubscriptions.put(sessionId, subscriptionId);
+        }
+    }
+
+    /**
+     * Forgets a subscription of a session. Unsubscribing from the queue clears the filter of session.
+     *
+     * @param sessionId
+     *                       the WebSocket session identifier.
+     * @param subscriptionId
+     *                       the subscription identifier.
+     */
+    public void unsubscribe(@Nonnull final String sessionId, @Nonnull final String subscriptionId) {
+        Assert.checkNotNull(sessionId, "sessionId");
+        Assert.checkNotNull(subscriptionId, "subscriptionId");
+        topicSubscriptions.remove(sessionId, subscriptionId);
+        if (queueSubscriptions.remove(sessionId, subscriptionId)) {
+            sessionFilters.remove(sessionId);
+        }
+    }
+
+    /**
+     * Removes the filter and the subscriptions associated to a session.
+     *
+     * @param sessionId
+     *                  the WebSocket session identifier.
+     */
+    public void removeSession(@Nonnull final String sessionId) {
+        Assert.checkNotNull(sessionId, "sessionId");
+        sessionFilters.remove(sessionId);
+        topicSubscriptions.remove(sessionId);
+        queueSubscriptions.remove(sessionId);
+    }
+
+    /**
+     * Sends all pending submission states.
+     */
+    @VisibleForTesting
+    void flush() {
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+        final List<SubmissionMessage> batch = Lists.newArrayListWithCapacity(pendingMessages.size());
+        for (final Long submissionId : pendingMessages.keySet()) {
+            final SubmissionMessage message = pendingMessages.remove(submissionId);
+            if (message != null) {
+                batch.add(message);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("Sending {} coalesced submission updates", batch.size());
+        }
+        // topic keeps its original payload: one submission per message
+        if (!topicSubscriptions.isEmpty()) {
+            batch.forEach(message -> messagingTemplate.convertAndSend(TOPIC_SUBMISSIONS, message));
+        }
+
+        sessionFilters.forEach((sessionId, filter) -> {
+            // a session receives the updates on one channel only
+            if (topicSubscriptions.containsKey(sessionId)) {
+                return;
+            }
+            final List<SubmissionMessage> messages = filter.apply(batch);
+            if (!messages.isEmpty()) {
+                messagingTemplate
+                        .convertAndSendToUser(filter.user, QUEUE_SUBMISSIONS, messages, createHeaders(sessionId));
+            }
+        });
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (final RuntimeException ex) {
+            // do not cancel the periodic task
+            LOGGER.warn("Failed to send submission updates", ex);
+        }
+    }
+
+    private static MessageHeaders createHeaders(final String sessionId) {
+        final SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(sessionId);
+        headerAccessor.setLeaveMutable(true);
+        return headerAccessor.getMessageHeaders();
+    }
+
+    /**
+     * Submissions viewed by a session.
+     */
+    private static final class SessionFilter {
+
+        /** */
+        private final String user;
+
+        /** */
+        private final Set<Long> submissionIds;
+
+        SessionFilter(final String user, final Set<Long> submissionIds) {
+            this.user = user;
+            this.submissionIds = submissionIds;
+        }
+
+        List<SubmissionMessage> apply(final List<SubmissionMessage> messages) {
+            if (submissionIds.isEmpty()) {
+                return Collections.emptyList();
+            }
+            return messages.stream()
+                    .filter(message -> submissionIds.contains(message.getSubmissionId()))
+                    .collect(Collectors.toList());
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.pmi.tpd.web.websocket;
 
 import java.security.Principal;
 import java.util.Calendar;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 import javax.inject.Inject;
@@ -18,6 +19,8 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
 
 import com.pmi.tpd.WebsocketConfig;
 import com.pmi.tpd.api.event.annotation.EventListener;
@@ -50,19 +53,26 @@ public class WebSocketController {
     /** */
     private final SimpMessageSendingOperations messagingTemplate;
 
+    /** */
+    private final SubmissionUpdateBroadcaster submissionBroadcaster;
+
     /**
      * Default constructor.
      *
      * @param messagingTemplate
-     *                          operations for sending messages to destionation supporting for Simple Messaging
-     *                          Protocols (like STOMP)
+     *                              operations for sending messages to destionation supporting for Simple Messaging
+     *                              Protocols (like STOMP)
      * @param eventPublisher
-     *                          the event publisher.
+     *                              the event publisher.
+     * @param submissionBroadcaster
+     *                              the broadcaster coalescing submission updates.
      */
     @Inject
     public WebSocketController(@Nonnull final SimpMessageSendingOperations messagingTemplate,
-            @Nonnull final IEventPublisher eventPublisher) {
+            @Nonnull final IEventPublisher eventPublisher,
+            @Nonnull final SubmissionUpdateBroadcaster submissionBroadcaster) {
         this.messagingTemplate = Assert.checkNotNull(messagingTemplate, "messagingTemplate");
+        this.submissionBroadcaster = Assert.checkNotNull(submissionBroadcaster, "submissionBroadcaster");
     }
 
     /**
@@ -93,6 +103,58 @@ public class WebSocketController {
         return activity;
     }
 
+    /**
+     * Registers the submissions viewed by the current session. The session receives then on its
+     * {@code /user/queue/submissions} destination only the updates of these submissions.
+     *
+     * @param filter
+     *                            the viewed submissions.
+     * @param stompHeaderAccessor
+     *                            STOMP accessor.
+     * @since 3.4
+     */
+    @MessageMapping("/submissions/filter")
+    public void filterSubmissions(@Payload final SubmissionFilter filter,
+        final StompHeaderAccessor stompHeaderAccessor) {
+        final Principal principal = stompHeaderAccessor.getUser();
+        if (principal == null) {
+            return;
+        }
+        submissionBroadcaster
+                .setFilter(stompHeaderAccessor.getSessionId(), principal.getName(), filter.getSubmissionIds());
+    }
+
+    /**
+     * Handle on {@link SessionSubscribeEvent}, tracks the subscriptions to submission updates.
+     *
+     * @param event
+     *              the event raised when a client subscribes to a destination.
+     * @since 3.4
+     */
+    @org.springframework.context.event.EventListener
+    public void onSessionSubscribeEvent(final SessionSubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            submissionBroadcaster
+                    .subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), accessor.getDestination());
+        }
+    }
+
+    /**
+     * Handle on {@link SessionUnsubscribeEvent}, clears the submission filter when the client leaves the page.
+     *
+     * @param event
+     *              the event raised when a client unsubscribes from a destination.
+     * @since 3.4
+     */
+    @org.springframework.context.event.EventListener
+    public void onSessionUnsubscribeEvent(final SessionUnsubscribeEvent event) {
+        final StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && accessor.getSubscriptionId() != null) {
+            submissionBroadcaster.unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+        }
+    }
+
     /**
      * Handle on {@link SessionDisconnectEvent}.
      *
@@ -102,12 +164,16 @@ public class WebSocketController {
      */
     @org.springframework.context.event.EventListener
     public void onSessionDisconnectEvent(final SessionDisconnectEvent event) {
+        submissionBroadcaster.removeSession(event.getSessionId());
         final Activity activity = Activity.builder().sessionId(event.getSessionId()).page("logout").build();
         messagingTemplate.convertAndSend("/topic/activity", activity);
     }
 
     /**
      * Handle on {@link UpdatedSubmissionEvent}.
+     * <p>
+     * Updates are coalesced by {@link SubmissionUpdateBroadcaster} and sent in batches.
+     * </p>
      *
      * @param event
      *              an event raised when submission has changed.
@@ -115,7 +181,7 @@ public class WebSocketController {
     @EventListener
     public void onSubmissionUpdated(final UpdatedSubmissionEvent event) {
         final ISubmissionEntity submissionEntity = event.getSubmission();
-        messagingTemplate.convertAndSend("/topic/submissions",
+        submissionBroadcaster.publish(
             new SubmissionMessage(submissionEntity.getId(), submissionEntity.getProgress(),
                     submissionEntity.getSubmissionStatus(), submissionEntity.getPirStatus()));
 
@@ -123,14 +189,20 @@ public class WebSocketController {
 
     /**
      * Handle on {@link NotificationEvent}.
+     * <p>
+     * A notification addressed to a user is sent on its {@code /user/queue/notification} destination only.
+     * </p>
      *
      * @param event
      *              an event raised when a task need notify the front end.
      */
     @EventListener
     public void onNotification(final NotificationEvent event) {
-        messagingTemplate.convertAndSend("/topic/notification", event.getNotification());
-
+        if (event.getUsername() != null) {
+            messagingTemplate.convertAndSendToUser(event.getUsername(), "/queue/notification", event.getNotification());
+        } else {
+            messagingTemplate.convertAndSend("/topic/notification", event.getNotification());
+        }
     }
 
     /**
@@ -255,6 +327,16 @@ public class WebSocketController {
 
     }
 
+    /**
+     * The submissions viewed by a WebSocket client.
+     */
+    @Data
+    public static class SubmissionFilter {
+
+        /** */
+        private Set<Long> submissionIds;
+    }
+
     @Data
     public static class ActivityState {
 
@@ -0,0 +1,70 @@
+package com.pmi.tpd.metrics.gauge;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.DistributedObject;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.LocalMapStats;
+import com.hazelcast.nearcache.NearCacheStats;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class HazelcastNearCacheGaugeSetTest extends MockitoTestCase {
+
+    @Mock(lenient = true)
+    private HazelcastInstance hazelcast;
+
+    @BeforeEach
+    public void setUp() {
+        final Config config = new Config();
+        config.addMapConfig(new MapConfig("userCache").setNearCacheConfig(new NearCacheConfig()));
+        config.addMapConfig(new MapConfig("*").setNearCacheConfig(new NearCacheConfig()));
+        config.addMapConfig(new MapConfig("notNearCached"));
+        when(hazelcast.getConfig()).thenReturn(config);
+    }
+
+    @Test
+    public void shouldDeclareGaugesOfNearCachedMapsOnly() {
+        final Map<String, Metric> metrics = new HazelcastNearCacheGaugeSet(hazelcast).getMetrics();
+
+        assertTrue(metrics.containsKey("userCache.hits"));
+        assertTrue(metrics.containsKey("userCache.ratio"));
+        assertTrue(metrics.keySet().stream().allMatch(name -> name.startsWith("userCache.")));
+    }
+
+    @Test
+    public void shouldNotCreateMissingMap() {
+        when(hazelcast.getDistributedObjects()).thenReturn(List.of());
+        final Map<String, Metric> metrics = new HazelcastNearCacheGaugeSet(hazelcast).getMetrics();
+
+        assertEquals(0L, ((Gauge<?>) metrics.get("userCache.hits")).getValue());
+        verify(hazelcast, never()).getMap(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldReadStatsOfExistingMap() {
+        final IMap<Object, Object> map = mock(IMap.class);
+        final LocalMapStats mapStats = mock(LocalMapStats.class);
+        final NearCacheStats nearCacheStats = mock(NearCacheStats.class);
+        when(map.getName()).thenReturn("userCache");
+        when(map.getLocalMapStats()).thenReturn(mapStats);
+        when(mapStats.getNearCacheStats()).thenReturn(nearCacheStats);
+        when(nearCacheStats.getHits()).thenReturn(42L);
+        when(hazelcast.getDistributedObjects()).thenReturn(List.<DistributedObject> of(map));
+        final Map<String, Metric> metrics = new HazelcastNearCacheGaugeSet(hazelcast).getMetrics();
+
+        assertEquals(42L, ((Gauge<?>) metrics.get("userCache.hits")).getValue());
+        verify(hazelcast, never()).getMap(any());
+    }
+}
@@ -0,0 +1,117 @@
+package com.pmi.tpd.metrics.jersey;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.Clock;
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class AimdConcurrencyLimiterTest extends TestCase {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(2);
+
+    private final ManualClock clock = new ManualClock();
+
+    private final AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(2, 1, 4, 1, TimeUnit.SECONDS, clock);
+
+    @Test
+    public void shouldRejectAboveLimit() {
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(FAST, false);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void shouldIncreaseLimitWhenFastAndUsed() {
+        assertTrue(limiter.tryAcquire());
+        limiter.release(FAST, false);
+        assertEquals(3, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            limiter.release(FAST, false);
+            limiter.release(FAST, false);
+        }
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldNotIncreaseLimitWhenMostlyIdle() {
+        final AimdConcurrencyLimiter idle = new AimdConcurrencyLimiter(10, 1, 20, 1, TimeUnit.SECONDS);
+        assertTrue(idle.tryAcquire());
+        idle.release(FAST, false);
+        assertEquals(10, idle.getLimit());
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenSlowOrFailed() {
+        final AimdConcurrencyLimiter busy = new AimdConcurrencyLimiter(20, 1, 20, 1, TimeUnit.SECONDS, clock);
+        assertTrue(busy.tryAcquire());
+        busy.release(SLOW, false);
+        assertEquals(18, busy.getLimit());
+
+        clock.advance(SLOW);
+        assertTrue(busy.tryAcquire());
+        busy.release(FAST, true);
+        assertEquals(16, busy.getLimit());
+    }
+
+    @Test
+    public void shouldDecreaseLimitOncePerLatencyWindow() {
+        final AimdConcurrencyLimiter busy = new AimdConcurrencyLimiter(20, 1, 20, 1, TimeUnit.SECONDS, clock);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(busy.tryAcquire());
+        }
+        // the requests slowed down by the same overload complete together
+        for (int i = 0; i < 5; i++) {
+            busy.release(SLOW, false);
+        }
+        assertEquals(18, busy.getLimit());
+
+        clock.advance(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(busy.tryAcquire());
+        busy.release(FAST, true);
+        assertEquals(18, busy.getLimit());
+
+        clock.advance(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(busy.tryAcquire());
+        busy.release(FAST, true);
+        assertEquals(16, busy.getLimit());
+    }
+
+    @Test
+    public void shouldNotDecreaseBelowMinLimit() {
+        for (int i = 0; i < 5; i++) {
+            clock.advance(SLOW);
+            assertTrue(limiter.tryAcquire());
+            limiter.release(SLOW, false);
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    /**
+     * Clock advanced by the test.
+     */
+    private static class ManualClock extends Clock {
+
+        private long tick;
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+
+        void advance(final long nanos) {
+            tick += nanos;
+        }
+    }
+}
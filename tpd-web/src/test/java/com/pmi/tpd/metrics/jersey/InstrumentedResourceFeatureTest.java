@@ -0,0 +1,290 @@
+package com.pmi.tpd.metrics.jersey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.github.hanleyt.JerseyExtension;
+import com.pmi.tpd.api.i18n.support.SimpleI18nService;
+import com.pmi.tpd.testing.junit5.TestCase;
+
+public class InstrumentedResourceFeatureTest extends TestCase {
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(31);
+
+    private final ManualClock clock = new ManualClock();
+
+    private final FinishedListener finishedListener = new FinishedListener();
+
+    private MetricRegistry registry;
+
+    private InstrumentedResourceFeature feature;
+
+    @RegisterExtension
+    public JerseyExtension jerseyExtension = new JerseyExtension(this::configureJersey);
+
+    private Application configureJersey(final ExtensionContext extensionContext) {
+        registry = new MetricRegistry();
+        feature = new InstrumentedResourceFeature(registry, new SimpleI18nService(), clock);
+        return new ResourceConfig().register(feature)
+                .register(finishedListener)
+                .register(new LimitedResource(clock))
+                .register(new UnlimitedResource(clock));
+    }
+
+    @Test
+    public void shouldRejectWithRetryAfterWhenLimitIsReached(final WebTarget target) {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+        while (limiter.tryAcquire()) {
+            // fill the limit
+        }
+        final int inFlight = limiter.getInFlight();
+
+        final Response response = target.path("limited/ok").request().get();
+
+        assertEquals(Status.SERVICE_UNAVAILABLE.getStatusCode(), response.getStatus());
+        assertEquals("5", response.getHeaderString(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, registry.meter("rest.limiter.import.rejected").getCount());
+        // a rejected request doesn't hold a permit
+        assertEquals(inFlight, limiter.getInFlight());
+    }
+
+    @Test
+    public void shouldNotLimitMethodsWithoutAnnotation(final WebTarget target) {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+        while (limiter.tryAcquire()) {
+            // fill the limit
+        }
+
+        assertEquals(Status.OK.getStatusCode(), target.path("unlimited").request().get().getStatus());
+    }
+
+    @Test
+    public void shouldTimeMethodsWithoutAnnotation(final WebTarget target) throws InterruptedException {
+        assertEquals(Status.OK.getStatusCode(), target.path("unlimited").request().get().getStatus());
+        awaitFinished();
+
+        assertEquals(1, registry.timer("rest.UnlimitedResource.get").getCount());
+    }
+
+    @Test
+    public void shouldTimeUntilStreamedResponseIsWritten(final WebTarget target) throws InterruptedException {
+        final Response response = target.path("unlimited/stream").request().get();
+
+        assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        assertEquals("streamed", response.readEntity(String.class));
+        awaitFinished();
+        final Timer timer = registry.timer("rest.UnlimitedResource.stream");
+        assertEquals(1, timer.getCount());
+        assertEquals(SLOW, timer.getSnapshot().getMax());
+    }
+
+    @Test
+    public void shouldReleasePermitWhenFinished(final WebTarget target) throws InterruptedException {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+
+        final Response response = target.path("limited/ok").request().get();
+
+        assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        awaitFinished();
+        assertEquals(0, limiter.getInFlight());
+        // a fast request using half of the limit grows it
+        assertEquals(3, limiter.getLimit());
+        assertEquals(1, registry.timer("rest.LimitedResource.ok").getCount());
+    }
+
+    @Test
+    public void shouldShrinkLimitOfSlowRequest(final WebTarget target) throws InterruptedException {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+
+        final Response response = target.path("limited/slow").request().get();
+
+        assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        awaitFinished();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldReleasePermitOfServerErrorResponse(final WebTarget target) throws InterruptedException {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+
+        final Response response = target.path("limited/error").request().get();
+
+        assertEquals(Status.INTERNAL_SERVER_ERROR.getStatusCode(), response.getStatus());
+        awaitFinished();
+        assertEquals(0, limiter.getInFlight());
+        // a server error is a sign of overload
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldReleasePermitOfUnhandledException(final WebTarget target) throws InterruptedException {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+
+        final Response response = target.path("limited/throw").request().get();
+
+        assertEquals(Status.INTERNAL_SERVER_ERROR.getStatusCode(), response.getStatus());
+        awaitFinished();
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldReleasePermitOfClientErrorResponse(final WebTarget target) throws InterruptedException {
+        final AimdConcurrencyLimiter limiter = importLimiter();
+        final int limit = limiter.getLimit();
+
+        final Response response = target.path("limited/missing").request().get();
+
+        assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        awaitFinished();
+        assertEquals(0, limiter.getInFlight());
+        // a client error doesn't shrink the limit
+        assertTrue(limiter.getLimit() >= limit);
+    }
+
+    private AimdConcurrencyLimiter importLimiter() {
+        final AimdConcurrencyLimiter limiter = feature.getLimiter(EndpointGroup.IMPORT);
+        assertNotNull(limiter);
+        return limiter;
+    }
+
+    /**
+     * The measure is stopped on the FINISHED event, once the response has been written, so the client can receive the
+     * response a little before.
+     */
+    private void awaitFinished() throws InterruptedException {
+        assertTrue(finishedListener.finished.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Clock advanced by the resources.
+     */
+    private static class ManualClock extends Clock {
+
+        private volatile long tick;
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+
+        void advance(final long nanos) {
+            tick += nanos;
+        }
+    }
+
+    /**
+     * Notified after the feature, as it has a lower priority.
+     */
+    @Priority(Priorities.USER + 1000)
+    private static class FinishedListener implements ApplicationEventListener {
+
+        private final CountDownLatch finished = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(final ApplicationEvent event) {
+        }
+
+        @Override
+        public RequestEventListener onRequest(final RequestEvent requestEvent) {
+            return event -> {
+                if (event.getType() == RequestEvent.Type.FINISHED) {
+                    finished.countDown();
+                }
+            };
+        }
+    }
+
+    @Path("limited")
+    @ConcurrencyLimited(EndpointGroup.IMPORT)
+    public static class LimitedResource {
+
+        private final ManualClock clock;
+
+        public LimitedResource(final ManualClock clock) {
+            this.clock = clock;
+        }
+
+        @GET
+        @Path("ok")
+        public String ok() {
+            return "ok";
+        }
+
+        @GET
+        @Path("slow")
+        public String slow() {
+            clock.advance(SLOW);
+            return "slow";
+        }
+
+        @GET
+        @Path("error")
+        public Response error() {
+            return Response.serverError().build();
+        }
+
+        @GET
+        @Path("throw")
+        public String fail() {
+            throw new IllegalStateException("failed");
+        }
+
+        @GET
+        @Path("missing")
+        public String missing() {
+            throw new NotFoundException();
+        }
+    }
+
+    @Path("unlimited")
+    public static class UnlimitedResource {
+
+        private final ManualClock clock;
+
+        public UnlimitedResource(final ManualClock clock) {
+            this.clock = clock;
+        }
+
+        @GET
+        public String get() {
+            return "ok";
+        }
+
+        @GET
+        @Path("stream")
+        public StreamingOutput stream() {
+            return output -> {
+                // the write time is part of the measure
+                clock.advance(SLOW);
+                output.write("streamed".getBytes(StandardCharsets.UTF_8));
+            };
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.pmi.tpd.web.context;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.pmi.tpd.api.scheduler.ISchedulerService;
+import com.pmi.tpd.core.audit.DefaultAuditEventService;
+import com.pmi.tpd.core.audit.spi.IAuditEventRepository;
+import com.pmi.tpd.spring.env.YamlPropertySourceLoader;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+/**
+ * Checks the defaults of the configuration shipped in {@code config/application.yml}.
+ */
+public class DefaultConfigurationTest extends MockitoTestCase {
+
+    @Mock
+    private IAuditEventRepository auditEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ISchedulerService schedulerService;
+
+    @Test
+    public void auditPurgeIsDisabledByDefault() throws Exception {
+        final PropertySource<?> source = new YamlPropertySourceLoader()
+                .load("application", new ClassPathResource("config/application.yml"), null);
+        final Object retentionPeriod = source.getProperty("audit.retention.period");
+        assertNotNull(retentionPeriod);
+
+        new DefaultAuditEventService(auditEventRepository, transactionManager)
+                .withRetentionPeriod(Long.parseLong(String.valueOf(retentionPeriod)))
+                .schedule(schedulerService);
+
+        verifyZeroInteractions(schedulerService);
+    }
+}
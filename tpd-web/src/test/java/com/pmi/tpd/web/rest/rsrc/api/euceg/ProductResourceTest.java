@@ -0,0 +1,69 @@
+package com.pmi.tpd.web.rest.rsrc.api.euceg;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import com.pmi.tpd.api.i18n.support.SimpleI18nService;
+import com.pmi.tpd.core.elasticsearch.IIndexerOperations;
+import com.pmi.tpd.core.euceg.IBulkProductService;
+import com.pmi.tpd.core.euceg.IEucegImportExportService;
+import com.pmi.tpd.core.euceg.ISubmissionService;
+import com.pmi.tpd.core.euceg.report.IEucegTaskExecutorManager;
+import com.pmi.tpd.core.euceg.spi.IProductStore;
+import com.pmi.tpd.core.euceg.spi.IProductSubmissionStore;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+public class ProductResourceTest extends MockitoTestCase {
+
+    @Mock
+    private ISubmissionService submissionService;
+
+    @Mock
+    private IEucegImportExportService importExportService;
+
+    @Mock
+    private IProductStore store;
+
+    @Mock
+    private IProductSubmissionStore submissionStore;
+
+    @Mock
+    private IIndexerOperations indexerOperations;
+
+    @Mock
+    private IBulkProductService bulkProductService;
+
+    @Mock
+    private IEucegTaskExecutorManager taskExecutorManager;
+
+    private ProductResource resource;
+
+    @BeforeEach
+    public void setUp() {
+        resource = new ProductResource(submissionService, importExportService, store, submissionStore,
+                indexerOperations, new SimpleI18nService(), bulkProductService, taskExecutorManager);
+    }
+
+    @Test
+    public void shouldCancelImportOfCurrentUser() {
+        when(taskExecutorManager.cancelProductImport("token")).thenReturn(true);
+
+        final Response response = resource.cancelImport("token");
+
+        assertEquals(Status.ACCEPTED.getStatusCode(), response.getStatus());
+    }
+
+    @Test
+    public void shouldNotCancelImportOfAnotherUser() {
+        when(taskExecutorManager.cancelProductImport("token")).thenReturn(false);
+
+        final Response response = resource.cancelImport("token");
+
+        assertEquals(Status.NOT_FOUND.getStatusCode(), response.getStatus());
+        verify(taskExecutorManager, never()).cancelTask(any(String.class));
+    }
+}
@@ -0,0 +1,85 @@
+package com.pmi.tpd.web.security.jwt;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+
+import com.pmi.tpd.api.user.IUser;
+import com.pmi.tpd.api.user.User;
+import com.pmi.tpd.api.user.UserDirectory;
+import com.pmi.tpd.security.spring.UserAuthenticationToken;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+
+import io.jsonwebtoken.JwtException;
+
+public class JwtTokenProviderTest extends MockitoTestCase {
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    public void setUp() {
+        final JwtConfiguration config = new JwtConfiguration();
+        config.setSecret("a-secret-key-long-enough-for-hmac-sha-256-algorithm");
+        config.setTokenValidityInSeconds(3600);
+        config.setTokenValidityInSecondsForRememberMe(7200);
+        config.setTokenCacheSize(10);
+        provider = new JwtTokenProvider(config);
+        provider.init();
+    }
+
+    @Test
+    public void shouldAuthenticateValidToken() {
+        final String token = provider.createToken(UserAuthenticationToken.forUser(user()), false);
+
+        final Authentication authentication = provider.authenticate(token, null);
+
+        assertNotNull(authentication);
+        assertEquals("john", authentication.getName());
+        assertTrue(provider.validateToken(token));
+    }
+
+    @Test
+    public void shouldReturnNewAuthenticationForCachedToken() {
+        final String token = provider.createToken(UserAuthenticationToken.forUser(user()), false);
+
+        final Authentication first = provider.authenticate(token, null);
+        final Authentication second = provider.authenticate(token, null);
+
+        assertThat(second, not(sameInstance(first)));
+        assertEquals(first.getName(), second.getName());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    public void shouldRejectTamperedToken() {
+        final String token = provider.createToken(UserAuthenticationToken.forUser(user()), false);
+        // warm up the cache with the valid token
+        assertNotNull(provider.authenticate(token, null));
+
+        final String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertNull(provider.authenticate(tampered, null));
+        assertFalse(provider.validateToken(tampered));
+        assertThrows(JwtException.class, () -> provider.getAuthentication(tampered, null));
+    }
+
+    @Test
+    public void shouldRejectEmptyToken() {
+        assertNull(provider.authenticate("", null));
+        assertThrows(IllegalArgumentException.class, () -> provider.getAuthentication(null, null));
+    }
+
+    private static IUser user() {
+        return User.builder()
+                .id(1L)
+                .username("john")
+                .slug("john")
+                .password("")
+                .activated(true)
+                .directory(UserDirectory.Internal)
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package com.pmi.tpd.web.websocket;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import com.google.common.collect.ImmutableSet;
+import com.pmi.tpd.euceg.api.entity.ProductPirStatus;
+import com.pmi.tpd.euceg.api.entity.SubmissionStatus;
+import com.pmi.tpd.testing.junit5.MockitoTestCase;
+import com.pmi.tpd.web.websocket.WebSocketController.SubmissionMessage;
+
+public class SubmissionUpdateBroadcasterTest extends MockitoTestCase {
+
+    private SimpMessageSendingOperations messagingTemplate;
+
+    private SubmissionUpdateBroadcaster broadcaster;
+
+    @BeforeEach
+    public void setUp() {
+        messagingTemplate = mock(SimpMessageSendingOperations.class);
+        broadcaster = new SubmissionUpdateBroadcaster(messagingTemplate, mock(ScheduledExecutorService.class), 500);
+    }
+
+    @Test
+    public void shouldCoalesceUpdatesOfSameSubmission() {
+        final SubmissionMessage first = message(1L, 0.2f);
+        final SubmissionMessage latest = message(1L, 0.8f);
+        final SubmissionMessage other = message(2L, 0.5f);
+        broadcaster.subscribe("session", "sub-0", SubmissionUpdateBroadcaster.TOPIC_SUBMISSIONS);
+        broadcaster.publish(first);
+        broadcaster.publish(other);
+        broadcaster.publish(latest);
+
+        broadcaster.flush();
+
+        // the topic keeps one submission per message
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq(SubmissionUpdateBroadcaster.TOPIC_SUBMISSIONS),
+            captor.capture());
+        assertThat(captor.getAllValues(), containsInAnyOrder(latest, other));
+    }
+
+    @Test
+    public void shouldNotSendToTopicWithoutSubscriber() {
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    public void shouldNotSendWhenNothingPending() {
+        broadcaster.flush();
+
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSendOnlyFilteredSubmissionsToSession() {
+        final SubmissionMessage viewed = message(1L, 1f);
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.publish(viewed);
+        broadcaster.publish(message(2L, 1f));
+
+        broadcaster.flush();
+
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSendToUser(eq("user"),
+            eq(SubmissionUpdateBroadcaster.QUEUE_SUBMISSIONS),
+            captor.capture(),
+            anyMap());
+        assertThat((List<SubmissionMessage>) captor.getValue(), contains(viewed));
+    }
+
+    @Test
+    public void shouldSendOnlyOnceToSessionSubscribedToTopicAndQueue() {
+        broadcaster.subscribe("session", "sub-0", SubmissionUpdateBroadcaster.TOPIC_SUBMISSIONS);
+        broadcaster.subscribe("session", "sub-1", SubmissionUpdateBroadcaster.USER_QUEUE_SUBMISSIONS);
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSend(eq(SubmissionUpdateBroadcaster.TOPIC_SUBMISSIONS), any(Object.class));
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+    }
+
+    @Test
+    public void shouldNotSendToSessionAfterFilterCleared() {
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.setFilter("session", "user", ImmutableSet.of());
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+    }
+
+    @Test
+    public void shouldClearFilterOnQueueUnsubscribe() {
+        broadcaster.subscribe("session", "sub-1", SubmissionUpdateBroadcaster.USER_QUEUE_SUBMISSIONS);
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.unsubscribe("session", "sub-1");
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verify(messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any(), anyMap());
+    }
+
+    @Test
+    public void shouldKeepFilterOnOtherUnsubscribe() {
+        broadcaster.subscribe("session", "sub-1", SubmissionUpdateBroadcaster.USER_QUEUE_SUBMISSIONS);
+        broadcaster.subscribe("session", "sub-2", "/topic/notification");
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.unsubscribe("session", "sub-2");
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verify(messagingTemplate).convertAndSendToUser(eq("user"),
+            eq(SubmissionUpdateBroadcaster.QUEUE_SUBMISSIONS),
+            any(),
+            anyMap());
+    }
+
+    @Test
+    public void shouldForgetSessionOnDisconnect() {
+        broadcaster.subscribe("session", "sub-0", SubmissionUpdateBroadcaster.TOPIC_SUBMISSIONS);
+        broadcaster.setFilter("session", "user", ImmutableSet.of(1L));
+        broadcaster.removeSession("session");
+        broadcaster.publish(message(1L, 1f));
+
+        broadcaster.flush();
+
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    private static SubmissionMessage message(final long id, final float progress) {
+        return new SubmissionMessage(id, progress, SubmissionStatus.SUBMITTED, ProductPirStatus.ACTIVE);
+    }
+}